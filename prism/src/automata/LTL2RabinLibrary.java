@@ -53,8 +53,6 @@ import prism.PrismNotSupportedException;
  */
 public class LTL2RabinLibrary
 {
-	private static ArrayList<String> labels;
-
 	private static HashMap<String, String> dras;
 	static {
 		// Hard-coded DRA descriptions for various LTL formulas 
@@ -129,7 +127,7 @@ public class LTL2RabinLibrary
 	 */
 	public static DA<BitSet, AcceptanceRabin> getDRAforLTL(Expression ltl, Values constants) throws PrismException {
 		// Get list of labels appearing
-		labels = new ArrayList<String>();
+		final List<String> labels = new ArrayList<String>();
 		ltl.accept(new ASTTraverse()
 		{
 			public Object visit(ExpressionLabel e) throws PrismLangException
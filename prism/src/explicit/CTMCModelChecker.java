@@ -42,6 +42,9 @@ import prism.*;
  */
 public class CTMCModelChecker extends ProbModelChecker
 {
+	// Cache of time-bounded until probabilities for a known set of time bounds (optional)
+	protected TransientCache transientCache = null;
+
 	/**
 	 * Create a new CTMCModelChecker, inherit basic state from parent (unless null).
 	 */
@@ -50,6 +53,23 @@ public class CTMCModelChecker extends ProbModelChecker
 		super(parent);
 	}
 	
+	// Settings methods
+
+	/**
+	 * Set the cache of time-bounded until probabilities to (re)use (null means none).
+	 * If the cache is for the model being checked, time-bounded until probabilities
+	 * for all of its time bounds are computed in a single pass, when the first is needed.
+	 */
+	public void setTransientCache(TransientCache transientCache)
+	{
+		this.transientCache = transientCache;
+	}
+
+	public TransientCache getTransientCache()
+	{
+		return transientCache;
+	}
+
 	// Model checking functions
 
 	@Override
@@ -194,16 +214,9 @@ public class CTMCModelChecker extends ProbModelChecker
 			// <= uTime
 			else if (lTime == 0) {
 				// nb: uTime != 0 since would be caught above (trivial case)
-				b1.andNot(b2);
-				res = computeTransientBackwardsProbs((CTMC) model, b2, b1, uTime, null);
+				// (values for target (b2) states are set to exactly 1)
+				res = computeTimeBoundedUntilProbs((CTMC) model, b1, b2, uTime);
 				probs = StateValues.createFromDoubleArray(res.soln, model);
-				// set values to exactly 1 for target (b2) states
-				// (these are computed inexactly during uniformisation)
-				int n = model.getNumStates();
-				for (int i = 0; i < n; i++) {
-					if (b2.get(i))
-						probs.setDoubleValue(i, 1);
-				}
 			}
 			// [lTime,uTime] (including where lTime == uTime)
 			else {
@@ -383,23 +396,72 @@ public class CTMCModelChecker extends ProbModelChecker
 	 * @param t Time bound
 	 */
 	public ModelCheckerResult computeTimeBoundedUntilProbs(CTMC ctmc, BitSet remain, BitSet target, double t) throws PrismException
+	{
+		// If this time bound is one of those in the transient cache (e.g. in an experiment),
+		// use the cached result or compute those for all remaining time bounds in one go
+		if (transientCache != null && transientCache.getModel() == ctmc && transientCache.hasTimePoint(t)) {
+			double soln[] = transientCache.remove(ctmc, remain, target, t);
+			if (soln != null) {
+				mainLog.println("\nUsing previously computed time-bounded probabilities for time " + t);
+				ModelCheckerResult res = new ModelCheckerResult();
+				res.soln = soln;
+				return res;
+			}
+			double times[] = getTransientBatch(ctmc, t);
+			ModelCheckerResult res[] = computeTimeBoundedUntilProbs(ctmc, remain, target, times);
+			BitSet remainCopy = remain == null ? null : (BitSet) remain.clone();
+			BitSet targetCopy = (BitSet) target.clone();
+			for (int k = 1; k < times.length; k++) {
+				transientCache.put(ctmc, remainCopy, targetCopy, times[k], res[k].soln);
+			}
+			return res[0];
+		}
+		return computeTimeBoundedUntilProbs(ctmc, remain, target, new double[] { t })[0];
+	}
+
+	/**
+	 * Compute time-bounded until probabilities for several time bounds at once,
+	 * i.e. compute, for each time bound {@code times[k]}, the probability of reaching a state in {@code target},
+	 * within time {@code times[k]}, and while remaining in states in {@code remain}.
+	 * This needs a single uniformisation pass (see {@link #computeTransientBackwardsProbs(CTMC, BitSet, BitSet, double[], double[])}).
+	 * @param ctmc The CTMC
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 * @param times Time bounds
+	 * @return One result for each time bound, in the same order as {@code times}
+	 */
+	public ModelCheckerResult[] computeTimeBoundedUntilProbs(CTMC ctmc, BitSet remain, BitSet target, double times[]) throws PrismException
 	{
 		BitSet nonAbs = null;
 		if (remain != null) {
 			nonAbs = (BitSet) remain.clone();
 			nonAbs.andNot(target);
 		}
-		ModelCheckerResult res = computeTransientBackwardsProbs(ctmc, target, nonAbs, t, null);
+		ModelCheckerResult res[] = computeTransientBackwardsProbs(ctmc, target, nonAbs, times, null);
 		// Set values to exactly 1 for target states
 		// (these are computed inexactly during uniformisation)
 		int n = ctmc.getNumStates();
-		for (int i = 0; i < n; i++) {
-			if (target.get(i))
-				res.soln[i] = 1.0;
+		for (ModelCheckerResult resK : res) {
+			for (int i = 0; i < n; i++) {
+				if (target.get(i))
+					resK.soln[i] = 1.0;
+			}
 		}
 		return res;
 	}
 
+	/**
+	 * Get the time bounds for which to compute time-bounded until probabilities in one go,
+	 * when those for time {@code t} (one of the time bounds of the transient cache) are first needed:
+	 * {@code t} itself, followed by the larger time bounds of the cache, as many as fit
+	 * into (a quarter of) the available memory.
+	 */
+	private double[] getTransientBatch(CTMC ctmc, double t)
+	{
+		long maxVectors = Math.max(1, Runtime.getRuntime().maxMemory() / 4 / (8L * Math.max(1, ctmc.getNumStates())));
+		return Arrays.stream(transientCache.getTimePoints()).filter(u -> u >= t).limit(maxVectors).toArray();
+	}
+
 	/**
 	 * Perform transient probability computation, as required for (e.g. CSL) model checking.
 	 * Compute, for each state, the sum over {@code target} states
@@ -415,47 +477,82 @@ public class CTMCModelChecker extends ProbModelChecker
 	 */
 	public ModelCheckerResult computeTransientBackwardsProbs(CTMC ctmc, BitSet target, BitSet nonAbs, double t, double multProbs[]) throws PrismException
 	{
-		ModelCheckerResult res = null;
-		int i, n, iters;
-		double soln[], soln2[], tmpsoln[], sum[];
+		return computeTransientBackwardsProbs(ctmc, target, nonAbs, new double[] { t }, multProbs)[0];
+	}
+
+	/**
+	 * Perform transient probability computation, as required for (e.g. CSL) model checking,
+	 * for several time points at once.
+	 * This is as {@link #computeTransientBackwardsProbs(CTMC, BitSet, BitSet, double, double[])},
+	 * for each time point {@code times[k]}, but the iterations of the uniformised DTMC
+	 * are shared: a single pass up to the largest right truncation point is performed,
+	 * accumulating a separate Fox-Glynn-weighted sum for each time point.
+	 * @param ctmc The CTMC
+	 * @param target Target states
+	 * @param nonAbs States *not* to be made absorbing (optional: null means "all")
+	 * @param times Time bounds (in any order)
+	 * @param multProbs Multiplication vector (optional: null means all 1s)
+	 * @return One result for each time point, in the same order as {@code times}
+	 */
+	public ModelCheckerResult[] computeTransientBackwardsProbs(CTMC ctmc, BitSet target, BitSet nonAbs, double times[], double multProbs[]) throws PrismException
+	{
+		ModelCheckerResult res[] = new ModelCheckerResult[times.length];
+		int i, k, n, iters, numTimes, maxRight;
+		double soln[], soln2[], tmpsoln[], sums[][];
 		DTMC dtmc;
 		long timer;
 		// Fox-Glynn stuff
 		FoxGlynn fg;
-		int left, right;
-		double q, qt, acc, weights[], totalWeight;
+		int left[], right[];
+		double q, qt, acc, weights[][], totalWeight;
 
 		// Optimisations: If (nonAbs is empty or t = 0) and multProbs is null, this is easy.
-		if (((nonAbs != null && nonAbs.isEmpty()) || (t == 0)) && multProbs == null) {
-			res = new ModelCheckerResult();
-			res.soln = Utils.bitsetToDoubleArray(target, ctmc.getNumStates());
+		numTimes = 0;
+		for (k = 0; k < times.length; k++) {
+			if (((nonAbs != null && nonAbs.isEmpty()) || (times[k] == 0)) && multProbs == null) {
+				res[k] = new ModelCheckerResult();
+				res[k].soln = Utils.bitsetToDoubleArray(target, ctmc.getNumStates());
+			} else {
+				numTimes++;
+			}
+		}
+		if (numTimes == 0) {
 			return res;
 		}
 
 		// Start backwards transient computation
 		timer = System.currentTimeMillis();
-		mainLog.println("\nStarting backwards transient probability computation...");
+		mainLog.println("\nStarting backwards transient probability computation" + (numTimes > 1 ? " for " + numTimes + " time points" : "") + "...");
 
 		// Store num states
 		n = ctmc.getNumStates();
 
-		// Get uniformisation rate; do Fox-Glynn
+		// Get uniformisation rate (same for all time points); do Fox-Glynn for each time point
 		q = ctmc.getDefaultUniformisationRate(nonAbs);
-		qt = q * t;
-		mainLog.println("\nUniformisation: q.t = " + q + " x " + t + " = " + qt);
 		acc = termCritParam / 8.0;
-		fg = new FoxGlynn(qt, 1e-300, 1e+300, acc);
-		left = fg.getLeftTruncationPoint();
-		right = fg.getRightTruncationPoint();
-		if (right < 0) {
-			throw new PrismException("Overflow in Fox-Glynn computation (time bound too big?)");
-		}
-		weights = fg.getWeights();
-		totalWeight = fg.getTotalWeight();
-		for (i = left; i <= right; i++) {
-			weights[i - left] /= totalWeight;
+		left = new int[times.length];
+		right = new int[times.length];
+		weights = new double[times.length][];
+		maxRight = 0;
+		for (k = 0; k < times.length; k++) {
+			if (res[k] != null)
+				continue;
+			qt = q * times[k];
+			mainLog.println("\nUniformisation: q.t = " + q + " x " + times[k] + " = " + qt);
+			fg = new FoxGlynn(qt, 1e-300, 1e+300, acc);
+			left[k] = fg.getLeftTruncationPoint();
+			right[k] = fg.getRightTruncationPoint();
+			if (right[k] < 0) {
+				throw new PrismException("Overflow in Fox-Glynn computation (time bound too big?)");
+			}
+			weights[k] = fg.getWeights();
+			totalWeight = fg.getTotalWeight();
+			for (i = left[k]; i <= right[k]; i++) {
+				weights[k][i - left[k]] /= totalWeight;
+			}
+			mainLog.println("Fox-Glynn (" + acc + "): left = " + left[k] + ", right = " + right[k]);
+			maxRight = Math.max(maxRight, right[k]);
 		}
-		mainLog.println("Fox-Glynn (" + acc + "): left = " + left + ", right = " + right);
 
 		// Build (implicit) uniformised DTMC
 		dtmc = ctmc.buildImplicitUniformisedDTMC(q);
@@ -463,11 +560,15 @@ public class CTMCModelChecker extends ProbModelChecker
 		// Create solution vector(s)
 		soln = new double[n];
 		soln2 = new double[n];
-		sum = new double[n];
+		sums = new double[times.length][];
+		for (k = 0; k < times.length; k++) {
+			if (res[k] == null)
+				sums[k] = new double[n];
+		}
 
 		// Initialise solution vectors.
 		// Vectors soln/soln2 are 1 for target states, or multProbs[i] if supplied.
-		// Vector sum is all zeros (done by array creation).
+		// Vectors in sums are all zeros (done by array creation).
 		if (multProbs != null) {
 			for (i = 0; i < n; i++)
 				soln[i] = soln2[i] = target.get(i) ? multProbs[i] : 0.0;
@@ -477,23 +578,29 @@ public class CTMCModelChecker extends ProbModelChecker
 		}
 
 		// If necessary, do 0th element of summation (doesn't require any matrix powers)
-		if (left == 0)
-			for (i = 0; i < n; i++)
-				sum[i] += weights[0] * soln[i];
+		for (k = 0; k < times.length; k++) {
+			if (sums[k] != null && left[k] == 0)
+				for (i = 0; i < n; i++)
+					sums[k][i] += weights[k][0] * soln[i];
+		}
 
 		// Start iterations
 		iters = 1;
-		while (iters <= right) {
+		while (iters <= maxRight) {
 			// Matrix-vector multiply
 			dtmc.mvMult(soln, soln2, nonAbs, false);
 			// Swap vectors for next iter
 			tmpsoln = soln;
 			soln = soln2;
 			soln2 = tmpsoln;
-			// Add to sum
-			if (iters >= left) {
-				for (i = 0; i < n; i++)
-					sum[i] += weights[iters - left] * soln[i];
+			// Add to sum(s)
+			for (k = 0; k < times.length; k++) {
+				if (sums[k] != null && iters >= left[k] && iters <= right[k]) {
+					double sum[] = sums[k];
+					double weight = weights[k][iters - left[k]];
+					for (i = 0; i < n; i++)
+						sum[i] += weight * soln[i];
+				}
 			}
 			iters++;
 		}
@@ -504,12 +611,16 @@ public class CTMCModelChecker extends ProbModelChecker
 		mainLog.println(" took " + iters + " iters and " + timer / 1000.0 + " seconds.");
 
 		// Return results
-		res = new ModelCheckerResult();
-		res.soln = sum;
-		res.lastSoln = soln2;
-		res.numIters = iters;
-		res.timeTaken = timer / 1000.0;
-		res.timePre = 0.0;
+		for (k = 0; k < times.length; k++) {
+			if (sums[k] == null)
+				continue;
+			res[k] = new ModelCheckerResult();
+			res[k].soln = sums[k];
+			res[k].lastSoln = soln2;
+			res[k].numIters = right[k] + 1;
+			res[k].timeTaken = timer / 1000.0;
+			res[k].timePre = 0.0;
+		}
 		return res;
 	}
 
@@ -907,73 +1018,101 @@ public class CTMCModelChecker extends ProbModelChecker
 	 */
 	public ModelCheckerResult computeTransientProbs(CTMC ctmc, double t, double initDist[]) throws PrismException
 	{
-		ModelCheckerResult res = null;
-		int i, n, iters;
-		double soln[], soln2[], tmpsoln[], sum[];
+		return computeTransientProbs(ctmc, new double[] { t }, initDist)[0];
+	}
+
+	/**
+	 * Compute transient probabilities for several time points at once,
+	 * i.e. compute, for each time point {@code times[k]}, the probability of being in each state
+	 * at time {@code times[k]}, assuming the initial distribution {@code initDist}.
+	 * The iterations of the uniformised DTMC are shared: a single pass up to the largest
+	 * right truncation point is performed, accumulating a separate Fox-Glynn-weighted sum for each time point.
+	 * For space efficiency, the initial distribution vector will be modified and values over-written,
+	 * so if you wanted it, take a copy.
+	 * @param ctmc The CTMC
+	 * @param times Time points (in any order)
+	 * @param initDist Initial distribution (will be overwritten)
+	 * @return One result for each time point, in the same order as {@code times}
+	 */
+	public ModelCheckerResult[] computeTransientProbs(CTMC ctmc, double times[], double initDist[]) throws PrismException
+	{
+		ModelCheckerResult res[] = new ModelCheckerResult[times.length];
+		int i, k, n, iters, maxRight;
+		double soln[], soln2[], tmpsoln[], sums[][];
 		DTMC dtmc;
 		long timer;
 		// Fox-Glynn stuff
 		FoxGlynn fg;
-		int left, right;
-		double q, qt, acc, weights[], totalWeight;
+		int left[], right[];
+		double q, qt, acc, weights[][], totalWeight;
 
 		// Start bounded probabilistic reachability
 		timer = System.currentTimeMillis();
-		mainLog.println("\nStarting transient probability computation...");
+		mainLog.println("\nStarting transient probability computation" + (times.length > 1 ? " for " + times.length + " time points" : "") + "...");
 
 		// Store num states
 		n = ctmc.getNumStates();
 
-		// Get uniformisation rate; do Fox-Glynn
+		// Get uniformisation rate (same for all time points); do Fox-Glynn for each time point
 		q = ctmc.getDefaultUniformisationRate();
-		qt = q * t;
-		mainLog.println("\nUniformisation: q.t = " + q + " x " + t + " = " + qt);
 		acc = termCritParam / 8.0;
-		fg = new FoxGlynn(qt, 1e-300, 1e+300, acc);
-		left = fg.getLeftTruncationPoint();
-		right = fg.getRightTruncationPoint();
-		if (right < 0) {
-			throw new PrismException("Overflow in Fox-Glynn computation (time bound too big?)");
-		}
-		weights = fg.getWeights();
-		totalWeight = fg.getTotalWeight();
-		for (i = left; i <= right; i++) {
-			weights[i - left] /= totalWeight;
+		left = new int[times.length];
+		right = new int[times.length];
+		weights = new double[times.length][];
+		maxRight = 0;
+		for (k = 0; k < times.length; k++) {
+			qt = q * times[k];
+			mainLog.println("\nUniformisation: q.t = " + q + " x " + times[k] + " = " + qt);
+			fg = new FoxGlynn(qt, 1e-300, 1e+300, acc);
+			left[k] = fg.getLeftTruncationPoint();
+			right[k] = fg.getRightTruncationPoint();
+			if (right[k] < 0) {
+				throw new PrismException("Overflow in Fox-Glynn computation (time bound too big?)");
+			}
+			weights[k] = fg.getWeights();
+			totalWeight = fg.getTotalWeight();
+			for (i = left[k]; i <= right[k]; i++) {
+				weights[k][i - left[k]] /= totalWeight;
+			}
+			mainLog.println("Fox-Glynn (" + acc + "): left = " + left[k] + ", right = " + right[k]);
+			maxRight = Math.max(maxRight, right[k]);
 		}
-		mainLog.println("Fox-Glynn (" + acc + "): left = " + left + ", right = " + right);
 
 		// Build (implicit) uniformised DTMC
 		dtmc = ctmc.buildImplicitUniformisedDTMC(q);
 
 		// Create solution vector(s)
 		// For soln, we just use init (since we are free to modify this vector)
+		// (don't need to initialise soln2 since will be immediately overwritten;
+		// vectors in sums are all zeros, done by array creation)
 		soln = initDist;
 		soln2 = new double[n];
-		sum = new double[n];
-
-		// Initialise solution vectors
-		// (don't need to do soln2 since will be immediately overwritten)
-		for (i = 0; i < n; i++)
-			sum[i] = 0.0;
+		sums = new double[times.length][n];
 
 		// If necessary, do 0th element of summation (doesn't require any matrix powers)
-		if (left == 0)
-			for (i = 0; i < n; i++)
-				sum[i] += weights[0] * soln[i];
+		for (k = 0; k < times.length; k++) {
+			if (left[k] == 0)
+				for (i = 0; i < n; i++)
+					sums[k][i] += weights[k][0] * soln[i];
+		}
 
 		// Start iterations
 		iters = 1;
-		while (iters <= right) {
+		while (iters <= maxRight) {
 			// Matrix-vector multiply
 			dtmc.vmMult(soln, soln2);
 			// Swap vectors for next iter
 			tmpsoln = soln;
 			soln = soln2;
 			soln2 = tmpsoln;
-			// Add to sum
-			if (iters >= left) {
-				for (i = 0; i < n; i++)
-					sum[i] += weights[iters - left] * soln[i];
+			// Add to sum(s)
+			for (k = 0; k < times.length; k++) {
+				if (iters >= left[k] && iters <= right[k]) {
+					double sum[] = sums[k];
+					double weight = weights[k][iters - left[k]];
+					for (i = 0; i < n; i++)
+						sum[i] += weight * soln[i];
+				}
 			}
 			iters++;
 		}
@@ -984,12 +1123,14 @@ public class CTMCModelChecker extends ProbModelChecker
 		mainLog.println(" took " + iters + " iters and " + timer / 1000.0 + " seconds.");
 
 		// Return results
-		res = new ModelCheckerResult();
-		res.soln = sum;
-		res.lastSoln = soln2;
-		res.numIters = iters;
-		res.timeTaken = timer / 1000.0;
-		res.timePre = 0.0;
+		for (k = 0; k < times.length; k++) {
+			res[k] = new ModelCheckerResult();
+			res[k].soln = sums[k];
+			res[k].lastSoln = soln2;
+			res[k].numIters = right[k] + 1;
+			res[k].timeTaken = timer / 1000.0;
+			res[k].timePre = 0.0;
+		}
 		return res;
 	}
 
@@ -35,6 +35,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import parser.State;
+import parser.StatePacker;
 import parser.Values;
 import parser.VarList;
 import prism.ModelGenerator;
@@ -70,11 +71,23 @@ public class ConstructModel extends PrismComponent
 	protected boolean distinguishActions = true;
 	/** Should labels be processed and attached to the model? */
 	protected boolean attachLabels = true;
+	/** Number of threads to use for state space exploration (1 means sequential) */
+	protected int numThreads = 1;
+	/** Store states in bit-packed form during and after construction, if possible? */
+	protected boolean packStates = false;
+	/** If states are packed, store them off-heap during construction? */
+	protected boolean packStatesOffHeap = false;
+	/** Reordering of states (after sorting, if done) to improve memory locality */
+	protected StateReordering.Method reorderMethod = StateReordering.Method.NONE;
+	/** Record the transition structure of the model, so that it can be rebuilt for new probabilities? */
+	protected boolean recordStructure = false;
 
 	// Details of built model:
 
 	/** Reachable states */
 	protected List<State> statesList;
+	/** Transition structure of the model (if recorded and reusable) */
+	protected ReusableStructure structure;
 
 	public ConstructModel(PrismComponent parent) throws PrismException
 	{
@@ -89,6 +102,16 @@ public class ConstructModel extends PrismComponent
 		return statesList;
 	}
 
+	/**
+	 * Get the transition structure recorded during the last model construction performed,
+	 * if {@link #setRecordStructure(boolean)} was enabled and the structure can be reused
+	 * (see {@link #reconstructModel(ModelGenerator, ReusableStructure)}); otherwise null.
+	 */
+	public ReusableStructure getReusableStructure()
+	{
+		return structure;
+	}
+
 	/**
 	 * Automatically fix deadlocks, if needed?
 	 * (by adding self-loops in those states)
@@ -106,6 +129,16 @@ public class ConstructModel extends PrismComponent
 		this.sortStates = sortStates;
 	}
 
+	/**
+	 * Set the method used to reorder states (after sorting, if done) to improve memory locality.
+	 * The mapping from the original order to the new one is attached to the model
+	 * (see {@link Model#getStateReordering()}).
+	 */
+	public void setReorderMethod(StateReordering.Method reorderMethod)
+	{
+		this.reorderMethod = reorderMethod;
+	}
+
 	/**
 	 * Build a sparse representation, if possible?
 	 * (e.g. MDPSparse rather than MDPSimple data structure)
@@ -131,6 +164,44 @@ public class ConstructModel extends PrismComponent
 		this.attachLabels = attachLabels;
 	}
 
+	/**
+	 * Set the number of threads to use for state space exploration (1 means sequential).
+	 * Only possible for models whose {@link prism.ModelGenerator} supports {@code createCopy()};
+	 * otherwise, exploration is done sequentially. The constructed model is the same either way.
+	 */
+	public void setNumThreads(int numThreads)
+	{
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * Store states in bit-packed form (see {@link parser.StatePacker}) during and after construction?
+	 * This is only possible if all variables are bounded; otherwise, states are stored normally.
+	 */
+	public void setPackStates(boolean packStates)
+	{
+		this.packStates = packStates;
+	}
+
+	/**
+	 * If states are packed (see {@link #setPackStates(boolean)}), store them off-heap
+	 * (outside the Java heap) during construction?
+	 */
+	public void setPackStatesOffHeap(boolean packStatesOffHeap)
+	{
+		this.packStatesOffHeap = packStatesOffHeap;
+	}
+
+	/**
+	 * Record the transition structure of the model during construction, so that it can be rebuilt
+	 * cheaply when only its probabilities change (see {@link #getReusableStructure()})?
+	 * This is currently only done for sparse DTMCs and MDPs.
+	 */
+	public void setRecordStructure(boolean recordStructure)
+	{
+		this.recordStructure = recordStructure;
+	}
+
 	/**
 	 * Build the set of reachable states for a model and return it.
 	 * @param modelGen The ModelGenerator interface providing the model 
@@ -234,34 +305,91 @@ public class ConstructModel extends PrismComponent
 				throw new PrismNotSupportedException("Model construction not supported for " + modelType + "s");
 			}
 		}
+		// If building a sparse model (DTMCs/MDPs only), store transitions directly in a sparse buffer,
+		// from which the final model is created, rather than in the (mutable) model above
+		SparseModelBuffer buffer = null;
+		if (!justReach && buildSparse && (modelType == ModelType.DTMC || modelType == ModelType.MDP)) {
+			buffer = new SparseModelBuffer(modelType.nondeterministic());
+		}
+		// If required, record the transition structure as it is explored
+		structure = null;
+		if (recordStructure && buffer != null) {
+			structure = new ReusableStructure();
+		}
+
+		// If required, explore the state space using multiple threads first.
+		// The model is then built from the stored results of this, as below, with states
+		// already indexed (and numbered as for a sequential build), so 'states' is not needed.
+		ModelGenerator exploreGen = modelGen;
+		ParallelStateExplorer.ExploredModelGenerator explored = null;
+		if (numThreads > 1) {
+			mainLog.print(" (" + numThreads + " threads)");
+			explored = new ParallelStateExplorer(this, numThreads).explore(modelGen, progress);
+			if (explored == null) {
+				mainLog.print(" (model generator cannot be copied, using 1 thread)");
+			} else {
+				exploreGen = explored;
+			}
+		}
 
 		// Initialise states storage
-		states = new IndexedSet<State>(true);
+		PackedStateStorage packedStates = null;
+		if (explored != null) {
+			states = null;
+		} else if (packStates && varList.getNumVars() == modelGen.getNumVars() && StatePacker.canPack(varList)) {
+			states = packedStates = new PackedStateStorage(new StatePacker(varList), packStatesOffHeap);
+		} else {
+			if (packStates)
+				mainLog.print(" (states cannot be packed)");
+			states = new IndexedSet<State>(true);
+		}
 		explore = new LinkedList<State>();
-		// Add initial state(s) to 'explore', 'states' and to the model
-		for (State initState : modelGen.getInitialStates()) {
-			explore.add(initState);
-			states.add(initState);
-			if (!justReach) {
-				modelSimple.addState();
-				modelSimple.addInitialState(modelSimple.getNumStates() - 1);
+		if (explored != null) {
+			// After parallel exploration, all states are known and initial states come first
+			if (!justReach && buffer == null) {
+				modelSimple.addStates(explored.getNumStates());
+			}
+			for (i = 0; i < explored.getNumInitialStates(); i++) {
+				if (buffer != null) {
+					buffer.addInitialState(i);
+				} else if (!justReach) {
+					modelSimple.addInitialState(i);
+				}
+			}
+		} else {
+			// Add initial state(s) to 'explore', 'states' and to the model
+			for (State initState : modelGen.getInitialStates()) {
+				explore.add(initState);
+				states.add(initState);
+				if (buffer != null) {
+					buffer.addInitialState(states.getIndexOfLastAdd());
+				} else if (!justReach) {
+					modelSimple.addState();
+					modelSimple.addInitialState(modelSimple.getNumStates() - 1);
+				}
 			}
 		}
 		// Explore...
 		src = -1;
-		while (!explore.isEmpty()) {
+		while (explored != null ? src + 1 < explored.getNumStates() : !explore.isEmpty()) {
 			// Pick next state to explore
 			// (they are stored in order found so know index is src+1)
-			state = explore.removeFirst();
+			state = explored != null ? explored.getState(src + 1) : explore.removeFirst();
 			src++;
+			if (buffer != null) {
+				buffer.startState();
+			}
 			// Explore all choices/transitions from this state
-			modelGen.exploreState(state);
-			nc = modelGen.getNumChoices();
+			exploreGen.exploreState(state);
+			nc = exploreGen.getNumChoices();
+			if (structure != null) {
+				structure.addState(nc);
+			}
 			// For games, first determine which player owns the state
 			if (modelType.multiplePlayers()) {
 				player = -1;
 				for (i = 0; i < nc; i++) {
-					int iPlayer = modelGen.getPlayerNumberForChoice(i);
+					int iPlayer = exploreGen.getPlayerNumberForChoice(i);
 					if (player != -1 && iPlayer != player) {
 						throw new PrismException("PRISM-games only supports turn-based stochastic games, but there are choices for both player " + player + " and " + iPlayer + " in state " + state);
 					}
@@ -272,7 +400,7 @@ public class ConstructModel extends PrismComponent
 					player = 1;
 				}
 				// Make sure a valid player owns the state
-				if (player < 1 || player > modelGen.getNumPlayers()) {
+				if (player < 1 || player > exploreGen.getNumPlayers()) {
 					throw new PrismException("State " + state + " owned by invalid player (" + player + ")");
 				}
 				if (modelType == ModelType.STPG) {
@@ -284,39 +412,54 @@ public class ConstructModel extends PrismComponent
 			// Look at each outgoing choice in turn
 			for (i = 0; i < nc; i++) {
 				// For nondet models, collect transitions in a Distribution
-				if (!justReach && modelType.nondeterministic()) {
+				if (buffer != null && modelType.nondeterministic()) {
+					buffer.startChoice();
+				} else if (!justReach && modelType.nondeterministic()) {
 					distr = new Distribution();
 				}
 				// Look at each transition in the choice
-				nt = modelGen.getNumTransitions(i);
+				nt = exploreGen.getNumTransitions(i);
+				if (structure != null) {
+					structure.addChoice(nt);
+				}
 				for (j = 0; j < nt; j++) {
-					stateNew = modelGen.computeTransitionTarget(i, j);
-
-					// Is this a new state?
-					if (states.add(stateNew)) {
-						// If so, add to the explore list
-						explore.add(stateNew);
-						// And to model
-						if (!justReach) {
-							modelSimple.addState();
+					if (explored != null) {
+						// Target is already indexed
+						dest = explored.getTransitionTargetIndex(i, j);
+					} else {
+						stateNew = exploreGen.computeTransitionTarget(i, j);
+
+						// Is this a new state?
+						if (states.add(stateNew)) {
+							// If so, add to the explore list
+							explore.add(stateNew);
+							// And to model
+							if (!justReach && buffer == null) {
+								modelSimple.addState();
+							}
 						}
+						// Get index of state in state set
+						dest = states.getIndexOfLastAdd();
+					}
+					if (structure != null) {
+						structure.addTransition(dest);
 					}
-					// Get index of state in state set
-					dest = states.getIndexOfLastAdd();
 					// Add transitions to model
-					if (!justReach) {
+					if (buffer != null) {
+						buffer.addTransition(dest, exploreGen.getTransitionProbability(i, j));
+					} else if (!justReach) {
 						switch (modelType) {
 						case DTMC:
-							dtmc.addToProbability(src, dest, modelGen.getTransitionProbability(i, j));
+							dtmc.addToProbability(src, dest, exploreGen.getTransitionProbability(i, j));
 							break;
 						case CTMC:
-							ctmc.addToProbability(src, dest, modelGen.getTransitionProbability(i, j));
+							ctmc.addToProbability(src, dest, exploreGen.getTransitionProbability(i, j));
 							break;
 						case MDP:
 						case CTMDP:
 						case STPG:
 						case SMG:
-							distr.add(dest, modelGen.getTransitionProbability(i, j));
+							distr.add(dest, exploreGen.getTransitionProbability(i, j));
 							break;
 						case PTA:
 						case LTS:
@@ -325,34 +468,52 @@ public class ConstructModel extends PrismComponent
 					}
 				}
 				// For nondet models, add collated transition to model 
-				if (!justReach) {
+				if (buffer != null) {
+					if (modelType.nondeterministic()) {
+						int duplicate;
+						if (!distinguishActions) {
+							duplicate = buffer.endChoice(null);
+						} else if (modelType == ModelType.MDP) {
+							duplicate = buffer.endChoice(exploreGen.getChoiceAction(i));
+						} else {
+							duplicate = buffer.endChoice(exploreGen.getTransitionAction(i, 0));
+						}
+						if (structure != null && duplicate != -1) {
+							structure.setDuplicateChoice(duplicate);
+						}
+					}
+				} else if (!justReach) {
 					if (modelType == ModelType.MDP) {
 						if (distinguishActions) {
-							mdp.addActionLabelledChoice(src, distr, modelGen.getChoiceAction(i));
+							mdp.addActionLabelledChoice(src, distr, exploreGen.getChoiceAction(i));
 						} else {
 							mdp.addChoice(src, distr);
 						}
 					} else if (modelType == ModelType.CTMDP) {
 						if (distinguishActions) {
-							ctmdp.addActionLabelledChoice(src, distr, modelGen.getChoiceAction(i));
+							ctmdp.addActionLabelledChoice(src, distr, exploreGen.getChoiceAction(i));
 						} else {
 							ctmdp.addChoice(src, distr);
 						}
 					} else if (modelType == ModelType.STPG) {
 						if (distinguishActions) {
-							stpg.addActionLabelledChoice(src, distr, modelGen.getTransitionAction(i, 0));
+							stpg.addActionLabelledChoice(src, distr, exploreGen.getTransitionAction(i, 0));
 						} else {
 							stpg.addChoice(src, distr);
 						}
 					} else if (modelType == ModelType.SMG) {
 						if (distinguishActions) {
-							smg.addActionLabelledChoice(src, distr, modelGen.getTransitionAction(i, 0));
+							smg.addActionLabelledChoice(src, distr, exploreGen.getTransitionAction(i, 0));
 						} else {
 							smg.addChoice(src, distr);
 						}
 					}
 				}
 			}
+			// Find/fix deadlocks in the sparse buffer as we go (if required)
+			if (buffer != null) {
+				buffer.endState(findDeadlocks, fixDeadlocks);
+			}
 			// Print some progress info occasionally
 			progress.updateIfReady(src + 1);
 		}
@@ -367,23 +528,48 @@ public class ConstructModel extends PrismComponent
 		//mainLog.println(states);
 
 		// Find/fix deadlocks (if required)
-		if (!justReach && findDeadlocks) {
+		if (!justReach && findDeadlocks && buffer == null) {
 			modelSimple.findDeadlocks(fixDeadlocks);
 		}
 
 		int permut[] = null;
 
 		if (sortStates) {
-			// Sort states and convert set to list
+			// Sort states
 			mainLog.println("Sorting reachable states list...");
-			permut = states.buildSortingPermutation();
-			statesList = states.toPermutedArrayList(permut);
+			permut = explored != null ? explored.buildSortingPermutation() : states.buildSortingPermutation();
 			//mainLog.println(permut);
+		}
+		// Reorder states to improve memory locality, if required
+		// (the new order is composed with the sorting permutation)
+		int stateReordering[] = null;
+		if (!justReach && reorderMethod != StateReordering.Method.NONE) {
+			StateReordering reordering = new StateReordering(this, reorderMethod);
+			if (buffer != null) {
+				stateReordering = reordering.computeReordering(buffer.getNumStates(), buffer::getSuccessors, permut);
+			} else {
+				stateReordering = reordering.computeReordering(modelSimple.getNumStates(), modelSimple::getSuccessors, permut);
+			}
+			if (permut == null) {
+				permut = stateReordering;
+			} else {
+				for (i = 0; i < permut.length; i++) {
+					permut[i] = stateReordering[permut[i]];
+				}
+			}
+		}
+		// Convert set to list
+		if (explored != null) {
+			statesList = explored.toStatesList(permut);
 		} else {
-			statesList = states.toArrayList();
+			if (permut != null) {
+				statesList = packedStates != null ? packedStates.toPackedStateList(permut) : states.toPermutedArrayList(permut);
+			} else {
+				statesList = packedStates != null ? packedStates.toPackedStateList(null) : states.toArrayList();
+			}
+			states.clear();
+			states = null;
 		}
-		states.clear();
-		states = null;
 		//mainLog.println(permut);
 		//mainLog.println(statesList);
 
@@ -391,37 +577,48 @@ public class ConstructModel extends PrismComponent
 		if (!justReach) {
 			switch (modelType) {
 			case DTMC:
-				if (buildSparse) {
-					model = sortStates ? new DTMCSparse(dtmc, permut) : new DTMCSparse(dtmc);
+				if (buffer != null) {
+					model = buffer.buildDTMCSparse(permut);
+					model.setVarList(varList);
+				} else if (buildSparse) {
+					model = permut != null ? new DTMCSparse(dtmc, permut) : new DTMCSparse(dtmc);
 				} else {
-					model = sortStates ? new DTMCSimple(dtmc, permut) : (DTMCSimple) dtmc;
+					model = permut != null ? new DTMCSimple(dtmc, permut) : (DTMCSimple) dtmc;
 				}
 				break;
 			case CTMC:
-				model = sortStates ? new CTMCSimple(ctmc, permut) : (CTMCSimple) ctmc;
+				model = permut != null ? new CTMCSimple(ctmc, permut) : (CTMCSimple) ctmc;
 				break;
 			case MDP:
-				if (buildSparse) {
-					model = sortStates ? new MDPSparse(mdp, true, permut) : new MDPSparse(mdp);
+				if (buffer != null) {
+					model = buffer.buildMDPSparse(permut);
+					model.setVarList(varList);
+				} else if (buildSparse) {
+					model = permut != null ? new MDPSparse(mdp, true, permut) : new MDPSparse(mdp);
 				} else {
-					model = sortStates ? new MDPSimple(mdp, permut) : mdp;
+					model = permut != null ? new MDPSimple(mdp, permut) : mdp;
 				}
 				break;
 			case CTMDP:
-				model = sortStates ? new CTMDPSimple(ctmdp, permut) : mdp;
+				model = permut != null ? new CTMDPSimple(ctmdp, permut) : mdp;
 				break;
 			case STPG:
-				model = sortStates ? new STPGExplicit(stpg, permut) : stpg;
+				model = permut != null ? new STPGExplicit(stpg, permut) : stpg;
 				break;
 			case SMG:
-				model = sortStates ? new SMG(smg, permut) : smg;
+				model = permut != null ? new SMG(smg, permut) : smg;
 				break;
 			case PTA:
 			case LTS:
 				throw new PrismNotSupportedException("Model construction not supported for " + modelType + "s");
 			}
 			model.setStatesList(statesList);
+			model.setStateReordering(stateReordering);
 			model.setConstantValues(new Values(modelGen.getConstantValues()));
+			// Finish recording the transition structure, if required
+			if (structure != null && !structure.finish(model, permut)) {
+				structure = null;
+			}
 		}
 
 		// Discard permutation
@@ -433,6 +630,35 @@ public class ConstructModel extends PrismComponent
 		return model;
 	}
 
+	/**
+	 * Construct an explicit-state model, reusing the transition structure recorded during an earlier
+	 * construction (see {@link #setRecordStructure(boolean)}), and return it. The model generator should
+	 * be for the same model, but possibly with different values for constants that do not affect its
+	 * structure, only the transition probabilities. These, and labels, are recomputed; the states and
+	 * transitions are reused. Returns null if the structure turns out to be different,
+	 * in which case the model should be constructed as normal.
+	 * @param modelGen The ModelGenerator interface providing the model
+	 * @param structure The recorded transition structure
+	 */
+	public Model reconstructModel(ModelGenerator modelGen, ReusableStructure structure) throws PrismException
+	{
+		mainLog.print("\nReusing transition structure of previously built model...");
+		mainLog.flush();
+		long timer = System.currentTimeMillis();
+		ModelExplicit model = structure.buildModel(modelGen);
+		if (model == null) {
+			mainLog.println(" structure has changed, rebuilding.");
+			return null;
+		}
+		model.setConstantValues(new Values(modelGen.getConstantValues()));
+		statesList = model.getStatesList();
+		this.structure = structure;
+		if (attachLabels)
+			attachLabels(modelGen, model);
+		mainLog.println(" transition probabilities recomputed in " + ((System.currentTimeMillis() - timer) / 1000.0) + " secs.");
+		return model;
+	}
+
 	private void attachLabels(ModelGenerator modelGen, ModelExplicit model) throws PrismException
 	{
 		// Get state info
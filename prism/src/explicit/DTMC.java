@@ -34,6 +34,7 @@ import common.IterableStateSet;
 import common.iterable.IterableInt;
 import prism.Pair;
 import prism.PrismException;
+import prism.PrismUtils;
 import explicit.rewards.MCRewards;
 
 /**
@@ -442,6 +443,49 @@ public interface DTMC extends Model
 		}
 	}
 
+	/**
+	 * Do a matrix-vector multiplication for the DTMC's transition probability matrix P
+	 * and the single-precision vector {@code vect} passed in, for the state indices provided by the iterator,
+	 * i.e., for all s of {@code states}: result[s] = sum_j P(s,j)*vect[j]
+	 * <p>
+	 * Sums are accumulated in double precision and then rounded down
+	 * (see {@link PrismUtils#roundDownToFloat(double)}) when stored in {@code result}.
+	 * @param vect Vector to multiply by
+	 * @param result Vector to store result in
+	 * @param states Perform multiplication for these rows, in the iteration order
+	 */
+	public default void mvMultFloat(float vect[], float result[], PrimitiveIterator.OfInt states)
+	{
+		while (states.hasNext()) {
+			int s = states.nextInt();
+			result[s] = PrismUtils.roundDownToFloat(sumOverTransitions(s, (__, t, prob) -> {
+				return prob * vect[t];
+			}));
+		}
+	}
+
+	/**
+	 * Do a matrix-vector multiplication and sum of action reward,
+	 * for the single-precision vector {@code vect} passed in.
+	 * Sums are accumulated in double precision and then rounded down
+	 * (see {@link PrismUtils#roundDownToFloat(double)}) when stored in {@code result}.
+	 * @param vect Vector to multiply by
+	 * @param mcRewards The rewards
+	 * @param result Vector to store result in
+	 * @param states Do multiplication for these rows, in the specified order
+	 */
+	public default void mvMultRewFloat(float vect[], MCRewards mcRewards, float result[], PrimitiveIterator.OfInt states)
+	{
+		while (states.hasNext()) {
+			int s = states.nextInt();
+			double d = mcRewards.getStateReward(s);
+			d += sumOverTransitions(s, (__, t, prob) -> {
+				return prob * vect[t];
+			});
+			result[s] = PrismUtils.roundDownToFloat(d);
+		}
+	}
+
 	/**
 	 * Do a matrix-vector multiplication and sum of action reward (Jacobi).
 	 * @param vect Vector to multiply by
@@ -613,12 +613,20 @@ public class DTMCModelChecker extends ProbModelChecker
 		case GAUSS_SEIDEL:
 		case BACKWARDS_GAUSS_SEIDEL:
 		case JACOBI:
+		case BICGSTAB:
+		case GMRES:
 			break; // supported
 		default:
 			linEqMethod = LinEqMethod.GAUSS_SEIDEL;
 			mainLog.printWarning("Switching to linear equation solution method \"" + linEqMethod.fullName() + "\"");
 		}
 
+		// Krylov methods need Prob0 (for the equation system to be non-singular), and do not do interval iteration
+		if (linEqMethod.isKrylov() && (doIntervalIteration || !precomp || !prob0)) {
+			linEqMethod = LinEqMethod.GAUSS_SEIDEL;
+			mainLog.printWarning("Switching to linear equation solution method \"" + linEqMethod.fullName() + "\"");
+		}
+
 		if (doIntervalIteration && (!precomp || !prob0 || !prob1)) {
 			throw new PrismNotSupportedException("Interval iteration requires precomputations to be active");
 		}
@@ -697,9 +705,11 @@ public class DTMCModelChecker extends ProbModelChecker
 		switch (linEqMethod) {
 		case POWER:
 			iterationMethod = new IterationMethodPower(termCritAbsolute, termCritParam);
+			iterationMethod.setNumThreads(iterationThreads);
 			break;
 		case JACOBI:
 			iterationMethod = new IterationMethodJacobi(termCritAbsolute, termCritParam);
+			iterationMethod.setNumThreads(iterationThreads);
 			break;
 		case GAUSS_SEIDEL:
 		case BACKWARDS_GAUSS_SEIDEL: {
@@ -707,11 +717,26 @@ public class DTMCModelChecker extends ProbModelChecker
 			iterationMethod = new IterationMethodGS(termCritAbsolute, termCritParam, backwards);
 			break;
 		}
+		case BICGSTAB:
+		case GMRES:
+			// Krylov subspace method (no iteration method needed, see below)
+			break;
 		default:
 			throw new PrismException("Unknown linear equation solution method " + linEqMethod.fullName());
 		}
 
-		if (doIntervalIteration) {
+		// Warm start from the solution of a previous computation, if available
+		// (the solution is unique, given the Prob0 precomputation)
+		if (init == null && known == null && precomp && prob0) {
+			init = getWarmStart(dtmc, WarmStartCache.Kind.REACH_PROBS, false, remain, target);
+			if (init != null && !doIntervalIteration) {
+				mainLog.println("Warm start: using the solution of a previous computation as initial values");
+			}
+		}
+
+		if (iterationMethod == null) {
+			res = doKrylovReachProbs(dtmc, no, yes, init, known, linEqMethod);
+		} else if (doIntervalIteration) {
 			res = doIntervalIterationReachProbs(dtmc, no, yes, init, known, iterationMethod, getDoTopologicalValueIteration());
 		} else {
 			res = doValueIterationReachProbs(dtmc, no, yes, init, known, iterationMethod, getDoTopologicalValueIteration());
@@ -720,6 +745,7 @@ public class DTMCModelChecker extends ProbModelChecker
 		// Finished probabilistic reachability
 		timer = System.currentTimeMillis() - timer;
 		mainLog.println("Probabilistic reachability took " + timer / 1000.0 + " seconds.");
+		storeWarmStart(dtmc, WarmStartCache.Kind.REACH_PROBS, false, remain, target, res.soln);
 
 		// Update time taken
 		res.timeTaken = timer / 1000.0;
@@ -1051,6 +1077,16 @@ public class DTMCModelChecker extends ProbModelChecker
 		if (known != null)
 			unknown.andNot(known);
 
+		if (useFloatVectors(iterationMethod, topological)) {
+			// single-precision vectors, then refinement with Gauss-Seidel in double precision
+			IterationMethod.FloatTwoVectorIteration iterationFloat = ((IterationMethodPower) iterationMethod).forMvMultFloat(dtmc);
+			iterationFloat.init(init);
+			// drop the reference to the double-precision vector, so that its memory can be reclaimed
+			init = null;
+			IterationMethod.IterationValIter refinement = new IterationMethodGS(termCrit == TermCrit.ABSOLUTE, termCritParam, false).forMvMult(dtmc);
+			return iterationMethod.doMixedPrecisionValueIteration(this, description, iterationFloat, refinement, IntSet.asIntSet(unknown), timer, iterationsExport);
+		}
+
 		IterationMethod.IterationValIter iterationReachProbs = iterationMethod.forMvMult(dtmc);
 		iterationReachProbs.init(init);
 
@@ -1077,6 +1113,41 @@ public class DTMCModelChecker extends ProbModelChecker
 	}
 
 
+	/**
+	 * Compute reachability probabilities using a Krylov subspace method (BiCGSTAB/GMRES).
+	 * This requires that the 'no' states include all states with probability 0
+	 * (so that the equation system is non-singular).
+	 * @param dtmc The DTMC
+	 * @param no Probability 0 states
+	 * @param yes Probability 1 states
+	 * @param init Optionally, an initial solution vector (will be overwritten)
+	 * @param known Optionally, a set of states for which the exact answer is known
+	 * Note: if 'known' is specified (i.e. is non-null), 'init' must also be given and is used for the exact values.
+	 * @param linEqMethod The method
+	 */
+	protected ModelCheckerResult doKrylovReachProbs(DTMC dtmc, BitSet no, BitSet yes, double init[], BitSet known, LinEqMethod linEqMethod) throws PrismException
+	{
+		int n = dtmc.getNumStates();
+
+		// Initialise solution vector. Use (where available) the following in order of preference:
+		// (1) exact answer, if already known; (2) 1.0/0.0 if in yes/no; (3) passed in initial value; (4) 0.0
+		double soln[] = (init == null) ? new double[n] : init;
+		for (int i = 0; i < n; i++) {
+			if (known == null || !known.get(i))
+				soln[i] = yes.get(i) ? 1.0 : no.get(i) ? 0.0 : init != null ? init[i] : 0.0;
+		}
+
+		// Determine set of states actually need to compute values for
+		BitSet unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(yes);
+		unknown.andNot(no);
+		if (known != null)
+			unknown.andNot(known);
+
+		return new KrylovSolver(this, linEqMethod).solveReach(dtmc, unknown, soln, null);
+	}
+
 	/**
 	 * Compute reachability probabilities using value iteration.
 	 * @param dtmc The DTMC
@@ -1089,6 +1160,7 @@ public class DTMCModelChecker extends ProbModelChecker
 	protected ModelCheckerResult computeReachProbsValIter(DTMC dtmc, BitSet no, BitSet yes, double init[], BitSet known) throws PrismException
 	{
 		IterationMethodPower iterationMethod = new IterationMethodPower(termCrit == TermCrit.ABSOLUTE, termCritParam);
+		iterationMethod.setNumThreads(iterationThreads);
 		return doValueIterationReachProbs(dtmc, no, yes, init, known, iterationMethod, false);
 	}
 
@@ -1154,7 +1226,9 @@ public class DTMCModelChecker extends ProbModelChecker
 		n = dtmc.getNumStates();
 
 		// Create solution vector(s)
-		initBelow = (init == null) ? new double[n] : init;
+		// (an initial solution vector passed in without known values is used to tighten the bounds, see below)
+		double warmStart[] = (init != null && known == null) ? init : null;
+		initBelow = (init == null || warmStart != null) ? new double[n] : init;
 		initAbove = new double[n];
 
 		// Initialise solution vectors. Use (where available) the following in order of preference:
@@ -1180,6 +1254,10 @@ public class DTMCModelChecker extends ProbModelChecker
 		if (known != null)
 			unknown.andNot(known);
 
+		if (warmStart != null) {
+			warmStartIntervalIteration(warmStart, initBelow, initAbove, unknown, (int s, double[] v) -> dtmc.mvMultSingle(s, v));
+		}
+
 		if (iterationsExport != null) {
 			iterationsExport.exportVector(initBelow, 0);
 			iterationsExport.exportVector(initAbove, 1);
@@ -1754,12 +1832,20 @@ public class DTMCModelChecker extends ProbModelChecker
 		case GAUSS_SEIDEL:
 		case BACKWARDS_GAUSS_SEIDEL:
 		case JACOBI:
+		case BICGSTAB:
+		case GMRES:
 			break; // supported
 		default:
 			linEqMethod = LinEqMethod.GAUSS_SEIDEL;
 			mainLog.printWarning("Switching to linear equation solution method \"" + linEqMethod.fullName() + "\"");
 		}
 
+		// Krylov methods do not do interval iteration
+		if (linEqMethod.isKrylov() && doIntervalIteration) {
+			linEqMethod = LinEqMethod.GAUSS_SEIDEL;
+			mainLog.printWarning("Switching to linear equation solution method \"" + linEqMethod.fullName() + "\"");
+		}
+
 		// Start expected reachability
 		timer = System.currentTimeMillis();
 		mainLog.println("\nStarting expected reachability...");
@@ -1801,15 +1887,17 @@ public class DTMCModelChecker extends ProbModelChecker
 
 		boolean termCritAbsolute = termCrit == TermCrit.ABSOLUTE;
 
-		IterationMethod iterationMethod;
+		IterationMethod iterationMethod = null;
 
 		// Compute rewards
 		switch (linEqMethod) {
 		case POWER:
 			iterationMethod = new IterationMethodPower(termCritAbsolute, termCritParam);
+			iterationMethod.setNumThreads(iterationThreads);
 			break;
 		case JACOBI:
 			iterationMethod = new IterationMethodJacobi(termCritAbsolute, termCritParam);
+			iterationMethod.setNumThreads(iterationThreads);
 			break;
 		case GAUSS_SEIDEL:
 		case BACKWARDS_GAUSS_SEIDEL: {
@@ -1817,11 +1905,26 @@ public class DTMCModelChecker extends ProbModelChecker
 			iterationMethod = new IterationMethodGS(termCritAbsolute, termCritParam, backwards);
 			break;
 		}
+		case BICGSTAB:
+		case GMRES:
+			// Krylov subspace method (no iteration method needed, see below)
+			break;
 		default:
 			throw new PrismException("Unknown linear equation solution method " + linEqMethod.fullName());
 		}
 
-		if (doIntervalIteration) {
+		// Warm start from the solution of a previous computation, if available
+		// (the solution is unique, since the target is reached with probability 1 from the remaining states)
+		if (init == null && known == null) {
+			init = getWarmStart(dtmc, WarmStartCache.Kind.REACH_REWARDS, false, null, target);
+			if (init != null && !doIntervalIteration) {
+				mainLog.println("Warm start: using the solution of a previous computation as initial values");
+			}
+		}
+
+		if (iterationMethod == null) {
+			res = doKrylovReachRewards(dtmc, mcRewards, target, inf, init, known, linEqMethod);
+		} else if (doIntervalIteration) {
 			res = doIntervalIterationReachRewards(dtmc, mcRewards, target, inf, init, known, iterationMethod, getDoTopologicalValueIteration());
 		} else {
 			res = doValueIterationReachRewards(dtmc, mcRewards, target, inf, init, known, iterationMethod, getDoTopologicalValueIteration());
@@ -1830,6 +1933,7 @@ public class DTMCModelChecker extends ProbModelChecker
 		// Finished expected reachability
 		timer = System.currentTimeMillis() - timer;
 		mainLog.println("Expected reachability took " + timer / 1000.0 + " seconds.");
+		storeWarmStart(dtmc, WarmStartCache.Kind.REACH_REWARDS, false, null, target, res.soln);
 
 		// Update time taken
 		res.timeTaken = timer / 1000.0;
@@ -2003,6 +2107,17 @@ public class DTMCModelChecker extends ProbModelChecker
 			iterationsExport.exportVector(init, 0);
 
 		IntSet unknownStates = IntSet.asIntSet(unknown);
+
+		if (useFloatVectors(iterationMethod, topological)) {
+			// single-precision vectors, then refinement with Gauss-Seidel in double precision
+			IterationMethod.FloatTwoVectorIteration iterationFloat = ((IterationMethodPower) iterationMethod).forMvMultRewFloat(dtmc, mcRewards);
+			iterationFloat.init(init);
+			// drop the reference to the double-precision vector, so that its memory can be reclaimed
+			init = null;
+			IterationMethod.IterationValIter refinement = new IterationMethodGS(termCrit == TermCrit.ABSOLUTE, termCritParam, false).forMvMultRew(dtmc, mcRewards);
+			return iterationMethod.doMixedPrecisionValueIteration(this, description, iterationFloat, refinement, unknownStates, timer, iterationsExport);
+		}
+
 		IterationMethod.IterationValIter forMvMultRew = iterationMethod.forMvMultRew(dtmc, mcRewards);
 		forMvMultRew.init(init);
 
@@ -2023,6 +2138,41 @@ public class DTMCModelChecker extends ProbModelChecker
 		}
 	}
 
+	/**
+	 * Compute expected reachability rewards using a Krylov subspace method (BiCGSTAB/GMRES).
+	 * @param dtmc The DTMC
+	 * @param mcRewards The rewards
+	 * @param target Target states
+	 * @param inf States for which reward is infinite
+	 * @param init Optionally, an initial solution vector (will be overwritten)
+	 * @param known Optionally, a set of states for which the exact answer is known
+	 * Note: if 'known' is specified (i.e. is non-null, 'init' must also be given and is used for the exact values.
+	 * @param linEqMethod The method
+	 */
+	protected ModelCheckerResult doKrylovReachRewards(DTMC dtmc, MCRewards mcRewards, BitSet target, BitSet inf, double init[], BitSet known, LinEqMethod linEqMethod) throws PrismException
+	{
+		int n = dtmc.getNumStates();
+
+		// Initialise solution vector. Use (where available) the following in order of preference:
+		// (1) exact answer, if already known; (2) 0.0/infinity if in target/inf; (3) passed in initial value; (4) 0.0
+		double soln[] = (init == null) ? new double[n] : init;
+		for (int i = 0; i < n; i++) {
+			if (known == null || !known.get(i))
+				soln[i] = target.get(i) ? 0.0 : inf.get(i) ? Double.POSITIVE_INFINITY : init != null ? init[i] : 0.0;
+		}
+
+		// Determine set of states actually need to compute values for
+		// (these reach the target with probability 1, so the equation system is non-singular)
+		BitSet unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(target);
+		unknown.andNot(inf);
+		if (known != null)
+			unknown.andNot(known);
+
+		return new KrylovSolver(this, linEqMethod).solveReach(dtmc, unknown, soln, mcRewards);
+	}
+
 	/**
 	 * Compute expected reachability rewards using interval iteration.
 	 * @param dtmc The DTMC
@@ -2083,7 +2233,9 @@ public class DTMCModelChecker extends ProbModelChecker
 		}
 
 		// Create solution vector(s)
-		init_below = (init == null) ? new double[n] : init;
+		// (an initial solution vector passed in without known values is used to tighten the bounds, see below)
+		double warmStart[] = (init != null && known == null) ? init : null;
+		init_below = (init == null || warmStart != null) ? new double[n] : init;
 		init_above = new double[n];
 
 		// Initialise solution vector from below. Use (where available) the following in order of preference:
@@ -2106,6 +2258,9 @@ public class DTMCModelChecker extends ProbModelChecker
 				init_above[i] = target.get(i) ? 0.0 : inf.get(i) ? Double.POSITIVE_INFINITY : upperBound;
 		}
 
+		if (warmStart != null) {
+			warmStartIntervalIteration(warmStart, init_below, init_above, unknown, (int s, double[] v) -> dtmc.mvMultRewSingle(s, v, mcRewards));
+		}
 
 		if (iterationsExport != null) {
 			iterationsExport.exportVector(init_below, 0);
@@ -2444,6 +2599,8 @@ public class DTMCModelChecker extends ProbModelChecker
 	 * {@code deltaT} a preconditioning factor and
 	 * {@code I} is the the identity matrix.<br/>
 	 * See <em>William J. Stewart: "Introduction to the Numerical Solution of Markov Chains"</em> p.124 for details.
+	 * If the linear equation solution method is a Krylov subspace method (BiCGSTAB/GMRES),
+	 * the linear equation system is solved directly instead (see {@link KrylovSolver}).
 	 * </p>
 	 * @param dtmc The DTMC
 	 * @param states The BSCC to be analysed
@@ -2457,6 +2614,16 @@ public class DTMCModelChecker extends ProbModelChecker
 		}
 		IterableBitSet bscc = new IterableBitSet(states);
 
+		// Use a Krylov subspace method, if requested
+		if (linEqMethod.isKrylov()) {
+			double[] soln = result == null ? new double[dtmc.getNumStates()] : result;
+			ModelCheckerResult res = new KrylovSolver(this, linEqMethod).solveSteadyStateBSCC(dtmc, states, soln);
+			if (bsccPostProcessor != null) {
+				bsccPostProcessor.apply(soln, states);
+			}
+			return res;
+		}
+
 		// Start value iteration
 		mainLog.println("Starting value iteration...");
 		StopWatch watch = new StopWatch(mainLog).start();
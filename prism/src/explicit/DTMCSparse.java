@@ -137,6 +137,69 @@ public class DTMCSparse extends DTMCExplicit
 
 
 
+	/**
+	 * Constructor: build a DTMC directly from its transition function, stored in sparse (CSR) form.
+	 * The arrays are stored, not copied. Initial states, deadlocks, etc. should be set separately.
+	 * @param numStates Number of states
+	 * @param rows Start of the transitions for each state (size numStates+1)
+	 * @param columns Column (destination) indices for each transition
+	 * @param probabilities Probabilities for each transition
+	 */
+	public DTMCSparse(int numStates, int rows[], int columns[], double probabilities[])
+	{
+		initialise(numStates);
+		this.rows = rows;
+		this.columns = columns;
+		this.probabilities = probabilities;
+	}
+
+	/**
+	 * Copy constructor: create a DTMC with the same states and transitions as {@code dtmc},
+	 * but with different probabilities, indexed as for {@link #getTransitionIndex(int, int)}.
+	 * The transition structure (and states list) is shared, not copied. Labels are not copied.
+	 * @param dtmc DTMC to copy structure from
+	 * @param probabilities Probabilities for each transition
+	 */
+	DTMCSparse(DTMCSparse dtmc, double probabilities[])
+	{
+		initialise(dtmc.getNumStates());
+		for (int in : dtmc.getInitialStates()) {
+			addInitialState(in);
+		}
+		for (int dl : dtmc.getDeadlockStates()) {
+			addDeadlockState(dl);
+		}
+		statesList = dtmc.getStatesList();
+		stateReordering = dtmc.getStateReordering();
+		constantValues = dtmc.getConstantValues();
+		varList = dtmc.getVarList();
+		this.rows = dtmc.rows;
+		this.columns = dtmc.columns;
+		this.probabilities = probabilities;
+	}
+
+	/**
+	 * Get the index of the transition from state {@code s} to state {@code t}
+	 * in the (internal) array of probabilities, or -1 if there is none.
+	 */
+	int getTransitionIndex(int s, int t)
+	{
+		for (int i = rows[s], stop = rows[s + 1]; i < stop; i++) {
+			if (columns[i] == t) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get a copy of the (internal) array of probabilities, indexed as for {@link #getTransitionIndex(int, int)}.
+	 */
+	double[] getProbabilitiesCopy()
+	{
+		return Arrays.copyOf(probabilities, probabilities.length);
+	}
+
 	//--- Model ---
 
 	@Override
@@ -31,6 +31,7 @@ import java.util.List;
 
 import prism.PrismComponent;
 import prism.PrismException;
+import prism.PrismSettings;
 
 /**
  * Abstract class for (explicit) classes that compute (M)ECs, i.e. (maximal) end components,
@@ -43,8 +44,14 @@ public abstract class ECComputer extends PrismComponent
 	 */
 	public static ECComputer createECComputer(PrismComponent parent, NondetModel model) throws PrismException
 	{
-		// Only one algorithm implemented currently
-		return new ECComputerDefault(parent, model);
+		PrismSettings settings = parent.getSettings();
+		switch (SCCComputer.getSCCMethod(settings)) {
+		case FORWARD_BACKWARD:
+			return new ECComputerFB(parent, model, settings.getInteger(PrismSettings.PRISM_SCC_THREADS));
+		case TARJAN:
+		default:
+			return new ECComputerDefault(parent, model);
+		}
 	}
 
 	/**
@@ -0,0 +1,283 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+
+package explicit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import prism.PrismComponent;
+import prism.PrismException;
+
+/**
+ * Explicit maximal end component computer for a nondeterministic model such as an MDP,
+ * based on the forward-backward SCC decomposition of {@link SCCComputerFB}.
+ * <br>
+ * This implements the usual refinement of candidate sets (start with all states;
+ * repeatedly remove states with no choice that stays within their candidate set,
+ * and split candidates into the SCCs of the graph induced by the remaining choices),
+ * but reuses the work of previous rounds: a candidate is only decomposed again
+ * if it changed, and each decomposition is done on a compact graph for the candidate only.
+ */
+public class ECComputerFB extends ECComputer
+{
+	/** The model to compute (M)ECs for **/
+	private NondetModel model;
+	/** Number of threads (for the SCC decompositions) */
+	private int numThreads;
+
+	/** Computed list of MECs **/
+	private List<BitSet> mecs = new ArrayList<BitSet>();
+
+	/**
+	 * Build (M)EC computer for a given model, using {@code numThreads} threads.
+	 */
+	public ECComputerFB(PrismComponent parent, NondetModel model, int numThreads) throws PrismException
+	{
+		super(parent);
+		this.model = model;
+		this.numThreads = numThreads;
+	}
+
+	// Methods for ECComputer interface
+
+	@Override
+	public void computeMECStates() throws PrismException
+	{
+		mecs = findEndComponents(null, null);
+	}
+
+	@Override
+	public void computeMECStates(BitSet restrict) throws PrismException
+	{
+		mecs = findEndComponents(restrict, null);
+	}
+
+	@Override
+	public void computeMECStates(BitSet restrict, BitSet accept) throws PrismException
+	{
+		mecs = findEndComponents(restrict, accept);
+	}
+
+	@Override
+	public List<BitSet> getMECStates()
+	{
+		return mecs;
+	}
+
+	// Computation
+
+	/**
+	 * Find all accepting maximal end components (MECs) in the submodel obtained
+	 * by restricting this one to the set of states {@code restrict},
+	 * where acceptance is defined as those which intersect with {@code accept}.
+	 * If {@code restrict} is null, we look at the whole model, not a submodel.
+	 * If {@code accept} is null, the acceptance condition is trivially satisfied.
+	 * @param restrict BitSet for the set of states to restrict to
+	 * @param accept BitSet for the set of accepting states
+	 * @return a list of BitSets representing the MECs
+	 */
+	private List<BitSet> findEndComponents(BitSet restrict, BitSet accept) throws PrismException
+	{
+		int n = model.getNumStates();
+		List<BitSet> result = new ArrayList<BitSet>();
+		// Candidate set that each state belongs to (-1: none)
+		int cand[] = new int[n];
+		Arrays.fill(cand, -1);
+		// Index of each state within its candidate set (while it is being processed)
+		int local[] = new int[n];
+		// Initially, a single candidate: all (restricted) states
+		int initial[] = restrict == null ? new int[n] : new int[restrict.cardinality()];
+		if (restrict == null) {
+			for (int s = 0; s < n; s++)
+				initial[s] = s;
+		} else {
+			int i = 0;
+			for (int s = restrict.nextSetBit(0); s >= 0; s = restrict.nextSetBit(s + 1))
+				initial[i++] = s;
+		}
+		if (initial.length == 0)
+			return result;
+		for (int s : initial)
+			cand[s] = 0;
+		int numCands = 1;
+		ArrayDeque<int[]> todo = new ArrayDeque<>();
+		todo.push(initial);
+
+		while (!todo.isEmpty()) {
+			int states[] = todo.pop();
+			int c = cand[states[0]];
+			for (int i = 0; i < states.length; i++)
+				local[states[i]] = i;
+
+			// Remove states with no choice staying in the candidate set (to a fixpoint),
+			// using the predecessor relation within the candidate set to find states to recheck
+			int m = states.length;
+			int predStart[] = new int[m + 1];
+			for (int s : states) {
+				for (SuccessorsIterator it = model.getSuccessors(s); it.hasNext();) {
+					int t = it.nextInt();
+					if (cand[t] == c)
+						predStart[local[t] + 1]++;
+				}
+			}
+			for (int i = 0; i < m; i++)
+				predStart[i + 1] += predStart[i];
+			int pred[] = new int[predStart[m]];
+			int next[] = Arrays.copyOf(predStart, m);
+			for (int s : states) {
+				for (SuccessorsIterator it = model.getSuccessors(s); it.hasNext();) {
+					int t = it.nextInt();
+					if (cand[t] == c)
+						pred[next[local[t]]++] = s;
+				}
+			}
+			int queue[] = next;
+			int head = 0, tail = 0;
+			for (int s : states) {
+				if (!hasChoiceInCandidate(s, cand)) {
+					cand[s] = -1;
+					queue[tail++] = s;
+				}
+			}
+			while (head < tail) {
+				int t = queue[head++];
+				for (int p = predStart[local[t]]; p < predStart[local[t] + 1]; p++) {
+					int s = pred[p];
+					if (cand[s] == c && !hasChoiceInCandidate(s, cand)) {
+						cand[s] = -1;
+						queue[tail++] = s;
+					}
+				}
+			}
+			pred = predStart = queue = null;
+			if (tail == m)
+				continue;
+
+			// Build the graph induced by the choices staying in the candidate set,
+			// over the remaining states (indexed locally)
+			int remaining[] = new int[m - tail];
+			int numRemaining = 0;
+			for (int s : states) {
+				if (cand[s] == c) {
+					local[s] = numRemaining;
+					remaining[numRemaining++] = s;
+				}
+			}
+			int succStart[] = new int[numRemaining + 1];
+			for (int i = 0; i < numRemaining; i++) {
+				int s = remaining[i];
+				int count = 0;
+				int numChoices = model.getNumChoices(s);
+				for (int j = 0; j < numChoices; j++) {
+					if (model.allSuccessorsMatch(s, j, t -> cand[t] == c)) {
+						for (SuccessorsIterator it = model.getSuccessors(s, j); it.hasNext();) {
+							if (it.nextInt() != s)
+								count++;
+						}
+					}
+				}
+				succStart[i + 1] = succStart[i] + count;
+			}
+			int succ[] = new int[succStart[numRemaining]];
+			for (int i = 0; i < numRemaining; i++) {
+				int s = remaining[i];
+				int pos = succStart[i];
+				int numChoices = model.getNumChoices(s);
+				for (int j = 0; j < numChoices; j++) {
+					if (model.allSuccessorsMatch(s, j, t -> cand[t] == c)) {
+						for (SuccessorsIterator it = model.getSuccessors(s, j); it.hasNext();) {
+							int t = it.nextInt();
+							if (t != s)
+								succ[pos++] = local[t];
+						}
+					}
+				}
+			}
+
+			// Decompose into SCCs: if there is just one, this is a MEC;
+			// otherwise, each SCC is a new candidate set
+			int rep[] = SCCComputerFB.decompose(new SCCComputerFB.Graph(numRemaining, succStart, succ, null), numThreads);
+			succStart = succ = null;
+			int count[] = new int[numRemaining];
+			int numSCCs = 0;
+			for (int i = 0; i < numRemaining; i++) {
+				if (count[rep[i]]++ == 0)
+					numSCCs++;
+			}
+			if (numSCCs == 1) {
+				BitSet mec = new BitSet();
+				for (int s : remaining)
+					mec.set(s);
+				result.add(mec);
+				continue;
+			}
+			int sccCand[] = new int[numRemaining];
+			int sccStates[][] = new int[numRemaining][];
+			for (int i = 0; i < numRemaining; i++) {
+				if (rep[i] == i) {
+					sccCand[i] = numCands++;
+					sccStates[i] = new int[count[i]];
+					count[i] = 0;
+				}
+			}
+			for (int i = 0; i < numRemaining; i++) {
+				int r = rep[i];
+				int s = remaining[i];
+				cand[s] = sccCand[r];
+				sccStates[r][count[r]++] = s;
+			}
+			for (int i = 0; i < numRemaining; i++) {
+				if (sccStates[i] != null)
+					todo.push(sccStates[i]);
+			}
+		}
+
+		// Filter and return those that contain a state in accept
+		if (accept != null) {
+			result.removeIf(mec -> !mec.intersects(accept));
+		}
+		return result;
+	}
+
+	/**
+	 * Does state {@code s} have a choice whose successors all belong to the same candidate set as {@code s}?
+	 */
+	private boolean hasChoiceInCandidate(int s, int cand[])
+	{
+		int c = cand[s];
+		int numChoices = model.getNumChoices(s);
+		for (int j = 0; j < numChoices; j++) {
+			if (model.allSuccessorsMatch(s, j, t -> cand[t] == c))
+				return true;
+		}
+		return false;
+	}
+}
@@ -27,7 +27,13 @@
 
 package explicit;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import common.IntSet;
 import common.PeriodicTimer;
@@ -187,7 +193,7 @@ public abstract class IterationMethod {
 	 * requires two solution vectors.
 	 * Optionally, a post processing step is performed after each iteration.
 	 */
-	protected abstract class TwoVectorIteration extends IterationBasic implements IterationValIter, IterationIntervalIter {
+	protected abstract class TwoVectorIteration extends IterationBasic implements IterationValIter, IterationIntervalIter, ChunkedIteration {
 		/** The solution vector that serves as the target vector in the iteration step */
 		protected double[] soln2;
 		/** Post processing, may be null */
@@ -213,11 +219,22 @@ public abstract class IterationMethod {
 		/** Perform one iteration */
 		public abstract void doIterate(IntSet states) throws PrismException;
 
+		@Override
+		public boolean isConverged(IntSet states)
+		{
+			return PrismUtils.doublesAreClose(soln, soln2, states.iterator(), termCritParam, absolute);
+		}
+
 		@Override
 		public void iterate(IntSet states) throws PrismException
 		{
-			// do the iteration
-			doIterate(states);
+			// do the iteration (in parallel, if enabled)
+			StateChunk[] chunks = chunkCache.getChunks(states);
+			if (chunks != null) {
+				invokeParallel(new ChunkTask(this, chunks, 0, chunks.length, false));
+			} else {
+				doIterate(states);
+			}
 			// optionally, post processing
 			if (postProcessor != null) {
 				postProcessor.apply(soln, soln2, states);
@@ -232,14 +249,26 @@ public abstract class IterationMethod {
 		@Override
 		public boolean iterateAndCheckConvergence(IntSet states) throws PrismException
 		{
-			// do the iteration
-			doIterate(states);
-			// optionally, post processing
-			if (postProcessor != null) {
-				postProcessor.apply(soln, soln2, states);
+			boolean done;
+			StateChunk[] chunks = chunkCache.getChunks(states);
+			if (chunks != null) {
+				// do the iteration in parallel, checking convergence for each chunk
+				// at the same time, unless there is post processing to be done first
+				done = invokeParallel(new ChunkTask(this, chunks, 0, chunks.length, postProcessor == null));
+				if (postProcessor != null) {
+					postProcessor.apply(soln, soln2, states);
+					done = isConverged(states);
+				}
+			} else {
+				// do the iteration
+				doIterate(states);
+				// optionally, post processing
+				if (postProcessor != null) {
+					postProcessor.apply(soln, soln2, states);
+				}
+				// check convergence (on the set of states)
+				done = PrismUtils.doublesAreClose(soln, soln2, states.iterator(), termCritParam, absolute);
 			}
-			// check convergence (on the set of states)
-			boolean done = PrismUtils.doublesAreClose(soln, soln2, states.iterator(), termCritParam, absolute);
 
 			// switch vectors
 			double[] tmp = soln;
@@ -249,6 +278,9 @@ public abstract class IterationMethod {
 			return done;
 		}
 
+		/** The partition of states into chunks for parallel iterations */
+		private final ChunkCache chunkCache = new ChunkCache();
+
 		@Override
 		public void doneWith(IntSet states)
 		{
@@ -273,6 +305,116 @@ public abstract class IterationMethod {
 
 	}
 
+	/**
+	 * Abstract base class for an IterationValIter that stores its two solution vectors
+	 * in single precision ({@code float}), halving their memory usage.
+	 * The kernels used in {@link #doIterate(IntSet)} accumulate in double precision
+	 * and round results down, so that a value iteration from below stays below the fixpoint.
+	 * <br>
+	 * Values are converted from/to double precision in {@link #init(double[])}
+	 * and {@link #getSolnVector()}, the latter creating a new vector on each call.
+	 * Convergence is checked against {@link IterationMethod#getFloatTermCritParam()}.
+	 * Like {@link TwoVectorIteration}, iterations are done in parallel if more than one thread is set.
+	 * <br>
+	 * This is not an {@link IterationValIter}, since it does not support solving singleton SCCs
+	 * (i.e., topological iteration): it is only used by
+	 * {@link IterationMethod#doMixedPrecisionValueIteration}.
+	 */
+	protected abstract class FloatTwoVectorIteration implements ChunkedIteration
+	{
+		protected final Model model;
+		/** The current solution vector */
+		protected float[] soln;
+		/** The solution vector that serves as the target vector in the iteration step */
+		protected float[] soln2;
+
+		/** The partition of states into chunks for parallel iterations */
+		private final ChunkCache chunkCache = new ChunkCache();
+
+		/** Constructor */
+		protected FloatTwoVectorIteration(Model model)
+		{
+			this.model = model;
+		}
+
+		/** Initialise the value iteration with the given (double-precision) solution vector */
+		public void init(double[] init)
+		{
+			soln = new float[init.length];
+			for (int i = 0; i < init.length; i++) {
+				soln[i] = PrismUtils.roundDownToFloat(init[i]);
+			}
+			soln2 = soln.clone();
+		}
+
+		/** Get the current solution vector, converted to double precision (as a new vector) */
+		public double[] getSolnVector()
+		{
+			double[] res = new double[soln.length];
+			for (int i = 0; i < soln.length; i++) {
+				res[i] = soln[i];
+			}
+			return res;
+		}
+
+		/**
+		 * Get the current solution vector, converted to double precision,
+		 * and discard the single-precision vectors. No further iterations are possible.
+		 */
+		public double[] releaseSolnVector()
+		{
+			// free the second vector before allocating the result
+			soln2 = null;
+			double[] res = getSolnVector();
+			soln = null;
+			return res;
+		}
+
+		/** Perform one iteration */
+		public abstract void doIterate(IntSet states) throws PrismException;
+
+		@Override
+		public boolean isConverged(IntSet states)
+		{
+			double epsilon = getFloatTermCritParam();
+			PrimitiveIterator.OfInt it = states.iterator();
+			while (it.hasNext()) {
+				int s = it.nextInt();
+				if (!PrismUtils.doublesAreClose(soln[s], soln2[s], epsilon, absolute))
+					return false;
+			}
+			return true;
+		}
+
+		/** Perform one iteration (over the set of states) and return true if convergence has been detected. */
+		public boolean iterateAndCheckConvergence(IntSet states) throws PrismException
+		{
+			boolean done;
+			StateChunk[] chunks = chunkCache.getChunks(states);
+			if (chunks != null) {
+				// do the iteration in parallel, checking convergence for each chunk at the same time
+				done = invokeParallel(new ChunkTask(this, chunks, 0, chunks.length, true));
+			} else {
+				// do the iteration, then check convergence (on the set of states)
+				doIterate(states);
+				done = isConverged(states);
+			}
+
+			// switch vectors
+			float[] tmp = soln;
+			soln = soln2;
+			soln2 = tmp;
+
+			return done;
+		}
+
+		/** Return the underlying model */
+		public Model getModel()
+		{
+			return model;
+		}
+	}
+
 	/**
 	 * Functional interface for a method that allows to
 	 * determine the value for a singleton SCC in the model,
@@ -293,6 +435,23 @@ public abstract class IterationMethod {
 	protected final boolean absolute;
 	/** Convergence check: epsilon value */
 	protected final double termCritParam;
+	/** Number of threads to use for (two-vector) iterations */
+	protected int numThreads = 1;
+
+	/**
+	 * Minimum epsilon for the convergence check of iterations with single-precision vectors.
+	 * This is well above the precision of a float (about 6e-8), so that the single-precision
+	 * phase stops while the change in each iteration is still dominated by actual progress,
+	 * rather than by rounding: otherwise, the values can settle at an error of up to
+	 * float precision times the number of iterations needed to converge, where the changes
+	 * are too small for the termination check of the double-precision refinement to notice.
+	 */
+	protected static final double FLOAT_TERM_CRIT_PARAM_MIN = 1e-4;
+
+	/** Number of states (rows) processed by each task in a parallel iteration */
+	protected static final int CHUNK_SIZE = 4096;
+	/** Pools of worker threads for parallel iterations, one per number of threads (shared, created on demand) */
+	private static final Map<Integer, ForkJoinPool> pools = new HashMap<Integer, ForkJoinPool>();
 
 	/**
 	 * Constructor.
@@ -305,6 +464,262 @@ public abstract class IterationMethod {
 		this.termCritParam = termCritParam;
 	}
 
+	/**
+	 * Set the number of threads to use for iterations.
+	 * If more than one, iterations that use two solution vectors (e.g., Power, Jacobi)
+	 * split the rows of the matrix into chunks that are processed in parallel.
+	 * Results are identical to those of a sequential iteration.
+	 * Iterations that update a single vector in place (e.g., Gauss-Seidel) are always sequential.
+	 */
+	public void setNumThreads(int numThreads)
+	{
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * Get the number of threads to use for iterations.
+	 */
+	public int getNumThreads()
+	{
+		return numThreads;
+	}
+
+	/**
+	 * Get the epsilon value for the convergence check of iterations with single-precision vectors,
+	 * i.e., termCritParam, but no smaller than {@link #FLOAT_TERM_CRIT_PARAM_MIN}.
+	 */
+	public double getFloatTermCritParam()
+	{
+		return Math.max(termCritParam, FLOAT_TERM_CRIT_PARAM_MIN);
+	}
+
+	/**
+	 * Get the pool of threads for parallel iterations with {@code numThreads} threads, creating it if needed.
+	 * Pools are kept for reuse (their threads are daemon threads, which time out when idle).
+	 */
+	private static synchronized ForkJoinPool getPool(int numThreads)
+	{
+		ForkJoinPool pool = pools.get(numThreads);
+		if (pool == null) {
+			pool = new ForkJoinPool(numThreads);
+			pools.put(numThreads, pool);
+		}
+		return pool;
+	}
+
+	/**
+	 * A (two-vector) iteration that can be done in parallel, for chunks of the set of states
+	 * (see {@link ChunkTask}), i.e., where an iteration for a set of states
+	 * only writes the entries of the target vector for those states.
+	 */
+	protected interface ChunkedIteration
+	{
+		/** Perform one iteration for a set of states */
+		public void doIterate(IntSet states) throws PrismException;
+
+		/** Check convergence for a set of states, after an iteration (before switching vectors) */
+		public boolean isConverged(IntSet states);
+	}
+
+	/**
+	 * Cache of the partition of a set of states into chunks for a parallel iteration.
+	 * The partition is cached, since the same set of states is usually
+	 * passed to many successive iterations.
+	 */
+	private class ChunkCache
+	{
+		/** The set of states for which the partition into chunks was computed */
+		private IntSet chunkedStates = null;
+		/** The partition of chunkedStates into chunks */
+		private StateChunk[] chunks = null;
+
+		/**
+		 * Get the partition of a set of states into chunks for a parallel iteration,
+		 * or null if the iteration should be done sequentially.
+		 */
+		StateChunk[] getChunks(IntSet states)
+		{
+			if (numThreads <= 1) {
+				return null;
+			}
+			if (states != chunkedStates) {
+				chunkedStates = states;
+				chunks = StateChunk.partition(states, CHUNK_SIZE);
+			}
+			return chunks.length > 1 ? chunks : null;
+		}
+	}
+
+	/**
+	 * Fork-join task performing an iteration for a range of chunks
+	 * and (optionally) checking convergence for them.
+	 * Each chunk writes only the entries of the target vector for its own states,
+	 * so the result is identical to that of a sequential iteration.
+	 */
+	@SuppressWarnings("serial")
+	private static class ChunkTask extends RecursiveTask<Boolean>
+	{
+		private final ChunkedIteration iteration;
+		private final StateChunk[] chunks;
+		private final int from, to;
+		private final boolean checkConvergence;
+
+		ChunkTask(ChunkedIteration iteration, StateChunk[] chunks, int from, int to, boolean checkConvergence)
+		{
+			this.iteration = iteration;
+			this.chunks = chunks;
+			this.from = from;
+			this.to = to;
+			this.checkConvergence = checkConvergence;
+		}
+
+		@Override
+		protected Boolean compute()
+		{
+			if (to - from == 1) {
+				try {
+					iteration.doIterate(chunks[from]);
+				} catch (PrismException e) {
+					throw new ChunkException(e);
+				}
+				return !checkConvergence || iteration.isConverged(chunks[from]);
+			}
+			int mid = (from + to) >>> 1;
+			ChunkTask left = new ChunkTask(iteration, chunks, from, mid, checkConvergence);
+			left.fork();
+			boolean rightDone = new ChunkTask(iteration, chunks, mid, to, checkConvergence).compute();
+			return left.join() && rightDone;
+		}
+	}
+
+	/**
+	 * Run a task for a parallel iteration, passing on any PrismException thrown.
+	 */
+	private boolean invokeParallel(RecursiveTask<Boolean> task) throws PrismException
+	{
+		try {
+			return getPool(numThreads).invoke(task);
+		} catch (ChunkException e) {
+			throw (PrismException) e.getCause();
+		}
+	}
+
+	/**
+	 * Unchecked wrapper for a PrismException thrown during a parallel iteration.
+	 */
+	@SuppressWarnings("serial")
+	private static class ChunkException extends RuntimeException
+	{
+		ChunkException(PrismException cause)
+		{
+			super(cause);
+		}
+	}
+
+	/**
+	 * A chunk of a set of states, i.e., a range of a sorted array of state indices,
+	 * processed by a single task in a parallel iteration.
+	 */
+	private static class StateChunk implements IntSet
+	{
+		private final int[] states;
+		private final int from, to;
+
+		StateChunk(int[] states, int from, int to)
+		{
+			this.states = states;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * Partition a set of states into chunks of (at most) {@code chunkSize} states.
+		 * States are sorted, if needed, so that each chunk covers a range of indices
+		 * (the order does not matter for two-vector iterations).
+		 */
+		static StateChunk[] partition(IntSet set, int chunkSize)
+		{
+			int[] states = new int[set.cardinality()];
+			PrimitiveIterator.OfInt it = set.iterator();
+			boolean sorted = true;
+			for (int i = 0; i < states.length; i++) {
+				states[i] = it.nextInt();
+				if (i > 0 && states[i] < states[i - 1])
+					sorted = false;
+			}
+			if (!sorted) {
+				Arrays.sort(states);
+			}
+			int numChunks = (states.length + chunkSize - 1) / chunkSize;
+			StateChunk[] chunks = new StateChunk[numChunks];
+			for (int c = 0; c < numChunks; c++) {
+				chunks[c] = new StateChunk(states, c * chunkSize, Math.min(states.length, (c + 1) * chunkSize));
+			}
+			return chunks;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator()
+		{
+			return new PrimitiveIterator.OfInt()
+			{
+				int i = from;
+
+				@Override
+				public boolean hasNext()
+				{
+					return i < to;
+				}
+
+				@Override
+				public int nextInt()
+				{
+					if (i >= to)
+						throw new NoSuchElementException();
+					return states[i++];
+				}
+			};
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt reversedIterator()
+		{
+			return new PrimitiveIterator.OfInt()
+			{
+				int i = to - 1;
+
+				@Override
+				public boolean hasNext()
+				{
+					return i >= from;
+				}
+
+				@Override
+				public int nextInt()
+				{
+					if (i < from)
+						throw new NoSuchElementException();
+					return states[i--];
+				}
+			};
+		}
+
+		@Override
+		public int cardinality()
+		{
+			return to - from;
+		}
+
+		@Override
+		public boolean contains(int i)
+		{
+			// States are sorted, so check the range of the chunk, then search within it
+			if (from == to || i < states[from] || i > states[to - 1])
+				return false;
+			return states[to - 1] - states[from] == to - from - 1 || Arrays.binarySearch(states, from, to, i) >= 0;
+		}
+	}
+
 	// ------------ Abstract DTMC methods ----------------------------
 
 	/** Obtain an Iteration object using mvMult (matrix-vector multiplication) in a DTMC */
@@ -448,6 +863,64 @@ public abstract class IterationMethod {
 		return res;
 	}
 
+	/**
+	 * Perform the actual work of a mixed-precision value iteration: first iterate with
+	 * single-precision solution vectors (see {@link FloatTwoVectorIteration}) until convergence
+	 * (up to {@link #getFloatTermCritParam()}), then convert the result to double precision and
+	 * refine it, using the single-vector iteration {@code refinement} (e.g., Gauss-Seidel),
+	 * until convergence with the actual termination criterion.
+	 * Neither phase ever needs two double-precision vectors.
+	 * @param mc ProbModelChecker (for log and settings)
+	 * @param description (for logging)
+	 * @param iteration The (initialised) single-precision iteration object
+	 * @param refinement The (uninitialised) iteration object for refinement in double precision
+	 * @param unknownStates The set of unknown states, i.e., whose value should be determined
+	 * @param startTime The start time (for logging purposes, obtained from a call to System.currentTimeMillis())
+	 * @param iterationsExport an ExportIterations object (optional, ignored if null)
+	 * @return a ModelChecker result with the solution vector and statistics
+	 * @throws PrismException on non-convergence (if mc.errorOnNonConverge is set)
+	 */
+	public ModelCheckerResult doMixedPrecisionValueIteration(ProbModelChecker mc, String description, FloatTwoVectorIteration iteration, IterationValIter refinement, IntSet unknownStates, long startTime, ExportIterations iterationsExport) throws PrismException
+	{
+		int iters = 0;
+		final int maxIters = mc.maxIters;
+		boolean done = false;
+
+		PeriodicTimer updatesTimer = new PeriodicTimer(ProbModelChecker.UPDATE_DELAY);
+		updatesTimer.start();
+
+		while (!done && iters < maxIters) {
+			iters++;
+			// do iteration step
+			done = iteration.iterateAndCheckConvergence(unknownStates);
+
+			if (iterationsExport != null)
+				iterationsExport.exportVector(iteration.getSolnVector(), 0);
+
+			if (!done && updatesTimer.triggered()) {
+				mc.getLog().print("Iteration " + iters + ": ");
+				mc.getLog().println(PrismUtils.formatDouble2dp(updatesTimer.elapsedMillisTotal() / 1000.0) + " sec so far");
+			}
+		}
+
+		// Finished single-precision phase
+		long mvCount = iters * countTransitions(iteration.getModel(), unknownStates);
+		long timer = System.currentTimeMillis() - startTime;
+		mc.getLog().print("Value iteration (" + description + ", single precision)");
+		mc.getLog().print(" took " + iters + " iterations, ");
+		mc.getLog().print(mvCount + " multiplications");
+		mc.getLog().println(" and " + timer / 1000.0 + " seconds.");
+
+		// Refine in double precision
+		// (non-convergence of the first phase is not an error, since refinement continues from there)
+		double[] soln = iteration.releaseSolnVector();
+		refinement.init(soln);
+		ModelCheckerResult res = doValueIteration(mc, description + ", double-precision refinement", refinement, unknownStates, System.currentTimeMillis(), iterationsExport);
+		res.numIters += iters;
+		res.timeTaken = (System.currentTimeMillis() - startTime) / 1000.0;
+		return res;
+	}
+
 	/**
 	 * Perform the actual work of a topological value iteration, i.e., iterate until convergence or abort.
 	 *
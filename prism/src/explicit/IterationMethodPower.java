@@ -131,6 +131,73 @@ public class IterationMethodPower extends IterationMethod {
 		};
 	}
 
+	/**
+	 * Obtain an Iteration object using mvMultFloat (matrix-vector multiplication
+	 * with single-precision solution vectors) in a DTMC.
+	 */
+	public FloatTwoVectorIteration forMvMultFloat(DTMC dtmc)
+	{
+		return new FloatTwoVectorIteration(dtmc) {
+			@Override
+			public void doIterate(IntSet states)
+			{
+				dtmc.mvMultFloat(soln, soln2, states.iterator());
+			}
+		};
+	}
+
+	/**
+	 * Obtain an Iteration object using mvMultRewFloat (matrix-vector multiplication with rewards
+	 * and single-precision solution vectors) in a DTMC.
+	 */
+	public FloatTwoVectorIteration forMvMultRewFloat(DTMC dtmc, MCRewards rew)
+	{
+		return new FloatTwoVectorIteration(dtmc) {
+			@Override
+			public void doIterate(IntSet states)
+			{
+				dtmc.mvMultRewFloat(soln, rew, soln2, states.iterator());
+			}
+		};
+	}
+
+	/**
+	 * Obtain an Iteration object using mvMultMinMaxFloat (matrix-vector multiplication, followed by min/max,
+	 * with single-precision solution vectors) in an MDP.
+	 * @param mdp the MDP
+	 * @param min do min?
+	 * @param strat optional, storage for strategy, ignored if null
+	 */
+	public FloatTwoVectorIteration forMvMultMinMaxFloat(MDP mdp, boolean min, int[] strat)
+	{
+		return new FloatTwoVectorIteration(mdp) {
+			@Override
+			public void doIterate(IntSet states)
+			{
+				mdp.mvMultMinMaxFloat(soln, min, soln2, states.iterator(), strat);
+			}
+		};
+	}
+
+	/**
+	 * Obtain an Iteration object using mvMultRewMinMaxFloat (matrix-vector multiplication with rewards,
+	 * followed by min/max, with single-precision solution vectors) in an MDP.
+	 * @param mdp the MDP
+	 * @param rewards the reward structure
+	 * @param min do min?
+	 * @param strat optional, storage for strategy, ignored if null
+	 */
+	public FloatTwoVectorIteration forMvMultRewMinMaxFloat(MDP mdp, MDPRewards rewards, boolean min, int[] strat)
+	{
+		return new FloatTwoVectorIteration(mdp) {
+			@Override
+			public void doIterate(IntSet states)
+			{
+				mdp.mvMultRewMinMaxFloat(soln, rewards, min, soln2, states.iterator(), strat);
+			}
+		};
+	}
+
 	@Override
 	public String getDescriptionShort()
 	{
@@ -0,0 +1,722 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import common.IterableBitSet;
+import common.PeriodicTimer;
+import explicit.ProbModelChecker.LinEqMethod;
+import explicit.ProbModelChecker.LinEqPrecond;
+import explicit.ProbModelChecker.TermCrit;
+import explicit.rewards.MCRewards;
+import prism.PrismException;
+import prism.PrismUtils;
+
+/**
+ * Krylov-subspace solvers (BiCGSTAB and restarted GMRES) for the linear equation systems
+ * arising in the explicit-state analysis of DTMCs (reachability probabilities,
+ * expected reachability rewards and steady-state probabilities of BSCCs).
+ * <p>
+ * The system matrix is extracted once from the model (e.g. a {@link DTMCSparse})
+ * into compressed sparse row (CSR) format, restricted to the states being solved for,
+ * and the methods are right-preconditioned (none, Jacobi or ILU(0)),
+ * so that convergence is checked on the true residual {@code r = b - Ax} of the original system.
+ * Since {@code x + r} is the result of one step of the Power method from {@code x},
+ * the termination criterion is the same as for the Power method
+ * (relative or absolute difference of each entry of {@code x + r} and {@code x}, up to epsilon),
+ * so the results are comparable to those of the other (iterative) methods.
+ */
+public class KrylovSolver
+{
+	/** Model checker (for settings and log) */
+	private ProbModelChecker mc;
+	/** Method: BiCGSTAB or GMRES */
+	private LinEqMethod method;
+	/** Preconditioner */
+	private LinEqPrecond precond;
+
+	/** Relative size of a residual that is considered to be at the level of rounding errors */
+	private static final double ROUNDING_LEVEL = 1e-13;
+
+	/** Did the last (failed) solution stagnate, rather than run out of iterations? */
+	private boolean stagnated;
+	/** Residual norm at which the last solution stagnated */
+	private double stagnationResNorm;
+
+	/**
+	 * Create a Krylov solver, taking the preconditioner, GMRES restart length and
+	 * termination criteria from the settings of the model checker {@code mc}.
+	 */
+	public KrylovSolver(ProbModelChecker mc, LinEqMethod method) throws PrismException
+	{
+		if (!method.isKrylov())
+			throw new PrismException("Linear equation solution method " + method.fullName() + " is not a Krylov subspace method");
+		this.mc = mc;
+		this.method = method;
+		this.precond = mc.getLinEqPrecond();
+	}
+
+	/**
+	 * Get a description of the method, e.g. "GMRES(30), with ILU(0) preconditioner".
+	 */
+	public String getDescription()
+	{
+		String s = method == LinEqMethod.GMRES ? "GMRES(" + mc.getGMRESRestart() + ")" : method.fullName();
+		return s + (precond == LinEqPrecond.NONE ? "" : ", with " + precond.fullName() + " preconditioner");
+	}
+
+	/**
+	 * Solve the equation system for reachability probabilities or expected reachability rewards
+	 * over the states in {@code unknown}, i.e., {@code x(s) = rew(s) + sum_t P(s,t) * x(t)}.
+	 * On entry, {@code soln} contains the (known) values of all states not in {@code unknown},
+	 * and an initial guess for the states in {@code unknown}; on exit, the latter are replaced by the solution.
+	 * The matrix {@code (I - P)} restricted to {@code unknown} must be non-singular,
+	 * i.e., the states in {@code unknown} must not be able to avoid leaving the set forever.
+	 * @param dtmc The DTMC
+	 * @param unknown The states to solve for
+	 * @param soln Solution vector (see above)
+	 * @param mcRewards The rewards (null for reachability probabilities)
+	 */
+	public ModelCheckerResult solveReach(DTMC dtmc, BitSet unknown, double soln[], MCRewards mcRewards) throws PrismException
+	{
+		long timer = System.currentTimeMillis();
+		mc.getLog().println("Starting linear equation solution (" + getDescription() + ")...");
+
+		// Local indexing of states
+		int n = dtmc.getNumStates();
+		int states[] = unknown.stream().toArray();
+		int index[] = localIndex(n, states);
+		int m = states.length;
+
+		// Build matrix (I - P) for the unknown states, plus right-hand side
+		// (rewards, plus probabilities of moving to states with known values)
+		int rowStarts[] = new int[m + 1];
+		for (int i = 0; i < m; i++) {
+			rowStarts[i + 1] = rowStarts[i] + dtmc.getNumTransitions(states[i]) + 1;
+		}
+		int cols[] = new int[rowStarts[m]];
+		double vals[] = new double[rowStarts[m]];
+		double b[] = new double[m];
+		double x[] = new double[m];
+		for (int i = 0; i < m; i++) {
+			int s = states[i];
+			int pos = rowStarts[i];
+			cols[pos] = i;
+			vals[pos++] = 1.0;
+			b[i] = mcRewards == null ? 0.0 : mcRewards.getStateReward(s);
+			for (Iterator<Map.Entry<Integer, Double>> iter = dtmc.getTransitionsIterator(s); iter.hasNext();) {
+				Map.Entry<Integer, Double> e = iter.next();
+				int t = e.getKey();
+				double prob = e.getValue();
+				if (index[t] >= 0) {
+					cols[pos] = index[t];
+					vals[pos++] = -prob;
+				} else {
+					b[i] += prob * soln[t];
+				}
+			}
+			// Unused entries (transitions to known states) are left as explicit zeros
+			for (; pos < rowStarts[i + 1]; pos++) {
+				cols[pos] = i;
+			}
+			x[i] = soln[s];
+		}
+		index = null;
+		CSRMatrix a = new CSRMatrix(m, rowStarts, cols, vals);
+
+		// Solve
+		int iters = solve(a, b, x);
+
+		// Store solution (the exact values are probabilities / non-negative rewards,
+		// so remove any small numerical errors outside of these bounds)
+		for (int i = 0; i < m; i++) {
+			soln[states[i]] = mcRewards == null ? Math.min(Math.max(x[i], 0.0), 1.0) : Math.max(x[i], 0.0);
+		}
+
+		timer = System.currentTimeMillis() - timer;
+		mc.getLog().println("Linear equation solution (" + getDescription() + ") took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
+
+		ModelCheckerResult res = new ModelCheckerResult();
+		res.soln = soln;
+		res.numIters = iters;
+		res.timeTaken = timer / 1000.0;
+		return res;
+	}
+
+	/**
+	 * Compute the steady-state probabilities for a BSCC, by solving {@code pi * (I - P) = 0}
+	 * together with the normalisation constraint {@code sum_s pi(s) = 1}, which replaces the last equation.
+	 * Only the entries of {@code soln} for the BSCC states are changed.
+	 * @param dtmc The DTMC
+	 * @param bscc The BSCC
+	 * @param soln Vector (whose size equals the number of states of the DTMC) to store the result in
+	 */
+	public ModelCheckerResult solveSteadyStateBSCC(DTMC dtmc, BitSet bscc, double soln[]) throws PrismException
+	{
+		long timer = System.currentTimeMillis();
+		mc.getLog().println("Starting linear equation solution (" + getDescription() + ")...");
+
+		// Local indexing of states
+		int n = dtmc.getNumStates();
+		int states[] = bscc.stream().toArray();
+		int index[] = localIndex(n, states);
+		int m = states.length;
+
+		// Build the transpose of (I - P), restricted to the BSCC, with the last row replaced by ones
+		int rowStarts[] = new int[m + 1];
+		for (int i = 0; i < m; i++) {
+			for (Iterator<Map.Entry<Integer, Double>> iter = dtmc.getTransitionsIterator(states[i]); iter.hasNext();) {
+				int j = index[iter.next().getKey()];
+				if (j >= 0 && j < m - 1) {
+					rowStarts[j + 1]++;
+				}
+			}
+		}
+		for (int i = 0; i < m - 1; i++) {
+			rowStarts[i + 1] += 1;
+		}
+		rowStarts[m] = m;
+		for (int i = 0; i < m; i++) {
+			rowStarts[i + 1] += rowStarts[i];
+		}
+		int cols[] = new int[rowStarts[m]];
+		double vals[] = new double[rowStarts[m]];
+		int next[] = Arrays.copyOf(rowStarts, m);
+		for (int i = 0; i < m - 1; i++) {
+			cols[next[i]] = i;
+			vals[next[i]++] = 1.0;
+		}
+		for (int i = 0; i < m; i++) {
+			for (Iterator<Map.Entry<Integer, Double>> iter = dtmc.getTransitionsIterator(states[i]); iter.hasNext();) {
+				Map.Entry<Integer, Double> e = iter.next();
+				int j = index[e.getKey()];
+				if (j >= 0 && j < m - 1) {
+					cols[next[j]] = i;
+					vals[next[j]++] = -e.getValue();
+				}
+			}
+		}
+		for (int i = 0; i < m; i++) {
+			cols[next[m - 1]] = i;
+			vals[next[m - 1]++] = 1.0;
+		}
+		index = next = null;
+		CSRMatrix a = new CSRMatrix(m, rowStarts, cols, vals);
+		double b[] = new double[m];
+		b[m - 1] = 1.0;
+		double x[] = new double[m];
+		Arrays.fill(x, 1.0 / m);
+
+		// Solve
+		int iters = solve(a, b, x);
+
+		// Store solution (removing any small negative values caused by numerical errors)
+		for (int i = 0; i < m; i++) {
+			soln[states[i]] = Math.max(x[i], 0.0);
+		}
+		PrismUtils.normalise(soln, new IterableBitSet(bscc));
+
+		timer = System.currentTimeMillis() - timer;
+		mc.getLog().println("Linear equation solution (" + getDescription() + ") took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
+
+		ModelCheckerResult res = new ModelCheckerResult();
+		res.soln = soln;
+		res.numIters = iters;
+		res.timeTaken = timer / 1000.0;
+		return res;
+	}
+
+	/**
+	 * Create the inverse of the local indexing {@code states}, i.e., an array of size {@code n}
+	 * mapping each state to its position in {@code states} (or -1 if not present).
+	 */
+	private static int[] localIndex(int n, int states[])
+	{
+		int index[] = new int[n];
+		Arrays.fill(index, -1);
+		for (int i = 0; i < states.length; i++) {
+			index[states[i]] = i;
+		}
+		return index;
+	}
+
+	/**
+	 * Solve {@code Ax = b}, using {@code x} as the initial guess and to store the solution.
+	 * Returns the number of iterations performed.
+	 */
+	private int solve(CSRMatrix a, double b[], double x[]) throws PrismException
+	{
+		if (a.n == 0) {
+			return 0;
+		}
+		Preconditioner m = createPreconditioner(a);
+		int[] iters = new int[1];
+		stagnated = false;
+		boolean done = method == LinEqMethod.GMRES ? gmres(a, m, b, x, iters) : bicgstab(a, m, b, x, iters);
+
+		// Non-convergence is an error (usually)
+		if (!done && mc.errorOnNonConverge) {
+			String msg;
+			if (stagnated) {
+				msg = method.fullName() + " stagnated after " + iters[0] + " iterations, at residual " + PrismUtils.formatDouble(stagnationResNorm);
+				msg += ", without meeting the termination criterion.";
+				msg += "\nConsider using a different numerical method, preconditioner or GMRES restart length";
+			} else {
+				msg = "Iterative method did not converge within " + iters[0] + " iterations.";
+				msg += "\nConsider using a different numerical method or increasing the maximum number of iterations";
+			}
+			throw new PrismException(msg);
+		}
+		return iters[0];
+	}
+
+	/**
+	 * Check convergence of the approximation {@code x}, given its residual {@code r = b - Ax}.
+	 * For the matrices used here, {@code x + r} is the result of applying one step of the Power method to {@code x},
+	 * so we use the same termination criterion as for the Power method (relative or absolute, per entry).
+	 */
+	private boolean isConverged(double x[], double r[])
+	{
+		double epsilon = mc.getTermCritParam();
+		boolean abs = mc.getTermCrit() == TermCrit.ABSOLUTE;
+		for (int i = 0; i < x.length; i++) {
+			if (!PrismUtils.doublesAreClose(x[i] + r[i], x[i], epsilon, abs)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * If the convergence check fails but the residual has reached the level of rounding errors
+	 * (which can happen for entries that are very small in comparison to the others),
+	 * no further progress is possible: accept the solution, with a warning. Returns true if accepted.
+	 */
+	private boolean acceptAtRoundingLevel(double b[], double x[], double resNorm)
+	{
+		if (resNorm <= ROUNDING_LEVEL * Math.max(norm(b), norm(x))) {
+			mc.getLog().printWarning(method.fullName() + " stopped at the level of rounding errors; the termination criterion may not be met for some (very small) values");
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Log progress, if the update timer has triggered.
+	 */
+	private void logProgress(PeriodicTimer updatesTimer, int iters, double resNorm)
+	{
+		if (updatesTimer.triggered()) {
+			mc.getLog().print("Iteration " + iters + ": residual " + PrismUtils.formatDouble(resNorm) + ", ");
+			mc.getLog().println(PrismUtils.formatDouble2dp(updatesTimer.elapsedMillisTotal() / 1000.0) + " sec so far");
+		}
+	}
+
+	/**
+	 * BiCGSTAB (van der Vorst), right-preconditioned. Returns true if converged.
+	 */
+	private boolean bicgstab(CSRMatrix a, Preconditioner m, double b[], double x[], int iters[])
+	{
+		int n = a.n;
+		double r[] = new double[n];
+		double rHat[] = new double[n];
+		double p[] = new double[n];
+		double v[] = new double[n];
+		double pHat[] = new double[n];
+		double sHat[] = new double[n];
+		double t[] = new double[n];
+		double rho = 1.0, alpha = 1.0, omega = 1.0;
+		a.residual(b, x, r);
+		boolean done = isConverged(x, r);
+		boolean restart = true;
+		PeriodicTimer updatesTimer = new PeriodicTimer(ProbModelChecker.UPDATE_DELAY);
+		updatesTimer.start();
+		while (!done && iters[0] < mc.maxIters) {
+			if (restart) {
+				// (Re)start from the current residual, which is also used as the shadow residual
+				System.arraycopy(r, 0, rHat, 0, n);
+				Arrays.fill(p, 0.0);
+				Arrays.fill(v, 0.0);
+				rho = alpha = omega = 1.0;
+				restart = false;
+			}
+			iters[0]++;
+			double rhoNew = dot(rHat, r);
+			if (rhoNew == 0.0 || !Double.isFinite(rhoNew)) {
+				// Breakdown: restart
+				a.residual(b, x, r);
+				restart = true;
+				continue;
+			}
+			double beta = (rhoNew / rho) * (alpha / omega);
+			rho = rhoNew;
+			for (int i = 0; i < n; i++) {
+				p[i] = r[i] + beta * (p[i] - omega * v[i]);
+			}
+			m.apply(p, pHat);
+			a.multiply(pHat, v);
+			double rHatV = dot(rHat, v);
+			if (rHatV == 0.0) {
+				a.residual(b, x, r);
+				restart = true;
+				continue;
+			}
+			alpha = rho / rHatV;
+			// s = r - alpha * v (stored in r)
+			axpy(-alpha, v, r);
+			m.apply(r, sHat);
+			a.multiply(sHat, t);
+			double tt = dot(t, t);
+			omega = tt == 0.0 ? 0.0 : dot(t, r) / tt;
+			for (int i = 0; i < n; i++) {
+				x[i] += alpha * pHat[i] + omega * sHat[i];
+				r[i] -= omega * t[i];
+			}
+			if (omega == 0.0) {
+				restart = true;
+			}
+			// Check convergence, first on the updated residual, then on the true residual
+			// (which can drift away from the former due to rounding errors)
+			if (isConverged(x, r)) {
+				a.residual(b, x, r);
+				done = isConverged(x, r) || acceptAtRoundingLevel(b, x, norm(r));
+				restart = true;
+			}
+			logProgress(updatesTimer, iters[0], norm(r));
+		}
+		return done;
+	}
+
+	/**
+	 * Restarted GMRES, right-preconditioned, using Givens rotations. Returns true if converged.
+	 * If a restart cycle does not reduce the residual, stops early and records this in {@link #stagnated}.
+	 */
+	private boolean gmres(CSRMatrix a, Preconditioner m, double b[], double x[], int iters[])
+	{
+		int n = a.n;
+		int restart = Math.min(mc.getGMRESRestart(), n);
+		double v[][] = new double[restart + 1][];
+		double h[][] = new double[restart + 1][restart];
+		double cs[] = new double[restart];
+		double sn[] = new double[restart];
+		double g[] = new double[restart + 1];
+		double y[] = new double[restart];
+		double z[] = new double[n];
+		double w[] = new double[n];
+		v[0] = new double[n];
+		a.residual(b, x, v[0]);
+		boolean done = isConverged(x, v[0]);
+		double resNorm = norm(v[0]);
+		// Bound on the (2-norm of the) residual at which a cycle finishes early;
+		// this is tightened whenever the convergence check fails afterwards
+		double bound = 0.1 * resNorm;
+		PeriodicTimer updatesTimer = new PeriodicTimer(ProbModelChecker.UPDATE_DELAY);
+		updatesTimer.start();
+		while (!done && iters[0] < mc.maxIters) {
+			// Start a new cycle from the current residual (in v[0])
+			scale(v[0], 1.0 / resNorm);
+			Arrays.fill(g, 0.0);
+			g[0] = resNorm;
+			int k = 0;
+			while (k < restart && iters[0] < mc.maxIters) {
+				iters[0]++;
+				// Arnoldi step (modified Gram-Schmidt)
+				m.apply(v[k], z);
+				a.multiply(z, w);
+				for (int i = 0; i <= k; i++) {
+					h[i][k] = dot(w, v[i]);
+					axpy(-h[i][k], v[i], w);
+				}
+				h[k + 1][k] = norm(w);
+				if (h[k + 1][k] != 0.0) {
+					if (v[k + 1] == null) {
+						v[k + 1] = new double[n];
+					}
+					for (int i = 0; i < n; i++) {
+						v[k + 1][i] = w[i] / h[k + 1][k];
+					}
+				}
+				// Apply previous rotations to the new column, then compute a new one
+				for (int i = 0; i < k; i++) {
+					double tmp = cs[i] * h[i][k] + sn[i] * h[i + 1][k];
+					h[i + 1][k] = -sn[i] * h[i][k] + cs[i] * h[i + 1][k];
+					h[i][k] = tmp;
+				}
+				double denom = Math.hypot(h[k][k], h[k + 1][k]);
+				cs[k] = denom == 0.0 ? 1.0 : h[k][k] / denom;
+				sn[k] = denom == 0.0 ? 0.0 : h[k + 1][k] / denom;
+				h[k][k] = denom;
+				h[k + 1][k] = 0.0;
+				g[k + 1] = -sn[k] * g[k];
+				g[k] = cs[k] * g[k];
+				k++;
+				// |g[k]| is the norm of the residual of the current approximation
+				logProgress(updatesTimer, iters[0], Math.abs(g[k]));
+				if (Math.abs(g[k]) <= bound || denom == 0.0) {
+					break;
+				}
+			}
+			// Update x += M^-1 * (V * y), where y solves the (upper triangular) system H * y = g
+			for (int i = k - 1; i >= 0; i--) {
+				double sum = g[i];
+				for (int j = i + 1; j < k; j++) {
+					sum -= h[i][j] * y[j];
+				}
+				y[i] = h[i][i] == 0.0 ? 0.0 : sum / h[i][i];
+			}
+			Arrays.fill(w, 0.0);
+			for (int i = 0; i < k; i++) {
+				axpy(y[i], v[i], w);
+			}
+			m.apply(w, z);
+			axpy(1.0, z, x);
+			// Compute the true residual and check convergence
+			double resNormOld = resNorm;
+			a.residual(b, x, v[0]);
+			resNorm = norm(v[0]);
+			done = isConverged(x, v[0]);
+			if (!done && resNorm >= resNormOld) {
+				// Stagnation: no further progress possible
+				done = acceptAtRoundingLevel(b, x, resNorm);
+				stagnated = !done;
+				stagnationResNorm = resNorm;
+				break;
+			}
+			bound = Math.min(bound, 0.1 * resNorm);
+		}
+		return done;
+	}
+
+	// Vector operations
+
+	private static double dot(double x[], double y[])
+	{
+		double sum = 0.0;
+		for (int i = 0; i < x.length; i++) {
+			sum += x[i] * y[i];
+		}
+		return sum;
+	}
+
+	private static double norm(double x[])
+	{
+		return Math.sqrt(dot(x, x));
+	}
+
+	/** y = y + alpha * x */
+	private static void axpy(double alpha, double x[], double y[])
+	{
+		for (int i = 0; i < x.length; i++) {
+			y[i] += alpha * x[i];
+		}
+	}
+
+	private static void scale(double x[], double alpha)
+	{
+		for (int i = 0; i < x.length; i++) {
+			x[i] *= alpha;
+		}
+	}
+
+	// Preconditioners
+
+	/**
+	 * A preconditioner M, i.e., an (approximate) inverse to apply.
+	 */
+	private interface Preconditioner
+	{
+		/** Compute z = M^-1 * r */
+		public void apply(double r[], double z[]);
+	}
+
+	private Preconditioner createPreconditioner(CSRMatrix a) throws PrismException
+	{
+		switch (precond) {
+		case NONE:
+			return (r, z) -> System.arraycopy(r, 0, z, 0, r.length);
+		case JACOBI: {
+			double invDiag[] = new double[a.n];
+			for (int i = 0; i < a.n; i++) {
+				double d = a.vals[a.diagPos[i]];
+				invDiag[i] = d == 0.0 ? 1.0 : 1.0 / d;
+			}
+			return (r, z) -> {
+				for (int i = 0; i < r.length; i++) {
+					z[i] = r[i] * invDiag[i];
+				}
+			};
+		}
+		case ILU0:
+			return new ILU0(a);
+		default:
+			throw new PrismException("Unknown preconditioner " + precond.fullName());
+		}
+	}
+
+	/**
+	 * Incomplete LU factorisation with zero fill-in, i.e., using the sparsity pattern of the matrix.
+	 */
+	private static class ILU0 implements Preconditioner
+	{
+		private CSRMatrix a;
+		/** L (strictly lower part, unit diagonal implicit) and U, in the positions of the matrix entries */
+		private double lu[];
+
+		public ILU0(CSRMatrix a) throws PrismException
+		{
+			this.a = a;
+			int n = a.n;
+			lu = a.vals.clone();
+			int pos[] = new int[n];
+			Arrays.fill(pos, -1);
+			for (int i = 0; i < n; i++) {
+				int start = a.rowStarts[i], end = a.rowStarts[i + 1];
+				for (int p = start; p < end; p++) {
+					pos[a.cols[p]] = p;
+				}
+				for (int p = start; p < a.diagPos[i]; p++) {
+					int k = a.cols[p];
+					lu[p] /= lu[a.diagPos[k]];
+					for (int q = a.diagPos[k] + 1; q < a.rowStarts[k + 1]; q++) {
+						int w = pos[a.cols[q]];
+						if (w != -1) {
+							lu[w] -= lu[p] * lu[q];
+						}
+					}
+				}
+				if (lu[a.diagPos[i]] == 0.0) {
+					throw new PrismException("Zero pivot in ILU(0) preconditioner; try a different preconditioner");
+				}
+				for (int p = start; p < end; p++) {
+					pos[a.cols[p]] = -1;
+				}
+			}
+		}
+
+		@Override
+		public void apply(double r[], double z[])
+		{
+			int n = a.n;
+			// Forward substitution with L
+			for (int i = 0; i < n; i++) {
+				double sum = r[i];
+				for (int p = a.rowStarts[i]; p < a.diagPos[i]; p++) {
+					sum -= lu[p] * z[a.cols[p]];
+				}
+				z[i] = sum;
+			}
+			// Backward substitution with U
+			for (int i = n - 1; i >= 0; i--) {
+				double sum = z[i];
+				for (int p = a.diagPos[i] + 1; p < a.rowStarts[i + 1]; p++) {
+					sum -= lu[p] * z[a.cols[p]];
+				}
+				z[i] = sum / lu[a.diagPos[i]];
+			}
+		}
+	}
+
+	/**
+	 * Square sparse matrix, in compressed sparse row (CSR) format.
+	 * On construction, the entries of each row are sorted by column and duplicates are summed
+	 * (each row must contain an entry, possibly zero, on the diagonal).
+	 */
+	private static class CSRMatrix
+	{
+		private int n;
+		private int rowStarts[];
+		private int cols[];
+		private double vals[];
+		/** Position of the diagonal entry of each row */
+		private int diagPos[];
+
+		public CSRMatrix(int n, int rowStarts[], int cols[], double vals[])
+		{
+			this.n = n;
+			// Sort and merge each row
+			int newRowStarts[] = new int[n + 1];
+			int count = 0;
+			long keys[] = new long[0];
+			for (int i = 0; i < n; i++) {
+				int start = rowStarts[i], len = rowStarts[i + 1] - start;
+				if (keys.length < len) {
+					keys = new long[len];
+				}
+				for (int p = 0; p < len; p++) {
+					keys[p] = ((long) cols[start + p] << 32) | p;
+				}
+				Arrays.sort(keys, 0, len);
+				double rowVals[] = Arrays.copyOfRange(vals, start, start + len);
+				newRowStarts[i] = count;
+				for (int p = 0; p < len; p++) {
+					int col = (int) (keys[p] >>> 32);
+					double val = rowVals[(int) keys[p]];
+					if (count > newRowStarts[i] && cols[count - 1] == col) {
+						vals[count - 1] += val;
+					} else {
+						cols[count] = col;
+						vals[count++] = val;
+					}
+				}
+			}
+			newRowStarts[n] = count;
+			this.rowStarts = newRowStarts;
+			this.cols = count == cols.length ? cols : Arrays.copyOf(cols, count);
+			this.vals = count == vals.length ? vals : Arrays.copyOf(vals, count);
+			diagPos = new int[n];
+			for (int i = 0; i < n; i++) {
+				diagPos[i] = Arrays.binarySearch(this.cols, this.rowStarts[i], this.rowStarts[i + 1], i);
+			}
+		}
+
+		/** y = A * x */
+		public void multiply(double x[], double y[])
+		{
+			for (int i = 0; i < n; i++) {
+				double sum = 0.0;
+				for (int p = rowStarts[i]; p < rowStarts[i + 1]; p++) {
+					sum += vals[p] * x[cols[p]];
+				}
+				y[i] = sum;
+			}
+		}
+
+		/** r = b - A * x */
+		public void residual(double b[], double x[], double r[])
+		{
+			multiply(x, r);
+			for (int i = 0; i < n; i++) {
+				r[i] = b[i] - r[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,267 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Base class for caches of results computed on a single explicit model,
+ * so that they can be shared between the model checkers created for successive properties.
+ * <p>
+ * Entries map keys (subclasses of {@link Key}) to values. The total (estimated) memory
+ * used by entries is bounded; once this is exceeded, the least recently used entries are evicted.
+ * By default, a cache is tied to the model it was created for and lookups for any other
+ * model (e.g. a product) are ignored (see {@link #isForModel(Model)}).
+ * If the model changes, the cache should then be discarded.
+ * <p>
+ * Subclasses define the keys and values, and copy values as they are stored and looked up.
+ */
+public abstract class LRUModelCache<K extends LRUModelCache.Key, V>
+{
+	// Fixed overhead (in bytes) assumed for each cache entry
+	private static final long ENTRY_OVERHEAD = 128;
+
+	// The model that this cache is for
+	private Model model;
+	// Memory limit (bytes)
+	private long maxMemory;
+	// Memory currently used (bytes, estimated)
+	private long memory;
+	// Cache entries, in access order
+	private LinkedHashMap<K, Entry<V>> cache;
+	// Statistics
+	private long numHits;
+	private long numMisses;
+
+	/**
+	 * Create an empty cache for a model.
+	 * @param model The model
+	 * @param maxMemory Maximum memory (in bytes) to be used for storing entries
+	 */
+	protected LRUModelCache(Model model, long maxMemory)
+	{
+		this.model = model;
+		this.maxMemory = maxMemory;
+		memory = 0;
+		cache = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true);
+		numHits = numMisses = 0;
+	}
+
+	/**
+	 * Get the model that this cache is for.
+	 */
+	public Model getModel()
+	{
+		return model;
+	}
+
+	/**
+	 * Estimated memory (in bytes) for a stored value.
+	 */
+	protected abstract long memory(V value);
+
+	/**
+	 * Check whether entries can be looked up or stored for {@code model}.
+	 * By default, this is only the case for the model that this cache is for;
+	 * subclasses can override this to share entries between models (which then need to be
+	 * distinguished by the keys).
+	 */
+	protected boolean isForModel(Model model)
+	{
+		return model == this.model;
+	}
+
+	/**
+	 * Look up the value stored for {@code key} or, if there is none and {@code altKey} is non-null,
+	 * for {@code altKey}, and count this as a hit or a miss. Returns null if neither is stored
+	 * or if entries cannot be used for {@code model}. The stored value itself is returned.
+	 */
+	protected synchronized V lookUp(Model model, K key, K altKey)
+	{
+		if (!isForModel(model)) {
+			return null;
+		}
+		Entry<V> entry = cache.get(key);
+		if (entry == null && altKey != null) {
+			entry = cache.get(altKey);
+		}
+		if (entry == null) {
+			numMisses++;
+			return null;
+		}
+		numHits++;
+		return entry.value;
+	}
+
+	/**
+	 * Store a value for a key, replacing any existing one, unless entries cannot be stored for {@code model}
+	 * or the entry would exceed the memory limit on its own.
+	 * Least recently used entries are evicted if the memory limit would otherwise be exceeded.
+	 * The key and value are stored as they are, so should not be modified afterwards.
+	 */
+	protected synchronized void store(Model model, K key, V value)
+	{
+		if (!isForModel(model)) {
+			return;
+		}
+		long size = ENTRY_OVERHEAD + key.memory() + memory(value);
+		if (size > maxMemory) {
+			return;
+		}
+		Entry<V> oldEntry = cache.remove(key);
+		if (oldEntry != null) {
+			memory -= oldEntry.size;
+		}
+		cache.put(key, new Entry<V>(value, size));
+		memory += size;
+		// Evict least recently used entries until within limit
+		Iterator<Entry<V>> it = cache.values().iterator();
+		while (memory > maxMemory && it.hasNext()) {
+			memory -= it.next().size;
+			it.remove();
+		}
+	}
+
+	/**
+	 * Remove all entries from the cache.
+	 */
+	public synchronized void clear()
+	{
+		cache.clear();
+		memory = 0;
+	}
+
+	/**
+	 * Get the number of entries currently stored.
+	 */
+	public synchronized int getNumEntries()
+	{
+		return cache.size();
+	}
+
+	/**
+	 * Get the (estimated) memory currently used for entries, in bytes.
+	 */
+	public synchronized long getMemory()
+	{
+		return memory;
+	}
+
+	/**
+	 * Get the number of successful lookups so far.
+	 */
+	public synchronized long getNumHits()
+	{
+		return numHits;
+	}
+
+	/**
+	 * Get the number of unsuccessful lookups so far.
+	 */
+	public synchronized long getNumMisses()
+	{
+		return numMisses;
+	}
+
+	/**
+	 * Get a summary of the numbers of hits and misses so far, for display.
+	 */
+	public synchronized String getStatistics()
+	{
+		return numHits + " hits, " + numMisses + " misses";
+	}
+
+	/**
+	 * A stored value, with its (estimated) memory usage, including the key.
+	 */
+	private static class Entry<V>
+	{
+		private final V value;
+		private final long size;
+
+		Entry(V value, long size)
+		{
+			this.value = value;
+			this.size = size;
+		}
+	}
+
+	/**
+	 * Key for a cache entry. Subclasses store the details of the computation;
+	 * this class stores the current coalition of the model, if it is a game
+	 * (this determines which states belong to player 1/2 and thus affects results).
+	 * Keys are equal if they are of the same class, for the same coalition,
+	 * and {@link #equalsKey(Key)} holds.
+	 */
+	protected static abstract class Key
+	{
+		private final int[] coalition;
+		private final int hash;
+
+		/**
+		 * Create a key for a computation on {@code model}.
+		 * @param model The model
+		 * @param hash Hash code for the details of the computation (stored by the subclass)
+		 */
+		protected Key(Model model, int hash)
+		{
+			int[] coalitionInfo = model instanceof SMG ? ((SMG) model).coalitionPlayerMap : null;
+			coalition = coalitionInfo == null ? null : coalitionInfo.clone();
+			this.hash = hash * 31 + Arrays.hashCode(coalition);
+		}
+
+		/**
+		 * Estimated memory (in bytes) for the details of the computation stored in this key.
+		 */
+		protected abstract long memory();
+
+		/**
+		 * Check whether the details of the computation stored in this key equal
+		 * those in another key, which is of the same class.
+		 */
+		protected abstract boolean equalsKey(Key other);
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if (this == o)
+				return true;
+			if (o == null || o.getClass() != getClass())
+				return false;
+			Key other = (Key) o;
+			return hash == other.hash && Arrays.equals(coalition, other.coalition) && equalsKey(other);
+		}
+	}
+}
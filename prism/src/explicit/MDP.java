@@ -200,6 +200,47 @@ public interface MDP extends MDPGeneric<Double>
 		return minmax;
 	}
 
+	/**
+	 * Do a matrix-vector multiplication followed by min/max, i.e. one step of value iteration,
+	 * for the single-precision vector {@code vect} passed in,
+	 * i.e. for all s: result[s] = min/max_k { sum_j P_k(s,j)*vect[j] }
+	 * Sums are accumulated in double precision and the min/max is then rounded down
+	 * (see {@link PrismUtils#roundDownToFloat(double)}) when stored in {@code result}.
+	 * Optionally, store optimal (memoryless) strategy info.
+	 * @param vect Vector to multiply by
+	 * @param min Min or max for (true=min, false=max)
+	 * @param result Vector to store result in
+	 * @param states Perform computation for these rows, in the iteration order
+	 * @param strat Storage for (memoryless) strategy choice indices (ignored if null)
+	 */
+	public default void mvMultMinMaxFloat(float vect[], boolean min, float result[], PrimitiveIterator.OfInt states, int strat[])
+	{
+		while (states.hasNext()) {
+			final int s = states.nextInt();
+			int stratCh = -1;
+			double minmax = 0;
+			boolean first = true;
+			for (int choice = 0, numChoices = getNumChoices(s); choice < numChoices; choice++) {
+				double d = sumOverTransitions(s, choice, (__, t, prob) -> {
+					return prob * vect[t];
+				});
+				if (first || (min && d < minmax) || (!min && d > minmax)) {
+					minmax = d;
+					stratCh = choice;
+				}
+				first = false;
+			}
+			// If strategy generation is enabled, store optimal choice
+			// (as for mvMultMinMaxSingle, for max only remember strictly better choices)
+			if (strat != null && !first) {
+				if (min || strat[s] == -1 || minmax > vect[s]) {
+					strat[s] = stratCh;
+				}
+			}
+			result[s] = PrismUtils.roundDownToFloat(minmax);
+		}
+	}
+
 	/**
 	 * Determine which choices result in min/max after a single row of matrix-vector multiplication.
 	 * @param s Row index
@@ -436,6 +477,50 @@ public interface MDP extends MDPGeneric<Double>
 		}
 	}
 
+	/**
+	 * Do a matrix-vector multiplication and sum of rewards followed by min/max, i.e. one step of value iteration,
+	 * for the single-precision vector {@code vect} passed in,
+	 * i.e. for all s: result[s] = min/max_k { rew(s) + rew_k(s) + sum_j P_k(s,j)*vect[j] }
+	 * Sums are accumulated in double precision and the min/max is then rounded down
+	 * (see {@link PrismUtils#roundDownToFloat(double)}) when stored in {@code result}.
+	 * Optionally, store optimal (memoryless) strategy info.
+	 * @param vect Vector to multiply by
+	 * @param mdpRewards The rewards
+	 * @param min Min or max for (true=min, false=max)
+	 * @param result Vector to store result in
+	 * @param states Perform computation for these rows, in the iteration order
+	 * @param strat Storage for (memoryless) strategy choice indices (ignored if null)
+	 */
+	public default void mvMultRewMinMaxFloat(float vect[], MDPRewards mdpRewards, boolean min, float result[], PrimitiveIterator.OfInt states, int strat[])
+	{
+		while (states.hasNext()) {
+			final int s = states.nextInt();
+			int stratCh = -1;
+			double minmax = 0;
+			boolean first = true;
+			for (int choice = 0, numChoices = getNumChoices(s); choice < numChoices; choice++) {
+				double d = mdpRewards.getStateReward(s);
+				d += mdpRewards.getTransitionReward(s, choice);
+				d += sumOverTransitions(s, choice, (__, t, prob) -> {
+					return prob * vect[t];
+				});
+				if (first || (min && d < minmax) || (!min && d > minmax)) {
+					minmax = d;
+					stratCh = choice;
+				}
+				first = false;
+			}
+			// If strategy generation is enabled, store optimal choice
+			// (as for mvMultRewMinMaxSingle, for max only remember strictly better choices)
+			if (strat != null && !first) {
+				if (min || strat[s] == -1 || minmax > vect[s]) {
+					strat[s] = stratCh;
+				}
+			}
+			result[s] = PrismUtils.roundDownToFloat(minmax);
+		}
+	}
+
 	/**
 	 * Do a single row of matrix-vector multiplication and sum of rewards followed by min/max.
 	 * i.e. return min/max_k { rew(s) + rew_k(s) + sum_j P_k(s,j)*vect[j] }
@@ -471,6 +471,15 @@ public class MDPModelChecker extends ProbModelChecker
 			}
 		}
 
+		// Warm start from the solution of a previous computation, if available
+		// (for min probabilities, the solution is unique, given the Prob0 precomputation)
+		if (min && init == null && known == null && precomp && prob0 && (mdpSolnMethod == MDPSolnMethod.VALUE_ITERATION || mdpSolnMethod == MDPSolnMethod.GAUSS_SEIDEL)) {
+			init = getWarmStart(mdp, WarmStartCache.Kind.REACH_PROBS, true, remain, target);
+			if (init != null && !doIntervalIteration) {
+				mainLog.println("Warm start: using the solution of a previous computation as initial values");
+			}
+		}
+
 		// Compute probabilities (if needed)
 		if (numYes + numNo < n) {
 
@@ -523,6 +532,9 @@ public class MDPModelChecker extends ProbModelChecker
 		// Finished probabilistic reachability
 		timer = System.currentTimeMillis() - timer;
 		mainLog.println("Probabilistic reachability took " + timer / 1000.0 + " seconds.");
+		if (min) {
+			storeWarmStart(mdp, WarmStartCache.Kind.REACH_PROBS, true, remain, target, res.soln);
+		}
 
 		// Store strategy
 		if (genStrat) {
@@ -559,6 +571,7 @@ public class MDPModelChecker extends ProbModelChecker
 		switch (method) {
 		case VALUE_ITERATION:
 			iterationMethod = new IterationMethodPower(termCrit == TermCrit.ABSOLUTE, termCritParam);
+			iterationMethod.setNumThreads(iterationThreads);
 			break;
 		case GAUSS_SEIDEL:
 			iterationMethod = new IterationMethodGS(termCrit == TermCrit.ABSOLUTE, termCritParam, false);
@@ -609,6 +622,17 @@ public class MDPModelChecker extends ProbModelChecker
 		boolean u_done;
 		long timer;
 
+		// Reuse stored result, if this has been computed before
+		// (only possible if no strategy is required)
+		if (precompCache != null && strat == null) {
+			soln = precompCache.get(mdp, PrecomputationCache.Algorithm.PROB0, remain, target, min, false);
+			if (soln != null) {
+				if (!silentPrecomputations)
+					mainLog.println("Prob0 (" + (min ? "min" : "max") + ") result reused from cache.");
+				return soln;
+			}
+		}
+
 		// Start precomputation
 		timer = System.currentTimeMillis();
 		if (!silentPrecomputations)
@@ -666,6 +690,10 @@ public class MDPModelChecker extends ProbModelChecker
 			mainLog.println(" took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
 		}
 
+		// Store result for later reuse
+		if (precompCache != null)
+			precompCache.put(mdp, PrecomputationCache.Algorithm.PROB0, remain, target, min, false, u);
+
 		// If required, generate strategy. This is for min probs,
 		// so it can be done *after* the main prob0 algorithm (unlike for prob1).
 		// We simply pick, for all "no" states, the first choice for which all transitions stay in "no"
@@ -703,6 +731,17 @@ public class MDPModelChecker extends ProbModelChecker
 		boolean u_done, v_done;
 		long timer;
 
+		// Reuse stored result, if this has been computed before
+		// (only possible if no strategy is required)
+		if (precompCache != null && strat == null) {
+			soln = precompCache.get(mdp, PrecomputationCache.Algorithm.PROB1, remain, target, min, false);
+			if (soln != null) {
+				if (!silentPrecomputations)
+					mainLog.println("Prob1 (" + (min ? "min" : "max") + ") result reused from cache.");
+				return soln;
+			}
+		}
+
 		// Start precomputation
 		timer = System.currentTimeMillis();
 		if (!silentPrecomputations)
@@ -789,6 +828,10 @@ public class MDPModelChecker extends ProbModelChecker
 			mainLog.println(" took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
 		}
 
+		// Store result for later reuse
+		if (precompCache != null)
+			precompCache.put(mdp, PrecomputationCache.Algorithm.PROB1, remain, target, min, false, u);
+
 		return u;
 	}
 
@@ -808,6 +851,7 @@ public class MDPModelChecker extends ProbModelChecker
 			throws PrismException
 	{
 		IterationMethodPower iterationMethod = new IterationMethodPower(termCrit == TermCrit.ABSOLUTE, termCritParam);
+		iterationMethod.setNumThreads(iterationThreads);
 		return doValueIterationReachProbs(mdp, no, yes, min, init, known, iterationMethod, false, strat);
 	}
 
@@ -879,6 +923,16 @@ public class MDPModelChecker extends ProbModelChecker
 		if (iterationsExport != null)
 			iterationsExport.exportVector(init, 0);
 
+		if (useFloatVectors(iterationMethod, topological)) {
+			// single-precision vectors, then refinement with Gauss-Seidel in double precision
+			IterationMethod.FloatTwoVectorIteration iterationFloat = ((IterationMethodPower) iterationMethod).forMvMultMinMaxFloat(mdp, min, strat);
+			iterationFloat.init(init);
+			// drop the reference to the double-precision vector, so that its memory can be reclaimed
+			init = null;
+			IterationMethod.IterationValIter refinement = new IterationMethodGS(termCrit == TermCrit.ABSOLUTE, termCritParam, false).forMvMultMinMax(mdp, min, strat);
+			return iterationMethod.doMixedPrecisionValueIteration(this, description, iterationFloat, refinement, IntSet.asIntSet(unknown), timer, iterationsExport);
+		}
+
 		IterationMethod.IterationValIter iteration = iterationMethod.forMvMultMinMax(mdp, min, strat);
 		iteration.init(init);
 
@@ -941,7 +995,9 @@ public class MDPModelChecker extends ProbModelChecker
 		n = mdp.getNumStates();
 
 		// Create solution vector(s)
-		initBelow = (init == null) ? new double[n] : init;
+		// (an initial solution vector passed in without known values is used to tighten the bounds, see below)
+		double warmStart[] = (init != null && known == null) ? init : null;
+		initBelow = (init == null || warmStart != null) ? new double[n] : init;
 		initAbove = new double[n];
 
 		// Initialise solution vectors. Use (where available) the following in order of preference:
@@ -967,6 +1023,10 @@ public class MDPModelChecker extends ProbModelChecker
 		if (known != null)
 			unknown.andNot(known);
 
+		if (warmStart != null) {
+			warmStartIntervalIteration(warmStart, initBelow, initAbove, unknown, (int s, double[] v) -> mdp.mvMultMinMaxSingle(s, v, min, null));
+		}
+
 		if (iterationsExport != null) {
 			iterationsExport.exportVector(initBelow, 0);
 			iterationsExport.exportVector(initAbove, 1);
@@ -2223,6 +2283,15 @@ public class MDPModelChecker extends ProbModelChecker
 			}
 		}
 
+		// Warm start from the solution of a previous computation, if available
+		// (for max rewards, the solution is unique, since the target is reached with probability 1 from the remaining states)
+		if (!min && init == null && known == null && mdpSolnMethod != MDPSolnMethod.POLICY_ITERATION) {
+			init = getWarmStart(mdp, WarmStartCache.Kind.REACH_REWARDS, false, null, target);
+			if (init != null && !doIntervalIteration) {
+				mainLog.println("Warm start: using the solution of a previous computation as initial values");
+			}
+		}
+
 		ZeroRewardECQuotient quotient = null;
 		boolean doZeroMECCheckForMin = true;
 		if (min & doZeroMECCheckForMin) {
@@ -2277,6 +2346,9 @@ public class MDPModelChecker extends ProbModelChecker
 		// Finished expected reachability
 		timer = System.currentTimeMillis() - timer;
 		mainLog.println("Expected reachability took " + timer / 1000.0 + " seconds.");
+		if (!min) {
+			storeWarmStart(mdp, WarmStartCache.Kind.REACH_REWARDS, false, null, target, res.soln);
+		}
 
 		// Update time taken
 		res.timeTaken = timer / 1000.0;
@@ -2293,6 +2365,7 @@ public class MDPModelChecker extends ProbModelChecker
 		switch (method) {
 		case VALUE_ITERATION:
 			iterationMethod = new IterationMethodPower(termCrit == TermCrit.ABSOLUTE, termCritParam);
+			iterationMethod.setNumThreads(iterationThreads);
 			break;
 		case GAUSS_SEIDEL:
 			iterationMethod = new IterationMethodGS(termCrit == TermCrit.ABSOLUTE, termCritParam, false);
@@ -2335,6 +2408,7 @@ public class MDPModelChecker extends ProbModelChecker
 			throws PrismException
 	{
 		IterationMethodPower iterationMethod = new IterationMethodPower(termCrit == TermCrit.ABSOLUTE, termCritParam);
+		iterationMethod.setNumThreads(iterationThreads);
 		return doValueIterationReachRewards(mdp, mdpRewards, iterationMethod, target, inf, min, init, known, false, strat);
 	}
 
@@ -2400,6 +2474,16 @@ public class MDPModelChecker extends ProbModelChecker
 		if (iterationsExport != null)
 			iterationsExport.exportVector(init, 0);
 
+		if (useFloatVectors(iterationMethod, topological)) {
+			// single-precision vectors, then refinement with Gauss-Seidel in double precision
+			IterationMethod.FloatTwoVectorIteration iterationFloat = ((IterationMethodPower) iterationMethod).forMvMultRewMinMaxFloat(mdp, mdpRewards, min, strat);
+			iterationFloat.init(init);
+			// drop the reference to the double-precision vector, so that its memory can be reclaimed
+			init = null;
+			IterationMethod.IterationValIter refinement = new IterationMethodGS(termCrit == TermCrit.ABSOLUTE, termCritParam, false).forMvMultRewMinMax(mdp, mdpRewards, min, strat);
+			return iterationMethod.doMixedPrecisionValueIteration(this, description, iterationFloat, refinement, IntSet.asIntSet(unknown), timer, iterationsExport);
+		}
+
 		IterationMethod.IterationValIter forMvMultRewMinMax = iterationMethod.forMvMultRewMinMax(mdp, mdpRewards, min, strat);
 		forMvMultRewMinMax.init(init);
 
@@ -2517,7 +2601,9 @@ public class MDPModelChecker extends ProbModelChecker
 		}
 
 		// Create initial solution vector(s)
-		initBelow = (init == null) ? new double[n] : init;
+		// (an initial solution vector passed in without known values is used to tighten the bounds, see below)
+		double warmStart[] = (init != null && known == null) ? init : null;
+		initBelow = (init == null || warmStart != null) ? new double[n] : init;
 		initAbove = new double[n];
 
 		// Initialise solution vector from below. Use (where available) the following in order of preference:
@@ -2540,6 +2626,10 @@ public class MDPModelChecker extends ProbModelChecker
 				initAbove[i] = target.get(i) ? 0.0 : inf.get(i) ? Double.POSITIVE_INFINITY : upperBound;
 		}
 
+		if (warmStart != null) {
+			warmStartIntervalIteration(warmStart, initBelow, initAbove, unknown, (int s, double[] v) -> mdp.mvMultRewMinMaxSingle(s, v, mdpRewards, min, null));
+		}
+
 		if (iterationsExport != null) {
 			iterationsExport.exportVector(initBelow, 0);
 			iterationsExport.exportVector(initAbove, 1);
@@ -33,6 +33,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
@@ -310,6 +311,121 @@ public class MDPSparse extends MDPExplicit
 		rowStarts[numStates] = numDistrs;
 	}
 
+	/**
+	 * Constructor: build an MDP directly from its transition function, stored in sparse (CSR) form.
+	 * The arrays are stored, not copied. Initial states, deadlocks, etc. should be set separately.
+	 * @param numStates Number of states
+	 * @param rowStarts Start of the choices for each state (size numStates+1)
+	 * @param choiceStarts Start of the transitions for each choice (size numDistrs+1)
+	 * @param cols Column (destination) indices for each transition
+	 * @param nonZeros Probabilities for each transition
+	 * @param actions Action labels for each choice (null if there are none)
+	 */
+	public MDPSparse(int numStates, int rowStarts[], int choiceStarts[], int cols[], double nonZeros[], Object actions[])
+	{
+		initialise(numStates);
+		this.rowStarts = rowStarts;
+		this.choiceStarts = choiceStarts;
+		this.cols = cols;
+		this.nonZeros = nonZeros;
+		this.actions = actions;
+		numDistrs = rowStarts[numStates];
+		numTransitions = choiceStarts[numDistrs];
+		maxNumDistrs = 0;
+		for (int s = 0; s < numStates; s++) {
+			maxNumDistrs = Math.max(maxNumDistrs, rowStarts[s + 1] - rowStarts[s]);
+		}
+	}
+
+	/**
+	 * Copy constructor: create an MDP with the same states, choices and transitions as {@code mdp},
+	 * but with different probabilities, indexed as for {@link #getTransitionIndex(int, int, int)}.
+	 * The transition structure (and states list) is shared, not copied. Labels are not copied.
+	 * @param mdp MDP to copy structure from
+	 * @param nonZeros Probabilities for each transition
+	 */
+	MDPSparse(MDPSparse mdp, double nonZeros[])
+	{
+		initialise(mdp.getNumStates());
+		for (int in : mdp.getInitialStates()) {
+			addInitialState(in);
+		}
+		for (int dl : mdp.getDeadlockStates()) {
+			addDeadlockState(dl);
+		}
+		statesList = mdp.getStatesList();
+		stateReordering = mdp.getStateReordering();
+		constantValues = mdp.getConstantValues();
+		varList = mdp.getVarList();
+		rowStarts = mdp.rowStarts;
+		choiceStarts = mdp.choiceStarts;
+		cols = mdp.cols;
+		actions = mdp.actions;
+		this.nonZeros = nonZeros;
+		numDistrs = mdp.numDistrs;
+		numTransitions = mdp.numTransitions;
+		maxNumDistrs = mdp.maxNumDistrs;
+	}
+
+	/**
+	 * Get the index of the transition to state {@code t} in choice {@code i} of state {@code s}
+	 * in the (internal) array of probabilities, or -1 if there is none.
+	 */
+	int getTransitionIndex(int s, int i, int t)
+	{
+		int c = rowStarts[s] + i;
+		for (int k = choiceStarts[c], stop = choiceStarts[c + 1]; k < stop; k++) {
+			if (cols[k] == t) {
+				return k;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Check whether two choices of state {@code s} are identical (same action and transitions),
+	 * if the probabilities were those in {@code nonZeros}, indexed as for {@link #getTransitionIndex(int, int, int)}.
+	 * Probabilities are compared as in {@link SparseModelBuffer}, which drops such duplicates.
+	 */
+	boolean hasDuplicateChoices(int s, double nonZeros[])
+	{
+		for (int c1 = rowStarts[s]; c1 < rowStarts[s + 1]; c1++) {
+			for (int c2 = c1 + 1; c2 < rowStarts[s + 1]; c2++) {
+				if (choicesEqual(c1, c2, nonZeros)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean choicesEqual(int c1, int c2, double nonZeros[])
+	{
+		int start1 = choiceStarts[c1];
+		int start2 = choiceStarts[c2];
+		int n = choiceStarts[c1 + 1] - start1;
+		if (choiceStarts[c2 + 1] - start2 != n) {
+			return false;
+		}
+		if (actions != null && !(actions[c1] == null ? actions[c2] == null : actions[c1].equals(actions[c2]))) {
+			return false;
+		}
+		for (int k = 0; k < n; k++) {
+			if (cols[start1 + k] != cols[start2 + k] || !PrismUtils.doublesAreClose(nonZeros[start1 + k], nonZeros[start2 + k], 1e-12, false)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get a copy of the (internal) array of probabilities, indexed as for {@link #getTransitionIndex(int, int, int)}.
+	 */
+	double[] getProbabilitiesCopy()
+	{
+		return Arrays.copyOf(nonZeros, nonZeros.length);
+	}
+
 	/**
 	 * Copy constructor for a (sub-)MDP from a given MDP.
 	 * The states and actions will be indexed as given by the order
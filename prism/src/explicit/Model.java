@@ -119,6 +119,17 @@ public interface Model
 	 */
 	public List<State> getStatesList();
 
+	/**
+	 * If the states of this model have been reordered (e.g., to improve memory locality),
+	 * get the mapping from their original indices to the indices in this model
+	 * (original index i is now index r[i]), so that results can be presented in the original order.
+	 * Returns null if the states have not been reordered.
+	 */
+	public default int[] getStateReordering()
+	{
+		return null;
+	}
+
 	/** Get access to the VarList (optionally stored) */
 	public VarList getVarList();
 
@@ -64,6 +64,9 @@ public abstract class ModelExplicit implements Model
 	/** (Optionally) information about the states of this model,
 	 * i.e. the State object corresponding to each state index. */
 	protected List<State> statesList;
+	/** (Optionally) the mapping from original state indices to those of this model,
+	 * if states were reordered after construction (see {@link #getStateReordering()}). */
+	protected int stateReordering[];
 	/** (Optionally) a list of values for constants associated with this model. */
 	protected Values constantValues;
 	/** (Optionally) the list of variables */
@@ -95,6 +98,7 @@ public abstract class ModelExplicit implements Model
 		for (State state : model.statesList) {
 		    statesList.add(state);
 		}
+		stateReordering = model.stateReordering;
 		constantValues = model.constantValues;
 		labels = model.labels;
 		varList = model.varList;
@@ -119,6 +123,7 @@ public abstract class ModelExplicit implements Model
 		// Shallow copy of (some) read-only stuff
 		// (i.e. info that is not broken by permute)
 		statesList = null;
+		stateReordering = null;
 		constantValues = model.constantValues;
 		labels.clear();
 		varList = model.varList;
@@ -177,6 +182,15 @@ public abstract class ModelExplicit implements Model
 		this.statesList = statesList;
 	}
 
+	/**
+	 * Set the mapping from original state indices to those of this model,
+	 * if states were reordered after construction (original index i is now index r[i]).
+	 */
+	public void setStateReordering(int stateReordering[])
+	{
+		this.stateReordering = stateReordering;
+	}
+
 	/**
 	 * Set the associated (read-only) constant values.
 	 */
@@ -323,6 +337,12 @@ public abstract class ModelExplicit implements Model
 		return statesList;
 	}
 
+	@Override
+	public int[] getStateReordering()
+	{
+		return stateReordering;
+	}
+
 	@Override
 	public Values getConstantValues()
 	{
@@ -459,12 +479,12 @@ public abstract class ModelExplicit implements Model
 	}
 
 	@Override
-	public boolean hasStoredPredecessorRelation() {
+	public synchronized boolean hasStoredPredecessorRelation() {
 		return (predecessorRelation != null);
 	}
 
 	@Override
-	public PredecessorRelation getPredecessorRelation(prism.PrismComponent parent, boolean storeIfNew) {
+	public synchronized PredecessorRelation getPredecessorRelation(prism.PrismComponent parent, boolean storeIfNew) {
 		if (predecessorRelation != null) {
 			return predecessorRelation;
 		}
@@ -478,7 +498,7 @@ public abstract class ModelExplicit implements Model
 	}
 
 	@Override
-	public void clearPredecessorRelation() {
+	public synchronized void clearPredecessorRelation() {
 		predecessorRelation = null;
 	}
 
@@ -0,0 +1,439 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import parser.PackedStateList;
+import parser.PackedWords;
+import parser.State;
+import parser.StatePacker;
+
+/**
+ * Storage for an indexed set of states, kept in bit-packed form (see {@link StatePacker}),
+ * rather than as {@link State} objects. States are indexed in the order in which they are added.
+ * <p>
+ * Lookup uses an open-addressing hash table (with linear probing) over primitive arrays:
+ * the table stores state indices, and the packed states and their hash codes are stored
+ * in arrays indexed by state. So, no objects are created per state, and
+ * {@link #add(State)}/{@link #getIndexOfLastAdd()} do not allocate (except to grow storage).
+ * <p>
+ * The packed states themselves can optionally be stored off-heap (see {@link PackedWords}),
+ * which is useful for state spaces that would not otherwise fit in the Java heap.
+ * <p>
+ * States are only decoded when needed, and the final list of states can be
+ * obtained as a {@link PackedStateList}, which also stores them packed, in the same way
+ * (see {@link #toPackedStateList(int[])}).
+ */
+public class PackedStateStorage implements StateStorage<State>
+{
+	// Initial capacity (number of states)
+	private static final int INITIAL_CAPACITY = 1024;
+	// Maximum load factor for the hash table
+	private static final double MAX_LOAD = 0.75;
+	// Marker for an empty hash table slot
+	private static final int EMPTY = -1;
+
+	/** Packer used to encode states */
+	protected StatePacker packer;
+	/** Number of words per state */
+	protected int numWords;
+	/** Packed states, stored consecutively, by index */
+	protected PackedWords words;
+	/** Hash codes of states, by index */
+	protected int hashes[];
+	/** Hash table: state indices (or EMPTY) */
+	protected int table[];
+	/** Number of states stored */
+	protected int size;
+	/** Index of the state in the last call to {@link #add(State)} */
+	protected int indexOfLastAdd;
+	/** Store packed states off-heap? */
+	protected boolean offHeap;
+
+	// Storage for packing states to be looked up
+	private long packed[];
+
+	/**
+	 * Create a new, empty PackedStateStorage, using the passed in packer to encode states.
+	 */
+	public PackedStateStorage(StatePacker packer)
+	{
+		this(packer, false);
+	}
+
+	/**
+	 * Create a new, empty PackedStateStorage, using the passed in packer to encode states.
+	 * @param packer Packer used to encode states
+	 * @param offHeap Store packed states off-heap?
+	 */
+	public PackedStateStorage(StatePacker packer, boolean offHeap)
+	{
+		this.packer = packer;
+		this.offHeap = offHeap;
+		numWords = packer.getNumWords();
+		packed = new long[numWords];
+		clear();
+	}
+
+	/**
+	 * Get the packer used to encode states.
+	 */
+	public StatePacker getPacker()
+	{
+		return packer;
+	}
+
+	@Override
+	public int get(State state)
+	{
+		packer.pack(state, packed, 0);
+		int slot = findSlot(packed, packer.hashCode(packed, 0));
+		return table[slot];
+	}
+
+	@Override
+	public boolean add(State state)
+	{
+		packer.pack(state, packed, 0);
+		int hash = packer.hashCode(packed, 0);
+		int slot = findSlot(packed, hash);
+		if (table[slot] != EMPTY) {
+			indexOfLastAdd = table[slot];
+			return false;
+		}
+		// Add new state
+		if (size == hashes.length) {
+			int newCapacity = (int) Math.min(2L * hashes.length, Integer.MAX_VALUE - 1);
+			hashes = Arrays.copyOf(hashes, newCapacity);
+		}
+		long offset = (long) size * numWords;
+		words.ensureCapacity(offset + numWords);
+		for (int w = 0; w < numWords; w++) {
+			words.set(offset + w, packed[w]);
+		}
+		hashes[size] = hash;
+		table[slot] = size;
+		indexOfLastAdd = size;
+		size++;
+		// Grow hash table if needed
+		if (size > MAX_LOAD * table.length) {
+			if (table.length == 1 << 30) {
+				throw new IllegalStateException("Too many states to store");
+			}
+			rehash(2 * table.length);
+		}
+		return true;
+	}
+
+	/**
+	 * Find the slot in the hash table for a packed state with the given hash code:
+	 * either the slot containing it or the empty slot where it would be added.
+	 */
+	private int findSlot(long key[], int hash)
+	{
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		while (true) {
+			int i = table[slot];
+			if (i == EMPTY || (hashes[i] == hash && equalsStored(i, key))) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Check whether the stored state with index i equals the passed in packed state.
+	 */
+	private boolean equalsStored(int i, long key[])
+	{
+		long offset = (long) i * numWords;
+		for (int w = 0; w < numWords; w++) {
+			if (words.get(offset + w) != key[w]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Rebuild the hash table with a new size (a power of 2).
+	 */
+	private void rehash(int newTableSize)
+	{
+		table = new int[newTableSize];
+		Arrays.fill(table, EMPTY);
+		int mask = newTableSize - 1;
+		for (int i = 0; i < size; i++) {
+			int slot = hashes[i] & mask;
+			while (table[slot] != EMPTY) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = i;
+		}
+	}
+
+	@Override
+	public void clear()
+	{
+		if (words != null) {
+			words.free();
+		}
+		words = PackedWords.create(offHeap);
+		hashes = new int[INITIAL_CAPACITY];
+		table = new int[2 * INITIAL_CAPACITY];
+		Arrays.fill(table, EMPTY);
+		size = 0;
+		indexOfLastAdd = -1;
+	}
+
+	@Override
+	public boolean contains(State state)
+	{
+		return get(state) != EMPTY;
+	}
+
+	@Override
+	public int getIndexOfLastAdd()
+	{
+		return indexOfLastAdd;
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Decode the state with index i.
+	 */
+	protected State getState(int i)
+	{
+		return packer.unpack(words, (long) i * numWords);
+	}
+
+	/**
+	 * Get access to the set of map entries. States are decoded as they are iterated over.
+	 */
+	@Override
+	public Set<Map.Entry<State, Integer>> getEntrySet()
+	{
+		return new AbstractSet<Map.Entry<State, Integer>>()
+		{
+			@Override
+			public Iterator<Map.Entry<State, Integer>> iterator()
+			{
+				return new Iterator<Map.Entry<State, Integer>>()
+				{
+					int i = 0;
+
+					@Override
+					public boolean hasNext()
+					{
+						return i < size;
+					}
+
+					@Override
+					public Map.Entry<State, Integer> next()
+					{
+						if (i >= size)
+							throw new NoSuchElementException();
+						State state = getState(i);
+						return new AbstractMap.SimpleImmutableEntry<State, Integer>(state, i++);
+					}
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public ArrayList<State> toArrayList()
+	{
+		ArrayList<State> list = new ArrayList<State>(size);
+		toArrayList(list);
+		return list;
+	}
+
+	@Override
+	public void toArrayList(ArrayList<State> list)
+	{
+		for (int i = 0; i < size; i++) {
+			list.add(getState(i));
+		}
+	}
+
+	@Override
+	public ArrayList<State> toPermutedArrayList(int permut[])
+	{
+		ArrayList<State> list = new ArrayList<State>(size);
+		toPermutedArrayList(permut, list);
+		return list;
+	}
+
+	@Override
+	public void toPermutedArrayList(int permut[], ArrayList<State> list)
+	{
+		for (int i = 0; i < size; i++)
+			list.add(null);
+		for (int i = 0; i < size; i++) {
+			list.set(permut[i], getState(i));
+		}
+	}
+
+	/**
+	 * Create a list of the states, ordered by (optionally permuted) index,
+	 * with states kept packed and decoded only on access.
+	 * Index in new list is permut[old_index].
+	 * The list is stored in the same way as the states here (on the heap or off-heap).
+	 * If no permutation is applied, the packed states are handed over to the list, rather than copied,
+	 * and this storage is cleared.
+	 * @param permut Permutation to apply (null means none)
+	 */
+	public PackedStateList toPackedStateList(int permut[])
+	{
+		int listSize = size;
+		PackedWords listWords;
+		if (permut == null) {
+			listWords = words;
+			words = null;
+			clear();
+		} else {
+			listWords = PackedWords.create(offHeap);
+			listWords.ensureCapacity((long) size * numWords);
+			for (int i = 0; i < size; i++) {
+				long offset = (long) i * numWords;
+				long newOffset = (long) permut[i] * numWords;
+				for (int w = 0; w < numWords; w++) {
+					listWords.set(newOffset + w, words.get(offset + w));
+				}
+			}
+		}
+		return new PackedStateList(packer, listWords, listSize);
+	}
+
+	/**
+	 * Build sort permutation, i.e., a permutation (integer array) mapping current indices
+	 * to new indices under the sorting order of the states (see {@link State#compareTo(State)}).
+	 * This sorts an array of (primitive) indices, comparing the packed states directly.
+	 */
+	@Override
+	public int[] buildSortingPermutation()
+	{
+		int order[] = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		mergeSort(order, new int[size], 0, size);
+		int perm[] = new int[size];
+		for (int i = 0; i < size; i++) {
+			perm[order[i]] = i;
+		}
+		return perm;
+	}
+
+	/**
+	 * Sort the state indices {@code order[from..to-1]} by state, using {@code tmp} as working space.
+	 */
+	private void mergeSort(int order[], int tmp[], int from, int to)
+	{
+		// Use insertion sort for short ranges
+		if (to - from <= 16) {
+			for (int i = from + 1; i < to; i++) {
+				int x = order[i];
+				int j = i - 1;
+				while (j >= from && compareStored(order[j], x) > 0) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				order[j + 1] = x;
+			}
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		mergeSort(order, tmp, from, mid);
+		mergeSort(order, tmp, mid, to);
+		// Skip merge if already in order
+		if (compareStored(order[mid - 1], order[mid]) <= 0) {
+			return;
+		}
+		System.arraycopy(order, from, tmp, from, to - from);
+		int i = from, j = mid, k = from;
+		while (i < mid && j < to) {
+			order[k++] = compareStored(tmp[i], tmp[j]) <= 0 ? tmp[i++] : tmp[j++];
+		}
+		while (i < mid) {
+			order[k++] = tmp[i++];
+		}
+		while (j < to) {
+			order[k++] = tmp[j++];
+		}
+	}
+
+	/**
+	 * Compare the stored states with indices i1 and i2
+	 * (with the same ordering as {@link State#compareTo(State)}).
+	 */
+	private int compareStored(int i1, int i2)
+	{
+		long offset1 = (long) i1 * numWords;
+		long offset2 = (long) i2 * numWords;
+		for (int w = 0; w < numWords; w++) {
+			int c = Long.compareUnsigned(words.get(offset1 + w), words.get(offset2 + w));
+			if (c != 0) {
+				return c;
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		return toArrayList().toString();
+	}
+}
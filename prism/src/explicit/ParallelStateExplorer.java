@@ -0,0 +1,565 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import parser.State;
+import parser.VarList;
+import parser.ast.Player;
+import parser.type.Type;
+import prism.ModelGenerator;
+import prism.ModelType;
+import prism.PrismComponent;
+import prism.PrismException;
+import prism.ProgressDisplay;
+
+/**
+ * Multi-threaded exploration of the reachable state space of a model,
+ * as used by {@link ConstructModel}.
+ * <p>
+ * Each thread has its own {@link ModelGenerator} (see {@link ModelGenerator#createCopy()})
+ * and takes states to explore from a shared queue. States are indexed directly in a shared
+ * concurrent hash map, in the (nondeterministic) order in which they are first found,
+ * and the outgoing choices/transitions of every state are stored, with targets as indices.
+ * Threads with nothing to explore block until more states are queued or exploration ends.
+ * <p>
+ * The results are then made available via an {@link ExploredModelGenerator},
+ * with states renumbered in breadth-first order, i.e., exactly as for a sequential build.
+ * This is read once, in order, by {@link ConstructModel}, freeing the stored information as it goes.
+ */
+public class ParallelStateExplorer extends PrismComponent
+{
+	// Delay between checks for progress updates while waiting for threads (milliseconds)
+	private static final int PROGRESS_CHECK_DELAY = 500;
+
+	/** Number of threads */
+	protected int numThreads;
+
+	// Shared exploration data
+	private ModelType modelType;
+	private ConcurrentHashMap<State, Integer> index;
+	private AtomicInteger numStatesFound;
+	private ConcurrentLinkedQueue<State> queue;
+	private AtomicInteger numPending;
+	private AtomicInteger numExplored;
+	private volatile boolean aborted;
+	// Idle threads wait on this (only notified if numWaiting > 0)
+	private final Object idle = new Object();
+	private AtomicInteger numWaiting;
+
+	/**
+	 * Create a new ParallelStateExplorer.
+	 * @param parent Parent component (for log, settings)
+	 * @param numThreads Number of threads to use
+	 */
+	public ParallelStateExplorer(PrismComponent parent, int numThreads) throws PrismException
+	{
+		super(parent);
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * Explore the reachable states of a model, using multiple threads.
+	 * Returns a ModelGenerator which replays the stored results of exploration,
+	 * or null if the passed in ModelGenerator cannot be copied for use by multiple threads.
+	 * @param modelGen The ModelGenerator interface providing the model
+	 * @param progress Progress display to update with the number of explored states (optional)
+	 */
+	public ExploredModelGenerator explore(ModelGenerator modelGen, ProgressDisplay progress) throws PrismException
+	{
+		// Create one model generator per thread
+		List<ModelGenerator> modelGens = new ArrayList<ModelGenerator>(numThreads);
+		for (int t = 0; t < numThreads; t++) {
+			ModelGenerator copy = modelGen.createCopy();
+			if (copy == null) {
+				return null;
+			}
+			modelGens.add(copy);
+		}
+
+		// Initialise shared storage, starting from the initial states
+		modelType = modelGen.getModelType();
+		index = new ConcurrentHashMap<State, Integer>();
+		numStatesFound = new AtomicInteger(0);
+		queue = new ConcurrentLinkedQueue<State>();
+		numPending = new AtomicInteger(0);
+		numExplored = new AtomicInteger(0);
+		numWaiting = new AtomicInteger(0);
+		aborted = false;
+		List<Integer> initStates = new ArrayList<Integer>();
+		for (State initState : modelGen.getInitialStates()) {
+			int i = addState(initState);
+			if (!initStates.contains(i)) {
+				initStates.add(i);
+			}
+		}
+
+		// Explore in parallel
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		List<Future<List<ExploredState>>> futures = new ArrayList<Future<List<ExploredState>>>(numThreads);
+		try {
+			for (final ModelGenerator threadModelGen : modelGens) {
+				futures.add(executor.submit(new Callable<List<ExploredState>>()
+				{
+					@Override
+					public List<ExploredState> call() throws PrismException
+					{
+						return exploreStates(threadModelGen);
+					}
+				}));
+			}
+			// Wait for completion, showing progress
+			ExploredState[] explored = null;
+			for (Future<List<ExploredState>> future : futures) {
+				List<ExploredState> results = null;
+				while (results == null) {
+					try {
+						results = future.get(PROGRESS_CHECK_DELAY, TimeUnit.MILLISECONDS);
+					} catch (TimeoutException e) {
+						if (progress != null)
+							progress.updateIfReady(numExplored.get());
+					}
+				}
+				if (explored == null) {
+					explored = new ExploredState[numStatesFound.get()];
+				}
+				for (ExploredState es : results) {
+					explored[es.index] = es;
+				}
+				results.clear();
+			}
+			// Build array of states, indexed as found, then discard the index
+			State[] states = new State[numStatesFound.get()];
+			for (Map.Entry<State, Integer> e : index.entrySet()) {
+				states[e.getValue()] = e.getKey();
+			}
+			index = null;
+			return new ExploredModelGenerator(modelGen, states, explored, initStates);
+		} catch (InterruptedException e) {
+			throw new PrismException("Parallel state space exploration was interrupted");
+		} catch (ExecutionException e) {
+			abort();
+			if (e.getCause() instanceof PrismException) {
+				throw (PrismException) e.getCause();
+			}
+			throw new PrismException("Error during parallel state space exploration: " + e.getCause());
+		} finally {
+			abort();
+			executor.shutdownNow();
+			index = null;
+			queue = null;
+		}
+	}
+
+	/**
+	 * Add a state to the shared index, if not already present,
+	 * in which case it is also queued for exploration. Returns its index.
+	 */
+	private int addState(State state)
+	{
+		Integer i = index.get(state);
+		if (i != null) {
+			return i;
+		}
+		final boolean added[] = new boolean[] { false };
+		i = index.computeIfAbsent(state, s -> {
+			added[0] = true;
+			return numStatesFound.getAndIncrement();
+		});
+		if (added[0]) {
+			numPending.incrementAndGet();
+			queue.add(state);
+			// Wake up a waiting thread, if any
+			// (a thread that starts waiting after the check above will find the queued state)
+			if (numWaiting.get() > 0) {
+				synchronized (idle) {
+					idle.notify();
+				}
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * Stop all threads, e.g. after an error or once exploration is complete.
+	 */
+	private void abort()
+	{
+		aborted = true;
+		synchronized (idle) {
+			idle.notifyAll();
+		}
+	}
+
+	/**
+	 * Main loop for one exploration thread: take states from the queue
+	 * and explore them until there are none left to explore (in any thread).
+	 */
+	private List<ExploredState> exploreStates(ModelGenerator modelGen) throws PrismException
+	{
+		List<ExploredState> results = new ArrayList<ExploredState>();
+		try {
+			while (!aborted) {
+				State state = queue.poll();
+				if (state == null) {
+					// Done if nothing is queued or still being explored elsewhere;
+					// otherwise, wait until something is queued or exploration is done
+					if (numPending.get() == 0) {
+						break;
+					}
+					synchronized (idle) {
+						numWaiting.incrementAndGet();
+						try {
+							while (!aborted && queue.isEmpty() && numPending.get() > 0) {
+								idle.wait();
+							}
+						} catch (InterruptedException e) {
+							throw new PrismException("Parallel state space exploration was interrupted");
+						} finally {
+							numWaiting.decrementAndGet();
+						}
+					}
+					continue;
+				}
+				results.add(exploreState(modelGen, state));
+				numExplored.incrementAndGet();
+				if (numPending.decrementAndGet() == 0) {
+					// Exploration is complete: wake up any waiting threads
+					synchronized (idle) {
+						idle.notifyAll();
+					}
+				}
+			}
+		} catch (PrismException | RuntimeException e) {
+			abort();
+			throw e;
+		}
+		return results;
+	}
+
+	/**
+	 * Explore a single state and store the results.
+	 */
+	private ExploredState exploreState(ModelGenerator modelGen, State state) throws PrismException
+	{
+		ExploredState es = new ExploredState();
+		es.index = index.get(state);
+		modelGen.exploreState(state);
+		int nc = modelGen.getNumChoices();
+		es.choiceStarts = new int[nc + 1];
+		for (int i = 0; i < nc; i++) {
+			es.choiceStarts[i + 1] = es.choiceStarts[i] + modelGen.getNumTransitions(i);
+		}
+		int nt = es.choiceStarts[nc];
+		es.targets = new int[nt];
+		es.probs = new double[nt];
+		es.choiceActions = new Object[nc];
+		es.transitionActions = new Object[nc];
+		if (modelType.multiplePlayers()) {
+			es.players = new int[nc];
+		}
+		for (int i = 0; i < nc; i++) {
+			int start = es.choiceStarts[i];
+			int n = es.choiceStarts[i + 1] - start;
+			for (int j = 0; j < n; j++) {
+				es.targets[start + j] = addState(modelGen.computeTransitionTarget(i, j));
+				es.probs[start + j] = modelGen.getTransitionProbability(i, j);
+			}
+			if (n > 0) {
+				es.choiceActions[i] = modelGen.getChoiceAction(i);
+				es.transitionActions[i] = modelGen.getTransitionAction(i, 0);
+			}
+			if (es.players != null) {
+				es.players[i] = modelGen.getPlayerNumberForChoice(i);
+			}
+		}
+		return es;
+	}
+
+	/**
+	 * Stored results of exploring a single state.
+	 */
+	private static class ExploredState
+	{
+		/** Index of the state (in order found) */
+		int index;
+		/** Start of each choice in the transition arrays (plus the end of the last one) */
+		int[] choiceStarts;
+		/** Targets (indices) of transitions */
+		int[] targets;
+		/** Probabilities/rates of transitions */
+		double[] probs;
+		/** Action labels of choices */
+		Object[] choiceActions;
+		/** Action labels of the first transition of each choice (the only ones needed for model construction) */
+		Object[] transitionActions;
+		/** Players owning each choice (for games only) */
+		int[] players;
+	}
+
+	/**
+	 * ModelGenerator that replays the results of exploration, with states numbered
+	 * in breadth-first order (as for a sequential build). States must be explored
+	 * exactly once each, in this order; the stored information for each one
+	 * is discarded once it has been explored.
+	 * Transition targets are also available directly as indices.
+	 * Information about the model itself is taken from the original ModelGenerator.
+	 */
+	static class ExploredModelGenerator implements ModelGenerator
+	{
+		private ModelGenerator modelGen;
+		/** States, indexed as found */
+		private State[] states;
+		/** Stored exploration results, indexed as found */
+		private ExploredState[] explored;
+		/** Number of initial states (which come first in breadth-first order) */
+		private int numInitialStates;
+		/** Index (as found) of each state, in breadth-first order */
+		private int[] order;
+		/** Breadth-first index of each state, indexed as found */
+		private int[] newIndex;
+		/** Breadth-first index of the next state to be explored */
+		private int next;
+		private ExploredState current;
+
+		ExploredModelGenerator(ModelGenerator modelGen, State[] states, ExploredState[] explored, List<Integer> initStates)
+		{
+			this.modelGen = modelGen;
+			this.states = states;
+			this.explored = explored;
+			numInitialStates = initStates.size();
+			// Renumber states in breadth-first order, following choices/transitions in order
+			int n = states.length;
+			order = new int[n];
+			newIndex = new int[n];
+			Arrays.fill(newIndex, -1);
+			int numFound = 0;
+			for (int s : initStates) {
+				newIndex[s] = numFound;
+				order[numFound++] = s;
+			}
+			for (int k = 0; k < numFound; k++) {
+				for (int t : explored[order[k]].targets) {
+					if (newIndex[t] == -1) {
+						newIndex[t] = numFound;
+						order[numFound++] = t;
+					}
+				}
+			}
+			next = 0;
+		}
+
+		/**
+		 * Get the number of states.
+		 */
+		public int getNumStates()
+		{
+			return states.length;
+		}
+
+		/**
+		 * Get the number of initial states, which are numbered first.
+		 */
+		public int getNumInitialStates()
+		{
+			return numInitialStates;
+		}
+
+		/**
+		 * Get the state with (breadth-first) index {@code s}.
+		 */
+		public State getState(int s)
+		{
+			return states[order[s]];
+		}
+
+		/**
+		 * Get the (breadth-first) index of the target of transition {@code offset}
+		 * of choice {@code i} of the current state.
+		 */
+		public int getTransitionTargetIndex(int i, int offset)
+		{
+			return newIndex[current.targets[current.choiceStarts[i] + offset]];
+		}
+
+		/**
+		 * Build a sorting permutation for the states, i.e., a permutation (integer array)
+		 * mapping (breadth-first) indices to new indices under the sorting order of the states
+		 * (see {@link State#compareTo(State)}).
+		 */
+		public int[] buildSortingPermutation()
+		{
+			int n = states.length;
+			Integer sorted[] = new Integer[n];
+			for (int s = 0; s < n; s++) {
+				sorted[s] = s;
+			}
+			Arrays.sort(sorted, (s1, s2) -> getState(s1).compareTo(getState(s2)));
+			int perm[] = new int[n];
+			for (int i = 0; i < n; i++) {
+				perm[sorted[i]] = i;
+			}
+			return perm;
+		}
+
+		/**
+		 * Create a list of the states, ordered by (optionally permuted) breadth-first index,
+		 * and then discard the states stored here.
+		 * Index in new list is permut[old_index].
+		 * @param permut Permutation to apply (null means none)
+		 */
+		public List<State> toStatesList(int permut[])
+		{
+			int n = states.length;
+			State list[] = new State[n];
+			for (int s = 0; s < n; s++) {
+				list[permut == null ? s : permut[s]] = getState(s);
+			}
+			states = null;
+			order = null;
+			newIndex = null;
+			return new ArrayList<State>(Arrays.asList(list));
+		}
+
+		@Override
+		public ModelType getModelType()
+		{
+			return modelGen.getModelType();
+		}
+
+		@Override
+		public List<String> getVarNames()
+		{
+			return modelGen.getVarNames();
+		}
+
+		@Override
+		public List<Type> getVarTypes()
+		{
+			return modelGen.getVarTypes();
+		}
+
+		@Override
+		public int getNumPlayers()
+		{
+			return modelGen.getNumPlayers();
+		}
+
+		@Override
+		public Player getPlayer(int i)
+		{
+			return modelGen.getPlayer(i);
+		}
+
+		@Override
+		public VarList createVarList() throws PrismException
+		{
+			return modelGen.createVarList();
+		}
+
+		@Override
+		public List<State> getInitialStates() throws PrismException
+		{
+			return modelGen.getInitialStates();
+		}
+
+		@Override
+		public State getInitialState() throws PrismException
+		{
+			return modelGen.getInitialState();
+		}
+
+		@Override
+		public void exploreState(State exploreState) throws PrismException
+		{
+			// States are replayed in (breadth-first) order
+			if (next >= states.length || !states[order[next]].equals(exploreState)) {
+				throw new PrismException("State " + exploreState + " was not explored in the expected order");
+			}
+			current = explored[order[next]];
+			explored[order[next]] = null;
+			next++;
+		}
+
+		@Override
+		public int getNumChoices() throws PrismException
+		{
+			return current.choiceStarts.length - 1;
+		}
+
+		@Override
+		public int getNumTransitions(int i) throws PrismException
+		{
+			return current.choiceStarts[i + 1] - current.choiceStarts[i];
+		}
+
+		@Override
+		public Object getTransitionAction(int i, int offset) throws PrismException
+		{
+			// NB: only actions for the first transition of each choice are stored
+			return current.transitionActions[i];
+		}
+
+		@Override
+		public Object getChoiceAction(int i) throws PrismException
+		{
+			return current.choiceActions[i];
+		}
+
+		@Override
+		public double getTransitionProbability(int i, int offset) throws PrismException
+		{
+			return current.probs[current.choiceStarts[i] + offset];
+		}
+
+		@Override
+		public State computeTransitionTarget(int i, int offset) throws PrismException
+		{
+			return getState(getTransitionTargetIndex(i, offset));
+		}
+
+		@Override
+		public int getPlayerNumberForChoice(int i) throws PrismException
+		{
+			return current.players[i];
+		}
+	}
+}
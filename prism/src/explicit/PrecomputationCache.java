@@ -0,0 +1,135 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Cache for the results of qualitative precomputation algorithms (Prob0, Prob1)
+ * on a single explicit model, so that they can be shared between the
+ * model checkers created for successive properties.
+ * <p>
+ * Entries are keyed on the algorithm, the remain/target state sets,
+ * the min/max flags and (for SMGs) the current coalition.
+ * Memory use is bounded as described in {@link LRUModelCache}.
+ */
+public class PrecomputationCache extends LRUModelCache<PrecomputationCache.Key, BitSet>
+{
+	/** Precomputation algorithms whose results can be cached */
+	public enum Algorithm {
+		PROB0, PROB1
+	};
+
+	/**
+	 * Create an empty cache for a model.
+	 * @param model The model
+	 * @param maxMemory Maximum memory (in bytes) to be used for storing entries
+	 */
+	public PrecomputationCache(Model model, long maxMemory)
+	{
+		super(model, maxMemory);
+	}
+
+	/**
+	 * Look up the result of a precomputation. Returns null if it is not stored.
+	 * The returned BitSet is a copy and may be freely modified.
+	 * @param model The model (the lookup fails if this is not the model for this cache)
+	 * @param alg The precomputation algorithm
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 */
+	public BitSet get(Model model, Algorithm alg, BitSet remain, BitSet target, boolean min1, boolean min2)
+	{
+		BitSet res = lookUp(model, new Key(model, alg, remain, target, min1, min2), null);
+		return res == null ? null : (BitSet) res.clone();
+	}
+
+	/**
+	 * Store the result of a precomputation, evicting least recently used entries
+	 * if the memory limit would otherwise be exceeded.
+	 * Copies of the passed in BitSets are stored, so they can be modified afterwards.
+	 * @param model The model (nothing is stored if this is not the model for this cache)
+	 * @param alg The precomputation algorithm
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 * @param result The result of the precomputation
+	 */
+	public void put(Model model, Algorithm alg, BitSet remain, BitSet target, boolean min1, boolean min2, BitSet result)
+	{
+		if (model != getModel()) {
+			return;
+		}
+		Key key = new Key(model, alg, remain == null ? null : (BitSet) remain.clone(), (BitSet) target.clone(), min1, min2);
+		store(model, key, (BitSet) result.clone());
+	}
+
+	@Override
+	protected long memory(BitSet value)
+	{
+		return value.size() / 8;
+	}
+
+	/**
+	 * Key for a cache entry.
+	 */
+	static class Key extends LRUModelCache.Key
+	{
+		private Algorithm alg;
+		private BitSet remain;
+		private BitSet target;
+		private boolean min1;
+		private boolean min2;
+
+		public Key(Model model, Algorithm alg, BitSet remain, BitSet target, boolean min1, boolean min2)
+		{
+			super(model, Objects.hash(alg, remain, target, min1, min2));
+			this.alg = alg;
+			this.remain = remain;
+			this.target = target;
+			this.min1 = min1;
+			this.min2 = min2;
+		}
+
+		@Override
+		protected long memory()
+		{
+			return (remain == null ? 0 : remain.size() / 8) + target.size() / 8;
+		}
+
+		@Override
+		protected boolean equalsKey(LRUModelCache.Key o)
+		{
+			Key other = (Key) o;
+			return alg == other.alg && min1 == other.min1 && min2 == other.min2 && Objects.equals(remain, other.remain) && target.equals(other.target);
+		}
+	}
+}
@@ -72,6 +72,10 @@ public class ProbModelChecker extends NonProbModelChecker
 
 	// Method used to solve linear equation systems
 	protected LinEqMethod linEqMethod = LinEqMethod.GAUSS_SEIDEL;
+	// Preconditioner for Krylov subspace linear equation solvers
+	protected LinEqPrecond linEqPrecond = LinEqPrecond.ILU0;
+	// Restart length for GMRES
+	protected int gmresRestart = 30;
 	// Method used to solve MDPs
 	protected MDPSolnMethod mdpSolnMethod = MDPSolnMethod.GAUSS_SEIDEL;
 	// Iterative numerical method termination criteria
@@ -80,6 +84,10 @@ public class ProbModelChecker extends NonProbModelChecker
 	protected double termCritParam = 1e-8;
 	// Max iterations for numerical solution
 	protected int maxIters = 100000;
+	// Number of threads for (matrix-vector multiplication based) iterations
+	protected int iterationThreads = 1;
+	// Use single-precision solution vectors (with refinement) for value iteration?
+	protected boolean floatVectors = false;
 	// Use precomputation algorithms in model checking?
 	protected boolean precomp = true;
 	protected boolean prob0 = true;
@@ -88,6 +96,12 @@ public class ProbModelChecker extends NonProbModelChecker
 	protected boolean silentPrecomputations = false;
 	// Use predecessor relation? (e.g. for precomputation)
 	protected boolean preRel = true;
+	// Cache of precomputation results to (re)use (optional)
+	protected PrecomputationCache precompCache = null;
+	// Store of previous solutions to warm-start value iteration from (optional)
+	protected WarmStartCache warmStartCache = null;
+	// Cache of results for P/R/S operators to (re)use (optional)
+	protected ResultCache resultCache = null;
 	// Direction of convergence for value iteration (lfp/gfp)
 	protected ValIterDir valIterDir = ValIterDir.BELOW;
 	// Method used for numerical solution
@@ -108,7 +122,7 @@ public class ProbModelChecker extends NonProbModelChecker
 
 	// Method used for numerical solution
 	public enum LinEqMethod {
-		POWER, JACOBI, GAUSS_SEIDEL, BACKWARDS_GAUSS_SEIDEL, JOR, SOR, BACKWARDS_SOR;
+		POWER, JACOBI, GAUSS_SEIDEL, BACKWARDS_GAUSS_SEIDEL, JOR, SOR, BACKWARDS_SOR, BICGSTAB, GMRES;
 		public String fullName()
 		{
 			switch (this) {
@@ -126,6 +140,33 @@ public class ProbModelChecker extends NonProbModelChecker
 				return "SOR";
 			case BACKWARDS_SOR:
 				return "Backwards SOR";
+			case BICGSTAB:
+				return "BiCGSTAB";
+			case GMRES:
+				return "GMRES";
+			default:
+				return this.toString();
+			}
+		}
+		/** Is this a Krylov subspace method (see {@link KrylovSolver})? */
+		public boolean isKrylov()
+		{
+			return this == BICGSTAB || this == GMRES;
+		}
+	};
+
+	// Preconditioner for Krylov subspace linear equation solvers
+	public enum LinEqPrecond {
+		NONE, JACOBI, ILU0;
+		public String fullName()
+		{
+			switch (this) {
+			case NONE:
+				return "None";
+			case JACOBI:
+				return "Jacobi";
+			case ILU0:
+				return "ILU(0)";
 			default:
 				return this.toString();
 			}
@@ -195,9 +236,26 @@ public class ProbModelChecker extends NonProbModelChecker
 				setLinEqMethod(LinEqMethod.SOR);
 			} else if (s.equals("Backwards SOR")) {
 				setLinEqMethod(LinEqMethod.BACKWARDS_SOR);
+			} else if (s.equals("BiCGSTAB")) {
+				setLinEqMethod(LinEqMethod.BICGSTAB);
+			} else if (s.equals("GMRES")) {
+				setLinEqMethod(LinEqMethod.GMRES);
 			} else {
 				throw new PrismNotSupportedException("Explicit engine does not support linear equation solution method \"" + s + "\"");
 			}
+			// PRISM_LIN_EQ_PRECOND
+			s = settings.getString(PrismSettings.PRISM_LIN_EQ_PRECOND);
+			if (s.equals("None")) {
+				setLinEqPrecond(LinEqPrecond.NONE);
+			} else if (s.equals("Jacobi")) {
+				setLinEqPrecond(LinEqPrecond.JACOBI);
+			} else if (s.equals("ILU(0)")) {
+				setLinEqPrecond(LinEqPrecond.ILU0);
+			} else {
+				throw new PrismNotSupportedException("Unknown preconditioner \"" + s + "\"");
+			}
+			// PRISM_GMRES_RESTART
+			setGMRESRestart(settings.getInteger(PrismSettings.PRISM_GMRES_RESTART));
 			// PRISM_MDP_SOLN_METHOD
 			s = settings.getString(PrismSettings.PRISM_MDP_SOLN_METHOD);
 			if (s.equals("Value iteration")) {
@@ -226,6 +284,10 @@ public class ProbModelChecker extends NonProbModelChecker
 			setTermCritParam(settings.getDouble(PrismSettings.PRISM_TERM_CRIT_PARAM));
 			// PRISM_MAX_ITERS
 			setMaxIters(settings.getInteger(PrismSettings.PRISM_MAX_ITERS));
+			// PRISM_ITERATION_THREADS
+			setIterationThreads(settings.getInteger(PrismSettings.PRISM_ITERATION_THREADS));
+			// PRISM_FLOAT_VECTORS
+			setFloatVectors(settings.getBoolean(PrismSettings.PRISM_FLOAT_VECTORS));
 			// PRISM_PRECOMPUTATION
 			setPrecomp(settings.getBoolean(PrismSettings.PRISM_PRECOMPUTATION));
 			// PRISM_PROB0
@@ -263,13 +325,20 @@ public class ProbModelChecker extends NonProbModelChecker
 	{
 		super.inheritSettings(other);
 		setLinEqMethod(other.getLinEqMethod());
+		setLinEqPrecond(other.getLinEqPrecond());
+		setGMRESRestart(other.getGMRESRestart());
 		setMDPSolnMethod(other.getMDPSolnMethod());
 		setTermCrit(other.getTermCrit());
 		setTermCritParam(other.getTermCritParam());
 		setMaxIters(other.getMaxIters());
+		setIterationThreads(other.getIterationThreads());
+		setFloatVectors(other.getFloatVectors());
 		setPrecomp(other.getPrecomp());
 		setProb0(other.getProb0());
 		setProb1(other.getProb1());
+		setPrecomputationCache(other.getPrecomputationCache());
+		setWarmStartCache(other.getWarmStartCache());
+		setResultCache(other.getResultCache());
 		setValIterDir(other.getValIterDir());
 		setSolnMethod(other.getSolnMethod());
 		setErrorOnNonConverge(other.geterrorOnNonConverge());
@@ -282,10 +351,14 @@ public class ProbModelChecker extends NonProbModelChecker
 	{
 		super.printSettings();
 		mainLog.print("linEqMethod = " + linEqMethod + " ");
+		mainLog.print("linEqPrecond = " + linEqPrecond + " ");
+		mainLog.print("gmresRestart = " + gmresRestart + " ");
 		mainLog.print("mdpSolnMethod = " + mdpSolnMethod + " ");
 		mainLog.print("termCrit = " + termCrit + " ");
 		mainLog.print("termCritParam = " + termCritParam + " ");
 		mainLog.print("maxIters = " + maxIters + " ");
+		mainLog.print("iterationThreads = " + iterationThreads + " ");
+		mainLog.print("floatVectors = " + floatVectors + " ");
 		mainLog.print("precomp = " + precomp + " ");
 		mainLog.print("prob0 = " + prob0 + " ");
 		mainLog.print("prob1 = " + prob1 + " ");
@@ -324,6 +397,22 @@ public class ProbModelChecker extends NonProbModelChecker
 		this.linEqMethod = linEqMethod;
 	}
 
+	/**
+	 * Set preconditioner used by Krylov subspace methods for solving linear equation systems.
+	 */
+	public void setLinEqPrecond(LinEqPrecond linEqPrecond)
+	{
+		this.linEqPrecond = linEqPrecond;
+	}
+
+	/**
+	 * Set restart length (dimension of the Krylov subspace) for GMRES.
+	 */
+	public void setGMRESRestart(int gmresRestart)
+	{
+		this.gmresRestart = gmresRestart;
+	}
+
 	/**
 	 * Set method used to solve MDPs.
 	 */
@@ -356,6 +445,24 @@ public class ProbModelChecker extends NonProbModelChecker
 		this.maxIters = maxIters;
 	}
 
+	/**
+	 * Set the number of threads to use for iterative numerical methods
+	 * based on matrix-vector multiplication (Power/value iteration, Jacobi).
+	 */
+	public void setIterationThreads(int iterationThreads)
+	{
+		this.iterationThreads = iterationThreads;
+	}
+
+	/**
+	 * Set whether or not to store solution vectors in single precision for value iteration,
+	 * refining the result in double precision afterwards.
+	 */
+	public void setFloatVectors(boolean floatVectors)
+	{
+		this.floatVectors = floatVectors;
+	}
+
 	/**
 	 * Set whether or not to use precomputation (Prob0, Prob1, etc.).
 	 */
@@ -388,6 +495,33 @@ public class ProbModelChecker extends NonProbModelChecker
 		this.preRel = preRel;
 	}
 
+	/**
+	 * Set the cache used to store/reuse the results of precomputation algorithms
+	 * (Prob0, Prob1) across model checker instances. Pass null to disable caching.
+	 */
+	public void setPrecomputationCache(PrecomputationCache precompCache)
+	{
+		this.precompCache = precompCache;
+	}
+
+	/**
+	 * Set the store of solutions of previous reachability probability/reward computations,
+	 * used to warm-start value iteration (see {@link WarmStartCache}). Pass null to disable this.
+	 */
+	public void setWarmStartCache(WarmStartCache warmStartCache)
+	{
+		this.warmStartCache = warmStartCache;
+	}
+
+	/**
+	 * Set the cache used to store/reuse the results of model checking P/R/S operators
+	 * across model checker instances and subformulas (see {@link ResultCache}). Pass null to disable caching.
+	 */
+	public void setResultCache(ResultCache resultCache)
+	{
+		this.resultCache = resultCache;
+	}
+
 	/**
 	 * Set direction of convergence for value iteration (lfp/gfp).
 	 */
@@ -434,6 +568,16 @@ public class ProbModelChecker extends NonProbModelChecker
 		return linEqMethod;
 	}
 
+	public LinEqPrecond getLinEqPrecond()
+	{
+		return linEqPrecond;
+	}
+
+	public int getGMRESRestart()
+	{
+		return gmresRestart;
+	}
+
 	public MDPSolnMethod getMDPSolnMethod()
 	{
 		return mdpSolnMethod;
@@ -454,6 +598,16 @@ public class ProbModelChecker extends NonProbModelChecker
 		return maxIters;
 	}
 
+	public int getIterationThreads()
+	{
+		return iterationThreads;
+	}
+
+	public boolean getFloatVectors()
+	{
+		return floatVectors;
+	}
+
 	public boolean getPrecomp()
 	{
 		return precomp;
@@ -474,6 +628,21 @@ public class ProbModelChecker extends NonProbModelChecker
 		return preRel;
 	}
 
+	public PrecomputationCache getPrecomputationCache()
+	{
+		return precompCache;
+	}
+
+	public WarmStartCache getWarmStartCache()
+	{
+		return warmStartCache;
+	}
+
+	public ResultCache getResultCache()
+	{
+		return resultCache;
+	}
+
 	public ValIterDir getValIterDir()
 	{
 		return valIterDir;
@@ -492,6 +661,119 @@ public class ProbModelChecker extends NonProbModelChecker
 		return errorOnNonConverge;
 	}
 
+	/**
+	 * Check whether a value iteration with the given iteration method should use
+	 * single-precision solution vectors (see {@link #setFloatVectors(boolean)}).
+	 * This is the case if requested, for non-topological value iteration from below
+	 * with the Power method. If requested but not applicable, a warning is printed.
+	 */
+	protected boolean useFloatVectors(IterationMethod iterationMethod, boolean topological)
+	{
+		if (!floatVectors)
+			return false;
+		if (!(iterationMethod instanceof IterationMethodPower) || topological || valIterDir != ValIterDir.BELOW) {
+			mainLog.printWarning("Single-precision solution vectors are only supported for (non-topological) value iteration from below with the Power method; using double precision");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Get the solution of a previous computation of the same kind, and for the same remain/target states,
+	 * on this model (or one with the same states) from the warm-start cache, if there is one, to be passed as the initial solution vector ({@code init})
+	 * to value iteration. Returns null if there is none. Values are restricted to [0,1] (probabilities)
+	 * or [0,infinity) (rewards), with non-finite values replaced by 0.
+	 * <br>
+	 * This should only be used where the equation system solved by value iteration has a unique
+	 * solution, so that the initial values do not affect the result, i.e. for DTMCs (with Prob0 precomputation),
+	 * minimum probabilities (with Prob0 precomputation) and maximum rewards for MDPs.
+	 * Plain value iteration uses the values as they are, so its result may differ from that of a computation
+	 * without a warm start (within the convergence threshold). Interval iteration only uses the values
+	 * for the lower/upper bound if they are shown to be sound
+	 * (see {@link #warmStartIntervalIteration(double[], double[], double[], BitSet, StateUpdate)}).
+	 * @param model The model
+	 * @param kind The kind of computation
+	 * @param min Min or max (true=min, false=max); ignored for DTMCs
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 */
+	protected double[] getWarmStart(Model model, WarmStartCache.Kind kind, boolean min, BitSet remain, BitSet target)
+	{
+		if (warmStartCache == null) {
+			return null;
+		}
+		double soln[] = warmStartCache.get(model, kind, min, remain, target);
+		if (soln == null) {
+			return null;
+		}
+		for (int s = 0; s < soln.length; s++) {
+			double d = soln[s];
+			if (Double.isNaN(d) || Double.isInfinite(d) || d < 0.0) {
+				soln[s] = 0.0;
+			} else if (kind == WarmStartCache.Kind.REACH_PROBS && d > 1.0) {
+				soln[s] = 1.0;
+			}
+		}
+		return soln;
+	}
+
+	/**
+	 * Store a solution in the warm-start cache, if there is one (see {@link #getWarmStart(Model, WarmStartCache.Kind, boolean, BitSet, BitSet)}).
+	 */
+	protected void storeWarmStart(Model model, WarmStartCache.Kind kind, boolean min, BitSet remain, BitSet target, double soln[])
+	{
+		if (warmStartCache != null && soln != null) {
+			warmStartCache.put(model, kind, min, remain, target, soln);
+		}
+	}
+
+	/**
+	 * A single-state update of value iteration, i.e., the new value for state {@code s}
+	 * computed from the values {@code vect} (one step of the Bellman operator).
+	 */
+	@FunctionalInterface
+	protected interface StateUpdate
+	{
+		double apply(int s, double vect[]);
+	}
+
+	/**
+	 * Use an initial solution vector {@code init} (e.g. from a warm start) to tighten the initial lower/upper bounds
+	 * {@code initBelow}/{@code initAbove} of interval iteration for the states in {@code unknown},
+	 * where this is sound. The values of {@code init}, decreased (resp. increased) by the convergence
+	 * threshold, are used as the lower (resp. upper) bound if one step of value iteration (given by {@code update})
+	 * does not decrease (resp. increase) them in any state. For the upper bound, this shows that the least
+	 * fixed point is below them; for the lower bound, this relies on the fixed point being unique,
+	 * as is required for interval iteration.
+	 */
+	protected void warmStartIntervalIteration(double init[], double initBelow[], double initAbove[], BitSet unknown, StateUpdate update)
+	{
+		boolean termCritAbsolute = termCrit == TermCrit.ABSOLUTE;
+		double below[] = initBelow.clone();
+		double above[] = initAbove.clone();
+		for (int s = unknown.nextSetBit(0); s >= 0; s = unknown.nextSetBit(s + 1)) {
+			double delta = termCritAbsolute ? termCritParam : termCritParam * Math.abs(init[s]);
+			below[s] = Math.max(initBelow[s], init[s] - delta);
+			above[s] = Math.min(initAbove[s], init[s] + delta);
+		}
+		boolean belowOK = true, aboveOK = true;
+		for (int s = unknown.nextSetBit(0); s >= 0 && (belowOK || aboveOK); s = unknown.nextSetBit(s + 1)) {
+			if (belowOK && update.apply(s, below) < below[s]) {
+				belowOK = false;
+			}
+			if (aboveOK && update.apply(s, above) > above[s]) {
+				aboveOK = false;
+			}
+		}
+		if (belowOK) {
+			System.arraycopy(below, 0, initBelow, 0, below.length);
+		}
+		if (aboveOK) {
+			System.arraycopy(above, 0, initAbove, 0, above.length);
+		}
+		mainLog.println("Warm start: initial values " + (belowOK ? "used" : "not sound") + " as lower bound, " + (aboveOK ? "used" : "not sound") + " as upper bound");
+	}
+
 	// Model checking functions
 
 	@Override
@@ -499,6 +781,17 @@ public class ProbModelChecker extends NonProbModelChecker
 	{
 		StateValues res;
 
+		// For P, R and S operators, reuse the result of an identical earlier check, if available
+		String cacheKey = null;
+		if (canUseResultCache() && (expr instanceof ExpressionProb || expr instanceof ExpressionReward || expr instanceof ExpressionSS)) {
+			cacheKey = getResultCacheKey(expr);
+			res = resultCache.get(model, cacheKey, propertiesFile, statesOfInterest);
+			if (res != null) {
+				mainLog.println("\nResult for " + cacheKey + " reused from cache.");
+				return res;
+			}
+		}
+
 		// <<>> or [[]] operator
 		if (expr instanceof ExpressionStrategy) {
 			res = checkExpressionStrategy(model, (ExpressionStrategy) expr, statesOfInterest);
@@ -524,9 +817,38 @@ public class ProbModelChecker extends NonProbModelChecker
 			res = super.checkExpression(model, expr, statesOfInterest);
 		}
 
+		if (cacheKey != null) {
+			resultCache.put(model, cacheKey, propertiesFile, statesOfInterest, res);
+		}
+
 		return res;
 	}
 
+	/**
+	 * Get the key used to store the result for an expression in the result cache:
+	 * its string representation, after expanding property references, labels
+	 * from the properties file and constants, which may vary between properties.
+	 */
+	protected String getResultCacheKey(Expression expr) throws PrismException
+	{
+		Expression exprKey = expr.deepCopy();
+		if (propertiesFile != null) {
+			exprKey = (Expression) exprKey.expandPropRefsAndLabels(propertiesFile, propertiesFile.getLabelList());
+		}
+		return exprKey.replaceConstants(constantValues).toString();
+	}
+
+	/**
+	 * Can results be stored in/reused from the result cache?
+	 * Not if there is no cache or if model checking has other side effects,
+	 * e.g. strategy generation or exports.
+	 */
+	protected boolean canUseResultCache()
+	{
+		return resultCache != null && !genStrat && !generateStrategy && !exportAdv && !exportTarget && !exportProductTrans && !exportProductStates
+				&& !exportProductVector;
+	}
+
 	/**
 	 * Model check a <<>> or [[]] operator expression and return the values for the statesOfInterest.
 	 * * @param statesOfInterest the states of interest, see checkExpression()
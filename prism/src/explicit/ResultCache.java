@@ -0,0 +1,145 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+import parser.type.TypeBool;
+import parser.type.TypeDouble;
+import parser.type.TypeInt;
+import prism.PrismException;
+
+/**
+ * Cache for the results (vectors of values for all states) of model checking subformulas,
+ * e.g. P/R/S operators, on a single explicit model, so that they can be shared between
+ * the model checkers created for successive properties, and between multiple
+ * occurrences of the same subformula in a property.
+ * <p>
+ * Entries are keyed on the subformula, as a string with constants expanded,
+ * a context object (e.g. the properties file, which may define labels used in
+ * the subformula), the states of interest that the result was computed for and
+ * (for SMGs) the current coalition. A result computed for all states can be
+ * used for any states of interest.
+ * Memory use is bounded as described in {@link LRUModelCache}.
+ * If any settings that could affect model checking results change, the cache should be discarded.
+ */
+public class ResultCache extends LRUModelCache<ResultCache.Key, StateValues>
+{
+	/**
+	 * Create an empty cache for a model.
+	 * @param model The model
+	 * @param maxMemory Maximum memory (in bytes) to be used for storing entries
+	 */
+	public ResultCache(Model model, long maxMemory)
+	{
+		super(model, maxMemory);
+	}
+
+	/**
+	 * Look up the result of model checking a subformula. Returns null if it is not stored.
+	 * The returned StateValues is a copy and may be freely modified.
+	 * @param model The model (the lookup fails if this is not the model for this cache)
+	 * @param expr The subformula, as a string with constants expanded
+	 * @param context Context for the subformula (e.g. the properties file), compared by identity
+	 * @param statesOfInterest The states of interest (null means "all")
+	 */
+	public StateValues get(Model model, String expr, Object context, BitSet statesOfInterest) throws PrismException
+	{
+		// A result for all states will also do
+		Key allKey = statesOfInterest == null ? null : new Key(model, expr, context, null);
+		StateValues res = lookUp(model, new Key(model, expr, context, statesOfInterest), allKey);
+		return res == null ? null : res.deepCopy();
+	}
+
+	/**
+	 * Store the result of model checking a subformula, evicting least recently used entries
+	 * if the memory limit would otherwise be exceeded. Only int, double and Boolean results are stored.
+	 * Copies of the passed in objects are stored, so they can be modified afterwards.
+	 * @param model The model (nothing is stored if this is not the model for this cache)
+	 * @param expr The subformula, as a string with constants expanded
+	 * @param context Context for the subformula (e.g. the properties file), compared by identity
+	 * @param statesOfInterest The states of interest (null means "all")
+	 * @param result The result of model checking
+	 */
+	public void put(Model model, String expr, Object context, BitSet statesOfInterest, StateValues result) throws PrismException
+	{
+		if (model != getModel() || memory(result) < 0) {
+			return;
+		}
+		Key key = new Key(model, expr, context, statesOfInterest == null ? null : (BitSet) statesOfInterest.clone());
+		store(model, key, result.deepCopy());
+	}
+
+	/**
+	 * Estimated memory (in bytes) for a vector of results,
+	 * or -1 if it is of a type that is not stored.
+	 */
+	@Override
+	protected long memory(StateValues vals)
+	{
+		if (vals.getType() instanceof TypeDouble) {
+			return 8L * vals.getSize();
+		} else if (vals.getType() instanceof TypeInt) {
+			return 4L * vals.getSize();
+		} else if (vals.getType() instanceof TypeBool) {
+			return vals.getSize() / 8;
+		}
+		return -1;
+	}
+
+	/**
+	 * Key for a cache entry.
+	 */
+	static class Key extends LRUModelCache.Key
+	{
+		private String expr;
+		private Object context;
+		private BitSet statesOfInterest;
+
+		public Key(Model model, String expr, Object context, BitSet statesOfInterest)
+		{
+			super(model, Objects.hash(expr, statesOfInterest) * 31 + System.identityHashCode(context));
+			this.expr = expr;
+			this.context = context;
+			this.statesOfInterest = statesOfInterest;
+		}
+
+		@Override
+		protected long memory()
+		{
+			return 2L * expr.length() + (statesOfInterest == null ? 0 : statesOfInterest.size() / 8);
+		}
+
+		@Override
+		protected boolean equalsKey(LRUModelCache.Key o)
+		{
+			Key other = (Key) o;
+			return context == other.context && expr.equals(other.expr) && Objects.equals(statesOfInterest, other.statesOfInterest);
+		}
+	}
+}
@@ -0,0 +1,280 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import parser.State;
+import parser.Values;
+import prism.ModelGenerator;
+import prism.PrismException;
+import prism.PrismUtils;
+
+/**
+ * Transition structure of an explicit-state model built by {@link ConstructModel}, recorded so that the
+ * model can be rebuilt cheaply for new values of constants that only affect its transition probabilities,
+ * e.g. during an experiment over such constants (see {@link ConstructModel#reconstructModel}).
+ * The states, choices and transitions of the original model are reused (and shared with the new model);
+ * only the probabilities are recomputed, by re-exploring each state with the model generator.
+ * <p>
+ * For each state, in the order in which they were explored, the number of choices generated, the number
+ * of transitions in each choice and their target states are recorded, along with the position of each
+ * transition in the model's (sparse) transition storage. When the model is rebuilt, these are checked
+ * against the model generator, so a structure that has changed (e.g. because a probability has become
+ * zero) is detected and a full rebuild can be done instead. For MDPs, choices that were dropped
+ * because they duplicated an earlier choice of the same state are checked to still be duplicates,
+ * and the remaining choices of each state are checked not to have become duplicates.
+ * For DTMCs, where all choices of a state are merged, probabilities are summed in the order
+ * in which they are generated, as in the original construction.
+ * <p>
+ * Currently, this is only supported for DTMCs and MDPs stored as {@link DTMCSparse} or {@link MDPSparse}.
+ */
+public class ReusableStructure
+{
+	// Initial capacity of arrays
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/** Model whose transition structure is reused */
+	private ModelExplicit model;
+	/** Index (in model) of each state, in the order in which they were explored */
+	private int exploreOrder[];
+	/** Number of explored states */
+	private int numStates;
+	/** Number of choices generated for each explored state */
+	private int numChoices[];
+	/** Number of choices (over all states) */
+	private int totalChoices;
+	/** Number of transitions generated for each choice */
+	private int numTransitions[];
+	/** For each choice, the index (within its state) of an earlier choice that it duplicates, if dropped, or -1 */
+	private int duplicateOf[];
+	/** Number of transitions (over all choices) */
+	private int totalTransitions;
+	/** Target of each generated transition (as the index in the order in which states were explored) */
+	private int targets[];
+	/** Position of each generated transition in the model's array of probabilities */
+	private int slots[];
+	/** Probabilities of the model, excluding those of generated transitions (i.e. just for added self-loops) */
+	private double baseProbs[];
+
+	/**
+	 * Create an empty structure, ready to record states/transitions as they are explored.
+	 */
+	public ReusableStructure()
+	{
+		numChoices = new int[INITIAL_CAPACITY];
+		numTransitions = new int[INITIAL_CAPACITY];
+		duplicateOf = new int[INITIAL_CAPACITY];
+		targets = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Record the next explored state, which has {@code nc} choices.
+	 */
+	public void addState(int nc)
+	{
+		if (numStates == numChoices.length) {
+			numChoices = Arrays.copyOf(numChoices, 2 * numChoices.length);
+		}
+		numChoices[numStates++] = nc;
+	}
+
+	/**
+	 * Record the next choice of the current state, which has {@code nt} transitions.
+	 */
+	public void addChoice(int nt)
+	{
+		if (totalChoices == numTransitions.length) {
+			numTransitions = Arrays.copyOf(numTransitions, 2 * numTransitions.length);
+			duplicateOf = Arrays.copyOf(duplicateOf, 2 * duplicateOf.length);
+		}
+		numTransitions[totalChoices] = nt;
+		duplicateOf[totalChoices] = -1;
+		totalChoices++;
+	}
+
+	/**
+	 * Record that the last choice added was dropped from the model, since it duplicates
+	 * (has the same transitions and action as) the {@code i}th choice of the current state.
+	 */
+	public void setDuplicateChoice(int i)
+	{
+		duplicateOf[totalChoices - 1] = i;
+	}
+
+	/**
+	 * Record the next transition of the current choice, which goes to the {@code dest}th explored state.
+	 */
+	public void addTransition(int dest)
+	{
+		if (totalTransitions == targets.length) {
+			targets = Arrays.copyOf(targets, 2 * targets.length);
+		}
+		targets[totalTransitions++] = dest;
+	}
+
+	/**
+	 * Finish recording, once the model has been built from the explored states/transitions.
+	 * Returns false if the structure of the model cannot be reused
+	 * (because the model type is not supported or transitions were not kept as explored).
+	 * @param model The model built
+	 * @param permut State permutation applied to the model (null means none)
+	 */
+	public boolean finish(ModelExplicit model, int permut[])
+	{
+		this.model = model;
+		exploreOrder = permut;
+		if (exploreOrder == null) {
+			exploreOrder = new int[numStates];
+			for (int s = 0; s < numStates; s++) {
+				exploreOrder[s] = s;
+			}
+		}
+		numChoices = Arrays.copyOf(numChoices, numStates);
+		numTransitions = Arrays.copyOf(numTransitions, totalChoices);
+		duplicateOf = Arrays.copyOf(duplicateOf, totalChoices);
+		targets = Arrays.copyOf(targets, totalTransitions);
+		slots = new int[totalTransitions];
+		if (model instanceof DTMCSparse) {
+			DTMCSparse dtmc = (DTMCSparse) model;
+			// All choices of a state are merged into a single distribution
+			int c = 0, t = 0;
+			for (int src = 0; src < numStates; src++) {
+				int s = exploreOrder[src];
+				for (int i = 0; i < numChoices[src]; i++) {
+					for (int j = 0; j < numTransitions[c]; j++, t++) {
+						if ((slots[t] = dtmc.getTransitionIndex(s, exploreOrder[targets[t]])) == -1) {
+							return false;
+						}
+					}
+					c++;
+				}
+			}
+			baseProbs = dtmc.getProbabilitiesCopy();
+		} else if (model instanceof MDPSparse) {
+			MDPSparse mdp = (MDPSparse) model;
+			int c = 0, t = 0;
+			for (int src = 0; src < numStates; src++) {
+				int s = exploreOrder[src];
+				// Choices are kept in order, apart from dropped duplicates,
+				// whose transitions are mapped to those of the choice they duplicate
+				int k = 0;
+				for (int i = 0; i < numChoices[src]; i++) {
+					int i2 = duplicateOf[c] == -1 ? k++ : duplicateOf[c];
+					for (int j = 0; j < numTransitions[c]; j++, t++) {
+						if ((slots[t] = mdp.getTransitionIndex(s, i2, exploreOrder[targets[t]])) == -1) {
+							return false;
+						}
+					}
+					c++;
+				}
+				if (numChoices[src] > 0 && mdp.getNumChoices(s) != k) {
+					return false;
+				}
+			}
+			baseProbs = mdp.getProbabilitiesCopy();
+		} else {
+			return false;
+		}
+		for (int t = 0; t < totalTransitions; t++) {
+			baseProbs[slots[t]] = 0.0;
+		}
+		return true;
+	}
+
+	/**
+	 * Get the values of the constants for the model whose structure is stored.
+	 */
+	public Values getConstantValues()
+	{
+		return model.getConstantValues();
+	}
+
+	/**
+	 * Create a model with the stored structure, but with transition probabilities
+	 * computed by re-exploring each state with a model generator.
+	 * Returns null if the model generator does not yield the same structure.
+	 * The initial states, deadlocks and states list of the model are set, but labels are not.
+	 * @param modelGen The ModelGenerator interface providing the model
+	 */
+	public ModelExplicit buildModel(ModelGenerator modelGen) throws PrismException
+	{
+		double probs[] = Arrays.copyOf(baseProbs, baseProbs.length);
+		List<State> statesList = model.getStatesList();
+		int c = 0, t = 0;
+		for (int src = 0; src < numStates; src++) {
+			modelGen.exploreState(statesList.get(exploreOrder[src]));
+			int nc = modelGen.getNumChoices();
+			if (nc != numChoices[src]) {
+				return null;
+			}
+			for (int i = 0; i < nc; i++) {
+				int nt = modelGen.getNumTransitions(i);
+				if (nt != numTransitions[c]) {
+					return null;
+				}
+				// For a dropped duplicate choice, collect its probabilities separately
+				Map<Integer, Double> duplicate = duplicateOf[c] == -1 ? null : new HashMap<Integer, Double>();
+				for (int j = 0; j < nt; j++, t++) {
+					// Check the target too, since a zero probability elsewhere
+					// (whose transition is omitted) could leave the count unchanged
+					if (!modelGen.computeTransitionTarget(i, j).equals(statesList.get(exploreOrder[targets[t]]))) {
+						return null;
+					}
+					// Transitions to the same state are summed in the order they were generated, as when first built
+					if (duplicate == null) {
+						probs[slots[t]] += modelGen.getTransitionProbability(i, j);
+					} else {
+						duplicate.merge(slots[t], modelGen.getTransitionProbability(i, j), Double::sum);
+					}
+				}
+				// Check that a dropped choice still duplicates the earlier one (as for SparseModelBuffer)
+				if (duplicate != null) {
+					for (Map.Entry<Integer, Double> e : duplicate.entrySet()) {
+						if (!PrismUtils.doublesAreClose(probs[e.getKey()], e.getValue(), 1e-12, false)) {
+							return null;
+						}
+					}
+				}
+				c++;
+			}
+			// Check that no (kept) choices have become identical, since they would be merged in a full build
+			if (model instanceof MDPSparse && ((MDPSparse) model).hasDuplicateChoices(exploreOrder[src], probs)) {
+				return null;
+			}
+		}
+		if (model instanceof DTMCSparse) {
+			return new DTMCSparse((DTMCSparse) model, probs);
+		} else {
+			return new MDPSparse((MDPSparse) model, probs);
+		}
+	}
+}
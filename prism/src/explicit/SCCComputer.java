@@ -34,6 +34,7 @@ import java.util.function.IntPredicate;
 
 import prism.PrismComponent;
 import prism.PrismException;
+import prism.PrismSettings;
 
 /**
  * Abstract class for (explicit) classes that compute (B)SCCs,
@@ -46,12 +47,14 @@ public abstract class SCCComputer extends PrismComponent
 
 	// Method used for finding (B)SCCs
 	public enum SCCMethod {
-		TARJAN;
+		TARJAN, FORWARD_BACKWARD;
 		public String fullName()
 		{
 			switch (this) {
 			case TARJAN:
 				return "Tarjan";
+			case FORWARD_BACKWARD:
+				return "Forward-backward";
 			default:
 				return this.toString();
 			}
@@ -63,8 +66,26 @@ public abstract class SCCComputer extends PrismComponent
 	 */
 	public static SCCComputer createSCCComputer(PrismComponent parent, Model model, SCCConsumer consumer) throws PrismException
 	{
-		// Only one algorithm implemented currently
-		return new SCCComputerTarjan(parent, model, consumer);
+		PrismSettings settings = parent.getSettings();
+		switch (getSCCMethod(settings)) {
+		case FORWARD_BACKWARD:
+			return new SCCComputerFB(parent, model, consumer, settings.getInteger(PrismSettings.PRISM_SCC_THREADS));
+		case TARJAN:
+		default:
+			return new SCCComputerTarjan(parent, model, consumer);
+		}
+	}
+
+	/**
+	 * Get the method to use for finding (B)SCCs, from the settings (which may be null).
+	 * The (symbolic) methods for the other engines all map to Tarjan's algorithm.
+	 */
+	public static SCCMethod getSCCMethod(PrismSettings settings)
+	{
+		if (settings != null && settings.getString(PrismSettings.PRISM_SCC_METHOD).equals("Forward-backward")) {
+			return SCCMethod.FORWARD_BACKWARD;
+		}
+		return SCCMethod.TARJAN;
 	}
 
 	/**
@@ -0,0 +1,608 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+
+package explicit;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+import prism.PrismComponent;
+import prism.PrismException;
+
+/**
+ * Parallel SCC decomposition, using the forward-backward algorithm with trimming
+ * (Fleischer, Hendrickson, Pinar: "On identifying strongly connected components in parallel", 2000;
+ * McLendon et al.: "Finding strongly connected components in distributed graphs", 2005).
+ * The successor and predecessor relations of the model are first stored in
+ * compressed sparse row (CSR) arrays; the sub-problems produced by each
+ * forward-backward step are then processed in parallel.
+ * <br>
+ * SCCs are reported to the consumer in the same order as for Tarjan's algorithm,
+ * i.e., an SCC is only reported after all SCCs reachable from it (reverse topological order),
+ * so that e.g. {@link SCCInfo} can be used as a consumer.
+ */
+public class SCCComputerFB extends SCCComputer
+{
+	/** Sub-problems of at least this size are processed as separate (parallel) tasks */
+	private static final int FORK_THRESHOLD = 4096;
+	/** Chunk size for loops over the states that are executed in parallel */
+	private static final int CHUNK_SIZE = 4096;
+
+	/** The model to compute (B)SCCs for */
+	private Model model;
+	/** Number of threads */
+	private int numThreads;
+
+	/**
+	 * Build (B)SCC computer for a given model, using {@code numThreads} threads.
+	 */
+	public SCCComputerFB(PrismComponent parent, Model model, SCCConsumer consumer, int numThreads) throws PrismException
+	{
+		super(parent, consumer);
+		this.model = model;
+		this.numThreads = numThreads;
+	}
+
+	// Methods for SCCComputer interface
+
+	@Override
+	public void computeSCCs(boolean filterTrivialSCCs, IntPredicate restrict) throws PrismException
+	{
+		consumer.notifyStart(model);
+		int n = model.getNumStates();
+		ForkJoinPool pool = numThreads > 1 ? new ForkJoinPool(numThreads) : null;
+		try {
+			// Determine relevant states
+			boolean included[] = null;
+			if (restrict != null) {
+				boolean inc[] = included = new boolean[n];
+				parallelFor(pool, n, s -> inc[s] = restrict.test(s));
+			}
+			// Build successor relation in CSR form (without self-loops)
+			boolean selfLoop[] = new boolean[n];
+			int succStart[] = new int[n + 1];
+			boolean inc[] = included;
+			parallelFor(pool, n, s -> {
+				if (inc != null && !inc[s])
+					return;
+				int count = 0;
+				for (SuccessorsIterator it = model.getSuccessors(s); it.hasNext();) {
+					int t = it.nextInt();
+					if (t == s) {
+						selfLoop[s] = true;
+					} else if (inc == null || inc[t]) {
+						count++;
+					}
+				}
+				succStart[s + 1] = count;
+			});
+			for (int s = 0; s < n; s++) {
+				succStart[s + 1] += succStart[s];
+			}
+			int succ[] = new int[succStart[n]];
+			parallelFor(pool, n, s -> {
+				if (inc != null && !inc[s])
+					return;
+				int pos = succStart[s];
+				for (SuccessorsIterator it = model.getSuccessors(s); it.hasNext();) {
+					int t = it.nextInt();
+					if (t != s && (inc == null || inc[t])) {
+						succ[pos++] = t;
+					}
+				}
+			});
+			Graph graph = new Graph(n, succStart, succ, included);
+
+			// Decompose, then report the SCCs in reverse topological order
+			int rep[] = decompose(graph, pool);
+			reportSCCs(graph, rep, selfLoop, filterTrivialSCCs);
+		} finally {
+			if (pool != null) {
+				pool.shutdown();
+			}
+		}
+		consumer.notifyDone();
+	}
+
+	/**
+	 * Report the SCCs to the consumer, in reverse topological order (sink SCCs first).
+	 */
+	private void reportSCCs(Graph graph, int rep[], boolean selfLoop[], boolean filterTrivialSCCs) throws PrismException
+	{
+		int order[] = orderBySCC(graph, rep);
+		int start = 0;
+		while (start < order.length) {
+			int r = rep[order[start]];
+			int end = start + 1;
+			while (end < order.length && rep[order[end]] == r) {
+				end++;
+			}
+			if (!(filterTrivialSCCs && end - start == 1 && !selfLoop[r])) {
+				consumer.notifyStartSCC();
+				for (int i = start; i < end; i++) {
+					consumer.notifyStateInSCC(order[i]);
+				}
+				consumer.notifyEndSCC();
+			}
+			start = end;
+		}
+	}
+
+	// Static methods, also used for MEC computation (see ECComputerFB)
+
+	/**
+	 * A directed graph over states {@code 0..n-1}, with successor and predecessor relations in CSR form,
+	 * optionally restricted to a subset of "included" states (edges are only between included states).
+	 */
+	static class Graph
+	{
+		final int n;
+		final int succStart[];
+		final int succ[];
+		final int predStart[];
+		final int pred[];
+		/** Included states (null: all) */
+		final boolean included[];
+
+		/**
+		 * Create a graph from the successor relation in CSR form (the predecessor relation is computed).
+		 */
+		Graph(int n, int succStart[], int succ[], boolean included[])
+		{
+			this.n = n;
+			this.succStart = succStart;
+			this.succ = succ;
+			this.included = included;
+			predStart = new int[n + 1];
+			for (int t : succ) {
+				predStart[t + 1]++;
+			}
+			for (int s = 0; s < n; s++) {
+				predStart[s + 1] += predStart[s];
+			}
+			pred = new int[succ.length];
+			int next[] = new int[n];
+			for (int s = 0; s < n; s++) {
+				for (int p = succStart[s]; p < succStart[s + 1]; p++) {
+					int t = succ[p];
+					pred[predStart[t] + next[t]++] = s;
+				}
+			}
+		}
+
+		boolean isIncluded(int s)
+		{
+			return included == null || included[s];
+		}
+	}
+
+	/**
+	 * Decompose a graph into SCCs, using {@code numThreads} threads.
+	 * Returns an array mapping each (included) state to a representative state
+	 * of its SCC (-1 for states that are not included).
+	 */
+	static int[] decompose(Graph graph, int numThreads) throws PrismException
+	{
+		ForkJoinPool pool = numThreads > 1 && graph.n >= FORK_THRESHOLD ? new ForkJoinPool(numThreads) : null;
+		try {
+			return decompose(graph, pool);
+		} finally {
+			if (pool != null) {
+				pool.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Order the (included) states of a graph by SCC, given the SCC representatives computed by
+	 * {@link #decompose(Graph, int)}. SCCs are in reverse topological order (sink SCCs first),
+	 * computed using Kahn's algorithm on the graph of SCCs; the states of each SCC are
+	 * consecutive and in increasing order.
+	 */
+	static int[] orderBySCC(Graph graph, int rep[])
+	{
+		int n = graph.n;
+		// Group states by SCC (representative)
+		int memberStart[] = new int[n + 1];
+		for (int s = 0; s < n; s++) {
+			if (rep[s] >= 0) {
+				memberStart[rep[s] + 1]++;
+			}
+		}
+		for (int s = 0; s < n; s++) {
+			memberStart[s + 1] += memberStart[s];
+		}
+		int members[] = new int[memberStart[n]];
+		int next[] = new int[n];
+		for (int s = 0; s < n; s++) {
+			if (rep[s] >= 0) {
+				members[memberStart[rep[s]] + next[rep[s]]++] = s;
+			}
+		}
+		// Count outgoing edges of each SCC (stored for the representative)
+		int sccOut[] = next;
+		Arrays.fill(sccOut, 0);
+		for (int s = 0; s < n; s++) {
+			if (rep[s] >= 0) {
+				for (int p = graph.succStart[s]; p < graph.succStart[s + 1]; p++) {
+					if (rep[graph.succ[p]] != rep[s]) {
+						sccOut[rep[s]]++;
+					}
+				}
+			}
+		}
+		// Repeatedly take an SCC with no outgoing edges to SCCs not yet taken
+		int queue[] = new int[n];
+		int head = 0, tail = 0;
+		for (int s = 0; s < n; s++) {
+			if (rep[s] == s && sccOut[s] == 0) {
+				queue[tail++] = s;
+			}
+		}
+		int order[] = new int[members.length];
+		int count = 0;
+		while (head < tail) {
+			int r = queue[head++];
+			for (int i = memberStart[r]; i < memberStart[r + 1]; i++) {
+				int s = members[i];
+				order[count++] = s;
+				for (int p = graph.predStart[s]; p < graph.predStart[s + 1]; p++) {
+					int r2 = rep[graph.pred[p]];
+					if (r2 != r && --sccOut[r2] == 0) {
+						queue[tail++] = r2;
+					}
+				}
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Decompose a graph into SCCs, using the threads of {@code pool} (null: sequential).
+	 */
+	private static int[] decompose(Graph graph, ForkJoinPool pool) throws PrismException
+	{
+		int n = graph.n;
+		int count = 0;
+		for (int s = 0; s < n; s++) {
+			if (graph.isIncluded(s))
+				count++;
+		}
+		int states[] = new int[count];
+		count = 0;
+		for (int s = 0; s < n; s++) {
+			if (graph.isIncluded(s))
+				states[count++] = s;
+		}
+		ForwardBackward fb = new ForwardBackward(graph, pool);
+		fb.run(states);
+		return fb.rep;
+	}
+
+	/**
+	 * State of a forward-backward SCC decomposition.
+	 * Each sub-problem is a set of states with a unique colour; states that have been assigned
+	 * to an SCC are coloured {@code DONE}. Since sub-problems are disjoint, and only the task
+	 * processing a sub-problem modifies (or tests for) its colour, tasks can run concurrently.
+	 */
+	private static class ForwardBackward
+	{
+		private static final int DONE = -1;
+
+		private final Graph graph;
+		private final ForkJoinPool pool;
+		/** Colour (sub-problem) of each state */
+		private final int colour[];
+		/** Representative of the SCC of each state */
+		private final int rep[];
+		/** In/out-degrees, used for trimming */
+		private final int inDeg[];
+		private final int outDeg[];
+		/** Next colour to be assigned */
+		private final AtomicInteger nextColour = new AtomicInteger(1);
+		/** Number of active tasks (and a lock to wait for them to finish) */
+		private final AtomicInteger activeTasks = new AtomicInteger();
+		private final Object lock = new Object();
+		private volatile Throwable error = null;
+
+		ForwardBackward(Graph graph, ForkJoinPool pool)
+		{
+			this.graph = graph;
+			this.pool = pool;
+			int n = graph.n;
+			colour = new int[n];
+			rep = new int[n];
+			Arrays.fill(rep, -1);
+			inDeg = new int[n];
+			outDeg = new int[n];
+		}
+
+		/**
+		 * Decompose the sub-graph for {@code states} (which all have colour 0).
+		 */
+		void run(int states[]) throws PrismException
+		{
+			if (pool == null) {
+				process(states, 0);
+				return;
+			}
+			submit(states, 0);
+			synchronized (lock) {
+				while (activeTasks.get() > 0) {
+					try {
+						lock.wait();
+					} catch (InterruptedException e) {
+						throw new PrismException("SCC computation was interrupted");
+					}
+				}
+			}
+			if (error != null) {
+				throw new PrismException("Error during parallel SCC computation: " + error);
+			}
+		}
+
+		/**
+		 * Process a sub-problem as a separate task. Tasks are not joined (which would nest deeply
+		 * for long chains of sub-problems); instead, the number of active tasks is tracked.
+		 */
+		private void submit(int states[], int c)
+		{
+			activeTasks.incrementAndGet();
+			pool.execute(new RecursiveAction()
+			{
+				@Override
+				protected void compute()
+				{
+					try {
+						process(states, c);
+					} catch (Throwable e) {
+						error = e;
+					} finally {
+						if (activeTasks.decrementAndGet() == 0) {
+							synchronized (lock) {
+								lock.notifyAll();
+							}
+						}
+					}
+				}
+			});
+		}
+
+		/**
+		 * Process a sub-problem, and (recursively) the sub-problems resulting from it:
+		 * large ones are submitted as new tasks, the others are processed by this one.
+		 */
+		private void process(int states[], int c)
+		{
+			ArrayDeque<int[]> todoStates = new ArrayDeque<>();
+			ArrayDeque<Integer> todoColours = new ArrayDeque<>();
+			todoStates.push(states);
+			todoColours.push(c);
+			while (!todoStates.isEmpty()) {
+				int sub[] = todoStates.pop();
+				int subColour = todoColours.pop();
+				step(sub, subColour, (nextStates, nextColour) -> {
+					if (pool != null && nextStates.length >= FORK_THRESHOLD) {
+						submit(nextStates, nextColour);
+					} else {
+						todoStates.push(nextStates);
+						todoColours.push(nextColour);
+					}
+				});
+			}
+		}
+
+		/** Receiver for new sub-problems */
+		private interface SubProblems
+		{
+			void add(int states[], int colour);
+		}
+
+		/**
+		 * One step of the algorithm for the sub-problem {@code states} (of colour {@code c}):
+		 * trim states with no incoming/outgoing edges (these are trivial SCCs),
+		 * then find the SCC of a pivot state as the intersection of its forward- and backward-reachable states,
+		 * which splits the remaining states into three new sub-problems.
+		 */
+		private void step(int states[], int c, SubProblems subProblems)
+		{
+			// Trimming
+			int queue[] = new int[states.length];
+			int head = 0, tail = 0;
+			for (int s : states) {
+				int out = 0;
+				for (int p = graph.succStart[s]; p < graph.succStart[s + 1]; p++) {
+					if (colour[graph.succ[p]] == c)
+						out++;
+				}
+				int in = 0;
+				for (int p = graph.predStart[s]; p < graph.predStart[s + 1]; p++) {
+					if (colour[graph.pred[p]] == c)
+						in++;
+				}
+				outDeg[s] = out;
+				inDeg[s] = in;
+			}
+			for (int s : states) {
+				if (inDeg[s] == 0 || outDeg[s] == 0) {
+					colour[s] = DONE;
+					rep[s] = s;
+					queue[tail++] = s;
+				}
+			}
+			while (head < tail) {
+				int s = queue[head++];
+				for (int p = graph.succStart[s]; p < graph.succStart[s + 1]; p++) {
+					int t = graph.succ[p];
+					if (colour[t] == c && --inDeg[t] == 0) {
+						colour[t] = DONE;
+						rep[t] = t;
+						queue[tail++] = t;
+					}
+				}
+				for (int p = graph.predStart[s]; p < graph.predStart[s + 1]; p++) {
+					int t = graph.pred[p];
+					if (colour[t] == c && --outDeg[t] == 0) {
+						colour[t] = DONE;
+						rep[t] = t;
+						queue[tail++] = t;
+					}
+				}
+			}
+			if (tail == states.length) {
+				return;
+			}
+
+			// Pick a pivot from the remaining states
+			int remaining[] = new int[states.length - tail];
+			int numRemaining = 0;
+			for (int s : states) {
+				if (colour[s] == c)
+					remaining[numRemaining++] = s;
+			}
+			int pivot = remaining[numRemaining / 2];
+
+			// Forward reachability from pivot
+			int cF = nextColour.getAndIncrement();
+			int fwd[] = queue;
+			head = tail = 0;
+			colour[pivot] = cF;
+			fwd[tail++] = pivot;
+			while (head < tail) {
+				int s = fwd[head++];
+				for (int p = graph.succStart[s]; p < graph.succStart[s + 1]; p++) {
+					int t = graph.succ[p];
+					if (colour[t] == c) {
+						colour[t] = cF;
+						fwd[tail++] = t;
+					}
+				}
+			}
+			int numFwd = tail;
+
+			// Backward reachability from pivot; states also reached forwards form the SCC
+			int cB = nextColour.getAndIncrement();
+			int bwd[] = new int[numRemaining];
+			head = tail = 0;
+			colour[pivot] = DONE;
+			rep[pivot] = pivot;
+			bwd[tail++] = pivot;
+			while (head < tail) {
+				int s = bwd[head++];
+				for (int p = graph.predStart[s]; p < graph.predStart[s + 1]; p++) {
+					int t = graph.pred[p];
+					if (colour[t] == cF) {
+						colour[t] = DONE;
+						rep[t] = pivot;
+						bwd[tail++] = t;
+					} else if (colour[t] == c) {
+						colour[t] = cB;
+						bwd[tail++] = t;
+					}
+				}
+			}
+			int numBwd = tail;
+
+			// New sub-problems: forward only, backward only, neither
+			addSubProblem(fwd, numFwd, cF, subProblems);
+			addSubProblem(bwd, numBwd, cB, subProblems);
+			addSubProblem(remaining, numRemaining, c, subProblems);
+		}
+
+		/**
+		 * Add the states among the first {@code num} of {@code states} that (still) have colour {@code c}
+		 * as a new sub-problem, if there are any.
+		 */
+		private void addSubProblem(int states[], int num, int c, SubProblems subProblems)
+		{
+			int count = 0;
+			for (int i = 0; i < num; i++) {
+				if (colour[states[i]] == c)
+					count++;
+			}
+			if (count == 0)
+				return;
+			int sub[] = new int[count];
+			count = 0;
+			for (int i = 0; i < num; i++) {
+				if (colour[states[i]] == c)
+					sub[count++] = states[i];
+			}
+			subProblems.add(sub, c);
+		}
+	}
+
+	/**
+	 * Execute {@code body} for all of {@code 0..n-1}, in parallel using {@code pool} (null: sequentially).
+	 */
+	private static void parallelFor(ForkJoinPool pool, int n, IntConsumer body)
+	{
+		if (pool == null) {
+			for (int i = 0; i < n; i++) {
+				body.accept(i);
+			}
+		} else {
+			pool.invoke(new RangeTask(0, n, body));
+		}
+	}
+
+	/**
+	 * Task for {@link #parallelFor}, splitting the range into chunks.
+	 */
+	@SuppressWarnings("serial")
+	private static class RangeTask extends RecursiveAction
+	{
+		private final int from;
+		private final int to;
+		private final IntConsumer body;
+
+		RangeTask(int from, int to, IntConsumer body)
+		{
+			this.from = from;
+			this.to = to;
+			this.body = body;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from <= CHUNK_SIZE) {
+				for (int i = from; i < to; i++) {
+					body.accept(i);
+				}
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new RangeTask(from, mid, body), new RangeTask(mid, to, body));
+			}
+		}
+	}
+}
@@ -330,6 +330,16 @@ public class STPGModelChecker extends ProbModelChecker
 		boolean u_done;
 		long timer;
 
+		// Reuse stored result, if this has been computed before
+		if (precompCache != null) {
+			soln = precompCache.get(stpg, PrecomputationCache.Algorithm.PROB0, remain, target, min1, min2);
+			if (soln != null) {
+				if (verbosity >= 1)
+					mainLog.println("Prob0 (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ") result reused from cache.");
+				return soln;
+			}
+		}
+
 		// Start precomputation
 		timer = System.currentTimeMillis();
 		if (verbosity >= 1)
@@ -382,6 +392,10 @@ public class STPGModelChecker extends ProbModelChecker
 			mainLog.println(" took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
 		}
 
+		// Store result for later reuse
+		if (precompCache != null)
+			precompCache.put(stpg, PrecomputationCache.Algorithm.PROB0, remain, target, min1, min2, u);
+
 		return u;
 	}
 
@@ -402,6 +416,16 @@ public class STPGModelChecker extends ProbModelChecker
 		boolean u_done, v_done;
 		long timer;
 
+		// Reuse stored result, if this has been computed before
+		if (precompCache != null) {
+			soln = precompCache.get(stpg, PrecomputationCache.Algorithm.PROB1, remain, target, min1, min2);
+			if (soln != null) {
+				if (verbosity >= 1)
+					mainLog.println("Prob1 (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ") result reused from cache.");
+				return soln;
+			}
+		}
+
 		// Start precomputation
 		timer = System.currentTimeMillis();
 		if (verbosity >= 1)
@@ -462,6 +486,10 @@ public class STPGModelChecker extends ProbModelChecker
 			mainLog.println(" took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
 		}
 
+		// Store result for later reuse
+		if (precompCache != null)
+			precompCache.put(stpg, PrecomputationCache.Algorithm.PROB1, remain, target, min1, min2, u);
+
 		return u;
 	}
 
@@ -0,0 +1,489 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import prism.PrismUtils;
+
+/**
+ * Growable buffer storing the transition function of a model in sparse (CSR) form,
+ * as it is explored state by state, in order. This is used by {@link ConstructModel}
+ * to build sparse models (e.g. {@link MDPSparse}) directly, without first building
+ * a mutable model (e.g. {@link MDPSimple}) with a {@link Distribution} per choice.
+ * <p>
+ * States are added in order, each with a list of choices (for DTMCs, exactly one),
+ * and transitions are added to the current choice. As for {@link Distribution}s,
+ * transitions to the same target within a choice are merged and, for nondeterministic models,
+ * duplicate choices (same transitions and action) in a state are dropped, as for {@link MDPSimple}.
+ * <p>
+ * Only DTMCs and MDPs are supported: there is currently no sparse game model,
+ * so games (STPGs/SMGs) are still built as mutable models, with a {@link Distribution} per choice.
+ * <p>
+ * Once complete, a model is created from the buffer, optionally applying a state
+ * permutation (e.g. for sorting), in which case column indices are remapped.
+ */
+public class SparseModelBuffer
+{
+	// Initial capacity of arrays
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/** Is the model nondeterministic (or, if not, a DTMC with one choice per state)? */
+	protected boolean nondet;
+
+	/** Number of states */
+	protected int numStates;
+	/** Start of the choices for each state, in choiceStarts (size numStates+1, once complete) */
+	protected int rowStarts[];
+	/** Number of choices */
+	protected int numChoices;
+	/** Start of the transitions for each choice, in cols/probs (size numChoices+1, once complete) */
+	protected int choiceStarts[];
+	/** Action labels of choices (null if there are none) */
+	protected Object actions[];
+	/** Number of transitions */
+	protected int numTransitions;
+	/** Column (destination) indices for each transition */
+	protected int cols[];
+	/** Probabilities for each transition */
+	protected double probs[];
+	/** Initial states */
+	protected List<Integer> initialStates;
+	/** Deadlock states */
+	protected List<Integer> deadlocks;
+
+	/**
+	 * Create an empty buffer.
+	 * @param nondet Is the model nondeterministic (an MDP or, if not, a DTMC)?
+	 */
+	public SparseModelBuffer(boolean nondet)
+	{
+		this.nondet = nondet;
+		numStates = numChoices = numTransitions = 0;
+		rowStarts = new int[INITIAL_CAPACITY + 1];
+		choiceStarts = new int[INITIAL_CAPACITY + 1];
+		actions = null;
+		cols = new int[INITIAL_CAPACITY];
+		probs = new double[INITIAL_CAPACITY];
+		initialStates = new ArrayList<Integer>();
+		deadlocks = new ArrayList<Integer>();
+	}
+
+	/**
+	 * Get the number of states added so far.
+	 */
+	public int getNumStates()
+	{
+		return numStates;
+	}
+
+	/**
+	 * Get the number of transitions added so far.
+	 */
+	public int getNumTransitions()
+	{
+		return numTransitions;
+	}
+
+	/**
+	 * Mark state {@code s} as initial (it need not have been added yet).
+	 */
+	public void addInitialState(int s)
+	{
+		initialStates.add(s);
+	}
+
+	/**
+	 * Start adding a new state, with index {@code getNumStates()}.
+	 * For DTMCs, its (single) choice is also started.
+	 */
+	public void startState()
+	{
+		if (numStates + 1 >= rowStarts.length) {
+			rowStarts = Arrays.copyOf(rowStarts, 2 * rowStarts.length);
+		}
+		rowStarts[numStates] = numChoices;
+		numStates++;
+		if (!nondet) {
+			startChoice();
+		}
+	}
+
+	/**
+	 * Start adding a new choice to the current state.
+	 */
+	public void startChoice()
+	{
+		if (numChoices + 1 >= choiceStarts.length) {
+			choiceStarts = Arrays.copyOf(choiceStarts, 2 * choiceStarts.length);
+		}
+		choiceStarts[numChoices] = numTransitions;
+	}
+
+	/**
+	 * Add a transition to the current choice.
+	 * If there is already one to the same target, the probabilities are summed
+	 * (this is done when the choice is finished).
+	 */
+	public void addTransition(int dest, double prob)
+	{
+		if (numTransitions == cols.length) {
+			cols = Arrays.copyOf(cols, 2 * cols.length);
+			probs = Arrays.copyOf(probs, 2 * probs.length);
+		}
+		cols[numTransitions] = dest;
+		probs[numTransitions] = prob;
+		numTransitions++;
+	}
+
+	/**
+	 * Finish adding the current choice (of a nondeterministic model), labelling it with an action
+	 * (which may be null). The choice is dropped if the state already has an identical one.
+	 * Returns the index (within the state) of the identical choice, if there was one, or -1 otherwise.
+	 */
+	public int endChoice(Object action)
+	{
+		int start = choiceStarts[numChoices];
+		numTransitions = start + sortAndMerge(cols, probs, start, numTransitions);
+		// Check for duplicates
+		for (int c = rowStarts[numStates - 1]; c < numChoices; c++) {
+			if (choicesEqual(c, start, numTransitions) && actionsEqual(getAction(c), action)) {
+				numTransitions = start;
+				return c - rowStarts[numStates - 1];
+			}
+		}
+		// Store action
+		if (action != null && actions == null) {
+			actions = new Object[choiceStarts.length];
+		}
+		if (actions != null) {
+			if (numChoices >= actions.length) {
+				actions = Arrays.copyOf(actions, choiceStarts.length);
+			}
+			actions[numChoices] = action;
+		}
+		numChoices++;
+		return -1;
+	}
+
+	/**
+	 * Finish adding the current state, optionally checking whether it is a deadlock
+	 * (no choices or, for DTMCs, no transitions) and, if so, adding a self-loop.
+	 * @param findDeadlocks Check for deadlocks?
+	 * @param fixDeadlocks Add self-loops to deadlocks?
+	 */
+	public void endState(boolean findDeadlocks, boolean fixDeadlocks)
+	{
+		int s = numStates - 1;
+		if (nondet) {
+			if (findDeadlocks && numChoices == rowStarts[s]) {
+				deadlocks.add(s);
+				if (fixDeadlocks) {
+					startChoice();
+					addTransition(s, 1.0);
+					endChoice(null);
+				}
+			}
+		} else {
+			if (findDeadlocks && numTransitions == choiceStarts[numChoices]) {
+				deadlocks.add(s);
+				if (fixDeadlocks) {
+					addTransition(s, 1.0);
+				}
+			}
+			int start = choiceStarts[numChoices];
+			numTransitions = start + sortAndMerge(cols, probs, start, numTransitions);
+			numChoices++;
+		}
+	}
+
+	/**
+	 * Get the action of choice {@code c}.
+	 */
+	private Object getAction(int c)
+	{
+		return actions == null || c >= actions.length ? null : actions[c];
+	}
+
+	/**
+	 * Check whether choice {@code c} has the same transitions as those in {@code start..end-1}
+	 * (both sorted by column). Probabilities are compared as for {@link Distribution#equals(Object)}.
+	 */
+	private boolean choicesEqual(int c, int start, int end)
+	{
+		int cStart = choiceStarts[c];
+		int cEnd = choiceStarts[c + 1];
+		if (cEnd - cStart != end - start) {
+			return false;
+		}
+		for (int k = 0; k < end - start; k++) {
+			if (cols[cStart + k] != cols[start + k] || !PrismUtils.doublesAreClose(probs[cStart + k], probs[start + k], 1e-12, false)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean actionsEqual(Object a1, Object a2)
+	{
+		return a1 == null ? a2 == null : a1.equals(a2);
+	}
+
+	/**
+	 * Finalise the row/choice arrays, after all states have been added.
+	 */
+	private void finish()
+	{
+		rowStarts[numStates] = numChoices;
+		choiceStarts[numChoices] = numTransitions;
+	}
+
+	/**
+	 * Get an iterator over the successors of state {@code s}, over all of its choices
+	 * (so possibly with duplicates). Should only be called once all states have been added.
+	 */
+	public SuccessorsIterator getSuccessors(int s)
+	{
+		finish();
+		int start = choiceStarts[rowStarts[s]];
+		int end = choiceStarts[rowStarts[s + 1]];
+		return SuccessorsIterator.from(IntStream.range(start, end).map(k -> cols[k]).iterator(), false);
+	}
+
+	/**
+	 * Build a DTMCSparse from the contents of this buffer,
+	 * optionally applying a state permutation (old index i becomes permut[i]).
+	 * Zero-probability transitions are omitted. The buffer should not be used afterwards.
+	 * @param permut State permutation (null means none)
+	 */
+	public DTMCSparse buildDTMCSparse(int permut[])
+	{
+		finish();
+		int n = 0;
+		for (int k = 0; k < numTransitions; k++) {
+			if (probs[k] > 0) {
+				n++;
+			}
+		}
+		// If there is nothing to remove or remap, hand over the arrays (there is one choice per state)
+		if (permut == null && n == numTransitions) {
+			trimArrays();
+			DTMCSparse dtmc = new DTMCSparse(numStates, choiceStarts, cols, probs);
+			releaseTransitions();
+			addStateInfo(dtmc, null);
+			return dtmc;
+		}
+		int permutInv[] = inversePermutation(permut);
+		int rows[] = new int[numStates + 1];
+		int columns[] = new int[n];
+		double probabilities[] = new double[n];
+		int k2 = 0;
+		for (int s2 = 0; s2 < numStates; s2++) {
+			rows[s2] = k2;
+			int s = permutInv == null ? s2 : permutInv[s2];
+			int start = k2;
+			for (int k = choiceStarts[s]; k < choiceStarts[s + 1]; k++) {
+				if (probs[k] > 0) {
+					columns[k2] = permut == null ? cols[k] : permut[cols[k]];
+					probabilities[k2] = probs[k];
+					k2++;
+				}
+			}
+			if (permut != null) {
+				sortAndMerge(columns, probabilities, start, k2);
+			}
+		}
+		rows[numStates] = k2;
+		releaseTransitions();
+		DTMCSparse dtmc = new DTMCSparse(numStates, rows, columns, probabilities);
+		addStateInfo(dtmc, permut);
+		return dtmc;
+	}
+
+	/**
+	 * Build an MDPSparse from the contents of this buffer,
+	 * optionally applying a state permutation (old index i becomes permut[i]).
+	 * The buffer should not be used afterwards.
+	 * @param permut State permutation (null means none)
+	 */
+	public MDPSparse buildMDPSparse(int permut[])
+	{
+		finish();
+		MDPSparse mdp;
+		if (permut == null) {
+			// Hand over the arrays
+			trimArrays();
+			mdp = new MDPSparse(numStates, rowStarts, choiceStarts, cols, probs, actions);
+		} else {
+			int permutInv[] = inversePermutation(permut);
+			int newRowStarts[] = new int[numStates + 1];
+			int newChoiceStarts[] = new int[numChoices + 1];
+			int newCols[] = new int[numTransitions];
+			double newProbs[] = new double[numTransitions];
+			Object newActions[] = actions == null ? null : new Object[numChoices];
+			int c2 = 0, k2 = 0;
+			for (int s2 = 0; s2 < numStates; s2++) {
+				newRowStarts[s2] = c2;
+				int s = permutInv[s2];
+				for (int c = rowStarts[s]; c < rowStarts[s + 1]; c++) {
+					newChoiceStarts[c2] = k2;
+					if (newActions != null) {
+						newActions[c2] = getAction(c);
+					}
+					int start = k2;
+					for (int k = choiceStarts[c]; k < choiceStarts[c + 1]; k++) {
+						newCols[k2] = permut[cols[k]];
+						newProbs[k2] = probs[k];
+						k2++;
+					}
+					sortAndMerge(newCols, newProbs, start, k2);
+					c2++;
+				}
+			}
+			newRowStarts[numStates] = c2;
+			newChoiceStarts[c2] = k2;
+			mdp = new MDPSparse(numStates, newRowStarts, newChoiceStarts, newCols, newProbs, newActions);
+		}
+		releaseTransitions();
+		addStateInfo(mdp, permut);
+		return mdp;
+	}
+
+	/**
+	 * Add initial states and deadlocks to a model built from this buffer.
+	 */
+	private void addStateInfo(ModelExplicit model, int permut[])
+	{
+		for (int s : initialStates) {
+			model.addInitialState(permut == null ? s : permut[s]);
+		}
+		for (int s : deadlocks) {
+			model.addDeadlockState(permut == null ? s : permut[s]);
+		}
+	}
+
+	/**
+	 * Trim the transition storage arrays to their used size, where needed, so that they can be handed over to a model.
+	 * Arrays that already have the right size are not copied. Others are copied one at a time,
+	 * releasing each original straight away, to limit peak memory.
+	 */
+	private void trimArrays()
+	{
+		if (rowStarts.length != numStates + 1) {
+			rowStarts = Arrays.copyOf(rowStarts, numStates + 1);
+		}
+		if (choiceStarts.length != numChoices + 1) {
+			choiceStarts = Arrays.copyOf(choiceStarts, numChoices + 1);
+		}
+		if (cols.length != numTransitions) {
+			cols = Arrays.copyOf(cols, numTransitions);
+		}
+		if (probs.length != numTransitions) {
+			probs = Arrays.copyOf(probs, numTransitions);
+		}
+		if (actions != null && actions.length != numChoices) {
+			actions = Arrays.copyOf(actions, numChoices);
+		}
+	}
+
+	/**
+	 * Free the (potentially large) transition storage.
+	 */
+	private void releaseTransitions()
+	{
+		rowStarts = choiceStarts = cols = null;
+		probs = null;
+		actions = null;
+	}
+
+	/**
+	 * Compute the inverse of a permutation (or return null if it is null).
+	 */
+	private int[] inversePermutation(int permut[])
+	{
+		if (permut == null) {
+			return null;
+		}
+		int permutInv[] = new int[numStates];
+		for (int s = 0; s < numStates; s++) {
+			permutInv[permut[s]] = s;
+		}
+		return permutInv;
+	}
+
+	/**
+	 * Sort the transitions in {@code start..end-1} of the passed in arrays by column
+	 * and merge any with the same column (summing probabilities, in the order they were added).
+	 * Returns the number of transitions remaining (stored from {@code start} onwards).
+	 */
+	private static int sortAndMerge(int cols[], double probs[], int start, int end)
+	{
+		int n = end - start;
+		if (n <= 32) {
+			// Insertion sort (stable) for small choices
+			for (int k = start + 1; k < end; k++) {
+				int col = cols[k];
+				double prob = probs[k];
+				int l = k - 1;
+				while (l >= start && cols[l] > col) {
+					cols[l + 1] = cols[l];
+					probs[l + 1] = probs[l];
+					l--;
+				}
+				cols[l + 1] = col;
+				probs[l + 1] = prob;
+			}
+		} else {
+			// Otherwise, sort (column, position) pairs encoded as longs
+			long keys[] = new long[n];
+			for (int k = 0; k < n; k++) {
+				keys[k] = ((long) cols[start + k] << 32) | k;
+			}
+			Arrays.sort(keys);
+			double probsCopy[] = Arrays.copyOfRange(probs, start, end);
+			for (int k = 0; k < n; k++) {
+				cols[start + k] = (int) (keys[k] >>> 32);
+				probs[start + k] = probsCopy[(int) keys[k]];
+			}
+		}
+		// Merge duplicates
+		int last = start - 1;
+		for (int k = start; k < end; k++) {
+			if (last >= start && cols[last] == cols[k]) {
+				probs[last] += probs[k];
+			} else {
+				last++;
+				cols[last] = cols[k];
+				probs[last] = probs[k];
+			}
+		}
+		return last + 1 - start;
+	}
+}
@@ -1051,7 +1051,12 @@ public class StateModelChecker extends PrismComponent
 		// Possibly optimise filter
 		FilterOperator op = expr.getOperatorType();
 		if (op == FilterOperator.FIRST) {
-			bsFilter.clear(bsFilter.nextSetBit(0) + 1, bsFilter.length());
+			// ("first" is with respect to the original state order, if states have been reordered)
+			int first = firstStateInOriginalOrder(model, bsFilter);
+			bsFilter.clear();
+			if (first >= 0) {
+				bsFilter.set(first);
+			}
 		}
 
 		// For some types of filter, store info that may be used to optimise model checking
@@ -1328,6 +1333,24 @@ public class StateModelChecker extends PrismComponent
 		return resVals;
 	}
 
+	/**
+	 * Get the first state in a set (-1 if empty), with respect to the original
+	 * order of the states of a model, if they have been reordered (see {@link Model#getStateReordering()}).
+	 */
+	private static int firstStateInOriginalOrder(Model model, BitSet set)
+	{
+		int stateReordering[] = model.getStateReordering();
+		if (stateReordering == null) {
+			return set.nextSetBit(0);
+		}
+		for (int s : stateReordering) {
+			if (set.get(s)) {
+				return s;
+			}
+		}
+		return -1;
+	}
+
 	
 	/**
 	 * Method for handling the recursive part of PCTL* checking, i.e.,
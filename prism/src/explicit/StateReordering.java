@@ -0,0 +1,337 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import prism.PrismComponent;
+import prism.PrismException;
+import prism.PrismSettings;
+
+/**
+ * Computation of state reorderings of an explicit-state model that improve the memory locality
+ * of sparse matrix-vector operations, i.e., that place states close to their successors
+ * and predecessors. Two orderings are available:
+ * <ul>
+ * <li> reverse Cuthill-McKee (RCM), which reduces the bandwidth of the (symmetrised) transition graph;
+ * <li> SCC order, which groups states by SCC, with SCCs in reverse topological order
+ *      (so that, e.g., Gauss-Seidel iterations use values of successor SCCs that are already up-to-date).
+ * </ul>
+ * The reordering is computed as a permutation of the states, which can be passed to the
+ * permuting copy constructors of explicit models (or {@link SparseModelBuffer}).
+ */
+public class StateReordering extends PrismComponent
+{
+	// State reordering method
+	public enum Method {
+		NONE, RCM, SCC;
+		public String fullName()
+		{
+			switch (this) {
+			case NONE:
+				return "None";
+			case RCM:
+				return "Reverse Cuthill-McKee";
+			case SCC:
+				return "SCC";
+			default:
+				return this.toString();
+			}
+		}
+	};
+
+	/** Maximum number of iterations when searching for a pseudo-peripheral start state for RCM */
+	private static final int MAX_PERIPHERAL_ITERATIONS = 8;
+
+	/** Reordering method */
+	private Method method;
+
+	/**
+	 * Get the state reordering method from the settings (none if {@code settings} is null).
+	 */
+	public static Method getMethod(PrismSettings settings)
+	{
+		String s = settings == null ? null : settings.getString(PrismSettings.PRISM_EXPLICIT_REORDER);
+		for (Method method : Method.values()) {
+			if (method.fullName().equals(s)) {
+				return method;
+			}
+		}
+		return Method.NONE;
+	}
+
+	/**
+	 * Create a StateReordering object for a given method (which should not be {@code NONE}).
+	 */
+	public StateReordering(PrismComponent parent, Method method)
+	{
+		super(parent);
+		this.method = method;
+	}
+
+	/**
+	 * Compute a reordering of the {@code numStates} states of a model, whose successors are given
+	 * by {@code successors}. If {@code permut} is non-null, state indices are first permuted
+	 * (index i becomes permut[i]), and the reordering is computed for these indices.
+	 * Returns a permutation {@code r} such that index i becomes r[i].
+	 */
+	public int[] computeReordering(int numStates, IntFunction<SuccessorsIterator> successors, int permut[]) throws PrismException
+	{
+		mainLog.print("Reordering states (" + method.fullName() + ")...");
+		long timer = System.currentTimeMillis();
+		SCCComputerFB.Graph graph = buildGraph(numStates, successors, permut);
+		int r[];
+		switch (method) {
+		case RCM:
+			r = reverseCuthillMcKee(graph);
+			break;
+		case SCC:
+			r = sccOrder(graph);
+			break;
+		default:
+			throw new PrismException("Unknown state reordering method " + method.fullName());
+		}
+		timer = System.currentTimeMillis() - timer;
+		mainLog.println(" done in " + timer / 1000.0 + " secs (bandwidth " + bandwidth(graph, null) + " -> " + bandwidth(graph, r) + ").");
+		return r;
+	}
+
+	/**
+	 * Build the transition graph (without self-loops), in CSR form, optionally permuting indices.
+	 */
+	private static SCCComputerFB.Graph buildGraph(int n, IntFunction<SuccessorsIterator> successors, int permut[])
+	{
+		int permutInv[] = null;
+		if (permut != null) {
+			permutInv = new int[n];
+			for (int s = 0; s < n; s++) {
+				permutInv[permut[s]] = s;
+			}
+		}
+		// Distinct successors of each state are stored, in increasing order
+		int succStart[] = new int[n + 1];
+		int buf[] = new int[16];
+		int succ[] = new int[n];
+		int numEdges = 0;
+		for (int i = 0; i < n; i++) {
+			int s = permutInv == null ? i : permutInv[i];
+			int count = 0;
+			for (SuccessorsIterator it = successors.apply(s); it.hasNext();) {
+				int t = it.nextInt();
+				t = permut == null ? t : permut[t];
+				if (t != i) {
+					if (count == buf.length) {
+						buf = Arrays.copyOf(buf, 2 * buf.length);
+					}
+					buf[count++] = t;
+				}
+			}
+			Arrays.sort(buf, 0, count);
+			if (numEdges + count > succ.length) {
+				succ = Arrays.copyOf(succ, Math.max(2 * succ.length, numEdges + count));
+			}
+			for (int k = 0; k < count; k++) {
+				if (k == 0 || buf[k] != buf[k - 1]) {
+					succ[numEdges++] = buf[k];
+				}
+			}
+			succStart[i + 1] = numEdges;
+		}
+		return new SCCComputerFB.Graph(n, succStart, Arrays.copyOf(succ, numEdges), null);
+	}
+
+	/**
+	 * Compute the reverse Cuthill-McKee ordering of the symmetrised graph:
+	 * a breadth-first search from a pseudo-peripheral state of each (weakly connected) component,
+	 * visiting neighbours in order of increasing degree, the resulting order then being reversed.
+	 */
+	private static int[] reverseCuthillMcKee(SCCComputerFB.Graph graph)
+	{
+		int n = graph.n;
+		int degree[] = new int[n];
+		for (int s = 0; s < n; s++) {
+			degree[s] = graph.succStart[s + 1] - graph.succStart[s] + graph.predStart[s + 1] - graph.predStart[s];
+		}
+		int order[] = new int[n];
+		boolean visited[] = new boolean[n];
+		// Storage for searching for pseudo-peripheral states
+		int queue[] = new int[n];
+		int mark[] = new int[n];
+		int stamp[] = new int[] { 0 };
+		// Storage for sorting neighbours by degree
+		long keys[] = new long[16];
+		int count = 0;
+		for (int s0 = 0; s0 < n; s0++) {
+			if (visited[s0]) {
+				continue;
+			}
+			int start = pseudoPeripheralState(graph, s0, degree, queue, mark, stamp);
+			visited[start] = true;
+			order[count++] = start;
+			for (int head = count - 1; head < count; head++) {
+				int s = order[head];
+				int first = count;
+				for (int p = graph.succStart[s]; p < graph.succStart[s + 1]; p++) {
+					int t = graph.succ[p];
+					if (!visited[t]) {
+						visited[t] = true;
+						order[count++] = t;
+					}
+				}
+				for (int p = graph.predStart[s]; p < graph.predStart[s + 1]; p++) {
+					int t = graph.pred[p];
+					if (!visited[t]) {
+						visited[t] = true;
+						order[count++] = t;
+					}
+				}
+				// Sort newly visited neighbours by degree (then index)
+				int num = count - first;
+				if (num > 1) {
+					if (num > keys.length) {
+						keys = new long[Math.max(num, 2 * keys.length)];
+					}
+					for (int k = 0; k < num; k++) {
+						int t = order[first + k];
+						keys[k] = ((long) degree[t] << 32) | t;
+					}
+					Arrays.sort(keys, 0, num);
+					for (int k = 0; k < num; k++) {
+						order[first + k] = (int) keys[k];
+					}
+				}
+			}
+		}
+		// Reverse
+		int r[] = new int[n];
+		for (int i = 0; i < n; i++) {
+			r[order[i]] = n - 1 - i;
+		}
+		return r;
+	}
+
+	/**
+	 * Find a pseudo-peripheral state (one of approximately maximal eccentricity) in the
+	 * (weakly connected) component of state {@code s}, using the algorithm of George and Liu:
+	 * repeatedly move to a state of minimum degree in the last level of a breadth-first search,
+	 * while this increases the number of levels.
+	 */
+	private static int pseudoPeripheralState(SCCComputerFB.Graph graph, int s, int degree[], int queue[], int mark[], int stamp[])
+	{
+		int root = s;
+		int info[] = new int[3];
+		bfsLevels(graph, root, queue, mark, ++stamp[0], info);
+		for (int iters = 0; iters < MAX_PERIPHERAL_ITERATIONS; iters++) {
+			// Pick a state of minimum degree from the last level
+			int cand = queue[info[1]];
+			for (int i = info[1] + 1; i < info[0]; i++) {
+				if (degree[queue[i]] < degree[cand]) {
+					cand = queue[i];
+				}
+			}
+			int numLevels = info[2];
+			bfsLevels(graph, cand, queue, mark, ++stamp[0], info);
+			if (info[2] <= numLevels) {
+				break;
+			}
+			root = cand;
+		}
+		return root;
+	}
+
+	/**
+	 * Breadth-first search of the symmetrised graph from state {@code s}, storing visited states
+	 * in {@code queue} and marking them in {@code mark} with {@code stamp}. Stores, in {@code info},
+	 * the number of visited states, the start of the last level in {@code queue} and the number of levels.
+	 */
+	private static void bfsLevels(SCCComputerFB.Graph graph, int s, int queue[], int mark[], int stamp, int info[])
+	{
+		int head = 0, tail = 0;
+		queue[tail++] = s;
+		mark[s] = stamp;
+		int levelStart = 0, numLevels = 0;
+		while (head < tail) {
+			// Process one level
+			levelStart = head;
+			numLevels++;
+			int levelEnd = tail;
+			for (; head < levelEnd; head++) {
+				int u = queue[head];
+				for (int p = graph.succStart[u]; p < graph.succStart[u + 1]; p++) {
+					int t = graph.succ[p];
+					if (mark[t] != stamp) {
+						mark[t] = stamp;
+						queue[tail++] = t;
+					}
+				}
+				for (int p = graph.predStart[u]; p < graph.predStart[u + 1]; p++) {
+					int t = graph.pred[p];
+					if (mark[t] != stamp) {
+						mark[t] = stamp;
+						queue[tail++] = t;
+					}
+				}
+			}
+		}
+		info[0] = tail;
+		info[1] = levelStart;
+		info[2] = numLevels;
+	}
+
+	/**
+	 * Compute an ordering of states by SCC, with SCCs in reverse topological order (sink SCCs first),
+	 * and states within an SCC in their current order.
+	 */
+	private static int[] sccOrder(SCCComputerFB.Graph graph) throws PrismException
+	{
+		int order[] = SCCComputerFB.orderBySCC(graph, SCCComputerFB.decompose(graph, 1));
+		int r[] = new int[graph.n];
+		for (int i = 0; i < order.length; i++) {
+			r[order[i]] = i;
+		}
+		return r;
+	}
+
+	/**
+	 * Compute the bandwidth of the graph, i.e., the maximum distance between the indices
+	 * of a state and its successor, optionally after applying a permutation.
+	 */
+	private static int bandwidth(SCCComputerFB.Graph graph, int permut[])
+	{
+		int max = 0;
+		for (int s = 0; s < graph.n; s++) {
+			int s2 = permut == null ? s : permut[s];
+			for (int p = graph.succStart[s]; p < graph.succStart[s + 1]; p++) {
+				int t2 = permut == null ? graph.succ[p] : permut[graph.succ[p]];
+				max = Math.max(max, Math.abs(s2 - t2));
+			}
+		}
+		return max;
+	}
+}
@@ -66,6 +66,8 @@ public class StateValues implements StateVector
 
 	// Model info
 	protected List<State> statesList;
+	/** Mapping from original state indices to those of the model, if reordered (see {@link Model#getStateReordering()}) */
+	protected int stateReordering[];
 
 	// CONSTRUCTORS, etc.
 
@@ -94,6 +96,7 @@ public class StateValues implements StateVector
 	{
 		this(type, model.getNumStates());
 		statesList = model.getStatesList();
+		stateReordering = model.getStateReordering();
 	}
 
 	/**
@@ -117,6 +120,7 @@ public class StateValues implements StateVector
 	{
 		this(type, model.getNumStates(), init);
 		statesList = model.getStatesList();
+		stateReordering = model.getStateReordering();
 	}
 
 	/**
@@ -177,6 +181,7 @@ public class StateValues implements StateVector
 		sv.size = array.length;
 		sv.valuesP = array;
 		sv.statesList = model.getStatesList();
+		sv.stateReordering = model.getStateReordering();
 		return sv;
 	}
 
@@ -193,6 +198,7 @@ public class StateValues implements StateVector
 		sv.size = array.length;
 		sv.valuesI = array;
 		sv.statesList = model.getStatesList();
+		sv.stateReordering = model.getStateReordering();
 		return sv;
 	}
 
@@ -208,6 +214,7 @@ public class StateValues implements StateVector
 		sv.size = array.length;
 		sv.valuesD = array;
 		sv.statesList = model.getStatesList();
+		sv.stateReordering = model.getStateReordering();
 		return sv;
 	}
 
@@ -223,6 +230,7 @@ public class StateValues implements StateVector
 		sv.size = model.getNumStates();
 		sv.valuesB = bs;
 		sv.statesList = model.getStatesList();
+		sv.stateReordering = model.getStateReordering();
 		return sv;
 	}
 
@@ -1709,7 +1717,16 @@ public class StateValues implements StateVector
 			log.println(!printSparse ? "v = [" : "v = sparse(" + size + ",1);");
 
 		// Print vector
-		if (filter == null) {
+		if (stateReordering != null) {
+			// States have been reordered: print in original order, with original indices
+			for (i = 0; i < size & count < limit; i++) {
+				int n = stateReordering[i];
+				if (filter == null || filter.get(n)) {
+					if (printLine(log, n, i, printSparse, printMatlab, printStates, printIndices))
+						count++;
+				}
+			}
+		} else if (filter == null) {
 			for (i = 0; i < size & count < limit; i++) {
 				if (printLine(log, i, printSparse, printMatlab, printStates, printIndices))
 					count++;
@@ -1733,17 +1750,26 @@ public class StateValues implements StateVector
 	}
 
 	private boolean printLine(PrismLog log, int n, boolean printSparse, boolean printMatlab, boolean printStates, boolean printIndices)
+	{
+		return printLine(log, n, n, printSparse, printMatlab, printStates, printIndices);
+	}
+
+	/**
+	 * Print the entry for state {@code n}, displaying its index as {@code index}
+	 * (which differs from {@code n} if states have been reordered).
+	 */
+	private boolean printLine(PrismLog log, int n, int index, boolean printSparse, boolean printMatlab, boolean printStates, boolean printIndices)
 	{
 		if (!printSparse || isNonZero(n)) {
 			if (printMatlab) {
 				if (printSparse) {
-					log.println("v(" + (n + 1) + ")=" + getValue(n) + ";");
+					log.println("v(" + (index + 1) + ")=" + getValue(n) + ";");
 				} else {
 					log.println(getValue(n));
 				}
 			} else {
 				if (printIndices) {
-					log.print(n);
+					log.print(index);
 					log.print(":");
 				}
 				if (printStates && statesList != null)
@@ -1783,6 +1809,7 @@ public class StateValues implements StateVector
 			sv.valuesP = Utils.cloneParetoArray(valuesP);
 		}
 		sv.statesList = statesList;
+		sv.stateReordering = stateReordering;
 		return sv;
 	}
 
@@ -0,0 +1,169 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache for the results of time-bounded until probability computations
+ * on a single explicit CTMC, for a set of time bounds that is known in advance
+ * (e.g. all values of a time bound constant in an experiment).
+ * <p>
+ * When the probabilities for one of these time bounds are first needed,
+ * a model checker can compute those for all (remaining) time bounds
+ * in a single uniformisation pass (see
+ * {@link CTMCModelChecker#computeTimeBoundedUntilProbs(CTMC, BitSet, BitSet, double[])})
+ * and store them here, to be retrieved when the other time bounds are requested.
+ * <p>
+ * Entries are keyed on the remain/target state sets and the time bound.
+ * Since each time bound is usually needed only once, entries are removed when retrieved.
+ * A cache is tied to the model it was created for and lookups for any other
+ * model are ignored. If the model changes, the cache should be discarded.
+ */
+public class TransientCache
+{
+	// The model that this cache is for
+	private Model model;
+	// The time bounds to compute results for (sorted, distinct)
+	private double timePoints[];
+	// Cache entries
+	private Map<Key, double[]> cache;
+
+	/**
+	 * Create an empty cache for a model and a set of time bounds.
+	 * @param model The model
+	 * @param timePoints The time bounds (in any order, duplicates are ignored)
+	 */
+	public TransientCache(Model model, double timePoints[])
+	{
+		this.model = model;
+		this.timePoints = Arrays.stream(timePoints).sorted().distinct().toArray();
+		cache = new HashMap<>();
+	}
+
+	/**
+	 * Get the model that this cache is for.
+	 */
+	public Model getModel()
+	{
+		return model;
+	}
+
+	/**
+	 * Get the time bounds that this cache is for (sorted, distinct).
+	 */
+	public double[] getTimePoints()
+	{
+		return timePoints;
+	}
+
+	/**
+	 * Is {@code t} one of the time bounds that this cache is for?
+	 */
+	public boolean hasTimePoint(double t)
+	{
+		return Arrays.binarySearch(timePoints, t) >= 0;
+	}
+
+	/**
+	 * Get (and remove) the cached probabilities for a time-bounded until computation on {@code model},
+	 * or null if not present.
+	 * @param model The model
+	 * @param remain Remain states (null means "all")
+	 * @param target Target states
+	 * @param t Time bound
+	 */
+	public synchronized double[] remove(Model model, BitSet remain, BitSet target, double t)
+	{
+		if (model != this.model) {
+			return null;
+		}
+		return cache.remove(new Key(remain, target, t));
+	}
+
+	/**
+	 * Store the probabilities for a time-bounded until computation on {@code model}.
+	 * Ignored if {@code model} is not the model that this cache is for.
+	 * @param model The model
+	 * @param remain Remain states (null means "all"; will not be modified afterwards)
+	 * @param target Target states (will not be modified afterwards)
+	 * @param t Time bound
+	 * @param soln The probabilities
+	 */
+	public synchronized void put(Model model, BitSet remain, BitSet target, double t, double soln[])
+	{
+		if (model != this.model) {
+			return;
+		}
+		cache.put(new Key(remain, target, t), soln);
+	}
+
+	/**
+	 * Remove all entries from the cache.
+	 */
+	public synchronized void clear()
+	{
+		cache.clear();
+	}
+
+	/**
+	 * Key for a cache entry.
+	 */
+	private static class Key
+	{
+		private final BitSet remain;
+		private final BitSet target;
+		private final double t;
+
+		Key(BitSet remain, BitSet target, double t)
+		{
+			this.remain = remain;
+			this.target = target;
+			this.t = t;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return Double.compare(t, other.t) == 0 && Objects.equals(remain, other.remain) && target.equals(other.target);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(remain, target, t);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+import parser.State;
+import prism.ModelType;
+
+/**
+ * Store for the solutions of previous reachability probability/reward computations,
+ * used to warm-start value iteration when the same computation is repeated,
+ * e.g. for each value of a constant in an experiment (parameter sweep).
+ * <p>
+ * Solutions are stored for each kind of computation (probabilities/rewards, min/max)
+ * and set of remain/target states, the most recent one for each. Entries can be reused for a different model
+ * if it has the same state space (same list of states), e.g. when the model is rebuilt for a different value
+ * of a model constant that only affects probabilities or rewards. Solutions for models with different
+ * state spaces (e.g. a product model and the model it was built from) are kept side by side.
+ * The total (estimated) memory used is bounded, evicting the least recently used entries.
+ * Since entries are not tied to a single model, {@link #getModel()} returns null.
+ * <p>
+ * Reusing a solution in this way is only sound where the initial values of value iteration
+ * do not affect its limit; see {@link ProbModelChecker#getWarmStart(Model, WarmStartCache.Kind, boolean, BitSet, BitSet)}.
+ */
+public class WarmStartCache extends LRUModelCache<WarmStartCache.Key, double[]>
+{
+	/** Kinds of computation whose solutions are stored */
+	public enum Kind {
+		REACH_PROBS, REACH_REWARDS
+	};
+
+	/**
+	 * Create an empty cache.
+	 * @param maxMemory Maximum memory (in bytes) to be used for storing solutions
+	 */
+	public WarmStartCache(long maxMemory)
+	{
+		super(null, maxMemory);
+	}
+
+	@Override
+	protected boolean isForModel(Model model)
+	{
+		// Entries are matched by state list, so models without one are not supported
+		return model.getStatesList() != null;
+	}
+
+	@Override
+	protected long memory(double soln[])
+	{
+		return 8L * soln.length;
+	}
+
+	/**
+	 * Look up the solution stored for a computation. Returns null if there is none
+	 * for a model with the same state space as {@code model}.
+	 * The returned array is a copy and may be freely modified.
+	 * @param model The model
+	 * @param kind The kind of computation
+	 * @param min Min or max (true=min, false=max); ignored for DTMCs
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 */
+	public double[] get(Model model, Kind kind, boolean min, BitSet remain, BitSet target)
+	{
+		double soln[] = lookUp(model, new Key(model, kind, min, remain, target), null);
+		return soln == null ? null : soln.clone();
+	}
+
+	/**
+	 * Store the solution for a computation, replacing any previous one.
+	 * Copies of the passed in arrays/sets are stored, so they can be modified afterwards.
+	 * @param model The model
+	 * @param kind The kind of computation
+	 * @param min Min or max (true=min, false=max); ignored for DTMCs
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 * @param soln The solution vector
+	 */
+	public void put(Model model, Kind kind, boolean min, BitSet remain, BitSet target, double soln[])
+	{
+		BitSet remainCopy = remain == null ? null : (BitSet) remain.clone();
+		store(model, new Key(model, kind, min, remainCopy, (BitSet) target.clone()), soln.clone());
+	}
+
+	/**
+	 * Key for cache entries: the state space (model type, number of states and state list)
+	 * and the details of the computation.
+	 */
+	static class Key extends LRUModelCache.Key
+	{
+		private final ModelType modelType;
+		private final int numStates;
+		private final List<State> statesList;
+		private final Kind kind;
+		private final boolean min;
+		private final BitSet remain;
+		private final BitSet target;
+
+		Key(Model model, Kind kind, boolean min, BitSet remain, BitSet target)
+		{
+			super(model, Objects.hash(model.getModelType(), model.getNumStates(), kind, min, remain, target));
+			this.modelType = model.getModelType();
+			this.numStates = model.getNumStates();
+			this.statesList = model.getStatesList();
+			this.kind = kind;
+			this.min = min;
+			this.remain = remain;
+			this.target = target;
+		}
+
+		@Override
+		protected long memory()
+		{
+			return (remain == null ? 0 : remain.size() / 8) + target.size() / 8;
+		}
+
+		@Override
+		protected boolean equalsKey(LRUModelCache.Key o)
+		{
+			Key other = (Key) o;
+			return kind == other.kind && min == other.min && modelType == other.modelType && numStates == other.numStates
+					&& Objects.equals(remain, other.remain) && target.equals(other.target)
+					&& (statesList == other.statesList || statesList.equals(other.statesList));
+		}
+	}
+}
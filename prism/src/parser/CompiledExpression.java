@@ -0,0 +1,759 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package parser;
+
+import parser.ast.Expression;
+import parser.ast.ExpressionBinaryOp;
+import parser.ast.ExpressionFunc;
+import parser.ast.ExpressionITE;
+import parser.ast.ExpressionLiteral;
+import parser.ast.ExpressionUnaryOp;
+import parser.ast.ExpressionVar;
+import parser.type.Type;
+import parser.type.TypeBool;
+import parser.type.TypeDouble;
+import parser.type.TypeInt;
+import prism.PrismLangException;
+
+/**
+ * An expression, compiled into a tree of evaluator objects (closures) that work directly
+ * on the values of variables stored in a primitive array (integers, with Booleans as 0/1),
+ * avoiding the AST traversal and boxing of values done by {@link Expression#evaluate(EvaluateContext)}.
+ * <br>
+ * Only expressions over variables and literals (i.e., with constants and formulas already
+ * replaced), built from the standard operators and functions, can be compiled
+ * (see {@link #compile(Expression)}). Results, including errors, are the same as for the
+ * original expression.
+ */
+public abstract class CompiledExpression
+{
+	/** The expression that was compiled (used for error reporting) */
+	protected Expression expr;
+
+	protected CompiledExpression(Expression expr)
+	{
+		this.expr = expr;
+	}
+
+	/**
+	 * Get the expression that was compiled.
+	 */
+	public Expression getExpression()
+	{
+		return expr;
+	}
+
+	/**
+	 * Evaluate as an integer, for the variable values in {@code vars}.
+	 * Booleans are converted to 0/1.
+	 */
+	public abstract int evaluateInt(int vars[]) throws PrismLangException;
+
+	/**
+	 * Evaluate as a double, for the variable values in {@code vars}.
+	 * Integers and Booleans (0/1) are converted.
+	 */
+	public abstract double evaluateDouble(int vars[]) throws PrismLangException;
+
+	/**
+	 * Evaluate as a Boolean, for the variable values in {@code vars}.
+	 */
+	public abstract boolean evaluateBoolean(int vars[]) throws PrismLangException;
+
+	/**
+	 * Evaluate, for the variable values in {@code vars}, returning an object
+	 * of the same type as {@link Expression#evaluate(EvaluateContext)}.
+	 */
+	public abstract Object evaluate(int vars[]) throws PrismLangException;
+
+	/**
+	 * Store the values of the variables of a state in an array,
+	 * as used for evaluating compiled expressions (integers, with Booleans as 0/1).
+	 * Returns false if some value cannot be stored this way.
+	 */
+	public static boolean loadState(State state, int vars[])
+	{
+		Object varValues[] = state.varValues;
+		int n = varValues.length;
+		for (int i = 0; i < n; i++) {
+			Object o = varValues[i];
+			if (o instanceof Integer) {
+				vars[i] = ((Integer) o).intValue();
+			} else if (o instanceof Boolean) {
+				vars[i] = ((Boolean) o).booleanValue() ? 1 : 0;
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Compile an expression. Returns null if this is not possible,
+	 * e.g. because it contains constants or unsupported operators.
+	 */
+	public static CompiledExpression compile(Expression expr)
+	{
+		if (expr instanceof ExpressionLiteral) {
+			return compileLiteral((ExpressionLiteral) expr);
+		} else if (expr instanceof ExpressionVar) {
+			return compileVar((ExpressionVar) expr);
+		} else if (expr instanceof ExpressionUnaryOp) {
+			return compileUnaryOp((ExpressionUnaryOp) expr);
+		} else if (expr instanceof ExpressionBinaryOp) {
+			return compileBinaryOp((ExpressionBinaryOp) expr);
+		} else if (expr instanceof ExpressionITE) {
+			return compileITE((ExpressionITE) expr);
+		} else if (expr instanceof ExpressionFunc) {
+			return compileFunc((ExpressionFunc) expr);
+		}
+		return null;
+	}
+
+	private static boolean isInt(Expression expr)
+	{
+		return expr.getType() instanceof TypeInt;
+	}
+
+	private static boolean isSupportedType(Type type)
+	{
+		return type instanceof TypeInt || type instanceof TypeBool || type instanceof TypeDouble;
+	}
+
+	private static CompiledExpression compileLiteral(ExpressionLiteral expr)
+	{
+		try {
+			Type type = expr.getType();
+			if (type instanceof TypeInt) {
+				final int i = expr.evaluateInt();
+				return new IntExpression(expr)
+				{
+					@Override
+					public int evaluateInt(int vars[])
+					{
+						return i;
+					}
+				};
+			} else if (type instanceof TypeBool) {
+				final boolean b = expr.evaluateBoolean();
+				return new BooleanExpression(expr)
+				{
+					@Override
+					public boolean evaluateBoolean(int vars[])
+					{
+						return b;
+					}
+				};
+			} else if (type instanceof TypeDouble) {
+				final double d = expr.evaluateDouble();
+				return new DoubleExpression(expr)
+				{
+					@Override
+					public double evaluateDouble(int vars[])
+					{
+						return d;
+					}
+				};
+			}
+		} catch (PrismLangException e) {
+			// Fall through: not compiled
+		}
+		return null;
+	}
+
+	private static CompiledExpression compileVar(ExpressionVar expr)
+	{
+		final int v = expr.getIndex();
+		if (v < 0) {
+			return null;
+		}
+		if (expr.getType() instanceof TypeInt) {
+			return new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[])
+				{
+					return vars[v];
+				}
+			};
+		} else if (expr.getType() instanceof TypeBool) {
+			return new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[])
+				{
+					return vars[v] != 0;
+				}
+			};
+		}
+		return null;
+	}
+
+	private static CompiledExpression compileUnaryOp(final ExpressionUnaryOp expr)
+	{
+		final CompiledExpression op = compile(expr.getOperand());
+		if (op == null) {
+			return null;
+		}
+		switch (expr.getOperator()) {
+		case ExpressionUnaryOp.NOT:
+			return new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return !op.evaluateBoolean(vars);
+				}
+			};
+		case ExpressionUnaryOp.MINUS:
+			if (expr.getType() instanceof TypeInt) {
+				return new IntExpression(expr)
+				{
+					@Override
+					public int evaluateInt(int vars[]) throws PrismLangException
+					{
+						try {
+							return Math.negateExact(op.evaluateInt(vars));
+						} catch (ArithmeticException e) {
+							throw new PrismLangException(e.getMessage(), expr);
+						}
+					}
+				};
+			} else {
+				return new DoubleExpression(expr)
+				{
+					@Override
+					public double evaluateDouble(int vars[]) throws PrismLangException
+					{
+						return -op.evaluateDouble(vars);
+					}
+				};
+			}
+		case ExpressionUnaryOp.PARENTH:
+			return op;
+		}
+		return null;
+	}
+
+	private static CompiledExpression compileBinaryOp(final ExpressionBinaryOp expr)
+	{
+		final CompiledExpression op1 = compile(expr.getOperand1());
+		final CompiledExpression op2 = compile(expr.getOperand2());
+		if (op1 == null || op2 == null) {
+			return null;
+		}
+		// Integer or double arithmetic/comparison?
+		final boolean ints = isInt(expr.getOperand1()) && isInt(expr.getOperand2());
+		switch (expr.getOperator()) {
+		case ExpressionBinaryOp.IMPLIES:
+			return new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return !op1.evaluateBoolean(vars) || op2.evaluateBoolean(vars);
+				}
+			};
+		case ExpressionBinaryOp.IFF:
+			return new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateBoolean(vars) == op2.evaluateBoolean(vars);
+				}
+			};
+		case ExpressionBinaryOp.OR:
+			return new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateBoolean(vars) || op2.evaluateBoolean(vars);
+				}
+			};
+		case ExpressionBinaryOp.AND:
+			return new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateBoolean(vars) && op2.evaluateBoolean(vars);
+				}
+			};
+		case ExpressionBinaryOp.EQ:
+			return ints ? new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateInt(vars) == op2.evaluateInt(vars);
+				}
+			} : new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) == op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.NE:
+			return ints ? new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateInt(vars) != op2.evaluateInt(vars);
+				}
+			} : new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) != op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.GT:
+			return ints ? new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateInt(vars) > op2.evaluateInt(vars);
+				}
+			} : new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) > op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.GE:
+			return ints ? new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateInt(vars) >= op2.evaluateInt(vars);
+				}
+			} : new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) >= op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.LT:
+			return ints ? new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateInt(vars) < op2.evaluateInt(vars);
+				}
+			} : new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) < op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.LE:
+			return ints ? new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateInt(vars) <= op2.evaluateInt(vars);
+				}
+			} : new BooleanExpression(expr)
+			{
+				@Override
+				public boolean evaluateBoolean(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) <= op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.PLUS:
+			return ints ? new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					try {
+						return Math.addExact(op1.evaluateInt(vars), op2.evaluateInt(vars));
+					} catch (ArithmeticException e) {
+						throw new PrismLangException(e.getMessage(), expr);
+					}
+				}
+			} : new DoubleExpression(expr)
+			{
+				@Override
+				public double evaluateDouble(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) + op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.MINUS:
+			return ints ? new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					try {
+						return Math.subtractExact(op1.evaluateInt(vars), op2.evaluateInt(vars));
+					} catch (ArithmeticException e) {
+						throw new PrismLangException(e.getMessage(), expr);
+					}
+				}
+			} : new DoubleExpression(expr)
+			{
+				@Override
+				public double evaluateDouble(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) - op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.TIMES:
+			return ints ? new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					try {
+						return Math.multiplyExact(op1.evaluateInt(vars), op2.evaluateInt(vars));
+					} catch (ArithmeticException e) {
+						throw new PrismLangException(e.getMessage(), expr);
+					}
+				}
+			} : new DoubleExpression(expr)
+			{
+				@Override
+				public double evaluateDouble(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) * op2.evaluateDouble(vars);
+				}
+			};
+		case ExpressionBinaryOp.DIVIDE:
+			return new DoubleExpression(expr)
+			{
+				@Override
+				public double evaluateDouble(int vars[]) throws PrismLangException
+				{
+					return op1.evaluateDouble(vars) / op2.evaluateDouble(vars);
+				}
+			};
+		}
+		return null;
+	}
+
+	private static CompiledExpression compileITE(ExpressionITE expr)
+	{
+		final CompiledExpression op1 = compile(expr.getOperand1());
+		final CompiledExpression op2 = compile(expr.getOperand2());
+		final CompiledExpression op3 = compile(expr.getOperand3());
+		if (op1 == null || op2 == null || op3 == null || !isSupportedType(expr.getType())) {
+			return null;
+		}
+		// NB: the result has the type of the chosen operand, as for ExpressionITE
+		return new CompiledExpression(expr)
+		{
+			@Override
+			public int evaluateInt(int vars[]) throws PrismLangException
+			{
+				return op1.evaluateBoolean(vars) ? op2.evaluateInt(vars) : op3.evaluateInt(vars);
+			}
+
+			@Override
+			public double evaluateDouble(int vars[]) throws PrismLangException
+			{
+				return op1.evaluateBoolean(vars) ? op2.evaluateDouble(vars) : op3.evaluateDouble(vars);
+			}
+
+			@Override
+			public boolean evaluateBoolean(int vars[]) throws PrismLangException
+			{
+				return op1.evaluateBoolean(vars) ? op2.evaluateBoolean(vars) : op3.evaluateBoolean(vars);
+			}
+
+			@Override
+			public Object evaluate(int vars[]) throws PrismLangException
+			{
+				return op1.evaluateBoolean(vars) ? op2.evaluate(vars) : op3.evaluate(vars);
+			}
+		};
+	}
+
+	private static CompiledExpression compileFunc(final ExpressionFunc expr)
+	{
+		int n = expr.getNumOperands();
+		final CompiledExpression ops[] = new CompiledExpression[n];
+		for (int i = 0; i < n; i++) {
+			ops[i] = compile(expr.getOperand(i));
+			if (ops[i] == null) {
+				return null;
+			}
+		}
+		final boolean isInt = expr.getType() instanceof TypeInt;
+		switch (expr.getNameCode()) {
+		case ExpressionFunc.MIN:
+			return isInt ? new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					int iMin = ops[0].evaluateInt(vars);
+					for (int i = 1; i < ops.length; i++) {
+						int j = ops[i].evaluateInt(vars);
+						iMin = (j < iMin) ? j : iMin;
+					}
+					return iMin;
+				}
+			} : new DoubleExpression(expr)
+			{
+				@Override
+				public double evaluateDouble(int vars[]) throws PrismLangException
+				{
+					double dMin = ops[0].evaluateDouble(vars);
+					for (int i = 1; i < ops.length; i++) {
+						double d = ops[i].evaluateDouble(vars);
+						dMin = (d < dMin) ? d : dMin;
+					}
+					return dMin;
+				}
+			};
+		case ExpressionFunc.MAX:
+			return isInt ? new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					int iMax = ops[0].evaluateInt(vars);
+					for (int i = 1; i < ops.length; i++) {
+						int j = ops[i].evaluateInt(vars);
+						iMax = (j > iMax) ? j : iMax;
+					}
+					return iMax;
+				}
+			} : new DoubleExpression(expr)
+			{
+				@Override
+				public double evaluateDouble(int vars[]) throws PrismLangException
+				{
+					double dMax = ops[0].evaluateDouble(vars);
+					for (int i = 1; i < ops.length; i++) {
+						double d = ops[i].evaluateDouble(vars);
+						dMax = (d > dMax) ? d : dMax;
+					}
+					return dMax;
+				}
+			};
+		case ExpressionFunc.FLOOR:
+			return new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					try {
+						return ExpressionFunc.evaluateFloor(ops[0].evaluateDouble(vars));
+					} catch (PrismLangException e) {
+						e.setASTElement(expr);
+						throw e;
+					}
+				}
+			};
+		case ExpressionFunc.CEIL:
+			return new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					try {
+						return ExpressionFunc.evaluateCeil(ops[0].evaluateDouble(vars));
+					} catch (PrismLangException e) {
+						e.setASTElement(expr);
+						throw e;
+					}
+				}
+			};
+		case ExpressionFunc.ROUND:
+			return new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					try {
+						return ExpressionFunc.evaluateRound(ops[0].evaluateDouble(vars));
+					} catch (PrismLangException e) {
+						e.setASTElement(expr);
+						throw e;
+					}
+				}
+			};
+		case ExpressionFunc.POW:
+			return isInt ? new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					try {
+						return ExpressionFunc.evaluatePowInt(ops[0].evaluateInt(vars), ops[1].evaluateInt(vars));
+					} catch (PrismLangException e) {
+						e.setASTElement(expr);
+						throw e;
+					}
+				}
+			} : new DoubleExpression(expr)
+			{
+				@Override
+				public double evaluateDouble(int vars[]) throws PrismLangException
+				{
+					return ExpressionFunc.evaluatePowDouble(ops[0].evaluateDouble(vars), ops[1].evaluateDouble(vars));
+				}
+			};
+		case ExpressionFunc.MOD:
+			return new IntExpression(expr)
+			{
+				@Override
+				public int evaluateInt(int vars[]) throws PrismLangException
+				{
+					try {
+						return ExpressionFunc.evaluateMod(ops[0].evaluateInt(vars), ops[1].evaluateInt(vars));
+					} catch (PrismLangException e) {
+						e.setASTElement(expr);
+						throw e;
+					}
+				}
+			};
+		case ExpressionFunc.LOG:
+			return new DoubleExpression(expr)
+			{
+				@Override
+				public double evaluateDouble(int vars[]) throws PrismLangException
+				{
+					try {
+						return ExpressionFunc.evaluateLog(ops[0].evaluateDouble(vars), ops[1].evaluateDouble(vars));
+					} catch (PrismLangException e) {
+						e.setASTElement(expr);
+						throw e;
+					}
+				}
+			};
+		}
+		return null;
+	}
+
+	/**
+	 * Base class for compiled integer-valued expressions.
+	 */
+	private static abstract class IntExpression extends CompiledExpression
+	{
+		IntExpression(Expression expr)
+		{
+			super(expr);
+		}
+
+		@Override
+		public double evaluateDouble(int vars[]) throws PrismLangException
+		{
+			return evaluateInt(vars);
+		}
+
+		@Override
+		public boolean evaluateBoolean(int vars[]) throws PrismLangException
+		{
+			throw new PrismLangException("Cannot evaluate to a boolean", expr);
+		}
+
+		@Override
+		public Object evaluate(int vars[]) throws PrismLangException
+		{
+			return evaluateInt(vars);
+		}
+	}
+
+	/**
+	 * Base class for compiled double-valued expressions.
+	 */
+	private static abstract class DoubleExpression extends CompiledExpression
+	{
+		DoubleExpression(Expression expr)
+		{
+			super(expr);
+		}
+
+		@Override
+		public int evaluateInt(int vars[]) throws PrismLangException
+		{
+			throw new PrismLangException("Cannot evaluate to an integer", expr);
+		}
+
+		@Override
+		public boolean evaluateBoolean(int vars[]) throws PrismLangException
+		{
+			throw new PrismLangException("Cannot evaluate to a boolean", expr);
+		}
+
+		@Override
+		public Object evaluate(int vars[]) throws PrismLangException
+		{
+			return evaluateDouble(vars);
+		}
+	}
+
+	/**
+	 * Base class for compiled Boolean-valued expressions.
+	 */
+	private static abstract class BooleanExpression extends CompiledExpression
+	{
+		BooleanExpression(Expression expr)
+		{
+			super(expr);
+		}
+
+		@Override
+		public int evaluateInt(int vars[]) throws PrismLangException
+		{
+			return evaluateBoolean(vars) ? 1 : 0;
+		}
+
+		@Override
+		public double evaluateDouble(int vars[]) throws PrismLangException
+		{
+			return evaluateBoolean(vars) ? 1.0 : 0.0;
+		}
+
+		@Override
+		public Object evaluate(int vars[]) throws PrismLangException
+		{
+			return evaluateBoolean(vars);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package parser;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of states, all stored bit-packed (see {@link StatePacker})
+ * in a {@link PackedWords} store, either on the heap or off-heap. States are decoded into {@link State}
+ * objects only when they are accessed, e.g., when exporting or printing them.
+ * This is used for the list of states of a model, which would otherwise need
+ * one {@link State} object (and several boxed values) per state.
+ * <p>
+ * Note that {@link #get(int)} creates a new State on every call. Code that accesses many
+ * states in turn should instead decode them into a single, reused State,
+ * using {@link #get(int, State)}, or read individual variables with {@link #getValue(int, int)}.
+ */
+public class PackedStateList extends AbstractList<State> implements RandomAccess
+{
+	/** Packer used to encode states */
+	private StatePacker packer;
+	/** Number of words per state */
+	private int numWords;
+	/** Packed states, stored consecutively */
+	private PackedWords words;
+	/** Number of states */
+	private int size;
+
+	/**
+	 * Create a PackedStateList from a store of packed words
+	 * (containing at least {@code size * packer.getNumWords()} words), which is stored, not copied.
+	 */
+	public PackedStateList(StatePacker packer, PackedWords words, int size)
+	{
+		this.packer = packer;
+		this.numWords = packer.getNumWords();
+		this.words = words;
+		this.size = size;
+	}
+
+	/**
+	 * Get the packer used to encode states.
+	 */
+	public StatePacker getPacker()
+	{
+		return packer;
+	}
+
+	/**
+	 * Get the value of the {@code j}th variable of the {@code i}th state,
+	 * without decoding the whole state.
+	 */
+	public Object getValue(int i, int j)
+	{
+		if (i < 0 || i >= size)
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		return packer.getValue(words, (long) i * numWords, j);
+	}
+
+	/**
+	 * Get the {@code i}th state, decoded into a new State object.
+	 */
+	@Override
+	public State get(int i)
+	{
+		if (i < 0 || i >= size)
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		return packer.unpack(words, (long) i * numWords);
+	}
+
+	/**
+	 * Decode the {@code i}th state into an existing State object {@code dest}
+	 * (which should have one value per variable), avoiding allocation of a new one.
+	 * Returns {@code dest}.
+	 */
+	public State get(int i, State dest)
+	{
+		if (i < 0 || i >= size)
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		packer.unpack(words, (long) i * numWords, dest);
+		return dest;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+}
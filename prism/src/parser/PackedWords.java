@@ -0,0 +1,150 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package parser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Growable storage for the words ({@code long}s) of bit-packed states (see {@link StatePacker}),
+ * indexed by {@code long}. This is either a single array on the Java heap or,
+ * for state spaces that would not otherwise fit in the heap, a list of fixed-size direct buffers,
+ * outside the heap (limited by the JVM option {@code -XX:MaxDirectMemorySize}).
+ */
+public abstract class PackedWords
+{
+	/**
+	 * Create a new, empty store.
+	 * @param offHeap Store words off-heap?
+	 */
+	public static PackedWords create(boolean offHeap)
+	{
+		return offHeap ? new OffHeap() : new Heap();
+	}
+
+	/**
+	 * Make sure that at least n words can be stored.
+	 */
+	public abstract void ensureCapacity(long n);
+
+	/**
+	 * Get the ith word.
+	 */
+	public abstract long get(long i);
+
+	/**
+	 * Set the ith word.
+	 */
+	public abstract void set(long i, long value);
+
+	/**
+	 * Release any storage. The store should not be used afterwards.
+	 */
+	public void free()
+	{
+	}
+
+	/**
+	 * Word storage in a (single) heap array.
+	 */
+	private static class Heap extends PackedWords
+	{
+		private long words[] = new long[0];
+
+		@Override
+		public void ensureCapacity(long n)
+		{
+			if (n > words.length) {
+				if (n > Integer.MAX_VALUE - 8) {
+					throw new IllegalStateException("Too many states to store on the heap");
+				}
+				// Grow geometrically, so that adding words one state at a time takes linear time
+				words = Arrays.copyOf(words, (int) Math.max(n, Math.min(2L * words.length, Integer.MAX_VALUE - 8)));
+			}
+		}
+
+		@Override
+		public long get(long i)
+		{
+			return words[(int) i];
+		}
+
+		@Override
+		public void set(long i, long value)
+		{
+			words[(int) i] = value;
+		}
+
+		@Override
+		public void free()
+		{
+			words = null;
+		}
+	}
+
+	/**
+	 * Word storage off-heap, in a list of fixed-size direct buffers.
+	 */
+	private static class OffHeap extends PackedWords
+	{
+		// Words per buffer (log 2)
+		private static final int CHUNK_BITS = 22;
+		private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+		private ArrayList<LongBuffer> chunks = new ArrayList<LongBuffer>();
+
+		@Override
+		public void ensureCapacity(long n)
+		{
+			while (((long) chunks.size() << CHUNK_BITS) < n) {
+				chunks.add(ByteBuffer.allocateDirect(8 << CHUNK_BITS).order(ByteOrder.nativeOrder()).asLongBuffer());
+			}
+		}
+
+		@Override
+		public long get(long i)
+		{
+			return chunks.get((int) (i >>> CHUNK_BITS)).get((int) (i & CHUNK_MASK));
+		}
+
+		@Override
+		public void set(long i, long value)
+		{
+			chunks.get((int) (i >>> CHUNK_BITS)).put((int) (i & CHUNK_MASK), value);
+		}
+
+		@Override
+		public void free()
+		{
+			// Direct buffers are released once garbage collected
+			chunks.clear();
+		}
+	}
+}
@@ -0,0 +1,282 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package parser;
+
+import parser.ast.DeclarationBool;
+import parser.ast.DeclarationInt;
+import parser.ast.DeclarationType;
+import prism.PrismLangException;
+
+/**
+ * Class to encode states (of a model with variables given by a {@link VarList})
+ * compactly, as a fixed number of bit-packed {@code long}s ("words").
+ * <br>
+ * Each variable is stored in the minimum number of bits required for its range
+ * (see {@link VarList#getRangeLogTwo(int)}), as an offset from its lower bound.
+ * Variables are packed in order, starting from the most significant bits of the first word,
+ * and never span two words. As a result, comparing packed states word by word
+ * (as unsigned values) gives the same ordering as {@link State#compareTo(State)}.
+ * <br>
+ * Only models whose variables are all bounded integers or Booleans can be encoded.
+ */
+public class StatePacker
+{
+	// Number of variables
+	private int numVars;
+	// Number of words per state
+	private int numWords;
+	// For each variable: lower bound, upper bound, whether it is Boolean,
+	// index of the word containing it, and its shift/mask within that word
+	private int lows[];
+	private int highs[];
+	private boolean isBool[];
+	private int words[];
+	private int shifts[];
+	private long masks[];
+
+	/**
+	 * Create a StatePacker for the variables in a VarList.
+	 * Throws an exception if some variable cannot be encoded (see {@link #canPack(VarList)}).
+	 */
+	public StatePacker(VarList varList) throws PrismLangException
+	{
+		numVars = varList.getNumVars();
+		lows = new int[numVars];
+		highs = new int[numVars];
+		isBool = new boolean[numVars];
+		words = new int[numVars];
+		shifts = new int[numVars];
+		masks = new long[numVars];
+		int word = 0;
+		int bitsUsed = 0;
+		for (int i = 0; i < numVars; i++) {
+			DeclarationType declType = varList.getDeclaration(i).getDeclType();
+			if (!(declType instanceof DeclarationInt || declType instanceof DeclarationBool)) {
+				throw new PrismLangException("Cannot pack states containing variable \"" + varList.getName(i) + "\" of this type", varList.getDeclaration(i));
+			}
+			lows[i] = varList.getLow(i);
+			highs[i] = varList.getHigh(i);
+			isBool[i] = declType instanceof DeclarationBool;
+			int bits = Math.max(1, varList.getRangeLogTwo(i));
+			// Start a new word if needed, so that variables never span two words
+			if (bitsUsed + bits > 64) {
+				word++;
+				bitsUsed = 0;
+			}
+			words[i] = word;
+			shifts[i] = 64 - bitsUsed - bits;
+			masks[i] = bits == 64 ? -1L : (1L << bits) - 1;
+			bitsUsed += bits;
+		}
+		numWords = word + 1;
+	}
+
+	/**
+	 * Check whether states for the variables in a VarList can be packed,
+	 * i.e., whether all variables are bounded integers or Booleans.
+	 */
+	public static boolean canPack(VarList varList)
+	{
+		int n = varList.getNumVars();
+		for (int i = 0; i < n; i++) {
+			DeclarationType declType = varList.getDeclaration(i).getDeclType();
+			if (!(declType instanceof DeclarationInt || declType instanceof DeclarationBool)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the number of variables.
+	 */
+	public int getNumVars()
+	{
+		return numVars;
+	}
+
+	/**
+	 * Get the number of words ({@code long}s) used to store each state.
+	 */
+	public int getNumWords()
+	{
+		return numWords;
+	}
+
+	/**
+	 * Pack a state into a new array of words.
+	 * An {@link IllegalArgumentException} is thrown if any value is out of range.
+	 */
+	public long[] pack(State state)
+	{
+		long packed[] = new long[numWords];
+		pack(state, packed, 0);
+		return packed;
+	}
+
+	/**
+	 * Pack a state, storing it in {@code dest}, starting at index {@code offset}.
+	 * An {@link IllegalArgumentException} is thrown if any value is out of range.
+	 */
+	public void pack(State state, long dest[], int offset)
+	{
+		Object varValues[] = state.varValues;
+		for (int w = 0; w < numWords; w++) {
+			dest[offset + w] = 0;
+		}
+		for (int i = 0; i < numVars; i++) {
+			int val;
+			if (isBool[i]) {
+				val = ((Boolean) varValues[i]).booleanValue() ? 1 : 0;
+			} else {
+				val = ((Integer) varValues[i]).intValue();
+				if (val < lows[i] || val > highs[i]) {
+					throw new IllegalArgumentException("Value " + val + " of variable " + i + " is out of range for packing");
+				}
+				val -= lows[i];
+			}
+			dest[offset + words[i]] |= ((long) val) << shifts[i];
+		}
+	}
+
+	/**
+	 * Unpack a state from {@code src}, starting at index {@code offset}, into a new State object.
+	 */
+	public State unpack(long src[], int offset)
+	{
+		State state = new State(numVars);
+		unpack(src, offset, state);
+		return state;
+	}
+
+	/**
+	 * Unpack a state from {@code src}, starting at index {@code offset},
+	 * into an existing State object {@code dest} (with the right number of variables).
+	 */
+	public void unpack(long src[], int offset, State dest)
+	{
+		for (int i = 0; i < numVars; i++) {
+			dest.varValues[i] = getValue(src, offset, i);
+		}
+	}
+
+	/**
+	 * Unpack a state from {@code src}, starting at index {@code offset}, into a new State object.
+	 */
+	public State unpack(PackedWords src, long offset)
+	{
+		State state = new State(numVars);
+		unpack(src, offset, state);
+		return state;
+	}
+
+	/**
+	 * Unpack a state from {@code src}, starting at index {@code offset},
+	 * into an existing State object {@code dest} (with the right number of variables).
+	 */
+	public void unpack(PackedWords src, long offset, State dest)
+	{
+		for (int i = 0; i < numVars; i++) {
+			dest.varValues[i] = getValue(src, offset, i);
+		}
+	}
+
+	/**
+	 * Get the value of the {@code i}th variable of a state packed in {@code src}, starting at index {@code offset}.
+	 */
+	public Object getValue(long src[], int offset, int i)
+	{
+		return decode(src[offset + words[i]], i);
+	}
+
+	/**
+	 * Get the value of the {@code i}th variable of a state packed in {@code src}, starting at index {@code offset}.
+	 */
+	public Object getValue(PackedWords src, long offset, int i)
+	{
+		return decode(src.get(offset + words[i]), i);
+	}
+
+	/**
+	 * Get the value of the {@code i}th variable from the word containing it.
+	 */
+	private Object decode(long word, int i)
+	{
+		int val = (int) ((word >>> shifts[i]) & masks[i]);
+		if (isBool[i]) {
+			return val != 0;
+		} else {
+			return val + lows[i];
+		}
+	}
+
+	/**
+	 * Compute a hash code for a state packed in {@code src}, starting at index {@code offset}.
+	 */
+	public int hashCode(long src[], int offset)
+	{
+		long h = 1;
+		for (int w = 0; w < numWords; w++) {
+			h = 31 * h + src[offset + w];
+		}
+		// Mix bits, so that all bits of the words affect the low bits of the hash
+		h ^= (h >>> 33);
+		h *= 0xff51afd7ed558ccdL;
+		h ^= (h >>> 33);
+		return (int) h;
+	}
+
+	/**
+	 * Check equality of two packed states, stored in {@code src1}/{@code src2},
+	 * starting at indices {@code offset1}/{@code offset2}, respectively.
+	 */
+	public boolean equals(long src1[], int offset1, long src2[], int offset2)
+	{
+		for (int w = 0; w < numWords; w++) {
+			if (src1[offset1 + w] != src2[offset2 + w]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Compare two packed states, stored in {@code src1}/{@code src2},
+	 * starting at indices {@code offset1}/{@code offset2}, respectively.
+	 * The ordering is the same as for {@link State#compareTo(State)} on the unpacked states.
+	 */
+	public int compare(long src1[], int offset1, long src2[], int offset2)
+	{
+		for (int w = 0; w < numWords; w++) {
+			int c = Long.compareUnsigned(src1[offset1 + w], src2[offset2 + w]);
+			if (c != 0) {
+				return c;
+			}
+		}
+		return 0;
+	}
+}
@@ -37,6 +37,7 @@ import parser.Values;
 import parser.VarList;
 import parser.type.Type;
 import parser.visitor.ASTVisitor;
+import parser.visitor.GetAllStructuralConstants;
 import parser.visitor.ModulesFileSemanticCheck;
 import parser.visitor.ModulesFileSemanticCheckAfterConstants;
 import prism.ModelInfo;
@@ -1272,6 +1273,23 @@ public class ModulesFile extends ASTElement implements ModelInfo, RewardGenerato
 		return constantValues;
 	}
 
+	/**
+	 * Get the names of all constants which can affect the structure (states and transitions) of the model,
+	 * i.e. all except those only used in the probabilities/rates of updates, labels or reward structures.
+	 * Note that the values of constants defined in terms of others are not considered here.
+	 */
+	public Vector<String> getAllStructuralConstants()
+	{
+		Vector<String> v = new Vector<String>();
+		try {
+			accept(new GetAllStructuralConstants(v));
+		} catch (PrismLangException e) {
+			// GetAllStructuralConstants never throws an exception
+			// (but base traversal class is defined so that it can)
+		}
+		return v;
+	}
+
 	/**
 	 * Create a State object representing the default initial state of this model.
 	 * If there are potentially multiple initial states (because the model has an 
@@ -0,0 +1,88 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package parser.visitor;
+
+import parser.ast.Expression;
+import parser.ast.ExpressionBinaryOp;
+import parser.ast.ExpressionITE;
+import parser.ast.ExpressionTemporal;
+import parser.ast.ExpressionUnaryOp;
+import prism.PrismLangException;
+
+/**
+ * Put parentheses around any compound operands of operators, return result.
+ * This is needed to get a string representation (via toString()) that can be re-parsed
+ * for expressions whose original parentheses have been removed, e.g. by simplification.
+ */
+public class AddParentheses extends ASTTraverseModify
+{
+	public void visitPost(ExpressionBinaryOp e) throws PrismLangException
+	{
+		e.setOperand1(parenth(e.getOperand1()));
+		e.setOperand2(parenth(e.getOperand2()));
+	}
+
+	public void visitPost(ExpressionUnaryOp e) throws PrismLangException
+	{
+		if (e.getOperator() != ExpressionUnaryOp.PARENTH)
+			e.setOperand(parenth(e.getOperand()));
+	}
+
+	public void visitPost(ExpressionITE e) throws PrismLangException
+	{
+		e.setOperand1(parenth(e.getOperand1()));
+		e.setOperand2(parenth(e.getOperand2()));
+		e.setOperand3(parenth(e.getOperand3()));
+	}
+
+	public void visitPost(ExpressionTemporal e) throws PrismLangException
+	{
+		if (e.getOperand1() != null)
+			e.setOperand1(parenth(e.getOperand1()));
+		if (e.getOperand2() != null)
+			e.setOperand2(parenth(e.getOperand2()));
+		if (e.getLowerBound() != null)
+			e.setLowerBound(parenth(e.getLowerBound()), e.lowerBoundIsStrict());
+		if (e.getUpperBound() != null)
+			e.setUpperBound(parenth(e.getUpperBound()), e.upperBoundIsStrict());
+	}
+
+	/**
+	 * Put parentheses around an expression if it is compound (and not already parenthesised).
+	 */
+	private static Expression parenth(Expression expr)
+	{
+		boolean compound = expr instanceof ExpressionBinaryOp || expr instanceof ExpressionITE || expr instanceof ExpressionTemporal;
+		compound |= expr instanceof ExpressionUnaryOp && ((ExpressionUnaryOp) expr).getOperator() != ExpressionUnaryOp.PARENTH;
+		if (!compound)
+			return expr;
+		// Preserve type
+		Expression exprNew = Expression.Parenth(expr);
+		exprNew.setType(expr.getType());
+		return exprNew;
+	}
+}
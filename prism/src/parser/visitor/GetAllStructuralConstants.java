@@ -0,0 +1,80 @@
+//==============================================================================
+//	
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//	
+//------------------------------------------------------------------------------
+//	
+//	This file is part of PRISM.
+//	
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//	
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//	
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//	
+//==============================================================================
+
+
+package parser.visitor;
+
+import java.util.Vector;
+
+import parser.ast.*;
+import prism.PrismLangException;
+
+/**
+ * Get all constants (i.e. ExpressionConstant objects) which can affect the structure of a model,
+ * i.e. its states and transitions, rather than just the probabilities/rates attached to transitions.
+ * These are the constants appearing in a ModulesFile anywhere other than the probabilities/rates of updates,
+ * labels, reward structures and the definitions of constants and formulas
+ * (formulas are expanded where they are used, so are checked there).
+ * Store names in set.
+ */
+public class GetAllStructuralConstants extends GetAllConstants
+{
+	public GetAllStructuralConstants(Vector<String> v)
+	{
+		super(v);
+	}
+
+	public Object visit(FormulaList e) throws PrismLangException
+	{
+		return null;
+	}
+
+	public Object visit(LabelList e) throws PrismLangException
+	{
+		return null;
+	}
+
+	public Object visit(ConstantList e) throws PrismLangException
+	{
+		return null;
+	}
+
+	public Object visit(RewardStruct e) throws PrismLangException
+	{
+		return null;
+	}
+
+	public Object visit(Updates e) throws PrismLangException
+	{
+		// Skip probabilities/rates
+		int i, n;
+		n = e.getNumUpdates();
+		for (i = 0; i < n; i++) {
+			if (e.getUpdate(i) != null) e.getUpdate(i).accept(this);
+		}
+		return null;
+	}
+}
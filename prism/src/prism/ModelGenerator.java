@@ -307,6 +307,21 @@ public interface ModelGenerator extends ModelInfo
 	 * @param offset Index of the transition within the choice
 	 */
 	public State computeTransitionTarget(int i, int offset) throws PrismException;
+
+	/**
+	 * Compute the target of a transition within a choice, specified by its index/offset,
+	 * and store it in an existing State object {@code target}, rather than creating a new one.
+	 * {@code target} should have the right number of variables and should not be the state
+	 * currently being explored. The default implementation just copies the result of
+	 * {@link #computeTransitionTarget(int, int)}; implementations can override this to avoid allocation.
+	 * @param i Index of the nondeterministic choice
+	 * @param offset Index of the transition within the choice
+	 * @param target State object in which to store the target
+	 */
+	public default void computeTransitionTarget(int i, int offset, State target) throws PrismException
+	{
+		target.copy(computeTransitionTarget(i, offset));
+	}
 	
 	/**
 	 * Get (the number of) the player owning choice i.
@@ -329,6 +344,16 @@ public interface ModelGenerator extends ModelInfo
 		}
 	}
 	
+	/**
+	 * Create a new ModelGenerator for the same model, which can be used independently of this one,
+	 * e.g. so that states can be explored concurrently from several threads.
+	 * Returns null if this is not supported (which is the default).
+	 */
+	public default ModelGenerator createCopy() throws PrismException
+	{
+		return null;
+	}
+
 	/**
 	 * Is the {@code i}th label of the model true in the state currently being explored?
 	 * @param i The index of the label to check 
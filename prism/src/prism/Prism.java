@@ -43,6 +43,7 @@ import explicit.ExplicitFiles2Model;
 import explicit.FastAdaptiveUniformisation;
 import explicit.FastAdaptiveUniformisationModelChecker;
 import explicit.ModelModelGenerator;
+import explicit.StateReordering;
 import hybrid.PrismHybrid;
 import jdd.JDD;
 import jdd.JDDNode;
@@ -58,11 +59,13 @@ import parser.PrismParser;
 import parser.State;
 import parser.Values;
 import parser.ast.Expression;
+import parser.ast.ExpressionTemporal;
 import parser.ast.ForLoop;
 import parser.ast.LabelList;
 import parser.ast.ModulesFile;
 import parser.ast.PropertiesFile;
 import parser.ast.Property;
+import parser.visitor.ASTTraverse;
 import pta.DigitalClocks;
 import pta.PTAModelChecker;
 import simulator.GenerateSimulationPath;
@@ -126,6 +129,8 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 	public static final int BSOR = 9;
 	public static final int PSOR = 10;
 	public static final int BPSOR = 11;
+	public static final int BICGSTAB = 12;
+	public static final int GMRES = 13;
 
 	// methods for solving MDPs
 	public static final int MDP_VALITER = 1;
@@ -218,6 +223,8 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 	protected boolean storeVector = false;
 	// Generate/store a strategy during model checking?
 	protected boolean genStrat = false;
+	// Has the built model been exported? (if so, explicit-state models are no longer reordered)
+	protected boolean modelExported = false;
 	// Should any generated strategies should be restricted to the states reachable under them?
 	protected boolean restrictStratToReach = true;
 	// Do bisimulation minimisation before model checking?
@@ -288,6 +295,20 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 	// Built model storage - symbolic or explicit - at most one is non-null
 	private Model currentModel = null;
 	private explicit.Model currentModelExpl = null;
+	// Cache of precomputation results for currentModelExpl
+	private explicit.PrecomputationCache precompCacheExpl = null;
+	// Time bounds of the current experiment (see prepareExperiment), if any
+	private double experimentTimeBounds[] = null;
+	// Cache of time-bounded until probabilities for currentModelExpl and experimentTimeBounds
+	private explicit.TransientCache transientCacheExpl = null;
+	// Cache of P/R/S operator results for currentModelExpl
+	private explicit.ResultCache resultCacheExpl = null;
+	// Solutions of previous computations to warm-start value iteration from (kept across models with the same states)
+	private explicit.WarmStartCache warmStartCacheExpl = null;
+	// Transition structure of an explicit model built from currentModulesFile, reusable if only probabilities change
+	private explicit.ReusableStructure reusableStructureExpl = null;
+	// The PRISM model that reusableStructureExpl was recorded for
+	private ModulesFile reusableStructureModulesFile = null;
 	// Are we doing digital clocks translation for PTAs?
 	boolean digital = false;
 
@@ -295,6 +316,9 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 	private strat.Strategy strategy;
 	// in case we want to simulate strategies from the command line
 	private List<strat.Strategy> subsystemStrategies;
+	// Strategies to use for simulation (player 1/opponents), if loaded
+	private strat.Strategy simStrategy;
+	private strat.Strategy simOpponentStrategy;
 
 	// Info for explicit files load
 	private File explicitFilesStatesFile = null;
@@ -773,6 +797,21 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		return settings.getBoolean(PrismSettings.PRISM_FIX_DEADLOCKS);
 	}
 
+	public int getExplicitBuildThreads()
+	{
+		return settings.getInteger(PrismSettings.PRISM_EXPLICIT_BUILD_THREADS);
+	}
+
+	public boolean getExplicitPackStates()
+	{
+		return settings.getBoolean(PrismSettings.PRISM_EXPLICIT_PACK_STATES);
+	}
+
+	public boolean getExplicitPackStatesOffHeap()
+	{
+		return settings.getBoolean(PrismSettings.PRISM_EXPLICIT_PACK_STATES_OFF_HEAP);
+	}
+
 	public boolean getDoProbChecks()
 	{
 		return settings.getBoolean(PrismSettings.PRISM_DO_PROB_CHECKS);
@@ -1091,6 +1130,8 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		PrismSparse.SetExportIterations(settings.getBoolean(PrismSettings.PRISM_EXPORT_ITERATIONS));
 		PrismHybrid.SetExportIterations(settings.getBoolean(PrismSettings.PRISM_EXPORT_ITERATIONS));
 		PrismMTBDD.SetExportIterations(settings.getBoolean(PrismSettings.PRISM_EXPORT_ITERATIONS));
+		// Stored model checking results may depend on settings (e.g. accuracy), so discard them
+		resultCacheExpl = null;
 	}
 
 	//------------------------------------------------------------------------------
@@ -2140,6 +2181,42 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			doBuildModel();
 	}
 
+	/**
+	 * Build the currently loaded PRISM model, if it needs to be done, prior to exporting it.
+	 * Exports refer to states by their index, so an explicit-state model whose states
+	 * have been reordered (see {@link #getExplicitReorderMethod()}) is rebuilt without reordering,
+	 * and subsequently built models are not reordered either.
+	 */
+	private void buildModelForExport() throws PrismException
+	{
+		modelExported = true;
+		if (currentModelExpl != null && currentModelExpl.getStateReordering() != null) {
+			mainLog.println("\nRebuilding model without state reordering, for export...");
+			doBuildModel();
+		} else {
+			buildModelIfRequired();
+		}
+	}
+
+	/**
+	 * Get the method used to reorder the states of explicit-state models after construction.
+	 * This is taken from the settings, but reordering is switched off if anything referring
+	 * to states by their index (the model, strategies, adversaries or products) is to be exported.
+	 */
+	private StateReordering.Method getExplicitReorderMethod() throws PrismException
+	{
+		StateReordering.Method method = StateReordering.getMethod(settings);
+		if (method == StateReordering.Method.NONE) {
+			return method;
+		}
+		if (modelExported || genStrat || exportTarget || exportProductTrans || exportProductStates || exportProductVector
+				|| settings.getChoice(PrismSettings.PRISM_EXPORT_ADV) != EXPORT_ADV_NONE) {
+			mainLog.println("Not reordering states, since the model, strategies or products are to be exported");
+			return StateReordering.Method.NONE;
+		}
+		return method;
+	}
+
 	/**
 	 * Build the currently loaded PRISM model and store for later use.
 	 * The built model can be accessed subsequently via either
@@ -2178,8 +2255,23 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 					}
 					ConstructModel constructModel = new ConstructModel(this);
 					constructModel.setFixDeadlocks(getFixDeadlocks());
+					constructModel.setNumThreads(getExplicitBuildThreads());
+					constructModel.setPackStates(getExplicitPackStates());
+					constructModel.setPackStatesOffHeap(getExplicitPackStatesOffHeap());
+					constructModel.setReorderMethod(getExplicitReorderMethod());
 					currentModel = null;
-					currentModelExpl = constructModel.constructModel(new ModulesFileModelGenerator(currentModulesFile, this), false);
+					ModulesFileModelGenerator modelGen = new ModulesFileModelGenerator(currentModulesFile, this);
+					// If only constants appearing in probabilities have changed since the last build, just recompute those
+					if (canReuseStructureExplicit()) {
+						currentModelExpl = constructModel.reconstructModel(modelGen, reusableStructureExpl);
+					}
+					if (currentModelExpl == null) {
+						reusableStructureExpl = null;
+						constructModel.setRecordStructure(shouldRecordStructureExplicit());
+						currentModelExpl = constructModel.constructModel(modelGen, false);
+						reusableStructureExpl = constructModel.getReusableStructure();
+						reusableStructureModulesFile = currentModulesFile;
+					}
 				}
 				// if (...) ... currentModel = buildModelExplicit(currentModulesFile);
 				break;
@@ -2193,6 +2285,10 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 				} else {
 					ConstructModel constructModel = new ConstructModel(this);
 					constructModel.setFixDeadlocks(getFixDeadlocks());
+					constructModel.setNumThreads(getExplicitBuildThreads());
+					constructModel.setPackStates(getExplicitPackStates());
+					constructModel.setPackStatesOffHeap(getExplicitPackStatesOffHeap());
+					constructModel.setReorderMethod(getExplicitReorderMethod());
 					currentModelExpl = constructModel.constructModel(currentModelGenerator);
 					currentModel = null;
 				}
@@ -2451,7 +2547,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			throw new PrismNotSupportedException("Export to Dot file not yet supported by explicit engine");
 
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		// Check again (in case engine was switched)
 		if (getExplicit())
@@ -2497,7 +2593,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		}
 
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		// print message
 		mainLog.print("\nExporting transition matrix ");
@@ -2566,7 +2662,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			exportType = EXPORT_PLAIN;
 
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		mainLog.print("\nExporting state rewards ");
 		mainLog.print(getStringForExportType(exportType) + " ");
@@ -2638,7 +2734,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		}
 
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		mainLog.print("\nExporting transition rewards ");
 		mainLog.print(getStringForExportType(exportType) + " ");
@@ -2691,7 +2787,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			exportType = EXPORT_PLAIN;
 
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		// Compute BSCCs
 		mainLog.println("\nComputing BSCCs...");
@@ -2784,7 +2880,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			exportType = EXPORT_PLAIN;
 
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		// Compute MECs
 		mainLog.println("\nComputing MECs...");
@@ -2874,7 +2970,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			exportType = EXPORT_PLAIN;
 
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		// Compute SCCs
 		mainLog.println("\nComputing SCCs...");
@@ -2956,7 +3052,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 	public void exportLabelsToFile(PropertiesFile propertiesFile, int exportType, File file) throws FileNotFoundException, PrismException
 	{
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		// Print message
 		mainLog.print("\nExporting labels and satisfying states ");
@@ -3009,7 +3105,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			exportType = EXPORT_PLAIN;
 
 		// Build model, if necessary
-		buildModelIfRequired();
+		buildModelForExport();
 
 		// Print message
 		mainLog.print("\nExporting list of reachable states ");
@@ -3049,6 +3145,76 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		return modelCheck(propertiesFile, propertiesFile.getPropertyObject(0));
 	}
 
+	/**
+	 * Prepare for model checking a property for all values of its ranging property constants,
+	 * as given by {@code undefinedConstants}, i.e., an experiment, where each value
+	 * is then checked with a separate call to {@link #modelCheck(PropertiesFile, Property)}.
+	 * For CTMCs and the explicit engine, this collects the values of the (upper) time bounds
+	 * of any time-bounded until operators in the property, so that the probabilities
+	 * for all of them can be computed in a single uniformisation pass
+	 * (unless switched off with {@link PrismSettings#PRISM_TRANSIENT_BATCH}).
+	 * Call {@link #endExperiment()} once all values have been checked.
+	 * <br>
+	 * Note: this sets the values of the undefined constants in {@code propertiesFile},
+	 * so they need to be set again before model checking.
+	 * @param propertiesFile Parent property file of property (for labels/constants/...)
+	 * @param prop The property to be checked
+	 * @param undefinedConstants The values of the undefined constants (not modified)
+	 */
+	public void prepareExperiment(PropertiesFile propertiesFile, Property prop, UndefinedConstants undefinedConstants) throws PrismException
+	{
+		endExperiment();
+		if (!settings.getBoolean(PrismSettings.PRISM_TRANSIENT_BATCH)) {
+			return;
+		}
+		if (currentModelType != ModelType.CTMC || !getExplicit() || propertiesFile == null || undefinedConstants.getNumPropertyIterations() < 2) {
+			return;
+		}
+		// Find the upper time bounds of any time-bounded until operators in the property
+		List<Expression> bounds = new ArrayList<>();
+		prop.getExpression().accept(new ASTTraverse()
+		{
+			public void visitPost(ExpressionTemporal e) throws PrismLangException
+			{
+				if (e.getUpperBound() != null && e.getLowerBound() == null) {
+					bounds.add(e.getUpperBound());
+				}
+			}
+		});
+		if (bounds.isEmpty()) {
+			return;
+		}
+		// Evaluate them for each value of the property constants
+		// (iterating over all values, which leaves undefinedConstants in its original state)
+		List<Double> times = new ArrayList<>();
+		int numIters = undefinedConstants.getNumPropertyIterations();
+		for (int k = 0; k < numIters; k++) {
+			try {
+				propertiesFile.setSomeUndefinedConstants(undefinedConstants.getPFConstantValues());
+				Values constantValues = new Values(currentModelInfo.getConstantValues(), propertiesFile.getConstantValues());
+				for (Expression bound : bounds) {
+					times.add(bound.evaluateDouble(constantValues));
+				}
+			} catch (PrismLangException e) {
+				// ignore: any problems will be reported during model checking
+			}
+			undefinedConstants.iterateProperty();
+		}
+		if (times.size() > 1) {
+			experimentTimeBounds = times.stream().mapToDouble(Double::doubleValue).toArray();
+		}
+	}
+
+	/**
+	 * Notify that an experiment, started with {@link #prepareExperiment(PropertiesFile, Property, UndefinedConstants)},
+	 * is finished, freeing any information stored for it.
+	 */
+	public void endExperiment()
+	{
+		experimentTimeBounds = null;
+		transientCacheExpl = null;
+	}
+
 	/**
 	 * Perform model checking of a property on the currently loaded model and return result.
 	 * @param propertiesFile Parent property file of property (for labels/constants/...)
@@ -3166,6 +3332,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 				} else {
 					res = mc.check(currentModelExpl, e);
 				}
+				printCacheStatisticsExplicit(mc, mainLog);
 				// saving strategy if it was generated.
 				if (settings.getBoolean(PrismSettings.PRISM_GENERATE_STRATEGY)) {
 					// one strategy
@@ -3186,6 +3353,92 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		return res;
 	}
 
+	/**
+	 * Check whether a property can be model checked with
+	 * {@link #modelCheckConcurrently(PropertiesFile, Property, PrismLog)},
+	 * i.e. on the currently loaded model at the same time as other properties.
+	 * This requires the explicit engine, a model that is not modified during model checking
+	 * (DTMCs, CTMCs and MDPs) and no side-effects (strategy generation, product export, etc.).
+	 * @param propertiesFile Parent property file of property (for labels/constants/...)
+	 * @param prop The property to check
+	 */
+	public boolean canModelCheckConcurrently(PropertiesFile propertiesFile, Property prop)
+	{
+		if (!getExplicit() || digital || settings.getBoolean(PrismSettings.PRISM_EXACT_ENABLED))
+			return false;
+		if (currentModelType != ModelType.DTMC && currentModelType != ModelType.CTMC && currentModelType != ModelType.MDP)
+			return false;
+		if (currentModelType == ModelType.CTMC && settings.getString(PrismSettings.PRISM_TRANSIENT_METHOD).equals("Fast adaptive uniformisation"))
+			return false;
+		if (genStrat || settings.getBoolean(PrismSettings.PRISM_GENERATE_STRATEGY) || settings.getBoolean(PrismSettings.PRISM_IMPLEMENT_STRATEGY))
+			return false;
+		if (exportTarget || exportProductTrans || exportProductStates || exportProductVector)
+			return false;
+		// Multi-objective model checking uses (non re-entrant) LP solvers
+		try {
+			Expression e = (Expression) prop.getExpression().deepCopy().expandPropRefsAndLabels(propertiesFile, null);
+			if (Expression.containsMultiObjective(e))
+				return false;
+		} catch (PrismLangException e) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Perform model checking of a property on the currently built model and return result,
+	 * sending all output to {@code log} rather than the main log.
+	 * Unlike {@link #modelCheck(PropertiesFile, Property)}, this can be called from several
+	 * threads at once, for properties where {@link #canModelCheckConcurrently(PropertiesFile, Property)} holds.
+	 * The model must already have been built (see {@link #buildModelIfRequired()})
+	 * and the properties file must not be modified until all calls have returned.
+	 * @param propertiesFile Parent property file of property (for labels/constants/...)
+	 * @param prop The property to check
+	 * @param log Log for output
+	 */
+	public Result modelCheckConcurrently(PropertiesFile propertiesFile, Property prop, PrismLog log) throws PrismException
+	{
+		Values definedPFConstants = propertiesFile.getConstantValues();
+
+		log.printSeparator();
+		log.println("\nModel checking: " + prop);
+		if (currentDefinedMFConstants != null && currentDefinedMFConstants.getNumValues() > 0)
+			log.println("Model constants: " + currentDefinedMFConstants);
+		if (definedPFConstants != null && definedPFConstants.getNumValues() > 0)
+			log.println("Property constants: " + definedPFConstants);
+
+		if (currentModelExpl == null)
+			throw new PrismException("Model must be built before properties are checked concurrently");
+		prop.getExpression().checkValid(currentModelType);
+
+		// Work on a copy, with property references resolved, since the property is shared
+		Expression e = (Expression) prop.getExpression().deepCopy().expandPropRefsAndLabels(propertiesFile, null);
+		explicit.StateModelChecker mc = createModelCheckerExplicit(propertiesFile);
+		mc.setLog(log);
+		Result res = mc.check(currentModelExpl, e);
+		printCacheStatisticsExplicit(mc, log);
+		return res;
+	}
+
+	/**
+	 * Print (in verbose mode) the numbers of hits and misses so far of the caches used by an explicit model checker.
+	 * Since these caches are shared between properties, the numbers are totals over all properties checked so far.
+	 */
+	private void printCacheStatisticsExplicit(explicit.StateModelChecker mc, PrismLog log)
+	{
+		if (!getVerbose() || !(mc instanceof explicit.ProbModelChecker))
+			return;
+		explicit.PrecomputationCache precompCache = ((explicit.ProbModelChecker) mc).getPrecomputationCache();
+		if (precompCache != null)
+			log.println("Precomputation cache: " + precompCache.getStatistics());
+		explicit.ResultCache resultCache = ((explicit.ProbModelChecker) mc).getResultCache();
+		if (resultCache != null)
+			log.println("Result cache: " + resultCache.getStatistics());
+		explicit.WarmStartCache warmStartCache = ((explicit.ProbModelChecker) mc).getWarmStartCache();
+		if (warmStartCache != null)
+			log.println("Warm-start cache: " + warmStartCache.getStatistics());
+	}
+
 	/**
 	 * Perform model checking of a property on the currently loaded PTA PRISM model and return result.
 	 * @param propertiesFile Parent property file of property (for labels/constants/...)
@@ -3268,6 +3521,32 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		getSimulator().loadModel(modelGenForSim, currentRewardGenerator);
 	}
 
+	/**
+	 * Prepare for simulation of the current model under the strategies from
+	 * {@link #getSimulationStrategy()} and {@link #getSimulationOpponentStrategy()}, if any.
+	 * Since these refer to states of the model built by the explicit engine, it is built, if needed.
+	 * Otherwise, a warning is printed if nondeterminism will be resolved uniformly.
+	 */
+	private void prepareSimulationStrategies() throws PrismException
+	{
+		if (!currentModelType.nondeterministic() || currentModelType.removeNondeterminism() == currentModelType) {
+			return;
+		}
+		if (!getExplicit() && (simStrategy != null || simOpponentStrategy != null)) {
+			mainLog.printWarning("Simulation under a strategy is only supported by the explicit engine, so it is ignored.");
+		}
+		boolean strat = getSimulationStrategy() != null;
+		boolean oppStrat = currentModelType.multiplePlayers() && getSimulationOpponentStrategy() != null;
+		if (!strat && !oppStrat) {
+			mainLog.printWarning("For simulation, nondeterminism in " + currentModelType + " is resolved uniformly (resulting in " + currentModelType.removeNondeterminism() + ").");
+			return;
+		}
+		buildModelIfRequired();
+		if (currentModelType.multiplePlayers() && !(strat && oppStrat)) {
+			mainLog.printWarning("For simulation, nondeterminism for " + (strat ? "players other than player 1" : "player 1") + " is resolved uniformly.");
+		}
+	}
+
 	/**
 	 * Check whether a property is suitable for approximate model checking using the simulator.
 	 * @param expr The property to check.
@@ -3313,9 +3592,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		if (definedPFConstants != null && definedPFConstants.getNumValues() > 0)
 			mainLog.println("Property constants: " + definedPFConstants);
 
-		if (currentModelType.nondeterministic() && currentModelType.removeNondeterminism() != currentModelType) {
-			mainLog.printWarning("For simulation, nondeterminism in " + currentModelType + " is resolved uniformly (resulting in " + currentModelType.removeNondeterminism() + ").");
-		}
+		prepareSimulationStrategies();
 
 		// Check that property is valid for this model type
 		expr.checkValid(currentModelType.removeNondeterminism());
@@ -3362,9 +3639,7 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		if (definedPFConstants != null && definedPFConstants.getNumValues() > 0)
 			mainLog.println("Property constants: " + definedPFConstants);
 
-		if (currentModelType.nondeterministic() && currentModelType.removeNondeterminism() != currentModelType) {
-			mainLog.printWarning("For simulation, nondeterminism in " + currentModelType + " is resolved uniformly (resulting in " + currentModelType.removeNondeterminism() + ").");
-		}
+		prepareSimulationStrategies();
 
 		// Check that properties are valid for this model type
 		for (Expression expr : exprs)
@@ -3409,6 +3684,8 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			mainLog.println("Model constants: " + currentDefinedMFConstants);
 		mainLog.println("Property constants: " + undefinedConstants.getPFDefinedConstantsString());
 
+		prepareSimulationStrategies();
+
 		// Do simulation
 		loadModelIntoSimulator();
 		getSimulator().modelCheckExperiment(propertiesFile, undefinedConstants, results, expr, initialState, maxPathLength, simMethod);
@@ -3584,6 +3861,41 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		this.strategy = strat;
 	}
 
+	/**
+	 * Set the strategies used to resolve nondeterminism when simulating the current model,
+	 * e.g., for statistical model checking (a strategy generated by model checking is not used for this).
+	 * For games, {@code strat} is used in the states of player 1 and {@code oppStrat} in those of other players;
+	 * for MDPs, only {@code strat} is used. Choices not resolved by a strategy are picked uniformly at random.
+	 * Strategies refer to states by their index in the model built by the explicit engine,
+	 * so this is built, if needed, before simulating; with other engines, strategies are ignored.
+	 * Either strategy can be null.
+	 */
+	public void setSimulationStrategies(strat.Strategy strat, strat.Strategy oppStrat)
+	{
+		this.simStrategy = strat;
+		this.simOpponentStrategy = oppStrat;
+	}
+
+	/**
+	 * Get the strategy used to resolve nondeterminism when simulating the current model
+	 * (in player 1 states for games), as set by {@link #setSimulationStrategies}
+	 * (null if none, or if the explicit engine is not in use).
+	 */
+	public strat.Strategy getSimulationStrategy()
+	{
+		return getExplicit() ? simStrategy : null;
+	}
+
+	/**
+	 * Get the strategy used to resolve nondeterminism in the states of players other than player 1
+	 * when simulating the current game, as set by {@link #setSimulationStrategies}
+	 * (null if none, or if the explicit engine is not in use).
+	 */
+	public strat.Strategy getSimulationOpponentStrategy()
+	{
+		return getExplicit() ? simOpponentStrategy : null;
+	}
+
 	/**
 	 * Compute steady-state probabilities for the current model (DTMCs/CTMCs only).
 	 * Output probability distribution to log. 
@@ -3995,6 +4307,9 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 			currentModel = null;
 		}
 		currentModelExpl = null;
+		precompCacheExpl = null;
+		resultCacheExpl = null;
+		transientCacheExpl = null;
 
 		// nullify the strategy
 		strategy = null;
@@ -4072,10 +4387,129 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		mc.setGenStrat(genStrat);
 		mc.setRestrictStratToReach(restrictStratToReach);
 		mc.setDoBisim(doBisim);
+		if (mc instanceof explicit.ProbModelChecker) {
+			((explicit.ProbModelChecker) mc).setPrecomputationCache(getPrecomputationCacheExplicit());
+			((explicit.ProbModelChecker) mc).setWarmStartCache(getWarmStartCacheExplicit());
+			((explicit.ProbModelChecker) mc).setResultCache(getResultCacheExplicit());
+		}
+		if (mc instanceof explicit.CTMCModelChecker) {
+			((explicit.CTMCModelChecker) mc).setTransientCache(getTransientCacheExplicit());
+		}
 
 		return mc;
 	}
 
+	/**
+	 * Get the cache used to share precomputation results between properties
+	 * checked on the currently built explicit model (creating it if needed).
+	 * Returns null if caching is disabled or there is no built model.
+	 */
+	private synchronized explicit.PrecomputationCache getPrecomputationCacheExplicit()
+	{
+		long maxMem = 1024L * settings.getInteger(PrismSettings.PRISM_PRECOMP_CACHE_MEM);
+		if (currentModelExpl == null || maxMem == 0) {
+			return null;
+		}
+		if (precompCacheExpl == null || precompCacheExpl.getModel() != currentModelExpl) {
+			precompCacheExpl = new explicit.PrecomputationCache(currentModelExpl, maxMem);
+		}
+		return precompCacheExpl;
+	}
+
+	/**
+	 * Get the cache used to share P/R/S operator results between properties
+	 * checked on the currently built explicit model (creating it if needed).
+	 * Returns null if caching is disabled or there is no built model.
+	 */
+	private synchronized explicit.ResultCache getResultCacheExplicit()
+	{
+		long maxMem = 1024L * settings.getInteger(PrismSettings.PRISM_RESULT_CACHE_MEM);
+		if (currentModelExpl == null || maxMem == 0) {
+			return null;
+		}
+		if (resultCacheExpl == null || resultCacheExpl.getModel() != currentModelExpl) {
+			resultCacheExpl = new explicit.ResultCache(currentModelExpl, maxMem);
+		}
+		return resultCacheExpl;
+	}
+
+	/**
+	 * Should the transition structure of an explicit model built from the current PRISM model be recorded,
+	 * so that it can be reused if it is later rebuilt for new values of constants only affecting probabilities?
+	 * This is the case if there are undefined model constants, some of which do not affect the structure.
+	 */
+	private boolean shouldRecordStructureExplicit()
+	{
+		if (!settings.getBoolean(PrismSettings.PRISM_REUSE_STRUCTURE) || currentDefinedMFConstantsAreExact)
+			return false;
+		if (currentDefinedMFConstants == null || currentDefinedMFConstants.getNumValues() == 0)
+			return false;
+		List<String> structuralConstants = currentModulesFile.getAllStructuralConstants();
+		for (int i = 0; i < currentDefinedMFConstants.getNumValues(); i++) {
+			if (!structuralConstants.contains(currentDefinedMFConstants.getName(i)))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Can the recorded transition structure of the last explicit model built be reused for the current PRISM model?
+	 * This is the case if it is for the same model and no constant affecting the structure has changed value
+	 * (this includes constants whose definitions refer to other constants).
+	 */
+	private boolean canReuseStructureExplicit() throws PrismException
+	{
+		if (reusableStructureExpl == null || reusableStructureModulesFile != currentModulesFile)
+			return false;
+		if (!settings.getBoolean(PrismSettings.PRISM_REUSE_STRUCTURE) || currentDefinedMFConstantsAreExact)
+			return false;
+		Values oldValues = reusableStructureExpl.getConstantValues();
+		Values newValues = currentModulesFile.getConstantValues();
+		if (oldValues == null || newValues == null || oldValues.getNumValues() != newValues.getNumValues())
+			return false;
+		List<String> structuralConstants = currentModulesFile.getAllStructuralConstants();
+		for (int i = 0; i < newValues.getNumValues(); i++) {
+			String name = newValues.getName(i);
+			if (structuralConstants.contains(name) && (!oldValues.contains(name) || !newValues.getValue(i).equals(oldValues.getValueOf(name))))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Get the store of solutions used to warm-start value iteration (creating it if needed).
+	 * This is kept when the model is rebuilt, since it can be reused for models with the same states.
+	 * Returns null if warm starts are disabled.
+	 */
+	private synchronized explicit.WarmStartCache getWarmStartCacheExplicit()
+	{
+		long maxMem = 1024L * settings.getInteger(PrismSettings.PRISM_WARM_START_MEM);
+		if (!settings.getBoolean(PrismSettings.PRISM_WARM_START) || maxMem == 0) {
+			warmStartCacheExpl = null;
+			return null;
+		}
+		if (warmStartCacheExpl == null) {
+			warmStartCacheExpl = new explicit.WarmStartCache(maxMem);
+		}
+		return warmStartCacheExpl;
+	}
+
+	/**
+	 * Get the cache used to share time-bounded until probabilities between the
+	 * time bounds of the current experiment on the currently built explicit model (creating it if needed).
+	 * Returns null if there is no current experiment (with time bounds) or there is no built model.
+	 */
+	private synchronized explicit.TransientCache getTransientCacheExplicit()
+	{
+		if (currentModelExpl == null || experimentTimeBounds == null) {
+			return null;
+		}
+		if (transientCacheExpl == null || transientCacheExpl.getModel() != currentModelExpl) {
+			transientCacheExpl = new explicit.TransientCache(currentModelExpl, experimentTimeBounds);
+		}
+		return transientCacheExpl;
+	}
+
 	/**
 	 * Either create a new PrismFileLog for {@code file} or,
 	 * if {@code file} is null, return {@code mainLog}.
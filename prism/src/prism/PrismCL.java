@@ -33,7 +33,14 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import common.StackTraceHelper;
 import parser.Values;
@@ -42,6 +49,8 @@ import parser.ast.ExpressionReward;
 import parser.ast.ModulesFile;
 import parser.ast.PropertiesFile;
 import parser.ast.Property;
+import parser.type.TypeDouble;
+import parser.type.TypeInt;
 import prism.Prism.StrategyExportType;
 import simulator.GenerateSimulationPath;
 import simulator.method.ACIconfidence;
@@ -55,6 +64,7 @@ import simulator.method.CIiterations;
 import simulator.method.CIwidth;
 import simulator.method.SPRTMethod;
 import simulator.method.SimulationMethod;
+import simulator.method.SplittingMethod;
 import strat.Strategies;
 import strat.Strategy;
 
@@ -105,6 +115,7 @@ public class PrismCL implements PrismModelListener
 	private boolean nobuild = false;
 	private boolean test = false;
 	private boolean testExitsOnFail = true;
+	private int jobs = 1;
 
 	// property info
 	private List<Object> propertyIndices = null;
@@ -181,6 +192,10 @@ public class PrismCL implements PrismModelListener
 	// results
 	private ResultsCollection results[] = null;
 
+	// results/logs for properties model checked concurrently (null if not applicable)
+	private List<Future<Result>> concurrentResults = null;
+	private List<PrismStringLog> concurrentLogs = null;
+
 	// time for transient computation
 	private String transientTime;
 
@@ -201,6 +216,10 @@ public class PrismCL implements PrismModelListener
 	private boolean simMaxRewardGiven = false;
 	private boolean simMaxPathGiven = false;
 	private boolean simManual = false;
+	private String simImpFun = null;
+	private double simLevels[] = null;
+	private String simStratFilename = null;
+	private String simOppStratFilename = null;
 	private SimulationMethod simMethod = null;
 
 	// strategy export info
@@ -262,6 +281,17 @@ public class PrismCL implements PrismModelListener
 		// Parse/load model/properties
 		doParsing();
 
+		// Load strategies for simulation, if required
+		if (simStratFilename != null || simOppStratFilename != null) {
+			try {
+				Strategy simStrat = simStratFilename == null ? null : Strategies.loadStrategyFromFile(simStratFilename);
+				Strategy simOppStrat = simOppStratFilename == null ? null : Strategies.loadStrategyFromFile(simOppStratFilename);
+				prism.setSimulationStrategies(simStrat, simOppStrat);
+			} catch (IllegalArgumentException e) {
+				errorAndExit("Could not load strategy: " + e.getMessage());
+			}
+		}
+
 		// Sort out properties to check
 		sortProperties();
 
@@ -362,8 +392,22 @@ public class PrismCL implements PrismModelListener
 			if (modelBuildFail)
 				continue;
 
+			// If requested, model check independent properties concurrently
+			// (results are picked up, in order, below)
+			doConcurrentModelChecking();
+
+			// in case of build failure before model checking, store as result for all properties
+			if (modelBuildFail) {
+				for (j = 0; j < numPropertiesToCheck; j++) {
+					results[j].setMultipleErrors(definedMFConstants, null, modelBuildException);
+					if (test) {
+						doResultTest(propertiesToCheck.get(j), new Result(modelBuildException), modulesFile.getConstantValues(), propertiesFile.getConstantValues());
+					}
+				}
+			}
+
 			// Work through list of properties to be checked
-			for (j = 0; j < numPropertiesToCheck; j++) {
+			for (j = 0; j < numPropertiesToCheck && !modelBuildFail; j++) {
 
 				// for simulation we can do multiple values of property constants simultaneously
 				if (simulate && undefinedConstants[j].getNumPropertyIterations() > 1) {
@@ -382,6 +426,14 @@ public class PrismCL implements PrismModelListener
 				}
 				// otherwise, treat each case individually
 				else {
+					// for experiments, allow PRISM to share work between cases (e.g. transient probabilities for several time bounds)
+					if (!simulate && !param && undefinedConstants[j].getNumPropertyIterations() > 1) {
+						try {
+							prism.prepareExperiment(propertiesFile, propertiesToCheck.get(j), undefinedConstants[j]);
+						} catch (PrismException e) {
+							mainLog.printWarning("Could not prepare batched transient analysis for experiment (" + e.getMessage() + "); time bounds will be handled separately");
+						}
+					}
 					for (k = 0; k < undefinedConstants[j].getNumPropertyIterations(); k++) {
 
 						try {
@@ -392,7 +444,11 @@ public class PrismCL implements PrismModelListener
 							}
 							// Normal model checking
 							if (!simulate && !param) {
-							        res = prism.modelCheck(propertiesFile, propertiesToCheck.get(j), computePareto);
+								if (concurrentResults != null && concurrentResults.get(j) != null) {
+									res = getConcurrentResult(j);
+								} else {
+									res = prism.modelCheck(propertiesFile, propertiesToCheck.get(j), computePareto);
+								}
 							}
 							// Parametric model checking
 							else if (param) {
@@ -481,6 +537,7 @@ public class PrismCL implements PrismModelListener
 						// iterate to next property
 						undefinedConstants[j].iterateProperty();
 					}
+					prism.endExperiment();
 				}
 
 				// in case of build failure during model checking, store as result for any further properties and continue
@@ -997,6 +1054,119 @@ public class PrismCL implements PrismModelListener
 		}
 	}
 
+	/**
+	 * Model check, concurrently, the properties that can be checked independently
+	 * on the current model (if more than one job was requested), storing the results
+	 * and logs in {@code concurrentResults} and {@code concurrentLogs}, to be picked up
+	 * in order by the main loop. These are properties with a single set of values for
+	 * constants for which {@link Prism#canModelCheckConcurrently(PropertiesFile, Property)} holds.
+	 * Each one is checked with its own model checker on the (shared) built model.
+	 * This waits for all properties to be checked, since the properties file is shared.
+	 */
+	private void doConcurrentModelChecking()
+	{
+		concurrentResults = null;
+		concurrentLogs = null;
+		if (jobs <= 1 || simulate || param || propertiesFile == null) {
+			return;
+		}
+
+		// Find properties that can be checked concurrently,
+		// and the values of all property constants that they need
+		final List<Integer> indices = new ArrayList<Integer>();
+		Values pfConstants = new Values();
+		for (int j = 0; j < numPropertiesToCheck; j++) {
+			if (undefinedConstants[j].getNumPropertyIterations() == 1 && prism.canModelCheckConcurrently(propertiesFile, propertiesToCheck.get(j))) {
+				indices.add(j);
+				pfConstants.setValues(undefinedConstants[j].getPFConstantValues());
+			}
+		}
+		if (indices.size() < 2) {
+			return;
+		}
+		concurrentResults = new ArrayList<Future<Result>>(Collections.nCopies(numPropertiesToCheck, (Future<Result>) null));
+		concurrentLogs = new ArrayList<PrismStringLog>(Collections.nCopies(numPropertiesToCheck, (PrismStringLog) null));
+
+		// Build the model first, since it is shared;
+		// a failure is reported here, and stored as the result for all properties by the caller
+		try {
+			prism.buildModelIfRequired();
+		} catch (PrismException e) {
+			error(e.getMessage(), true);
+			concurrentResults = null;
+			concurrentLogs = null;
+			return;
+		}
+		// Then set the property constants;
+		// a failure is reported (as usual) when the first of these properties is picked up
+		try {
+			propertiesFile.setSomeUndefinedConstants(pfConstants, exactConstants);
+		} catch (PrismException e) {
+			CompletableFuture<Result> failed = new CompletableFuture<Result>();
+			failed.completeExceptionally(e);
+			concurrentResults.set(indices.get(0), failed);
+			return;
+		}
+
+		int numThreads = Math.min(jobs, indices.size());
+		mainLog.println("\nModel checking " + indices.size() + " properties concurrently, using " + numThreads + " threads...");
+		List<Callable<Result>> tasks = new ArrayList<Callable<Result>>(indices.size());
+		for (final int j : indices) {
+			final PrismStringLog log = new PrismStringLog(mainLog);
+			concurrentLogs.set(j, log);
+			tasks.add(new Callable<Result>()
+			{
+				@Override
+				public Result call() throws PrismException
+				{
+					return prism.modelCheckConcurrently(propertiesFile, propertiesToCheck.get(j), log);
+				}
+			});
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<Result>> futures = executor.invokeAll(tasks);
+			for (int i = 0; i < indices.size(); i++) {
+				concurrentResults.set(indices.get(i), futures.get(i));
+			}
+		} catch (InterruptedException e) {
+			// fall back to checking properties one by one
+			Thread.currentThread().interrupt();
+			mainLog.printWarning("Concurrent model checking was interrupted; checking properties one by one instead");
+			concurrentResults = null;
+			concurrentLogs = null;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Get the result for the {@code j}th property, as computed by {@link #doConcurrentModelChecking()},
+	 * first printing its log output. Any exception thrown during model checking is re-thrown.
+	 */
+	private Result getConcurrentResult(int j) throws PrismException
+	{
+		Future<Result> future = concurrentResults.set(j, null);
+		PrismStringLog log = concurrentLogs.set(j, null);
+		if (log != null) {
+			log.transferTo(mainLog);
+		}
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			throw new PrismException("Concurrent model checking was interrupted");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof PrismException)
+				throw (PrismException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new PrismException("Error during concurrent model checking: " + cause);
+		}
+	}
+
 	/**
 	 * Test a model checking result against the RESULT specifications attached
 	 * to the property (test mode). Test results are output to the log.
@@ -1251,6 +1421,20 @@ public class PrismCL implements PrismModelListener
 					test = true;
 					testExitsOnFail = false;
 				}
+				// number of properties to model check concurrently
+				else if (sw.equals("jobs")) {
+					if (i < args.length - 1) {
+						try {
+							jobs = Integer.parseInt(args[++i]);
+							if (jobs <= 0)
+								throw new NumberFormatException("");
+						} catch (NumberFormatException e) {
+							errorAndExit("Invalid value for -" + sw + " switch");
+						}
+					} else {
+						errorAndExit("No value specified for -" + sw + " switch");
+					}
+				}
 
 				// DD Debugging options
 				else if (sw.equals("dddebug")) {
@@ -1669,10 +1853,10 @@ public class PrismCL implements PrismModelListener
 				else if (sw.equals("simmethod")) {
 					if (i < args.length - 1) {
 						s = args[++i];
-						if (s.equals("ci") || s.equals("aci") || s.equals("apmc") || s.equals("sprt"))
+						if (s.equals("ci") || s.equals("aci") || s.equals("apmc") || s.equals("sprt") || s.equals("split"))
 							simMethodName = s;
 						else
-							errorAndExit("Unrecognised option for -" + sw + " switch (options are: ci, aci, apmc, sprt)");
+							errorAndExit("Unrecognised option for -" + sw + " switch (options are: ci, aci, apmc, sprt, split)");
 					} else {
 						errorAndExit("No parameter specified for -" + sw + " switch");
 					}
@@ -1786,6 +1970,49 @@ public class PrismCL implements PrismModelListener
 						errorAndExit("No value specified for -" + sw + " switch");
 					}
 				}
+				// importance function for importance splitting
+				else if (sw.equals("simimpfun")) {
+					if (i < args.length - 1) {
+						simImpFun = args[++i];
+					} else {
+						errorAndExit("No value specified for -" + sw + " switch");
+					}
+				}
+				// levels (importance function thresholds) for importance splitting
+				else if (sw.equals("simlevels")) {
+					if (i < args.length - 1) {
+						try {
+							String ss[] = args[++i].split(",");
+							simLevels = new double[ss.length];
+							for (int k = 0; k < ss.length; k++) {
+								simLevels[k] = Double.parseDouble(ss[k].trim());
+								if (k > 0 && simLevels[k] <= simLevels[k - 1])
+									throw new NumberFormatException("");
+							}
+						} catch (NumberFormatException e) {
+							errorAndExit("Invalid value for -" + sw + " switch (levels should be increasing)");
+						}
+					} else {
+						errorAndExit("No value specified for -" + sw + " switch");
+					}
+				}
+
+				// strategy (for player 1 of a game) to resolve nondeterminism when simulating
+				else if (sw.equals("simstrat")) {
+					if (i < args.length - 1) {
+						simStratFilename = args[++i];
+					} else {
+						errorAndExit("No file specified for -" + sw + " switch");
+					}
+				}
+				// strategy for the other players of a game when simulating
+				else if (sw.equals("simoppstrat")) {
+					if (i < args.length - 1) {
+						simOppStratFilename = args[++i];
+					} else {
+						errorAndExit("No file specified for -" + sw + " switch");
+					}
+				}
 
 				// FURTHER OPTIONS - NEED TIDYING/FIXING
 
@@ -2390,6 +2617,29 @@ public class PrismCL implements PrismModelListener
 			if (simNumSamplesGiven) {
 				mainLog.printWarning("Option -simsamples is not used for the SPRT method and is being ignored");
 			}
+		}
+		// Importance splitting
+		else if (simMethodName.equals("split")) {
+			if (isReward) {
+				throw new PrismException("Cannot use importance splitting on reward properties");
+			}
+			if (simImpFun == null) {
+				throw new PrismException("An importance function (switch -simimpfun) is needed for importance splitting");
+			}
+			// Parse importance function (in the context of the model)
+			PropertiesFile pfImpFun = prism.parsePropertiesString(simImpFun);
+			if (pfImpFun.getNumProperties() != 1) {
+				throw new PrismException("Invalid importance function \"" + simImpFun + "\"");
+			}
+			Expression impFun = pfImpFun.getProperty(0);
+			if (!(impFun.getType() instanceof TypeInt || impFun.getType() instanceof TypeDouble)) {
+				throw new PrismException("Importance function \"" + simImpFun + "\" is not numerical");
+			}
+			// Number of samples is the effort per level
+			aSimMethod = new SplittingMethod(impFun, simLevels, simNumSamples);
+			if (simApproxGiven || simConfidenceGiven || simWidthGiven) {
+				mainLog.printWarning("Options -simapprox, -simconf and -simwidth are not used for importance splitting and are being ignored");
+			}
 		} else
 			throw new PrismException("Unknown simulation method \"" + simMethodName + "\"");
 
@@ -2420,6 +2670,7 @@ public class PrismCL implements PrismModelListener
 		mainLog.println("-nobuild ....................... Skip model construction (just do parse/export)");
 		mainLog.println("-test .......................... Enable \"test\" mode");
 		mainLog.println("-testall ....................... Enable \"test\" mode, but don't exit on error");
+		mainLog.println("-jobs <n> ...................... Model check up to <n> independent properties concurrently (explicit engine)");
 		mainLog.println("-javamaxmem <x>................. Set the maximum heap size for Java, e.g. 500m, 4g [default: 1g]");
 		mainLog.println("-javastack <x> ................. Set the Java stack size [default: 4m]");
 		mainLog.println("-timeout <n> ................... Exit after a time-out of <n> seconds if not already terminated");
@@ -2467,8 +2718,8 @@ public class PrismCL implements PrismModelListener
 		mainLog.println();
 		mainLog.println("SIMULATION OPTIONS:");
 		mainLog.println("-sim ........................... Use the PRISM simulator to approximate results of model checking");
-		mainLog.println("-simmethod <name> .............. Specify the method for approximate model checking (ci, aci, apmc, sprt)");
-		mainLog.println("-simsamples <n> ................ Set the number of samples for the simulator (CI/ACI/APMC methods)");
+		mainLog.println("-simmethod <name> .............. Specify the method for approximate model checking (ci, aci, apmc, sprt, split)");
+		mainLog.println("-simsamples <n> ................ Set the number of samples for the simulator (CI/ACI/APMC methods; per level for split)");
 		mainLog.println("-simconf <x> ................... Set the confidence parameter for the simulator (CI/ACI/APMC methods)");
 		mainLog.println("-simwidth <x> .................. Set the interval width for the simulator (CI/ACI methods)");
 		mainLog.println("-simapprox <x> ................. Set the approximation parameter for the simulator (APMC method)");
@@ -2476,6 +2727,10 @@ public class PrismCL implements PrismModelListener
 		mainLog.println("-simvar <n> .................... Set the minimum number of samples to know the variance is null or not");
 		mainLog.println("-simmaxrwd <x> ................. Set the maximum reward -- useful to display the CI/ACI methods progress");
 		mainLog.println("-simpathlen <n> ................ Set the maximum path length for the simulator");
+		mainLog.println("-simimpfun <expr> .............. Set the importance function (over state variables) for importance splitting");
+		mainLog.println("-simlevels <x1,x2,...> ......... Set the importance function thresholds for importance splitting (default: integers)");
+		mainLog.println("-simstrat <file> ............... Resolve nondeterminism (of player 1, for games) using a strategy from a file");
+		mainLog.println("-simoppstrat <file> ............ Resolve nondeterminism of the other players of a game using a strategy from a file");
 
 		mainLog.println();
 		mainLog.println("You can also use \"prism -help xxx\" for help on some switches -xxx with non-obvious syntax.");
@@ -78,12 +78,29 @@ public class PrismSettings implements Observer
 	public static final	String PRISM_PROB0							= "prism.prob0";
 	public static final	String PRISM_PROB1							= "prism.prob1";
 	public static final	String PRISM_PRE_REL					= "prism.preRel";
+	public static final	String PRISM_PRECOMP_CACHE_MEM				= "prism.precompCacheMem";
+	public static final	String PRISM_RESULT_CACHE_MEM				= "prism.resultCacheMem";
 	public static final	String PRISM_FIX_DEADLOCKS					= "prism.fixDeadlocks";
+	public static final	String PRISM_EXPLICIT_BUILD_THREADS			= "prism.explicitBuildThreads";
+	public static final	String PRISM_ITERATION_THREADS				= "prism.iterationThreads";
+	public static final	String PRISM_FLOAT_VECTORS					= "prism.floatVectors";
+	public static final	String PRISM_WARM_START						= "prism.warmStart";
+	public static final	String PRISM_WARM_START_MEM					= "prism.warmStartMem";
+	public static final	String PRISM_EXPLICIT_PACK_STATES			= "prism.explicitPackStates";
+	public static final	String PRISM_EXPLICIT_PACK_STATES_OFF_HEAP	= "prism.explicitPackStatesOffHeap";
+	public static final	String PRISM_EXPLICIT_REORDER				= "prism.explicitReorder";
+	public static final	String PRISM_REUSE_STRUCTURE				= "prism.reuseStructure";
+	public static final	String PRISM_COMPILE_EXPRS					= "prism.compileExprs";
+	public static final	String PRISM_GUARD_INDEX					= "prism.guardIndex";
+	public static final	String PRISM_TRANSIENT_BATCH				= "prism.transientBatch";
+	public static final	String PRISM_TRANSITION_CACHE_SIZE			= "prism.transitionCacheSize";
 	public static final	String PRISM_DO_PROB_CHECKS					= "prism.doProbChecks";
 	public static final	String PRISM_SUM_ROUND_OFF					= "prism.sumRoundOff";
 	public static final	String PRISM_COMPACT						= "prism.compact";
 	public static final	String PRISM_LIN_EQ_METHOD					= "prism.linEqMethod";//"prism.iterativeMethod";
 	public static final	String PRISM_LIN_EQ_METHOD_PARAM			= "prism.linEqMethodParam";//"prism.overRelaxation";
+	public static final	String PRISM_LIN_EQ_PRECOND				= "prism.linEqPrecond";
+	public static final	String PRISM_GMRES_RESTART					= "prism.gmresRestart";
 	public static final String PRISM_TOPOLOGICAL_VI					= "prism.topologicalVI";
 	public static final	String PRISM_PMAX_QUOTIENT					= "prism.pmaxQuotient";
 	public static final	String PRISM_INTERVAL_ITER					= "prism.intervalIter";
@@ -107,6 +124,7 @@ public class PrismSettings implements Observer
 	public static final	String PRISM_EXTRA_DD_INFO					= "prism.extraDDInfo";
 	public static final	String PRISM_EXTRA_REACH_INFO				= "prism.extraReachInfo";
 	public static final String PRISM_SCC_METHOD						= "prism.sccMethod";
+	public static final	String PRISM_SCC_THREADS					= "prism.sccThreads";
 	public static final String PRISM_SYMM_RED_PARAMS					= "prism.symmRedParams";
 	public static final	String PRISM_EXACT_ENABLED					= "prism.exact.enabled";
 	public static final String PRISM_PTA_METHOD					= "prism.ptaMethod";
@@ -178,6 +196,12 @@ public class PrismSettings implements Observer
 	public static final	String SIMULATOR_NEW_PATH_ASK_VIEW			= "simulator.newPathAskView";
 	public static final	String SIMULATOR_RENDER_ALL_VALUES			= "simulator.renderAllValues";
 	public static final String SIMULATOR_NETWORK_FILE				= "simulator.networkFile";
+	public static final String SIMULATOR_THREADS					= "simulator.threads";
+	public static final String SIMULATOR_SEED						= "simulator.seed";
+	public static final String SIMULATOR_RNG						= "simulator.rng";
+	public static final String SIMULATOR_PROCESSES					= "simulator.processes";
+	public static final String SIMULATOR_WORKER_HOSTS				= "simulator.workerHosts";
+	public static final String SIMULATOR_WORKER_COMMAND				= "simulator.workerCommand";
 	
 	//GUI Model
 	public static final	String MODEL_AUTO_PARSE						= "model.autoParse";
@@ -263,10 +287,14 @@ public class PrismSettings implements Observer
 			{ CHOICE_TYPE,		PRISM_TRANSIENT_METHOD,					"Transient probability computation method",	"3.3",		"Uniformisation",															"Uniformisation,Fast adaptive uniformisation",																
 																			"Which method to use for computing transient probabilities in CTMCs." },
 			// NUMERICAL SOLUTION OPTIONS:
-			{ CHOICE_TYPE,		PRISM_LIN_EQ_METHOD,					"Linear equations method",				"2.1",			"Jacobi",																	"Power,Jacobi,Gauss-Seidel,Backwards Gauss-Seidel,Pseudo-Gauss-Seidel,Backwards Pseudo-Gauss-Seidel,JOR,SOR,Backwards SOR,Pseudo-SOR,Backwards Pseudo-SOR",
+			{ CHOICE_TYPE,		PRISM_LIN_EQ_METHOD,					"Linear equations method",				"2.1",			"Jacobi",																	"Power,Jacobi,Gauss-Seidel,Backwards Gauss-Seidel,Pseudo-Gauss-Seidel,Backwards Pseudo-Gauss-Seidel,JOR,SOR,Backwards SOR,Pseudo-SOR,Backwards Pseudo-SOR,BiCGSTAB,GMRES",
 																			"Which iterative method to use when solving linear equation systems." },
 			{ DOUBLE_TYPE,		PRISM_LIN_EQ_METHOD_PARAM,				"Over-relaxation parameter",			"2.1",			new Double(0.9),															"",																							
 																			"Over-relaxation parameter for iterative numerical methods such as JOR/SOR." },
+			{ CHOICE_TYPE,		PRISM_LIN_EQ_PRECOND,					"Krylov method preconditioner",			"4.5",			"ILU(0)",																	"None,Jacobi,ILU(0)",
+																			"Which preconditioner to use for Krylov subspace linear equation solvers (BiCGSTAB/GMRES) in the explicit engine." },
+			{ INTEGER_TYPE,		PRISM_GMRES_RESTART,					"GMRES restart length",					"4.5",			new Integer(30),															"1,",
+																			"Number of iterations after which GMRES is restarted (i.e. the dimension of the Krylov subspace; one vector is stored per iteration)." },
 			{ BOOLEAN_TYPE,		PRISM_TOPOLOGICAL_VI,				"Use topological value iteration",				"4.3.1",		false,																		"",
 																			"Use topological value iteration in iterative numerical methods."},
 			{ BOOLEAN_TYPE,		PRISM_PMAX_QUOTIENT,				"For Pmax computations, compute in the MEC quotient",				"4.3.1",		false,																		"",
@@ -296,18 +324,50 @@ public class PrismSettings implements Observer
 																			"Whether to use model checking precomputation algorithm Prob1 (if precomputation enabled)." },
 			{ BOOLEAN_TYPE,		PRISM_PRE_REL,							"Use predecessor relation",		"4.2.1",		new Boolean(true),											"",
 																			"Whether to use a pre-computed predecessor relation in several algorithms." },
+			{ INTEGER_TYPE,		PRISM_PRECOMP_CACHE_MEM,				"Precomputation cache memory (KB)",		"4.5",			new Integer(16384),															"0,",
+																			"Maximum memory used to store precomputation (Prob0, Prob1) results for reuse across properties of the same model (explicit engine only; 0 to disable) (KB)." },
+			{ INTEGER_TYPE,		PRISM_RESULT_CACHE_MEM,					"Result cache memory (KB)",				"4.5",			new Integer(16384),															"0,",
+																			"Maximum memory used to store the results of P, R and S operators for reuse across properties (and subformulas) of the same model (explicit engine only; 0 to disable) (KB)." },
 			{ BOOLEAN_TYPE,		PRISM_FAIRNESS,							"Use fairness",							"2.1",			new Boolean(false),															"",																							
 																			"Constrain to fair adversaries when model checking MDPs." },
 			{ BOOLEAN_TYPE,		PRISM_FIX_DEADLOCKS,					"Automatically fix deadlocks",			"4.0.3",		new Boolean(true),															"",																							
 																			"Automatically fix deadlocks, where necessary, when constructing probabilistic models." },
+			{ INTEGER_TYPE,		PRISM_EXPLICIT_BUILD_THREADS,			"Explicit model construction threads",	"4.5",			new Integer(1),																"1,",
+																			"Number of threads to use for state space exploration when constructing models with the explicit engine." },
+			{ INTEGER_TYPE,		PRISM_ITERATION_THREADS,				"Numerical iteration threads",			"4.5",			new Integer(1),																"1,",
+																			"Number of threads to use for matrix-vector multiplication in iterative numerical methods (Power/value iteration, Jacobi) with the explicit engine. Results are identical to sequential iteration." },
+			{ BOOLEAN_TYPE,		PRISM_FLOAT_VECTORS,					"Single-precision solution vectors",	"4.5",			new Boolean(false),															"",
+																			"Store solution vectors in single precision for value iteration (Power method, from below) with the explicit engine, followed by a refinement in double precision. Reduces memory usage for very large models." },
+			{ BOOLEAN_TYPE,		PRISM_WARM_START,						"Warm-start value iteration",			"4.5",			new Boolean(false),															"",
+																			"Use the solution of the previous reachability probability/reward computation of the same kind and for the same target (e.g. for the previous value of a constant in an experiment) as initial values for value iteration with the explicit engine, where the limit does not depend on them (DTMCs, Pmin and Rmax for MDPs). With plain value iteration, the values are used as they are, so results may differ from those without a warm start within the convergence threshold; with interval iteration, they are only used for bounds that are shown to be sound." },
+			{ INTEGER_TYPE,		PRISM_WARM_START_MEM,					"Warm-start memory (KB)",				"4.5",			new Integer(65536),															"0,",
+																			"Maximum memory (in KB) used for storing solutions for warm-starting value iteration (least recently used first evicted)." },
+			{ BOOLEAN_TYPE,		PRISM_EXPLICIT_PACK_STATES,				"Pack explicit model states",			"4.5",			new Boolean(false),															"",
+																			"Store states compactly (bit-packed) when constructing models with the explicit engine (models with bounded variables only)." },
+			{ BOOLEAN_TYPE,		PRISM_EXPLICIT_PACK_STATES_OFF_HEAP,	"Pack explicit model states off-heap",	"4.5",			new Boolean(false),															"",
+																			"When storing states compactly with the explicit engine, keep them outside the Java heap (limited by -XX:MaxDirectMemorySize), both during model construction and in the list of states of the model." },
+			{ CHOICE_TYPE,		PRISM_EXPLICIT_REORDER,					"Explicit model state reordering",		"4.5",			"None",																		"None,Reverse Cuthill-McKee,SCC",
+																			"Reorder the states of models constructed with the explicit engine to improve memory locality in numerical computation: by reverse Cuthill-McKee (bandwidth reduction) or by SCC (in reverse topological order). Results are still printed in the original state order; states are not reordered if the model, strategies or products are exported." },
+			{ BOOLEAN_TYPE,		PRISM_REUSE_STRUCTURE,					"Reuse model structure",				"4.5",			new Boolean(false),															"",
+																			"When rebuilding a model with the explicit engine for new values of constants that only appear in probabilities (e.g. in an experiment), reuse the states and transitions of the previous model and just recompute its probabilities (DTMCs and MDPs only). If the structure has changed (including choices that become identical), the model is rebuilt from scratch." },
+			{ BOOLEAN_TYPE,		PRISM_COMPILE_EXPRS,					"Compile model expressions",			"4.5",			new Boolean(true),															"",
+																			"Compile guards, probabilities, updates and rewards of PRISM models for faster evaluation during explicit model construction and simulation." },
+			{ BOOLEAN_TYPE,		PRISM_GUARD_INDEX,						"Index command guards",					"4.5",			new Boolean(true),															"",
+																			"When exploring PRISM models, index the commands of each module by the value of a variable fixed in many of their guards, so that only commands whose guards can be true are evaluated." },
+			{ BOOLEAN_TYPE,		PRISM_TRANSIENT_BATCH,					"Batch transient analysis",				"4.5",			new Boolean(true),															"",
+																			"In experiments on CTMCs with the explicit engine, where the time bounds of properties vary, compute the transient probabilities for all time bounds in a single pass of uniformisation, rather than separately for each one." },
+			{ INTEGER_TYPE,		PRISM_TRANSITION_CACHE_SIZE,			"Transition cache size",				"4.5",			new Integer(0),																"0,",
+																			"Maximum number of states whose outgoing transitions are cached (least recently used first evicted) when exploring PRISM models, e.g. during simulation (0 means no caching)." },
 			{ BOOLEAN_TYPE,		PRISM_DO_PROB_CHECKS,					"Do probability/rate checks",			"2.1",			new Boolean(true),															"",																							
 																			"Perform sanity checks on model probabilities/rates when constructing probabilistic models." },
 			{ DOUBLE_TYPE,		PRISM_SUM_ROUND_OFF,					"Probability sum threshold",					"2.1",			new Double(1.0E-5),													"0.0,",
 																			"Round-off threshold for places where doubles are summed and compared to integers (e.g. checking that probabilities sum to 1 in an update)." },							
 			{ BOOLEAN_TYPE,		PRISM_DO_SS_DETECTION,					"Use steady-state detection",			"2.1",			new Boolean(true),															"0,",																						
 																			"Use steady-state detection during CTMC transient probability computation." },
-			{ CHOICE_TYPE,		PRISM_SCC_METHOD,						"SCC decomposition method",				"3.2",			"Lockstep",																	"Xie-Beerel,Lockstep,SCC-Find",																
-																			"Which algorithm to use for (symbolic) decomposition of a graph into strongly connected components (SCCs)." },
+			{ CHOICE_TYPE,		PRISM_SCC_METHOD,						"SCC decomposition method",				"3.2",			"Lockstep",																	"Xie-Beerel,Lockstep,SCC-Find,Forward-backward",																
+																			"Which algorithm to use for decomposition of a graph into strongly connected components (SCCs). Xie-Beerel, Lockstep and SCC-Find are symbolic; Forward-backward is a parallel algorithm for the explicit engine, where Tarjan's algorithm is used otherwise. In the explicit engine, this also selects the algorithm for maximal end components." },
+			{ INTEGER_TYPE,		PRISM_SCC_THREADS,						"SCC decomposition threads",			"4.5",			new Integer(1),																"1,",
+																			"Number of threads to use for the (explicit) forward-backward SCC decomposition algorithm." },
 			{ STRING_TYPE,		PRISM_SYMM_RED_PARAMS,					"Symmetry reduction parameters",		"3.2",			"",																	"",																
 																			"Parameters for symmetry reduction (format: \"i j\" where i and j are the number of modules before and after the symmetric ones; empty string means symmetry reduction disabled)." },
 			{ STRING_TYPE,		PRISM_AR_OPTIONS,						"Abstraction refinement options",		"3.3",			"",																	"",																
@@ -447,6 +507,18 @@ public class PrismSettings implements Observer
 																			"Maximum reward for CI/ACI methods. It helps these methods in displaying the progress in case of rewards computation." },
 			{ BOOLEAN_TYPE,		SIMULATOR_SIMULTANEOUS,					"Check properties simultaneously",		"2.1",		new Boolean(true),			"",
 																			"Check multiple properties simultaneously over the same set of execution paths (simulator only)." },
+			{ INTEGER_TYPE,		SIMULATOR_THREADS,						"Sampling threads",						"4.5",		new Integer(1),				"1,",
+																			"Number of threads used to generate sample paths for approximate (simulation-based) model checking." },
+			{ INTEGER_TYPE,		SIMULATOR_SEED,							"Random seed",							"4.5",		new Integer(0),				"",
+																			"Seed for the random number generator(s) used for approximate (simulation-based) model checking; results are reproducible for a fixed seed and number of threads (0 means seed from the current time)." },
+			{ CHOICE_TYPE,		SIMULATOR_RNG,							"Random number generator",				"4.5",		"Mersenne Twister",			"Mersenne Twister,Xoroshiro128++,SplitMix64",
+																			"Random number generator used by the simulator; Xoroshiro128++ and SplitMix64 are faster than the Mersenne Twister." },
+			{ INTEGER_TYPE,		SIMULATOR_PROCESSES,					"Sampling processes",					"4.5",		new Integer(0),				"0,",
+																			"Number of separate worker processes (JVMs) to launch on this machine to generate sample paths for approximate (simulation-based) model checking (0 means none)." },
+			{ STRING_TYPE,		SIMULATOR_WORKER_HOSTS,					"Sampling hosts",						"4.5",		"",							"",
+																			"Comma-separated list of (remote) hosts on which to launch a worker process each, to generate sample paths for approximate (simulation-based) model checking." },
+			{ STRING_TYPE,		SIMULATOR_WORKER_COMMAND,				"Sampling host command",				"4.5",		"ssh %h java -cp %c simulator.DistributedSamplingWorker %a %p",	"",
+																			"Command used to launch a worker process on a remote sampling host (%h: host, %c: class path, %a/%p: address/port to connect back to)." },
 			{ CHOICE_TYPE,		SIMULATOR_FIELD_CHOICE,					"Values used in dialog",				"2.1",		"Last used values",			"Last used values,Always use defaults",
 																			"How to choose values for the simulation dialog: remember previously used values or revert to the defaults each time." },
 			{ BOOLEAN_TYPE,		SIMULATOR_NEW_PATH_ASK_VIEW,			"Ask for view configuration",			"2.1",		new Boolean(false),			"",
@@ -1114,6 +1186,10 @@ public class PrismSettings implements Observer
 			set(PRISM_LIN_EQ_METHOD, "Pseudo-SOR");
 		} else if (sw.equals("bpsor")) {
 			set(PRISM_LIN_EQ_METHOD, "Backwards Pseudo-SOR");
+		} else if (sw.equals("bicgstab")) {
+			set(PRISM_LIN_EQ_METHOD, "BiCGSTAB");
+		} else if (sw.equals("gmres")) {
+			set(PRISM_LIN_EQ_METHOD, "GMRES");
 		} else if (sw.equals("valiter")) {
 			set(PRISM_MDP_SOLN_METHOD, "Value iteration");
 			set(PRISM_MDP_MULTI_SOLN_METHOD, "Value iteration");
@@ -1172,6 +1248,37 @@ public class PrismSettings implements Observer
 				throw new PrismException("No value specified for -" + sw + " switch");
 			}
 		}
+		// Preconditioner for Krylov subspace methods
+		else if (sw.equals("precond")) {
+			if (i < args.length - 1) {
+				s = args[++i];
+				if (s.equals("none"))
+					set(PRISM_LIN_EQ_PRECOND, "None");
+				else if (s.equals("jacobi"))
+					set(PRISM_LIN_EQ_PRECOND, "Jacobi");
+				else if (s.equals("ilu0"))
+					set(PRISM_LIN_EQ_PRECOND, "ILU(0)");
+				else
+					throw new PrismException("Unrecognised option for -" + sw + " switch (options are: none, jacobi, ilu0)");
+			} else {
+				throw new PrismException("No parameter specified for -" + sw + " switch");
+			}
+		}
+		// Restart length for GMRES
+		else if (sw.equals("gmresrestart")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 1)
+						throw new NumberFormatException();
+					set(PRISM_GMRES_RESTART, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
 		// Termination criterion (iterative methods)
 		else if (sw.equals("relative") || sw.equals("rel")) {
 			set(PRISM_TERM_CRIT, "Relative");
@@ -1230,6 +1337,51 @@ public class PrismSettings implements Observer
 		else if (sw.equals("noprerel")) {
 			set(PRISM_PRE_REL, false);
 		}
+		// Memory for caching precomputation results across properties
+		else if (sw.equals("precompcachemem")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 0)
+						throw new NumberFormatException();
+					set(PRISM_PRECOMP_CACHE_MEM, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		// Memory for storing solutions for warm starts (explicit engine)
+		else if (sw.equals("warmstartmem")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 0)
+						throw new NumberFormatException();
+					set(PRISM_WARM_START_MEM, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		// Memory for caching P/R/S operator results (explicit engine)
+		else if (sw.equals("resultcachemem")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 0)
+						throw new NumberFormatException();
+					set(PRISM_RESULT_CACHE_MEM, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
 		// Fix deadlocks on/off
 		else if (sw.equals("fixdl")) {
 			set(PRISM_FIX_DEADLOCKS, true);
@@ -1237,6 +1389,189 @@ public class PrismSettings implements Observer
 		else if (sw.equals("nofixdl")) {
 			set(PRISM_FIX_DEADLOCKS, false);
 		}
+		// Threads for explicit model construction
+		else if (sw.equals("buildthreads")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 1)
+						throw new NumberFormatException();
+					set(PRISM_EXPLICIT_BUILD_THREADS, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		// Threads for numerical iterations (explicit engine)
+		else if (sw.equals("iterthreads")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 1)
+						throw new NumberFormatException();
+					set(PRISM_ITERATION_THREADS, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		// Single-precision solution vectors (explicit engine)
+		else if (sw.equals("floatvectors")) {
+			set(PRISM_FLOAT_VECTORS, true);
+		}
+		// Warm-started value iteration (explicit engine)
+		else if (sw.equals("warmstart")) {
+			set(PRISM_WARM_START, true);
+		}
+		else if (sw.equals("nowarmstart")) {
+			set(PRISM_WARM_START, false);
+		}
+		// Bit-packed state storage for explicit model construction
+		else if (sw.equals("packstates")) {
+			set(PRISM_EXPLICIT_PACK_STATES, true);
+		}
+		else if (sw.equals("nopackstates")) {
+			set(PRISM_EXPLICIT_PACK_STATES, false);
+		}
+		else if (sw.equals("packstatesoffheap")) {
+			set(PRISM_EXPLICIT_PACK_STATES, true);
+			set(PRISM_EXPLICIT_PACK_STATES_OFF_HEAP, true);
+		}
+		// State reordering for explicit model construction
+		else if (sw.equals("reorder")) {
+			if (i < args.length - 1) {
+				s = args[++i];
+				if (s.equals("none"))
+					set(PRISM_EXPLICIT_REORDER, "None");
+				else if (s.equals("rcm"))
+					set(PRISM_EXPLICIT_REORDER, "Reverse Cuthill-McKee");
+				else if (s.equals("scc"))
+					set(PRISM_EXPLICIT_REORDER, "SCC");
+				else
+					throw new PrismException("Unrecognised option for -" + sw + " switch (options are: none, rcm, scc)");
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		// Reuse of model structure when only probabilities change (explicit engine)
+		else if (sw.equals("reusestructure")) {
+			set(PRISM_REUSE_STRUCTURE, true);
+		}
+		else if (sw.equals("noreusestructure")) {
+			set(PRISM_REUSE_STRUCTURE, false);
+		}
+		// Threads for sampling
+		else if (sw.equals("simthreads")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 1)
+						throw new NumberFormatException();
+					set(SIMULATOR_THREADS, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		// Random seed for sampling
+		else if (sw.equals("simseed")) {
+			if (i < args.length - 1) {
+				try {
+					set(SIMULATOR_SEED, Integer.parseInt(args[++i]));
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		// Random number generator for simulation
+		else if (sw.equals("simrng")) {
+			if (i < args.length - 1) {
+				s = args[++i];
+				if (s.equals("mt"))
+					set(SIMULATOR_RNG, "Mersenne Twister");
+				else if (s.equals("xoroshiro"))
+					set(SIMULATOR_RNG, "Xoroshiro128++");
+				else if (s.equals("splitmix"))
+					set(SIMULATOR_RNG, "SplitMix64");
+				else
+					throw new PrismException("Unrecognised option for -" + sw + " switch (options are: mt, xoroshiro, splitmix)");
+			} else {
+				throw new PrismException("No parameter specified for -" + sw + " switch");
+			}
+		}
+		// Worker processes for sampling
+		else if (sw.equals("simprocs")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 0)
+						throw new NumberFormatException();
+					set(SIMULATOR_PROCESSES, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		else if (sw.equals("simhosts")) {
+			if (i < args.length - 1) {
+				set(SIMULATOR_WORKER_HOSTS, args[++i]);
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		else if (sw.equals("simworkercmd")) {
+			if (i < args.length - 1) {
+				set(SIMULATOR_WORKER_COMMAND, args[++i]);
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
+		// Compilation of model expressions
+		else if (sw.equals("compileexprs")) {
+			set(PRISM_COMPILE_EXPRS, true);
+		}
+		else if (sw.equals("nocompileexprs")) {
+			set(PRISM_COMPILE_EXPRS, false);
+		}
+		// Indexing of command guards
+		else if (sw.equals("guardindex")) {
+			set(PRISM_GUARD_INDEX, true);
+		}
+		else if (sw.equals("noguardindex")) {
+			set(PRISM_GUARD_INDEX, false);
+		}
+		// Batched transient analysis for experiments (explicit engine)
+		else if (sw.equals("transientbatch")) {
+			set(PRISM_TRANSIENT_BATCH, true);
+		}
+		else if (sw.equals("notransientbatch")) {
+			set(PRISM_TRANSIENT_BATCH, false);
+		}
+		// Transition list cache size
+		else if (sw.equals("transcache")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 0)
+						throw new NumberFormatException();
+					set(PRISM_TRANSITION_CACHE_SIZE, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
 		// Fairness on/off
 		else if (sw.equals("fair")) {
 			set(PRISM_FAIRNESS, true);
@@ -1277,12 +1612,29 @@ public class PrismSettings implements Observer
 					set(PRISM_SCC_METHOD, "Lockstep");
 				else if (s.equals("sccfind"))
 					set(PRISM_SCC_METHOD, "SCC-Find");
+				else if (s.equals("fb"))
+					set(PRISM_SCC_METHOD, "Forward-backward");
 				else
-					throw new PrismException("Unrecognised option for -" + sw + " switch (options are: xiebeerel, lockstep, sccfind)");
+					throw new PrismException("Unrecognised option for -" + sw + " switch (options are: xiebeerel, lockstep, sccfind, fb)");
 			} else {
 				throw new PrismException("No parameter specified for -" + sw + " switch");
 			}
 		}
+		// Threads for (explicit) SCC computation
+		else if (sw.equals("sccthreads")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 1)
+						throw new NumberFormatException();
+					set(PRISM_SCC_THREADS, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
 		// Enable symmetry reduction
 		else if (sw.equals("symm")) {
 			if (i < args.length - 2) {
@@ -1962,7 +2314,11 @@ public class PrismSettings implements Observer
 		mainLog.println("-bsor .......................... Use Backwards SOR for numerical computation");
 		mainLog.println("-psor .......................... Use Pseudo SOR for numerical computation");
 		mainLog.println("-bpsor ......................... Use Backwards Pseudo SOR for numerical computation");
+		mainLog.println("-bicgstab ...................... Use BiCGSTAB for numerical computation (explicit engine)");
+		mainLog.println("-gmres ......................... Use restarted GMRES for numerical computation (explicit engine)");
 		mainLog.println("-omega <x> ..................... Set over-relaxation parameter (for JOR/SOR/...) [default: 0.9]");
+		mainLog.println("-precond <name> ................ Set preconditioner for BiCGSTAB/GMRES (none, jacobi, ilu0) [default: ilu0]");
+		mainLog.println("-gmresrestart <n> .............. Set restart length for GMRES [default: 30]");
 		mainLog.println();
 		mainLog.println("SOLUTION METHODS (MDPS):");
 		mainLog.println("-valiter ....................... Use value iteration for solving MDPs [default]");
@@ -1984,15 +2340,37 @@ public class PrismSettings implements Observer
 		mainLog.println("-noprob0 ....................... Skip precomputation algorithm Prob0 (where optional)");
 		mainLog.println("-noprob1 ....................... Skip precomputation algorithm Prob1 (where optional)");
 		mainLog.println("-noprerel ...................... Do not pre-compute/use predecessor relation, e.g. for precomputation");
+		mainLog.println("-precompcachemem <n> ........... Set memory (KB) for reusing precomputation results across properties [default: 16384]");
+		mainLog.println("-resultcachemem <n> ............ Set memory (KB) for reusing P/R/S operator results across properties [default: 16384]");
 		mainLog.println("-fair .......................... Use fairness (for model checking of MDPs)");
 		mainLog.println("-nofair ........................ Don't use fairness (for model checking of MDPs) [default]");
 		mainLog.println("-fixdl ......................... Automatically put self-loops in deadlock states [default]");
 		mainLog.println("-nofixdl ....................... Do not automatically put self-loops in deadlock states");
+		mainLog.println("-buildthreads <n> .............. Use <n> threads for explicit-state model construction [default: 1]");
+		mainLog.println("-iterthreads <n> ............... Use <n> threads for Power/Jacobi/value iteration (explicit engine) [default: 1]");
+		mainLog.println("-floatvectors .................. Use single-precision solution vectors for value iteration (explicit engine)");
+		mainLog.println("-warmstart ..................... Start value iteration from the previous solution, e.g. in experiments (explicit engine; plain value iteration, unless -ii)");
+		mainLog.println("-warmstartmem <n> .............. Set memory (KB) for storing solutions for warm starts [default: 65536]");
+		mainLog.println("-packstates .................... Store states compactly (bit-packed) for explicit-state model construction");
+		mainLog.println("-packstatesoffheap ............. Store states compactly, outside the Java heap, for explicit-state model construction");
+		mainLog.println("-reorder <x> ................... Reorder states for explicit-state model construction (none, rcm, scc) [default: none]");
+		mainLog.println("-reusestructure ................ Reuse the structure of a model rebuilt for new values of probabilities (explicit engine)");
+		mainLog.println("-nocompileexprs ................ Evaluate model expressions directly, rather than compiling them first");
+		mainLog.println("-noguardindex .................. Evaluate all command guards, rather than indexing commands by variable values");
+		mainLog.println("-notransientbatch .............. In experiments on CTMCs, compute transient probabilities separately for each time bound (explicit engine)");
+		mainLog.println("-simthreads <n> ................ Number of threads to use for generating sample paths in the simulator [default: 1]");
+		mainLog.println("-simseed <n> ................... Seed for random number generation in the simulator (0 = use current time) [default: 0]");
+		mainLog.println("-simrng <name> ................. Random number generator for the simulator (mt, xoroshiro, splitmix) [default: mt]");
+		mainLog.println("-simprocs <n> .................. Number of local worker processes to use for generating sample paths [default: 0]");
+		mainLog.println("-simhosts <list> ............... Also launch sampling worker processes on a comma-separated list of hosts");
+		mainLog.println("-simworkercmd <cmd> ............ Command to launch a worker on a host (%h=host, %c=classpath, %a/%p=address/port)");
+		mainLog.println("-transcache <n> ................ Cache the transitions of up to <n> states when exploring models, e.g. for simulation [default: 0]");
 		mainLog.println("-noprobchecks .................. Disable checks on model probabilities/rates");
 		mainLog.println("-sumroundoff <x> ............... Set probability sum threshold [default: 1-e5]");
 		mainLog.println("-zerorewardcheck ............... Check for absence of zero-reward loops");
 		mainLog.println("-nossdetect .................... Disable steady-state detection for CTMC transient computations");
-		mainLog.println("-sccmethod <name> .............. Specify (symbolic) SCC computation method (xiebeerel, lockstep, sccfind)");
+		mainLog.println("-sccmethod <name> .............. Specify SCC computation method (symbolic: xiebeerel, lockstep, sccfind; explicit: fb)");
+		mainLog.println("-sccthreads <n> ................ Use <n> threads for explicit forward-backward SCC computation [default: 1]");
 		mainLog.println("-symm <string> ................. Symmetry reduction options string");
 		mainLog.println("-aroptions <string> ............ Abstraction-refinement engine options string");
 		mainLog.println("-pathviaautomata ............... Handle all path formulas via automata constructions");
@@ -0,0 +1,133 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package prism;
+
+/**
+ * Implementation of the PrismLog interface that stores all output in memory,
+ * e.g. so that output from a task run in the background can be printed later, in order.
+ */
+public class PrismStringLog extends PrismLog
+{
+	private StringBuilder buffer = new StringBuilder();
+
+	public PrismStringLog()
+	{
+	}
+
+	/**
+	 * Create a log with the same verbosity level as {@code log}.
+	 */
+	public PrismStringLog(PrismLog log)
+	{
+		setVerbosityLevel(log.getVerbosityLevel());
+	}
+
+	/**
+	 * Get all output stored so far.
+	 */
+	public String getString()
+	{
+		return buffer.toString();
+	}
+
+	/**
+	 * Print all output stored so far to another log, along with
+	 * the count of warnings, and then clear this log.
+	 */
+	public void transferTo(PrismLog log)
+	{
+		log.print(buffer.toString());
+		log.numberOfWarnings += numberOfWarnings;
+		buffer.setLength(0);
+		resetNumberOfWarnings();
+	}
+
+	public boolean ready()
+	{
+		return true;
+	}
+
+	public long getFilePointer()
+	{
+		return buffer.length();
+	}
+
+	public void flush()
+	{
+	}
+
+	public void close()
+	{
+	}
+
+	// Basic print methods
+
+	public void print(boolean b)
+	{
+		buffer.append(b);
+	}
+
+	public void print(char c)
+	{
+		buffer.append(c);
+	}
+
+	public void print(double d)
+	{
+		buffer.append(d);
+	}
+
+	public void print(float f)
+	{
+		buffer.append(f);
+	}
+
+	public void print(int i)
+	{
+		buffer.append(i);
+	}
+
+	public void print(long l)
+	{
+		buffer.append(l);
+	}
+
+	public void print(Object obj)
+	{
+		buffer.append(obj);
+	}
+
+	public void print(String s)
+	{
+		buffer.append(s);
+	}
+
+	public void println()
+	{
+		buffer.append('\n');
+	}
+}
@@ -115,6 +115,16 @@ public class PrismUtils
 		}
 	}
 
+	/**
+	 * Convert a double to a float, rounding downwards (towards negative infinity)
+	 * rather than to the nearest float, so that the result is never larger than {@code d}.
+	 */
+	public static float roundDownToFloat(double d)
+	{
+		float f = (float) d;
+		return f > d ? Math.nextDown(f) : f;
+	}
+
 	/**
 	 * See if two arrays of doubles are all within epsilon of each other (relative or absolute error).
 	 */
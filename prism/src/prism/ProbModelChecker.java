@@ -93,6 +93,11 @@ public class ProbModelChecker extends NonProbModelChecker
 		}
 		model = (ProbModel) m;
 
+		// Krylov subspace linear equation solvers are only implemented in the explicit engine
+		if (prism.getLinEqMethod() == Prism.BICGSTAB || prism.getLinEqMethod() == Prism.GMRES) {
+			throw new PrismNotSupportedException("BiCGSTAB/GMRES are currently only supported by the explicit engine");
+		}
+
 		// Inherit some options from parent Prism object.
 		// Store locally and/or pass onto native code.
 		precomp = prism.getPrecomp();
@@ -27,7 +27,6 @@
 package simulator;
 
 import java.util.*;
-
 import parser.*;
 import parser.ast.*;
 import prism.ModelType;
@@ -42,20 +41,34 @@ public class ChoiceListFlexi implements Choice
 	// For a synchronous choice, this is the 1-indexed action index.
 	protected int moduleOrActionIndex;
 
+	// Number of transitions in the choice
+	protected int size;
 	// List of multiple updates and associated probabilities/rates
-	// Size of list is stored implicitly in target.length
 	// Probabilities/rates are already evaluated, target states are not
 	// but are just stored as lists of updates (for efficiency)
+	// (only the first 'size' elements of updates/probability are used;
+	// any further lists in updates are kept so that they can be reused after clear())
 	protected List<List<Update>> updates;
-	protected List<Double> probability;
+	protected double probability[];
+	// Compiled versions of the updates (see CompiledUpdate), if available
+	// (element i of compiledUpdates is only used if compiled[i] is true,
+	// i.e., if all of the corresponding updates were compiled)
+	protected List<List<CompiledUpdate>> compiledUpdates;
+	protected boolean compiled[];
+	
+	// Temporary storage for the variable values of a state (see computeTarget)
+	private int vars[];
 
 	/**
 	 * Create empty choice.
 	 */
 	public ChoiceListFlexi()
 	{
+		size = 0;
 		updates = new ArrayList<List<Update>>();
-		probability = new ArrayList<Double>();
+		probability = new double[4];
+		compiledUpdates = new ArrayList<List<CompiledUpdate>>();
+		compiled = new boolean[4];
 	}
 
 	/**
@@ -64,19 +77,8 @@ public class ChoiceListFlexi implements Choice
 	 */
 	public ChoiceListFlexi(ChoiceListFlexi ch)
 	{
-		moduleOrActionIndex = ch.moduleOrActionIndex;
-		updates = new ArrayList<List<Update>>(ch.updates.size());
-		for (List<Update> list : ch.updates) {
-			List<Update> listNew = new ArrayList<Update>(list.size()); 
-			updates.add(listNew);
-			for (Update up : list) {
-				listNew.add(up);
-			}
-		}
-		probability = new ArrayList<Double>(ch.size());
-		for (double p : ch.probability) {
-			probability.add(p);
-		}
+		this();
+		copyFrom(ch);
 	}
 
 	// Set methods
@@ -91,6 +93,33 @@ public class ChoiceListFlexi implements Choice
 		this.moduleOrActionIndex = moduleOrActionIndex;
 	}
 
+	/**
+	 * Remove all transitions from this choice, so that it can be reused.
+	 * Storage allocated for the transitions is kept.
+	 */
+	public void clear()
+	{
+		moduleOrActionIndex = 0;
+		size = 0;
+	}
+
+	/**
+	 * Make this choice a copy of another one, reusing existing storage.
+	 * NB: Does a shallow, not deep, copy with respect to references to Update objects.
+	 */
+	public void copyFrom(ChoiceListFlexi ch)
+	{
+		clear();
+		moduleOrActionIndex = ch.moduleOrActionIndex;
+		for (int i = 0; i < ch.size; i++) {
+			int j = addTransition(ch.probability[i], ch.compiled[i]);
+			updates.get(j).addAll(ch.updates.get(i));
+			if (ch.compiled[i]) {
+				compiledUpdates.get(j).addAll(ch.compiledUpdates.get(i));
+			}
+		}
+	}
+
 	/**
 	 * Add a transition to this choice.
 	 * @param probability Probability (or rate) of the transition
@@ -98,17 +127,68 @@ public class ChoiceListFlexi implements Choice
 	 */
 	public void add(double probability, List<Update> ups)
 	{
-		this.updates.add(ups);
-		this.probability.add(probability);
+		add(probability, ups, null);
+	}
+
+	/**
+	 * Add a transition to this choice, with compiled versions of its updates.
+	 * @param probability Probability (or rate) of the transition
+	 * @param ups List of Update objects defining transition
+	 * @param compiledUps Compiled versions of {@code ups} (or null if unavailable)
+	 */
+	public void add(double probability, List<Update> ups, List<CompiledUpdate> compiledUps)
+	{
+		int i = addTransition(probability, compiledUps != null);
+		updates.get(i).addAll(ups);
+		if (compiledUps != null) {
+			compiledUpdates.get(i).addAll(compiledUps);
+		}
+	}
+
+	/**
+	 * Add a transition, comprising a single update, to this choice.
+	 * @param probability Probability (or rate) of the transition
+	 * @param up Update object defining transition
+	 * @param compiledUp Compiled version of {@code up} (or null if unavailable)
+	 */
+	public void add(double probability, Update up, CompiledUpdate compiledUp)
+	{
+		int i = addTransition(probability, compiledUp != null);
+		updates.get(i).add(up);
+		if (compiledUp != null) {
+			compiledUpdates.get(i).add(compiledUp);
+		}
+	}
+
+	/**
+	 * Add a new transition, with an empty list of updates, to this choice,
+	 * reusing storage from previously cleared transitions where possible.
+	 * Returns the index of the new transition.
+	 */
+	private int addTransition(double p, boolean isCompiled)
+	{
+		int i = size++;
+		if (i < updates.size()) {
+			updates.get(i).clear();
+			compiledUpdates.get(i).clear();
+		} else {
+			updates.add(new ArrayList<Update>(1));
+			compiledUpdates.add(new ArrayList<CompiledUpdate>(1));
+		}
+		if (i >= probability.length) {
+			probability = Arrays.copyOf(probability, 2 * probability.length);
+			compiled = Arrays.copyOf(compiled, 2 * compiled.length);
+		}
+		probability[i] = p;
+		compiled[i] = isCompiled;
+		return i;
 	}
 
 	@Override
 	public void scaleProbabilitiesBy(double d)
 	{
-		int i, n;
-		n = size();
-		for (i = 0; i < n; i++) {
-			probability.set(i, probability.get(i) * d);
+		for (int i = 0; i < size; i++) {
+			probability[i] *= d;
 		}
 	}
 
@@ -117,8 +197,7 @@ public class ChoiceListFlexi implements Choice
 	 */
 	public void productWith(ChoiceListFlexi ch)
 	{
-		List<Update> list;
-		int i, j, n, n2;
+		int i, j, k, n, n2;
 		double pi;
 
 		n = ch.size();
@@ -129,23 +208,27 @@ public class ChoiceListFlexi implements Choice
 			// Loop through each (jth) element of existing choice
 			for (j = 0; j < n2; j++) {
 				// Create new element (i,j) of product 
-				list = new ArrayList<Update>(updates.get(j).size() + ch.updates.get(i).size());
-				for (Update u : updates.get(j)) {
-					list.add(u);
-				}
-				for (Update u : ch.updates.get(i)) {
-					list.add(u);
+				k = addTransition(pi * getProbability(j), compiled[j] && ch.compiled[i]);
+				updates.get(k).addAll(updates.get(j));
+				updates.get(k).addAll(ch.updates.get(i));
+				if (compiled[k]) {
+					compiledUpdates.get(k).addAll(compiledUpdates.get(j));
+					compiledUpdates.get(k).addAll(ch.compiledUpdates.get(i));
 				}
-				add(pi * getProbability(j), list);
 			}
 		}
 		// Modify elements of current choice to get (0,j) elements of product
 		pi = ch.getProbability(0);
 		for (j = 0; j < n2; j++) {
-			for (Update u : ch.updates.get(0)) {
-				updates.get(j).add(u);
+			updates.get(j).addAll(ch.updates.get(0));
+			if (compiled[j]) {
+				if (ch.compiled[0]) {
+					compiledUpdates.get(j).addAll(ch.compiledUpdates.get(0));
+				} else {
+					compiled[j] = false;
+				}
 			}
-			probability.set(j, pi * probability.get(j));
+			probability[j] = pi * probability[j];
 		}
 	}
 
@@ -172,7 +255,7 @@ public class ChoiceListFlexi implements Choice
 	@Override
 	public int size()
 	{
-		return probability.size();
+		return size;
 	}
 
 	@Override
@@ -215,14 +298,26 @@ public class ChoiceListFlexi implements Choice
 	public State computeTarget(int i, State currentState) throws PrismLangException
 	{
 		State newState = new State(currentState);
-		for (Update up : updates.get(i))
-			up.update(currentState, newState);
+		computeTarget(i, currentState, newState);
 		return newState;
 	}
 
 	@Override
 	public void computeTarget(int i, State currentState, State newState) throws PrismLangException
 	{
+		if (compiled[i]) {
+			List<CompiledUpdate> list = compiledUpdates.get(i);
+			int numVars = currentState.varValues.length;
+			if (vars == null || vars.length != numVars) {
+				vars = new int[numVars];
+			}
+			if (CompiledExpression.loadState(currentState, vars)) {
+				int n = list.size();
+				for (int j = 0; j < n; j++)
+					list.get(j).update(vars, newState);
+				return;
+			}
+		}
 		for (Update up : updates.get(i))
 			up.update(currentState, newState);
 	}
@@ -230,15 +325,15 @@ public class ChoiceListFlexi implements Choice
 	@Override
 	public double getProbability(int i)
 	{
-		return probability.get(i);
+		return probability[i];
 	}
 
 	@Override
 	public double getProbabilitySum()
 	{
 		double sum = 0.0;
-		for (double d : probability)
-			sum += d;
+		for (int i = 0; i < size; i++)
+			sum += probability[i];
 		return sum;
 	}
 
@@ -250,7 +345,7 @@ public class ChoiceListFlexi implements Choice
 		n = size();
 		d = 0.0;
 		for (i = 0; x >= d && i < n; i++) {
-			d += probability.get(i);
+			d += probability[i];
 		}
 		return i - 1;
 	}
@@ -0,0 +1,90 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import parser.CompiledExpression;
+import parser.State;
+import parser.ast.Update;
+import prism.PrismLangException;
+
+/**
+ * An {@link Update}, with the expressions for each assignment compiled
+ * (see {@link CompiledExpression}), so that it can be applied to a state
+ * whose variable values have been loaded with {@link CompiledExpression#loadState(State, int[])}.
+ */
+public class CompiledUpdate
+{
+	// The original update
+	private Update update;
+	// For each assignment: variable index and compiled expression
+	private int varIndices[];
+	private CompiledExpression exprs[];
+
+	private CompiledUpdate(Update update, int n)
+	{
+		this.update = update;
+		varIndices = new int[n];
+		exprs = new CompiledExpression[n];
+	}
+
+	/**
+	 * Compile an update. Returns null if this is not possible for some assignment.
+	 */
+	public static CompiledUpdate compile(Update update)
+	{
+		int n = update.getNumElements();
+		CompiledUpdate cu = new CompiledUpdate(update, n);
+		for (int i = 0; i < n; i++) {
+			cu.varIndices[i] = update.getVarIndex(i);
+			cu.exprs[i] = CompiledExpression.compile(update.getExpression(i));
+			if (cu.varIndices[i] < 0 || cu.exprs[i] == null) {
+				return null;
+			}
+		}
+		return cu;
+	}
+
+	/**
+	 * Get the original update.
+	 */
+	public Update getUpdate()
+	{
+		return update;
+	}
+
+	/**
+	 * Execute this update, for variable values in current state given by {@code vars}.
+	 * Apply changes in variables to {@code newState}, as for {@link Update#update(State, State)}.
+	 */
+	public void update(int vars[], State newState) throws PrismLangException
+	{
+		int n = varIndices.length;
+		for (int i = 0; i < n; i++) {
+			newState.setValue(varIndices[i], exprs[i].evaluate(vars));
+		}
+	}
+}
@@ -0,0 +1,693 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import parser.State;
+import parser.Values;
+import parser.ast.Expression;
+import parser.ast.ModulesFile;
+import parser.visitor.AddParentheses;
+import prism.PrismException;
+import prism.PrismLangException;
+import prism.PrismLog;
+import prism.PrismNotSupportedException;
+import prism.PrismSettings;
+
+/**
+ * Generation of sample paths for statistical model checking in parallel by separate
+ * worker processes (see {@link DistributedSamplingWorker}), launched either on this machine
+ * or on remote hosts, which connect back to this coordinator over a socket.
+ * <br>
+ * Each worker is sent the model and (processed) properties, as text, and then
+ * repeatedly given a "lease" for a batch of paths, which it generates and returns the
+ * sampler values of. Leases are numbered consecutively and the random number generator
+ * for each one is seeded deterministically from its number, so the paths for a lease
+ * are the same whichever worker generates them. Paths are handed out (by {@link #nextPath()})
+ * in lease order, to be merged into the samplers of the main engine one at a time.
+ * For a fixed seed, results are thus reproducible, independently of the number of workers.
+ * <br>
+ * Workers identify themselves with a random access token, which is passed to them on their
+ * standard input (not on the command line, where it would be visible to other users),
+ * so that unexpected connections to the coordinator's socket are rejected.
+ * <br>
+ * If a worker is lost (e.g. its process dies or its connection fails),
+ * its outstanding lease is reissued to another worker; sampling only fails if all workers are lost.
+ */
+class DistributedSampling implements ParallelSampler
+{
+	// Protocol details
+	static final int MAGIC = 0x50534d43;
+	static final int PROTOCOL_VERSION = 3;
+	static final byte MSG_READY = 1;
+	static final byte MSG_ERROR = 2;
+	static final byte MSG_LEASE = 3;
+	static final byte MSG_PATHS = 4;
+	static final byte MSG_STOP = 5;
+	static final byte PATH_OK = 0;
+	static final byte PATH_UNKNOWN = 1;
+	static final byte PATH_ERROR = 2;
+	static final int MAX_STRING_LENGTH = 1 << 28;
+	/** Size (in bytes) of the access token for workers */
+	private static final int TOKEN_BYTES = 16;
+
+	/** Number of paths in the first leases */
+	private static final int INITIAL_LEASE_SIZE = 16;
+	/** Maximum number of paths in a lease */
+	private static final int MAX_LEASE_SIZE = 1024;
+	/** Number of leases issued ahead of the one currently being used, per worker */
+	private static final int LEASES_AHEAD_PER_WORKER = 2;
+	/** Time (ms) to wait for workers to start up and connect */
+	private static final int STARTUP_TIMEOUT = 60000;
+
+	// Log
+	private PrismLog mainLog;
+	// Seed from which the seeds for each lease are derived
+	private int seed;
+	// Socket on which workers connect
+	private ServerSocket serverSocket;
+	// Launched processes (local workers, or the commands launching remote ones)
+	private List<Process> processes;
+	// Connections to workers that started successfully
+	private List<Socket> sockets;
+
+	// Lease management (all synchronised on this object)
+	// Number of the next new lease to be issued
+	private int nextLease;
+	// Leases, from lost workers, that need to be reissued
+	private TreeSet<Integer> leasesToReissue;
+	// Paths for leases that have been completed, but not yet used
+	private Map<Integer, List<SampledPath>> completedLeases;
+	// Lease whose paths are currently being handed out (and index of next path)
+	private int currentLease;
+	private List<SampledPath> currentPaths;
+	private int next;
+	// Number of workers still running, and lost so far
+	private int numWorkersAlive;
+	private int numWorkersLost;
+	// Most recent problem with a worker
+	private String lastWorkerError;
+	// Total number of paths generated so far
+	private long numPathsGenerated;
+	// Has sampling been stopped?
+	private boolean stopped;
+
+	/**
+	 * Launch worker processes and send them details of the model and properties to be sampled.
+	 * Throws an exception (a {@link prism.PrismNotSupportedException}) if no worker could be started.
+	 * @param modulesFile The model (with constants defined)
+	 * @param constantValues Values of the model constants
+	 * @param properties The (processed) properties to be sampled
+	 * @param settings Settings (some of which are passed on to the workers)
+	 * @param mainLog Log for status messages
+	 * @param numProcesses Number of worker processes to launch on this machine
+	 * @param hosts Remote hosts to launch a worker process on, each (comma-separated, possibly empty)
+	 * @param seed Seed from which random number generator seeds for each lease are derived
+	 * @param initialState Initial state (if null, is selected randomly)
+	 * @param maxPathLength The maximum path length for sampling
+	 */
+	DistributedSampling(ModulesFile modulesFile, Values constantValues, List<Expression> properties, PrismSettings settings, PrismLog mainLog, int numProcesses,
+			String hosts, int seed, State initialState, long maxPathLength) throws PrismException
+	{
+		this.mainLog = mainLog;
+		this.seed = seed;
+		nextLease = 0;
+		leasesToReissue = new TreeSet<Integer>();
+		completedLeases = new HashMap<Integer, List<SampledPath>>();
+		currentLease = -1;
+		currentPaths = null;
+		next = 0;
+		numWorkersAlive = numWorkersLost = 0;
+		numPathsGenerated = 0;
+		stopped = false;
+		processes = new ArrayList<Process>();
+		sockets = new ArrayList<Socket>();
+
+		// Encode details of the job for the workers
+		byte job[];
+		try {
+			job = encodeJob(modulesFile, constantValues, properties, settings, initialState, maxPathLength);
+		} catch (IOException e) {
+			throw new PrismNotSupportedException(e.getMessage());
+		}
+
+		List<String> hostList = new ArrayList<String>();
+		for (String host : hosts.split(",")) {
+			if (!"".equals(host.trim()))
+				hostList.add(host.trim());
+		}
+		try {
+			// Listen for connections from workers (only locally, unless there are remote hosts)
+			serverSocket = hostList.isEmpty() ? new ServerSocket(0, 50, InetAddress.getLoopbackAddress()) : new ServerSocket(0);
+			// Launch the workers
+			String token = createToken();
+			int numWorkers = numProcesses + hostList.size();
+			for (int w = 0; w < numWorkers; w++) {
+				List<String> command = w < numProcesses ? localWorkerCommand(w) : remoteWorkerCommand(settings, hostList.get(w - numProcesses), w);
+				ProcessBuilder pb = new ProcessBuilder(command);
+				pb.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+				pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+				Process process = pb.start();
+				processes.add(process);
+				// Pass the access token on the worker's standard input
+				try (OutputStream stdin = process.getOutputStream()) {
+					stdin.write((token + "\n").getBytes(StandardCharsets.UTF_8));
+				} catch (IOException e) {
+					// Worker has already exited; this is detected when connecting
+				}
+			}
+			// Wait for them to connect and send them the job
+			connectWorkers(numWorkers, token, job);
+		} catch (IOException e) {
+			shutdown();
+			throw new PrismNotSupportedException("could not launch worker processes: " + e.getMessage());
+		}
+		if (numWorkersAlive == 0) {
+			shutdown();
+			throw new PrismNotSupportedException("no worker processes started" + (lastWorkerError == null ? "" : ": " + lastWorkerError));
+		}
+		if (numWorkersAlive < processes.size()) {
+			mainLog.printWarning("Only " + numWorkersAlive + " of " + processes.size() + " sampling worker processes started"
+					+ (lastWorkerError == null ? "" : " (" + lastWorkerError + ")") + ".");
+		}
+		// Start a thread to manage each worker
+		for (final Socket socket : sockets) {
+			Thread thread = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					manageWorker(socket);
+				}
+			}, "sampling-worker-" + socket.getPort());
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Get the number of worker processes currently running.
+	 */
+	synchronized int getNumWorkers()
+	{
+		return numWorkersAlive;
+	}
+
+	/**
+	 * Get the number of worker processes lost during sampling.
+	 */
+	synchronized int getNumWorkersLost()
+	{
+		return numWorkersLost;
+	}
+
+	// Methods for ParallelSampler
+
+	@Override
+	public synchronized SampledPath nextPath() throws PrismException
+	{
+		// Move on to the next lease, if needed, waiting for it to be completed
+		while (currentPaths == null || next >= currentPaths.size()) {
+			if (currentPaths != null || currentLease == -1) {
+				currentLease++;
+				currentPaths = null;
+				next = 0;
+				// Leases can now be issued further ahead
+				notifyAll();
+			}
+			currentPaths = completedLeases.remove(currentLease);
+			if (currentPaths == null) {
+				if (numWorkersAlive == 0) {
+					throw new PrismException("All sampling worker processes were lost" + (lastWorkerError == null ? "" : " (" + lastWorkerError + ")"));
+				}
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					throw new PrismException("Distributed sampling was interrupted");
+				}
+			}
+		}
+		SampledPath sampledPath = currentPaths.get(next++);
+		if (sampledPath.error != null) {
+			throw sampledPath.error;
+		}
+		return sampledPath;
+	}
+
+	@Override
+	public synchronized long getNumPathsGenerated()
+	{
+		return numPathsGenerated;
+	}
+
+	@Override
+	public void shutdown()
+	{
+		synchronized (this) {
+			stopped = true;
+			notifyAll();
+		}
+		// Closing connections stops workers that are busy; idle ones are sent MSG_STOP
+		try {
+			if (serverSocket != null)
+				serverSocket.close();
+		} catch (IOException e) {
+			// Ignore
+		}
+		for (Process process : processes) {
+			try {
+				process.getOutputStream().close();
+			} catch (IOException e) {
+				// Ignore
+			}
+		}
+		synchronized (this) {
+			for (Socket socket : sockets) {
+				try {
+					socket.close();
+				} catch (IOException e) {
+					// Ignore
+				}
+			}
+		}
+		for (Process process : processes) {
+			process.destroy();
+		}
+	}
+
+	// Lease management
+
+	/**
+	 * Get the number of paths in a lease.
+	 */
+	static int getLeaseSize(int lease)
+	{
+		// Leases get larger, to reduce communication, but start small
+		// so that not too many paths are wasted if sampling stops early
+		return Math.min(MAX_LEASE_SIZE, INITIAL_LEASE_SIZE << Math.min(6, lease / 16));
+	}
+
+	/**
+	 * Get a lease for a worker to generate, waiting until one is available.
+	 * Returns -1 if sampling has stopped.
+	 */
+	private synchronized int takeLease() throws InterruptedException
+	{
+		while (!stopped) {
+			if (!leasesToReissue.isEmpty()) {
+				return leasesToReissue.pollFirst();
+			}
+			if (nextLease <= currentLease + LEASES_AHEAD_PER_WORKER * numWorkersAlive) {
+				return nextLease++;
+			}
+			wait();
+		}
+		return -1;
+	}
+
+	/**
+	 * Store the paths for a completed lease.
+	 */
+	private synchronized void completeLease(int lease, List<SampledPath> paths)
+	{
+		completedLeases.put(lease, paths);
+		numPathsGenerated += paths.size();
+		notifyAll();
+	}
+
+	/**
+	 * Record that a worker has been lost, with lease {@code lease} (or -1 if none) outstanding.
+	 */
+	private synchronized void workerLost(int lease, String error)
+	{
+		if (lease >= 0) {
+			leasesToReissue.add(lease);
+		}
+		numWorkersAlive--;
+		if (!stopped) {
+			numWorkersLost++;
+			lastWorkerError = error;
+		}
+		notifyAll();
+	}
+
+	// Worker management
+
+	/**
+	 * Wait for {@code numWorkers} launched workers to connect, and send each the job.
+	 * Workers that exit, or fail to connect or start the job within the timeout, are ignored.
+	 */
+	private void connectWorkers(int numWorkers, String token, byte job[]) throws IOException
+	{
+		boolean connected[] = new boolean[numWorkers];
+		int numConnected = 0;
+		long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT;
+		serverSocket.setSoTimeout(200);
+		while (numConnected < numWorkers && System.currentTimeMillis() < deadline) {
+			// Stop waiting once all workers have either connected or exited
+			boolean waiting = false;
+			for (int w = 0; w < numWorkers; w++) {
+				if (!connected[w] && processes.get(w).isAlive())
+					waiting = true;
+			}
+			if (!waiting) {
+				break;
+			}
+			Socket socket;
+			try {
+				socket = serverSocket.accept();
+			} catch (SocketTimeoutException e) {
+				continue;
+			}
+			try {
+				socket.setSoTimeout(STARTUP_TIMEOUT);
+				socket.setTcpNoDelay(true);
+				socket.setKeepAlive(true);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+				// Check worker identity (ignore any unexpected connections)
+				int w = in.readInt() == MAGIC ? in.readInt() : -1;
+				if (w < 0 || w >= numWorkers || connected[w] || !tokenMatches(token, readString(in))) {
+					socket.close();
+					continue;
+				}
+				connected[w] = true;
+				numConnected++;
+				// Send job and wait for it to be set up
+				out.write(job);
+				out.flush();
+				byte msg = in.readByte();
+				if (msg == MSG_READY) {
+					socket.setSoTimeout(0);
+					sockets.add(socket);
+					numWorkersAlive++;
+				} else {
+					lastWorkerError = msg == MSG_ERROR ? readString(in) : "unexpected response";
+					socket.close();
+				}
+			} catch (IOException e) {
+				lastWorkerError = e.getMessage();
+				socket.close();
+			}
+		}
+		// No more workers can join now
+		serverSocket.close();
+	}
+
+	/**
+	 * Repeatedly give leases to a worker and collect the resulting paths,
+	 * until sampling stops or the worker is lost.
+	 */
+	private void manageWorker(Socket socket)
+	{
+		int lease = -1;
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			while (true) {
+				lease = takeLease();
+				if (lease < 0) {
+					out.writeByte(MSG_STOP);
+					out.flush();
+					break;
+				}
+				out.writeByte(MSG_LEASE);
+				out.writeInt(lease);
+				out.writeInt(getLeaseSize(lease));
+				out.writeInt(RandomNumberGenerator.deriveSeed(seed, lease));
+				out.flush();
+				if (in.readByte() != MSG_PATHS || in.readInt() != lease) {
+					throw new IOException("unexpected response from worker");
+				}
+				int n = in.readInt();
+				List<SampledPath> paths = new ArrayList<SampledPath>(n);
+				for (int i = 0; i < n; i++) {
+					paths.add(readPath(in));
+				}
+				completeLease(lease, paths);
+				lease = -1;
+			}
+			socket.close();
+			synchronized (this) {
+				numWorkersAlive--;
+			}
+		} catch (IOException | InterruptedException e) {
+			workerLost(lease, e.getMessage());
+			try {
+				socket.close();
+			} catch (IOException e2) {
+				// Ignore
+			}
+		}
+	}
+
+	/**
+	 * Check whether the token sent by a worker matches the expected one
+	 * (in time independent of where they differ).
+	 */
+	private static boolean tokenMatches(String expected, String received)
+	{
+		return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), received.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Create a (cryptographically strong) random access token for workers, as a hex string.
+	 */
+	private static String createToken()
+	{
+		byte bytes[] = new byte[TOKEN_BYTES];
+		new SecureRandom().nextBytes(bytes);
+		StringBuilder sb = new StringBuilder();
+		for (byte b : bytes) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Build the command to launch a worker process on this machine.
+	 */
+	private List<String> localWorkerCommand(int w)
+	{
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(DistributedSamplingWorker.class.getName());
+		command.add(InetAddress.getLoopbackAddress().getHostAddress());
+		command.add("" + serverSocket.getLocalPort());
+		command.add("" + w);
+		return command;
+	}
+
+	/**
+	 * Build the command to launch a worker process on a remote host,
+	 * from the template in the settings.
+	 */
+	private List<String> remoteWorkerCommand(PrismSettings settings, String host, int w) throws IOException
+	{
+		String address = InetAddress.getLocalHost().getCanonicalHostName();
+		List<String> command = new ArrayList<String>();
+		for (String s : settings.getString(PrismSettings.SIMULATOR_WORKER_COMMAND).trim().split("\\s+")) {
+			s = s.replace("%h", host).replace("%c", System.getProperty("java.class.path"));
+			s = s.replace("%a", address).replace("%p", "" + serverSocket.getLocalPort());
+			command.add(s);
+		}
+		// Worker index is always passed last (the access token is sent on standard input)
+		command.add("" + w);
+		return command;
+	}
+
+	// Encoding of messages
+
+	/**
+	 * Encode the details of the sampling job to be sent to workers.
+	 */
+	private static byte[] encodeJob(ModulesFile modulesFile, Values constantValues, List<Expression> properties, PrismSettings settings, State initialState,
+			long maxPathLength) throws IOException, PrismLangException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(PROTOCOL_VERSION);
+		// Model/properties are sent as text, so restore any parentheses removed by simplification
+		writeString(out, modulesFile.deepCopy().accept(new AddParentheses()).toString());
+		int n = constantValues == null ? 0 : constantValues.getNumValues();
+		out.writeInt(n);
+		for (int i = 0; i < n; i++) {
+			writeString(out, constantValues.getName(i));
+			writeValue(out, constantValues.getValue(i));
+		}
+		StringBuilder props = new StringBuilder();
+		for (Expression prop : properties) {
+			props.append(prop.deepCopy().accept(new AddParentheses())).append(";\n");
+		}
+		out.writeInt(properties.size());
+		writeString(out, props.toString());
+		out.writeBoolean(settings.getBoolean(PrismSettings.PRISM_DO_PROB_CHECKS));
+		out.writeDouble(settings.getDouble(PrismSettings.PRISM_SUM_ROUND_OFF));
+		out.writeBoolean(settings.getBoolean(PrismSettings.PRISM_COMPILE_EXPRS));
+		out.writeBoolean(settings.getBoolean(PrismSettings.PRISM_GUARD_INDEX));
+		out.writeInt(settings.getInteger(PrismSettings.PRISM_TRANSITION_CACHE_SIZE));
+		writeString(out, settings.getString(PrismSettings.SIMULATOR_RNG));
+		out.writeLong(maxPathLength);
+		out.writeBoolean(initialState != null);
+		if (initialState != null) {
+			out.writeInt(initialState.varValues.length);
+			for (Object value : initialState.varValues) {
+				writeValue(out, value);
+			}
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Write a sample path to a stream.
+	 */
+	static void writePath(DataOutputStream out, SampledPath path) throws IOException
+	{
+		if (path.error != null) {
+			out.writeByte(PATH_ERROR);
+			writeString(out, path.error.getMessage());
+		} else if (path.length < 0) {
+			out.writeByte(PATH_UNKNOWN);
+		} else {
+			out.writeByte(PATH_OK);
+			out.writeLong(path.length);
+			out.writeInt(path.values.length);
+			for (Object value : path.values) {
+				writeValue(out, value);
+			}
+		}
+	}
+
+	/**
+	 * Read a sample path from a stream.
+	 */
+	static SampledPath readPath(DataInputStream in) throws IOException
+	{
+		SampledPath path = new SampledPath();
+		switch (in.readByte()) {
+		case PATH_ERROR:
+			path.error = new PrismException(readString(in));
+			break;
+		case PATH_UNKNOWN:
+			path.length = -1;
+			break;
+		case PATH_OK:
+			path.length = in.readLong();
+			path.values = new Object[in.readInt()];
+			for (int i = 0; i < path.values.length; i++) {
+				path.values[i] = readValue(in);
+			}
+			break;
+		default:
+			throw new IOException("invalid path data");
+		}
+		return path;
+	}
+
+	/**
+	 * Write a value (Boolean, Integer or Double) to a stream.
+	 */
+	static void writeValue(DataOutputStream out, Object value) throws IOException
+	{
+		if (value instanceof Boolean) {
+			out.writeByte('b');
+			out.writeBoolean((Boolean) value);
+		} else if (value instanceof Integer) {
+			out.writeByte('i');
+			out.writeInt((Integer) value);
+		} else if (value instanceof Double) {
+			out.writeByte('d');
+			out.writeDouble((Double) value);
+		} else {
+			throw new IOException("cannot send value " + value + " to worker");
+		}
+	}
+
+	/**
+	 * Read a value (Boolean, Integer or Double) from a stream.
+	 */
+	static Object readValue(DataInputStream in) throws IOException
+	{
+		switch (in.readByte()) {
+		case 'b':
+			return in.readBoolean();
+		case 'i':
+			return in.readInt();
+		case 'd':
+			return in.readDouble();
+		default:
+			throw new IOException("invalid value");
+		}
+	}
+
+	/**
+	 * Write a string (of any length) to a stream.
+	 */
+	static void writeString(DataOutputStream out, String s) throws IOException
+	{
+		byte bytes[] = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Read a string (of any length) from a stream.
+	 */
+	static String readString(DataInputStream in) throws IOException
+	{
+		int n = in.readInt();
+		if (n < 0 || n > MAX_STRING_LENGTH) {
+			throw new IOException("invalid string data");
+		}
+		byte bytes[] = new byte[n];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,193 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import parser.State;
+import parser.Values;
+import parser.ast.ModulesFile;
+import parser.ast.PropertiesFile;
+import prism.Prism;
+import prism.PrismDevNullLog;
+import prism.PrismException;
+import prism.PrismSettings;
+import simulator.ParallelSampler.SampledPath;
+
+/**
+ * A worker process for distributed generation of sample paths (see {@link DistributedSampling}).
+ * It connects to the coordinator (the main PRISM process), receives the model and properties,
+ * and then generates batches of paths as requested, sending back the sampler values for each one.
+ * <br>
+ * Usage: {@code java -cp <classpath> simulator.DistributedSamplingWorker <host> <port> <index>},
+ * where {@code host}/{@code port} is the address of the coordinator, and {@code index}
+ * identifies the worker to it, along with an access token read from the first line of standard input. Workers are normally launched by the coordinator,
+ * either locally or on remote hosts (see {@link PrismSettings#SIMULATOR_WORKER_COMMAND}).
+ * No native libraries are needed.
+ */
+public class DistributedSamplingWorker
+{
+	// Connection to coordinator
+	private DataInputStream in;
+	private DataOutputStream out;
+	// Engine used to generate paths
+	private SimulatorEngine engine;
+	// Sampling parameters
+	private State initialState;
+	private long maxPathLength;
+
+	public static void main(String args[])
+	{
+		if (args.length != 3) {
+			System.err.println("Usage: java simulator.DistributedSamplingWorker <host> <port> <index> (with access token on standard input)");
+			System.exit(1);
+		}
+		try {
+			String token = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)).readLine();
+			if (token == null) {
+				throw new IOException("no access token on standard input");
+			}
+			try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+				new DistributedSamplingWorker().run(socket, Integer.parseInt(args[2]), token.trim());
+			}
+		} catch (IOException | NumberFormatException e) {
+			System.err.println("Error in sampling worker " + args[2] + ": " + e.getMessage());
+			System.exit(1);
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Connect to the coordinator, set up the job and generate paths until told to stop.
+	 */
+	private void run(Socket socket, int index, String token) throws IOException
+	{
+		socket.setTcpNoDelay(true);
+		socket.setKeepAlive(true);
+		in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		// Identify ourselves
+		out.writeInt(DistributedSampling.MAGIC);
+		out.writeInt(index);
+		DistributedSampling.writeString(out, token);
+		out.flush();
+		// Receive job and set up engine
+		try {
+			setUpJob();
+		} catch (PrismException e) {
+			out.writeByte(DistributedSampling.MSG_ERROR);
+			DistributedSampling.writeString(out, e.getMessage());
+			out.flush();
+			return;
+		}
+		out.writeByte(DistributedSampling.MSG_READY);
+		out.flush();
+		// Generate paths for each lease until stopped
+		while (true) {
+			byte msg;
+			try {
+				msg = in.readByte();
+			} catch (EOFException e) {
+				// Coordinator has gone, so stop
+				return;
+			}
+			if (msg != DistributedSampling.MSG_LEASE) {
+				return;
+			}
+			int lease = in.readInt();
+			int n = in.readInt();
+			engine.setRandomSeed(in.readInt());
+			List<SampledPath> paths = SamplingWorkers.generatePaths(engine, n, initialState, maxPathLength);
+			out.writeByte(DistributedSampling.MSG_PATHS);
+			out.writeInt(lease);
+			out.writeInt(paths.size());
+			for (SampledPath path : paths) {
+				DistributedSampling.writePath(out, path);
+			}
+			out.flush();
+		}
+	}
+
+	/**
+	 * Read details of the sampling job from the coordinator and set up the engine.
+	 */
+	private void setUpJob() throws IOException, PrismException
+	{
+		if (in.readInt() != DistributedSampling.PROTOCOL_VERSION) {
+			throw new PrismException("Incompatible version of sampling worker");
+		}
+		String modelString = DistributedSampling.readString(in);
+		Values constantValues = new Values();
+		int n = in.readInt();
+		for (int i = 0; i < n; i++) {
+			String name = DistributedSampling.readString(in);
+			constantValues.addValue(name, DistributedSampling.readValue(in));
+		}
+		int numProps = in.readInt();
+		String propertiesString = DistributedSampling.readString(in);
+		Prism prism = new Prism(new PrismDevNullLog());
+		PrismSettings settings = prism.getSettings();
+		settings.set(PrismSettings.PRISM_DO_PROB_CHECKS, in.readBoolean());
+		settings.set(PrismSettings.PRISM_SUM_ROUND_OFF, in.readDouble());
+		settings.set(PrismSettings.PRISM_COMPILE_EXPRS, in.readBoolean());
+		settings.set(PrismSettings.PRISM_GUARD_INDEX, in.readBoolean());
+		settings.set(PrismSettings.PRISM_TRANSITION_CACHE_SIZE, in.readInt());
+		settings.set(PrismSettings.SIMULATOR_RNG, DistributedSampling.readString(in));
+		maxPathLength = in.readLong();
+		initialState = null;
+		if (in.readBoolean()) {
+			initialState = new State(in.readInt());
+			for (int i = 0; i < initialState.varValues.length; i++) {
+				initialState.varValues[i] = DistributedSampling.readValue(in);
+			}
+		}
+		// Parse model/properties and load them into a simulator engine
+		ModulesFile modulesFile = prism.parseModelString(modelString);
+		ModulesFileModelGenerator modelGen = new ModulesFileModelGenerator(modulesFile, prism);
+		modelGen.setSomeUndefinedConstants(constantValues);
+		PropertiesFile propertiesFile = prism.parsePropertiesString(modulesFile, propertiesString);
+		if (propertiesFile.getNumProperties() != numProps) {
+			throw new PrismException("Could not parse properties in sampling worker");
+		}
+		engine = new SimulatorEngine(prism, prism);
+		engine.loadModel(modelGen, modelGen);
+		engine.createNewOnTheFlyPath();
+		for (int i = 0; i < numProps; i++) {
+			engine.addProperty(propertiesFile.getProperty(i), propertiesFile);
+		}
+	}
+}
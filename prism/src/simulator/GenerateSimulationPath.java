@@ -35,6 +35,7 @@ import parser.VarList;
 import prism.PrismException;
 import prism.PrismFileLog;
 import prism.PrismLog;
+import prism.PrismSettings;
 import userinterface.graph.Graph;
 
 /**
@@ -75,6 +76,9 @@ public class GenerateSimulationPath
 	private boolean simPathShowTransitionRewards= false;
 	private boolean simPathSnapshots = false;
 	private double simPathSnapshotTime = 0.0;
+	private boolean simPathBinary = false;
+	private boolean simPathCompress = false;
+	private File simPathFrom = null;
 
 	public int getNumWarnings()
 	{
@@ -117,11 +121,18 @@ public class GenerateSimulationPath
 
 		parseDetails(details);
 		PathDisplayer displayer = generateDisplayerForExport();
-		if (simPathType == PathType.SIM_PATH_DEADLOCK)
-			generateMultiplePaths(displayer);
-		else
-			generatePath(displayer);
-		displayer.close();
+		try {
+			if (simPathFrom != null)
+				displayStoredPath(displayer);
+			else if (simPathType == PathType.SIM_PATH_DEADLOCK)
+				generateMultiplePaths(displayer);
+			else
+				generatePath(displayer);
+		} finally {
+			displayer.close();
+		}
+		if (displayer instanceof PathToBinary)
+			((PathToBinary) displayer).checkError();
 	}
 
 	/**
@@ -137,7 +148,9 @@ public class GenerateSimulationPath
 
 		parseDetails(details);
 		PathDisplayer displayer = generateDisplayerForPlotting(graphModel);
-		if (simPathType == PathType.SIM_PATH_DEADLOCK)
+		if (simPathFrom != null)
+			displayStoredPath(displayer);
+		else if (simPathType == PathType.SIM_PATH_DEADLOCK)
 			generateMultiplePaths(displayer);
 		else
 			generatePath(displayer);
@@ -298,6 +311,27 @@ public class GenerateSimulationPath
 				}
 				else
 					throw new PrismException("Value for \"showtransrewards\" option must \"true\" or \"false\"");
+			} else if (ss[i].indexOf("binary=") == 0) {
+				// export in binary format?
+				String bool = ss[i].substring(7).toLowerCase();
+				if (bool.equals("true"))
+					simPathBinary = true;
+				else if (bool.equals("false"))
+					simPathBinary = false;
+				else
+					throw new PrismException("Value for \"binary\" option must \"true\" or \"false\"");
+			} else if (ss[i].indexOf("compress=") == 0) {
+				// compress (binary) export?
+				String bool = ss[i].substring(9).toLowerCase();
+				if (bool.equals("true"))
+					simPathCompress = true;
+				else if (bool.equals("false"))
+					simPathCompress = false;
+				else
+					throw new PrismException("Value for \"compress\" option must \"true\" or \"false\"");
+			} else if (ss[i].indexOf("from=") == 0) {
+				// read path from a (binary) file, rather than generating it
+				simPathFrom = new File(ss[i].substring(5));
 			} else {
 				// path of fixed number of steps
 				simPathType = PathType.SIM_PATH_NUM_STEPS;
@@ -310,8 +344,10 @@ public class GenerateSimulationPath
 				}
 			}
 		}
-		if (simPathType == null)
+		if (simPathType == null && simPathFrom == null)
 			throw new PrismException("Invalid path details \"" + details + "\"");
+		if (simPathCompress && !simPathBinary)
+			throw new PrismException("Option \"compress\" is only valid for binary paths");
 
 		// Be default, set changes=true if vars=() was specified
 		if (varsOptionGiven && !changesFalseOptionGiven) {
@@ -342,6 +378,9 @@ public class GenerateSimulationPath
 		mainLog.println(" * probs=<true|false> - display probability (or rate) of transitions taken");
 		mainLog.println(" * rewards=<true|false> - display state/transition rewards");
 		mainLog.println(" * changes=<true|false> - only display states where displayed variables change");
+		mainLog.println(" * binary=<true|false> - export the full path to the file in binary format, as it is generated");
+		mainLog.println(" * compress=<true|false> - compress the binary path file (with gzip)");
+		mainLog.println(" * from=<file> - display/export a path read from a binary path file, rather than generating one");
 	}
 
 	/**
@@ -352,6 +391,12 @@ public class GenerateSimulationPath
 		PrismLog log;
 		PathToText displayer;
 
+		if (simPathBinary) {
+			if (file == null) {
+				throw new PrismException("Binary paths can only be exported to a file");
+			}
+			return new PathToBinary(file, simPathCompress, engine.getModel(), engine.getRewardGenerator());
+		}
 		if (file != null) {
 			log = new PrismFileLog(file.getPath());
 			if (!log.ready()) {
@@ -392,6 +437,32 @@ public class GenerateSimulationPath
 		return displayer;
 	}
 
+	/**
+	 * Display a path read from a binary path file (see {@link PathToBinary}).
+	 */
+	private void displayStoredPath(PathDisplayer displayer) throws PrismException
+	{
+		mainLog.println("\nReading path from file \"" + simPathFrom + "\"...");
+		PathFromBinary pathFrom = new PathFromBinary(simPathFrom);
+		try {
+			pathFrom.checkMatchesModel(engine.getModel(), engine.getRewardGenerator());
+			if (displayer instanceof PathToText && file == null) {
+				mainLog.println();
+			}
+			pathFrom.display(displayer);
+		} finally {
+			pathFrom.close();
+		}
+
+		// Print summary of path
+		mainLog.print("\nRead path: " + pathFrom.size() + " step" + (pathFrom.size() == 1 ? "" : "s"));
+		if (file != null) {
+			mainLog.println(" (exported to " + file + ")");
+		} else {
+			mainLog.println();
+		}
+	}
+
 	/**
 	 * Generate a random (on-the-fly) path using the simulator.
 	 */
@@ -411,8 +482,9 @@ public class GenerateSimulationPath
 			break;
 		}
 
-		// Create path
-		engine.createNewPath();
+		// Create path (on-the-fly, since it is displayed as it is generated)
+		engine.createNewOnTheFlyPath();
+		seedRandomNumberGenerator();
 		// Build path
 		path = engine.getPath();
 		engine.initialisePath(initialState);
@@ -487,6 +559,7 @@ public class GenerateSimulationPath
 
 		// Create path
 		engine.createNewPath();
+		seedRandomNumberGenerator();
 		// Build path
 		for (j = 0; j < simPathRepeat; j++) {
 			path = engine.getPath();
@@ -545,6 +618,18 @@ public class GenerateSimulationPath
 		}
 	}
 
+	/**
+	 * Seed the simulator's random number generator, if a seed is specified
+	 * in the settings (see {@link PrismSettings#SIMULATOR_SEED}), so that paths are reproducible.
+	 */
+	private void seedRandomNumberGenerator()
+	{
+		int seed = engine.getSettings() == null ? 0 : engine.getSettings().getInteger(PrismSettings.SIMULATOR_SEED);
+		if (seed != 0) {
+			engine.setRandomSeed(seed);
+		}
+	}
+
 	class GenerateAndPlotThread extends Thread
 	{
 		private parser.State initialState;
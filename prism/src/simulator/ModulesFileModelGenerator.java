@@ -3,6 +3,7 @@ package simulator;
 import java.util.ArrayList;
 import java.util.List;
 
+import parser.CompiledExpression;
 import parser.State;
 import parser.Values;
 import parser.VarList;
@@ -17,6 +18,7 @@ import prism.ModelType;
 import prism.PrismComponent;
 import prism.PrismException;
 import prism.PrismLangException;
+import prism.PrismSettings;
 import prism.RewardGenerator;
 
 public class ModulesFileModelGenerator implements ModelGenerator, RewardGenerator
@@ -45,6 +47,12 @@ public class ModulesFileModelGenerator implements ModelGenerator, RewardGenerato
 	protected TransitionList transitionList;
 	// Has the transition list been built? 
 	protected boolean transitionListBuilt;
+	// Cache of transition lists for previously explored states (null if disabled)
+	protected TransitionListCache transitionListCache;
+	// Compiled reward struct guards/rewards (see Updater.CompiledRewards)
+	private Updater.CompiledRewards compiledRewards;
+	// Storage for variable values when evaluating compiled expressions
+	private int vars[];
 	
 	/**
 	 * Build a ModulesFileModelGenerator for a particular PRISM model, represented by a ModuleFile instance.
@@ -87,6 +95,28 @@ public class ModulesFileModelGenerator implements ModelGenerator, RewardGenerato
 		}
 	}
 	
+	/**
+	 * Build a ModulesFileModelGenerator that is an independent copy of another one
+	 * (which must already have been initialised), with its own copy of the (constant-free)
+	 * modules file and its own data structures for model exploration.
+	 */
+	private ModulesFileModelGenerator(ModulesFileModelGenerator other) throws PrismException
+	{
+		parent = other.parent;
+		originalModulesFile = other.originalModulesFile;
+		modulesFile = (ModulesFile) other.modulesFile.deepCopy();
+		modelType = other.modelType;
+		mfConstants = other.mfConstants;
+		varList = modulesFile.createVarList();
+		labelList = modulesFile.getLabelList();
+		labelNames = labelList.getLabelNames();
+		updater = new Updater(modulesFile, varList, parent);
+		transitionList = new TransitionList();
+		transitionListBuilt = false;
+		createTransitionListCache();
+		compileRewards();
+	}
+	
 	/**
 	 * (Re-)Initialise the class ready for model exploration
 	 * (can only be done once any constants needed have been provided)
@@ -105,6 +135,38 @@ public class ModulesFileModelGenerator implements ModelGenerator, RewardGenerato
 		updater = new Updater(modulesFile, varList, parent);
 		transitionList = new TransitionList();
 		transitionListBuilt = false;
+		createTransitionListCache();
+		compileRewards();
+	}
+	
+	/**
+	 * Create the cache of transition lists, if required.
+	 */
+	private void createTransitionListCache()
+	{
+		int cacheSize = parent == null ? 0 : parent.getSettings().getInteger(PrismSettings.PRISM_TRANSITION_CACHE_SIZE);
+		transitionListCache = cacheSize > 0 ? new TransitionListCache(cacheSize, varList) : null;
+		// Without a cache, transition lists are discarded when the next state is explored,
+		// so the choice objects within them can be recycled
+		updater.setReuseChoices(transitionListCache == null);
+	}
+	
+	/**
+	 * Get the cache of transition lists for previously explored states (null if disabled).
+	 */
+	public TransitionListCache getTransitionListCache()
+	{
+		return transitionListCache;
+	}
+	
+	/**
+	 * Compile the reward struct guards/rewards, if required (see {@link CompiledExpression}).
+	 */
+	private void compileRewards()
+	{
+		boolean compile = parent == null || parent.getSettings().getBoolean(PrismSettings.PRISM_COMPILE_EXPRS);
+		compiledRewards = new Updater.CompiledRewards(modulesFile, compile);
+		vars = new int[varList.getNumVars()];
 	}
 	
 	/**
@@ -417,6 +479,23 @@ public class ModulesFileModelGenerator implements ModelGenerator, RewardGenerato
 		return getTransitionList().getChoice(index).computeTarget(offset, exploreState);
 	}
 
+	@Override
+	public void computeTransitionTarget(int index, int offset, State target) throws PrismException
+	{
+		target.copy(exploreState);
+		getTransitionList().getChoice(index).computeTarget(offset, exploreState, target);
+	}
+
+	@Override
+	public ModelGenerator createCopy() throws PrismException
+	{
+		// Can only copy once constants are defined
+		if (mfConstants == null) {
+			return null;
+		}
+		return new ModulesFileModelGenerator(this);
+	}
+
 	@Override
 	public boolean isLabelTrue(int i) throws PrismException
 	{
@@ -465,11 +544,11 @@ public class ModulesFileModelGenerator implements ModelGenerator, RewardGenerato
 		RewardStruct rewStr = modulesFile.getRewardStruct(r);
 		int n = rewStr.getNumItems();
 		double d = 0;
+		int loadedVars[] = compiledRewards.isCompiled() && CompiledExpression.loadState(state, vars) ? vars : null;
 		for (int i = 0; i < n; i++) {
 			if (!rewStr.getRewardStructItem(i).isTransitionReward()) {
-				Expression guard = rewStr.getStates(i);
-				if (guard.evaluateBoolean(modulesFile.getConstantValues(), state)) {
-					double rew = rewStr.getReward(i).evaluateDouble(modulesFile.getConstantValues(), state);
+				if (compiledRewards.evaluateGuard(r, i, state, loadedVars)) {
+					double rew = compiledRewards.evaluateReward(r, i, state, loadedVars);
 					if (Double.isNaN(rew))
 						throw new PrismLangException("Reward structure evaluates to NaN at state " + state, rewStr.getReward(i));
 					d += rew;
@@ -485,13 +564,13 @@ public class ModulesFileModelGenerator implements ModelGenerator, RewardGenerato
 		RewardStruct rewStr = modulesFile.getRewardStruct(r);
 		int n = rewStr.getNumItems();
 		double d = 0;
+		int loadedVars[] = compiledRewards.isCompiled() && CompiledExpression.loadState(state, vars) ? vars : null;
 		for (int i = 0; i < n; i++) {
 			if (rewStr.getRewardStructItem(i).isTransitionReward()) {
-				Expression guard = rewStr.getStates(i);
 				String cmdAction = rewStr.getSynch(i);
 				if (action == null ? (cmdAction.isEmpty()) : action.equals(cmdAction)) {
-					if (guard.evaluateBoolean(modulesFile.getConstantValues(), state)) {
-						double rew = rewStr.getReward(i).evaluateDouble(modulesFile.getConstantValues(), state);
+					if (compiledRewards.evaluateGuard(r, i, state, loadedVars)) {
+						double rew = compiledRewards.evaluateReward(r, i, state, loadedVars);
 						if (Double.isNaN(rew))
 							throw new PrismLangException("Reward structure evaluates to NaN at state " + state, rewStr.getReward(i));
 						d += rew;
@@ -511,7 +590,20 @@ public class ModulesFileModelGenerator implements ModelGenerator, RewardGenerato
 	{
 		// Compute the current transition list, if required
 		if (!transitionListBuilt) {
-			updater.calculateTransitions(exploreState, transitionList);
+			if (transitionListCache != null) {
+				// If caching, reuse the transition list for this state if present
+				// (new lists are created for each state, since cached ones must not be modified)
+				Object key = transitionListCache.createKey(exploreState);
+				TransitionList cached = transitionListCache.get(key);
+				if (cached == null) {
+					cached = new TransitionList();
+					updater.calculateTransitions(exploreState, cached);
+					transitionListCache.put(key, cached);
+				}
+				transitionList = cached;
+			} else {
+				updater.calculateTransitions(exploreState, transitionList);
+			}
 			transitionListBuilt = true;
 		}
 		return transitionList;
@@ -0,0 +1,68 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import prism.PrismException;
+
+/**
+ * A source of sample paths for statistical model checking that are generated in parallel,
+ * e.g., by several threads ({@link SamplingWorkers}) or processes ({@link DistributedSampling}),
+ * for the model and properties loaded into a {@link SimulatorEngine}.
+ * Paths are handed out one at a time, so that the sampling loop in the main engine can merge them
+ * into its samplers exactly as for sequential sampling.
+ */
+interface ParallelSampler
+{
+	/**
+	 * The result of generating a sample path.
+	 */
+	static class SampledPath
+	{
+		/** Path length, or -1 if the values of some samplers were unknown */
+		long length;
+		/** Sampler values for the path (if known), as from {@link simulator.sampler.Sampler#getCurrentValue()} */
+		Object values[];
+		/** Error during path generation (or null if none) */
+		PrismException error;
+	}
+
+	/**
+	 * Get the next sample path (waiting for it to be generated, if needed).
+	 * If an error occurred while generating this path, it is thrown.
+	 */
+	SampledPath nextPath() throws PrismException;
+
+	/**
+	 * Get the total number of paths generated so far (including any not yet used).
+	 */
+	long getNumPathsGenerated();
+
+	/**
+	 * Stop generating paths and release any resources used.
+	 */
+	void shutdown();
+}
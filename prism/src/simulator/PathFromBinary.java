@@ -0,0 +1,433 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import parser.State;
+import prism.ModelInfo;
+import prism.PrismException;
+import prism.RewardGenerator;
+
+/**
+ * Class to read a simulation path from a file written by {@link PathToBinary}
+ * (compressed or not), without storing the whole path in memory.
+ * <br>
+ * The path can be passed step by step to a {@link PathDisplayer}, via {@link #display(PathDisplayer)},
+ * or accessed via the {@link PathFullInfo} interface, e.g., for {@link SimulatorEngine#loadPath(PathFullInfo)}.
+ * In the latter case, steps must be accessed in order: only the state at the most recently read step
+ * and the one before it (and the transition between them) remain available.
+ * Finding the size of the path (if it has not already been fully read) requires a separate pass over the file.
+ */
+public class PathFromBinary implements PathFullInfo
+{
+	/** File being read */
+	private File file;
+	/** Stream to read from */
+	private DataInputStream in;
+
+	// Path info (from header)
+	private List<String> varNames;
+	private byte varTypes[];
+	private int numVars;
+	private int numRewardStructs;
+	private boolean contTime;
+
+	/** Action strings read so far (indexed as in the file) */
+	private List<String> actionStrings;
+
+	/** Info about one step of the path (state, plus transition out of it, once read) */
+	private class Step
+	{
+		State state;
+		double stateRewards[];
+		double timeCumul;
+		double rewardsCumul[];
+		double time;
+		String actionString;
+		double probability;
+		double transitionRewards[];
+
+		Step()
+		{
+			state = new State(numVars);
+			stateRewards = new double[numRewardStructs];
+			rewardsCumul = new double[numRewardStructs];
+			transitionRewards = new double[numRewardStructs];
+		}
+	}
+
+	/** The two most recently read steps: index {@code current % 2} is the latest */
+	private Step steps[];
+	/** Index of the most recently read step */
+	private long current;
+	/** Has the end of the path been reached? */
+	private boolean finished;
+	/** Size of the path (-1 if not yet known) */
+	private long size = -1;
+
+	/**
+	 * Open a path file and read its header and initial state.
+	 */
+	public PathFromBinary(File file) throws PrismException
+	{
+		this.file = file;
+		try {
+			// Detect gzip compression from the first two bytes
+			InputStream is = new BufferedInputStream(new FileInputStream(file), 1 << 16);
+			is.mark(2);
+			int b1 = is.read();
+			int b2 = is.read();
+			is.reset();
+			if (b1 == (GZIPInputStream.GZIP_MAGIC & 0xFF) && b2 == (GZIPInputStream.GZIP_MAGIC >> 8)) {
+				is = new BufferedInputStream(new GZIPInputStream(is, 1 << 16), 1 << 16);
+			}
+			in = new DataInputStream(is);
+			// Read header
+			if (in.readInt() != PathToBinary.MAGIC) {
+				throw new PrismException("File \"" + file + "\" is not a PRISM path file");
+			}
+			int version = in.readInt();
+			if (version != PathToBinary.VERSION) {
+				throw new PrismException("Unsupported version (" + version + ") of path file \"" + file + "\"");
+			}
+			numVars = in.readInt();
+			varNames = new ArrayList<String>(numVars);
+			varTypes = new byte[numVars];
+			for (int i = 0; i < numVars; i++) {
+				varNames.add(in.readUTF());
+				varTypes[i] = in.readByte();
+			}
+			numRewardStructs = in.readInt();
+			contTime = in.readBoolean();
+			// Read initial state
+			actionStrings = new ArrayList<String>();
+			steps = new Step[] { new Step(), new Step() };
+			current = 0;
+			Step step = steps[0];
+			for (int i = 0; i < numVars; i++) {
+				step.state.varValues[i] = PathToBinary.readValue(in, varTypes[i]);
+			}
+			for (int i = 0; i < numRewardStructs; i++) {
+				step.stateRewards[i] = in.readDouble();
+			}
+		} catch (EOFException e) {
+			close();
+			throw new PrismException("Unexpected end of path file \"" + file + "\"");
+		} catch (IOException e) {
+			close();
+			throw new PrismException("Could not read path from file \"" + file + "\": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Check that this path's variables and rewards match those of a model.
+	 */
+	public void checkMatchesModel(ModelInfo modelInfo, RewardGenerator rewardGen) throws PrismException
+	{
+		if (!varNames.equals(modelInfo.getVarNames())) {
+			throw new PrismException("Variables of path in file \"" + file + "\" do not match the model");
+		}
+		if (numRewardStructs != rewardGen.getNumRewardStructs()) {
+			throw new PrismException("Rewards of path in file \"" + file + "\" do not match the model");
+		}
+	}
+
+	/**
+	 * Get the names of the variables in the states of the path.
+	 */
+	public List<String> getVarNames()
+	{
+		return varNames;
+	}
+
+	/**
+	 * Get the number of reward structures for which rewards are stored.
+	 */
+	public int getNumRewardStructs()
+	{
+		return numRewardStructs;
+	}
+
+	/**
+	 * Read the next step of the path, if there is one. Returns false if the end of the path was reached.
+	 */
+	public boolean readStep() throws PrismException
+	{
+		if (finished) {
+			return false;
+		}
+		try {
+			if (in.readByte() == PathToBinary.RECORD_END) {
+				size = in.readLong();
+				finished = true;
+				close();
+				return false;
+			}
+			Step prev = steps[(int) (current % 2)];
+			Step step = steps[(int) ((current + 1) % 2)];
+			// Transition info (stored with the previous step)
+			prev.time = contTime ? in.readDouble() : 1.0;
+			int index = PathToBinary.readVarInt(in);
+			if (index == actionStrings.size()) {
+				actionStrings.add(in.readUTF());
+			}
+			prev.actionString = actionStrings.get(index);
+			prev.probability = in.readDouble();
+			for (int i = 0; i < numRewardStructs; i++) {
+				prev.transitionRewards[i] = in.readDouble();
+			}
+			// New state (stored as changes to the previous one)
+			step.state.copy(prev.state);
+			int numChanged = PathToBinary.readVarInt(in);
+			for (int j = 0; j < numChanged; j++) {
+				int i = PathToBinary.readVarInt(in);
+				step.state.varValues[i] = PathToBinary.readValue(in, varTypes[i]);
+			}
+			for (int i = 0; i < numRewardStructs; i++) {
+				step.stateRewards[i] = in.readDouble();
+			}
+			// Cumulative time/rewards (up until entering new state)
+			step.timeCumul = prev.timeCumul + prev.time;
+			for (int i = 0; i < numRewardStructs; i++) {
+				step.rewardsCumul[i] = prev.rewardsCumul[i] + prev.transitionRewards[i];
+				step.rewardsCumul[i] += contTime ? prev.stateRewards[i] * prev.time : prev.stateRewards[i];
+			}
+			current++;
+			return true;
+		} catch (EOFException e) {
+			close();
+			throw new PrismException("Unexpected end of path file \"" + file + "\"");
+		} catch (IOException e) {
+			close();
+			throw new PrismException("Could not read path from file \"" + file + "\": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Pass the (remainder of the) path to a PathDisplayer object, reading it step by step.
+	 * If the path has not been read from yet, it is displayed in full.
+	 */
+	public void display(PathDisplayer displayer) throws PrismException
+	{
+		Step step = steps[(int) (current % 2)];
+		if (current == 0) {
+			displayer.start(step.state, step.stateRewards);
+		}
+		while (readStep()) {
+			Step prev = steps[(int) ((current - 1) % 2)];
+			step = steps[(int) (current % 2)];
+			displayer.step(prev.time, step.timeCumul, prev.actionString, prev.probability, prev.transitionRewards, current, step.state, step.stateRewards);
+		}
+		displayer.end();
+	}
+
+	/**
+	 * Close the file being read from.
+	 */
+	public void close()
+	{
+		try {
+			if (in != null) {
+				in.close();
+			}
+		} catch (IOException e) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * Get the stored info for step {@code step}, reading on through the path as needed.
+	 * If {@code transition} is true, the transition out of the state must also be available.
+	 */
+	private Step getStep(long step, boolean transition)
+	{
+		try {
+			long required = transition ? step + 1 : step;
+			while (current < required && readStep()) {
+				;
+			}
+		} catch (PrismException e) {
+			throw new RuntimeException(e.getMessage());
+		}
+		if (step < 0 || step > current || (transition && step == current)) {
+			throw new IndexOutOfBoundsException("Step " + step + " is outside the path");
+		}
+		if (step < current - 1) {
+			throw new IllegalStateException("Step " + step + " of path from file is no longer available (steps must be accessed in order)");
+		}
+		return steps[(int) (step % 2)];
+	}
+
+	// ACCESSORS (for PathFullInfo)
+
+	@Override
+	public long size()
+	{
+		if (size == -1) {
+			// Count steps using a separate reader
+			PathFromBinary counter = null;
+			try {
+				counter = new PathFromBinary(file);
+				while (counter.readStep()) {
+					;
+				}
+				size = counter.current;
+			} catch (PrismException e) {
+				throw new RuntimeException(e.getMessage());
+			} finally {
+				if (counter != null) {
+					counter.close();
+				}
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public State getState(int step)
+	{
+		return getStep(step, false).state;
+	}
+
+	@Override
+	public double getStateReward(int step, int rsi)
+	{
+		return getStep(step, false).stateRewards[rsi];
+	}
+
+	@Override
+	public double getCumulativeTime(int step)
+	{
+		return getStep(step, false).timeCumul;
+	}
+
+	@Override
+	public double getCumulativeReward(int step, int rsi)
+	{
+		return getStep(step, false).rewardsCumul[rsi];
+	}
+
+	@Override
+	public double getTime(int step)
+	{
+		return getStep(step, true).time;
+	}
+
+	@Override
+	public int getChoice(int step)
+	{
+		return 0;
+	}
+
+	@Override
+	public Object getAction(int step)
+	{
+		return getStep(step, true).actionString;
+	}
+
+	@Override
+	public String getActionString(int step)
+	{
+		return getStep(step, true).actionString;
+	}
+
+	@Override
+	public double getTransitionReward(int step, int rsi)
+	{
+		return getStep(step, true).transitionRewards[rsi];
+	}
+
+	@Override
+	public boolean storesStrategyMemory()
+	{
+		return false;
+	}
+
+	@Override
+	public Object getStrategyMemory(int step)
+	{
+		return null;
+	}
+
+	@Override
+	public boolean isLooping()
+	{
+		return false;
+	}
+
+	@Override
+	public long loopStart()
+	{
+		return 0;
+	}
+
+	@Override
+	public long loopEnd()
+	{
+		return 0;
+	}
+
+	@Override
+	public boolean hasRewardInfo()
+	{
+		return true;
+	}
+
+	@Override
+	public boolean hasChoiceInfo()
+	{
+		return false;
+	}
+
+	@Override
+	public boolean hasActionInfo()
+	{
+		return true;
+	}
+
+	@Override
+	public boolean hasTimeInfo()
+	{
+		return contTime;
+	}
+
+	@Override
+	public boolean hasLoopInfo()
+	{
+		return false;
+	}
+}
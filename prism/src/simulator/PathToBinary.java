@@ -0,0 +1,319 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import parser.State;
+import parser.type.Type;
+import parser.type.TypeBool;
+import parser.type.TypeDouble;
+import prism.ModelInfo;
+import prism.PrismException;
+import prism.RewardGenerator;
+
+/**
+ * Class to write a simulation path, as it is generated, to a file in a compact binary format,
+ * optionally gzip-compressed. Nothing is retained in memory apart from the last state,
+ * so this can be used for arbitrarily long paths. Paths can be read back with {@link PathFromBinary}.
+ * <br>
+ * Unlike other {@link PathDisplayer}s, the full path is always stored
+ * (display options such as variables to show are ignored).
+ * The format is: a header (variable names/types, number of reward structures,
+ * whether time is continuous, initial state and its rewards), one record per step
+ * (time spent in the previous state, for continuous-time models; action, as an index into
+ * a table of action strings built up as they first appear; probability/rate; transition rewards;
+ * the variables whose values changed; state rewards) and a final record with the number of steps.
+ */
+public class PathToBinary extends PathDisplayer
+{
+	/** Identifier at the start of path files ("PRPH") */
+	public static final int MAGIC = 0x50525048;
+	/** Version of the path file format */
+	public static final int VERSION = 1;
+
+	// Types of variables, as stored in path files
+	static final byte TYPE_INT = 0;
+	static final byte TYPE_BOOL = 1;
+	static final byte TYPE_DOUBLE = 2;
+	// Markers for records following the header
+	static final byte RECORD_END = 0;
+	static final byte RECORD_STEP = 1;
+
+	/** File being written to */
+	private File file;
+	/** Stream to write to */
+	private DataOutputStream out;
+
+	// Model/reward info
+	private ModelInfo modelInfo;
+	private int numVars;
+	private byte varTypes[];
+	private boolean contTime;
+	private int numRewardStructs;
+
+	// Writer state
+	/** Last state written */
+	private State lastState;
+	/** Indices of action strings written so far */
+	private Map<String, Integer> actionIndices;
+	/** Number of steps written so far */
+	private long numSteps;
+	/** First error when writing (if any) */
+	private IOException error;
+
+	/**
+	 * Construct a {@link PathToBinary} object, opening the file to write to.
+	 * @param file File to write path to
+	 * @param compress Whether to compress the file (with gzip)
+	 * @param modelInfo Model associated with path
+	 * @param rewardGen Rewards associated with path
+	 */
+	public PathToBinary(File file, boolean compress, ModelInfo modelInfo, RewardGenerator rewardGen) throws PrismException
+	{
+		this.file = file;
+		this.modelInfo = modelInfo;
+
+		// Get model/reward info
+		numVars = modelInfo.getNumVars();
+		varTypes = new byte[numVars];
+		for (int i = 0; i < numVars; i++) {
+			Type type = modelInfo.getVarType(i);
+			varTypes[i] = type instanceof TypeBool ? TYPE_BOOL : type instanceof TypeDouble ? TYPE_DOUBLE : TYPE_INT;
+		}
+		contTime = modelInfo.getModelType().continuousTime();
+		numRewardStructs = rewardGen.getNumRewardStructs();
+
+		// Open file
+		try {
+			OutputStream os = new FileOutputStream(file);
+			if (compress) {
+				os = new GZIPOutputStream(os, 1 << 16);
+			}
+			out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16));
+		} catch (IOException e) {
+			throw new PrismException("Could not open file \"" + file + "\" for output");
+		}
+	}
+
+	/**
+	 * Check whether any errors occurred when writing the path (the methods
+	 * called while the path is generated do not throw exceptions) and, if so, throw one.
+	 */
+	public void checkError() throws PrismException
+	{
+		if (error != null) {
+			throw new PrismException("Error writing path to file \"" + file + "\": " + error.getMessage());
+		}
+	}
+
+	// Display methods
+
+	@Override
+	public void startDisplay(State initialState, double[] initialStateRewards)
+	{
+		lastState = new State(initialState);
+		actionIndices = new HashMap<String, Integer>();
+		numSteps = 0;
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(numVars);
+			for (int i = 0; i < numVars; i++) {
+				out.writeUTF(modelInfo.getVarName(i));
+				out.writeByte(varTypes[i]);
+			}
+			out.writeInt(numRewardStructs);
+			out.writeBoolean(contTime);
+			for (int i = 0; i < numVars; i++) {
+				writeValue(out, varTypes[i], initialState.varValues[i]);
+			}
+			writeRewards(initialStateRewards);
+		} catch (IOException e) {
+			error = e;
+		}
+	}
+
+	@Override
+	public void displayStep(double timeSpent, double timeCumul, String actionString, double probability, double[] transitionRewards, long newStateIndex,
+			State newState, double[] newStateRewards)
+	{
+		if (error != null) {
+			return;
+		}
+		try {
+			out.writeByte(RECORD_STEP);
+			if (contTime) {
+				out.writeDouble(timeSpent);
+			}
+			// Action: index into table, followed by the string itself if new
+			Integer index = actionIndices.get(actionString);
+			if (index == null) {
+				writeVarInt(out, actionIndices.size());
+				out.writeUTF(actionString == null ? "" : actionString);
+				actionIndices.put(actionString, actionIndices.size());
+			} else {
+				writeVarInt(out, index);
+			}
+			out.writeDouble(probability);
+			writeRewards(transitionRewards);
+			// State: just the variables that changed
+			int numChanged = 0;
+			for (int i = 0; i < numVars; i++) {
+				if (!newState.varValues[i].equals(lastState.varValues[i])) {
+					numChanged++;
+				}
+			}
+			writeVarInt(out, numChanged);
+			for (int i = 0; i < numVars; i++) {
+				if (!newState.varValues[i].equals(lastState.varValues[i])) {
+					writeVarInt(out, i);
+					writeValue(out, varTypes[i], newState.varValues[i]);
+				}
+			}
+			lastState.copy(newState);
+			writeRewards(newStateRewards);
+			numSteps++;
+		} catch (IOException e) {
+			error = e;
+		}
+	}
+
+	@Override
+	public void displaySnapshot(double timeCumul, double[] transitionRewards, long newStateIndex, State newState, double[] newStateRewards)
+	{
+		// Not used: paths are always stored in full
+	}
+
+	@Override
+	public void endDisplay()
+	{
+		if (error != null) {
+			return;
+		}
+		try {
+			out.writeByte(RECORD_END);
+			out.writeLong(numSteps);
+			out.flush();
+		} catch (IOException e) {
+			error = e;
+		}
+	}
+
+	@Override
+	public void close()
+	{
+		try {
+			out.close();
+		} catch (IOException e) {
+			if (error == null) {
+				error = e;
+			}
+		}
+	}
+
+	// Utility methods
+
+	/**
+	 * Write an array of rewards.
+	 */
+	private void writeRewards(double rewards[]) throws IOException
+	{
+		for (int i = 0; i < numRewardStructs; i++) {
+			out.writeDouble(rewards[i]);
+		}
+	}
+
+	/**
+	 * Write the value of a variable of the specified type.
+	 */
+	static void writeValue(DataOutput out, byte type, Object value) throws IOException
+	{
+		switch (type) {
+		case TYPE_BOOL:
+			out.writeBoolean((Boolean) value);
+			break;
+		case TYPE_DOUBLE:
+			out.writeDouble((Double) value);
+			break;
+		default:
+			out.writeInt((Integer) value);
+		}
+	}
+
+	/**
+	 * Read the value of a variable of the specified type.
+	 */
+	static Object readValue(DataInput in, byte type) throws IOException
+	{
+		switch (type) {
+		case TYPE_BOOL:
+			return in.readBoolean();
+		case TYPE_DOUBLE:
+			return in.readDouble();
+		default:
+			return in.readInt();
+		}
+	}
+
+	/**
+	 * Write a non-negative integer in a variable number of bytes (7 bits per byte).
+	 */
+	static void writeVarInt(DataOutput out, int i) throws IOException
+	{
+		while ((i & ~0x7F) != 0) {
+			out.writeByte((i & 0x7F) | 0x80);
+			i >>>= 7;
+		}
+		out.writeByte(i);
+	}
+
+	/**
+	 * Read a non-negative integer written by {@link #writeVarInt(DataOutput, int)}.
+	 */
+	static int readVarInt(DataInput in) throws IOException
+	{
+		int i = 0;
+		for (int shift = 0;; shift += 7) {
+			int b = in.readUnsignedByte();
+			i |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return i;
+			}
+		}
+	}
+}
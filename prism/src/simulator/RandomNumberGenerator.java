@@ -27,31 +27,79 @@
 
 package simulator;
 
-import java.util.Date;
-
-import cern.jet.random.Exponential;
-import cern.jet.random.Uniform;
-import cern.jet.random.engine.MersenneTwister;
-
 /**
  * Random number generator for the simulator.
- * Currently, uses the Colt library.
+ * The underlying source of random numbers is pluggable (see {@link RandomSource});
+ * by default, the Mersenne Twister from the Colt library is used.
  */
 public class RandomNumberGenerator
 {
-	private MersenneTwister random;
-	private Uniform uniform;
-	private Exponential exponential;
+	private RandomSource source;
 
 	/**
 	 * Create a new random number generator (seeded, by default, with the current time).
 	 */
 	public RandomNumberGenerator()
 	{
-		random = new MersenneTwister(new Date());
-		uniform = new Uniform(random);
-		// Create exponential generator (rate 1.0 but this is ignored from now on)
-		exponential = new Exponential(1.0, random);
+		source = new RandomSource.MersenneTwister();
+	}
+
+	/**
+	 * Create a new random number generator, seeded with {@code seed}.
+	 */
+	public RandomNumberGenerator(int seed)
+	{
+		source = new RandomSource.MersenneTwister(seed);
+	}
+
+	/**
+	 * Create a new random number generator, using the named type of random source
+	 * (see {@link RandomSource#create(String)}), seeded with the current time.
+	 */
+	public RandomNumberGenerator(String generator)
+	{
+		source = RandomSource.create(generator);
+	}
+
+	/**
+	 * Create a new random number generator, using the named type of random source,
+	 * seeded with {@code seed}, for the {@code stream}th of several independent streams
+	 * from this seed (e.g. one per thread) or, if {@code stream} is -1, the "main" stream
+	 * (see {@link RandomSource#create(String, int, int)}).
+	 */
+	public RandomNumberGenerator(String generator, int seed, int stream)
+	{
+		source = RandomSource.create(generator, seed, stream);
+	}
+
+	/**
+	 * Create a new random number generator, using the specified source of random numbers.
+	 */
+	public RandomNumberGenerator(RandomSource source)
+	{
+		this.source = source;
+	}
+
+	/**
+	 * Get the name of the type of random source used.
+	 */
+	public String getGeneratorName()
+	{
+		return source.getName();
+	}
+
+	/**
+	 * Derive the seed for the {@code i}th of several independent streams of random numbers
+	 * (e.g. one per thread) from a single seed. The seeds for different streams are well mixed
+	 * (using the SplitMix64 finaliser), so that the streams are effectively uncorrelated.
+	 */
+	public static int deriveSeed(int seed, int i)
+	{
+		long z = seed + (i + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		z = z ^ (z >>> 31);
+		return (int) (z ^ (z >>> 32));
 	}
 
 	/**
@@ -59,7 +107,7 @@ public class RandomNumberGenerator
 	 */
 	public int randomUnifInt(int n)
 	{
-		return uniform.nextIntFromTo(0, n - 1);
+		return source.nextInt(n);
 	}
 
 	/**
@@ -67,7 +115,7 @@ public class RandomNumberGenerator
 	 */
 	public double randomUnifDouble()
 	{
-		return random.nextDouble();
+		return source.nextDouble();
 	}
 
 	/**
@@ -75,7 +123,7 @@ public class RandomNumberGenerator
 	 */
 	public double randomUnifDouble(double x)
 	{
-		return x * random.nextDouble();
+		return x * source.nextDouble();
 	}
 
 	/**
@@ -83,7 +131,6 @@ public class RandomNumberGenerator
 	 */
 	public double randomExpDouble(double x)
 	{
-		return exponential.nextDouble(x);
-		//return (-Math.log(random.nextDouble())) / x;
+		return source.nextExponential(x);
 	}
 }
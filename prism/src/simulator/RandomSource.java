@@ -0,0 +1,364 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import java.util.Date;
+
+import cern.jet.random.Exponential;
+import cern.jet.random.Uniform;
+
+/**
+ * Source of (pseudo-)random numbers for the simulator (see {@link RandomNumberGenerator}).
+ * Subclasses need only provide {@link #nextLong()}, i.e. uniformly distributed 64-bit values;
+ * uniform doubles/integers and exponentially distributed doubles (via the ziggurat method)
+ * are derived from these, but can also be overridden.
+ * <br>
+ * Several implementations are provided:
+ * the Mersenne Twister (from the Colt library), xoroshiro128++ and SplitMix64.
+ * The latter two are much faster, and have small states, which are cheap to create and seed,
+ * e.g. for one independent stream of random numbers per sampling thread.
+ */
+public abstract class RandomSource
+{
+	/** Name of the Mersenne Twister generator */
+	public static final String MERSENNE_TWISTER = "Mersenne Twister";
+	/** Name of the xoroshiro128++ generator */
+	public static final String XOROSHIRO128PP = "Xoroshiro128++";
+	/** Name of the SplitMix64 generator */
+	public static final String SPLITMIX64 = "SplitMix64";
+
+	/**
+	 * Create a random source of the named type (see {@link #MERSENNE_TWISTER}, etc.),
+	 * seeded with {@code seed}, for the {@code stream}th of several independent streams
+	 * from this seed (or, if {@code stream} is -1, the "main" stream).
+	 */
+	public static RandomSource create(String name, int seed, int stream)
+	{
+		switch (name) {
+		case MERSENNE_TWISTER:
+			return new MersenneTwister(stream == -1 ? seed : RandomNumberGenerator.deriveSeed(seed, stream));
+		case XOROSHIRO128PP:
+			Xoroshiro128PlusPlus xoroshiro = new Xoroshiro128PlusPlus(seed);
+			// Streams are non-overlapping subsequences of the main one
+			for (int i = 0; i <= stream; i++) {
+				xoroshiro.jump();
+			}
+			return xoroshiro;
+		case SPLITMIX64:
+			return new SplitMix64(stream == -1 ? seed : RandomNumberGenerator.deriveSeed(seed, stream));
+		default:
+			throw new IllegalArgumentException("Unknown random number generator \"" + name + "\"");
+		}
+	}
+
+	/**
+	 * Create a random source of the named type (see {@link #MERSENNE_TWISTER}, etc.),
+	 * seeded with the current time.
+	 */
+	public static RandomSource create(String name)
+	{
+		if (MERSENNE_TWISTER.equals(name)) {
+			return new MersenneTwister();
+		}
+		return create(name, (int) (System.nanoTime() ^ System.currentTimeMillis()), -1);
+	}
+
+	/**
+	 * Get the name of this type of random source.
+	 */
+	public abstract String getName();
+
+	/**
+	 * Get a uniformly distributed random 64-bit value.
+	 */
+	public abstract long nextLong();
+
+	/**
+	 * Get a uniformly distributed random double in the range (0,1).
+	 */
+	public double nextDouble()
+	{
+		// 53 random bits, offset to the middle of the interval, so never 0
+		return ((nextLong() >>> 11) + 0.5) * 0x1.0p-53;
+	}
+
+	/**
+	 * Get a uniformly distributed random integer in the range [0,...,n-1], for n &gt; 0.
+	 */
+	public int nextInt(int n)
+	{
+		// Lemire's method: multiply, and reject the (rare) biased cases
+		long m = (nextLong() >>> 32) * n;
+		long l = m & 0xFFFFFFFFL;
+		if (l < n) {
+			long t = (0x100000000L - n) % n;
+			while (l < t) {
+				m = (nextLong() >>> 32) * n;
+				l = m & 0xFFFFFFFFL;
+			}
+		}
+		return (int) (m >>> 32);
+	}
+
+	/**
+	 * Get a random double according to an exponential distribution with rate {@code rate}.
+	 */
+	public double nextExponential(double rate)
+	{
+		return nextStandardExponential() / rate;
+	}
+
+	// Ziggurat method for exponential distribution (Marsaglia/Tsang, J. Stat. Softw., 2000),
+	// with 256 layers, the layer and the position within it being taken from separate random bits
+
+	private static final double ZIG_R = 7.69711747013104972;
+	private static final long ZIG_K[] = new long[256];
+	private static final double ZIG_W[] = new double[256];
+	private static final double ZIG_F[] = new double[256];
+
+	static {
+		double m2 = 4294967296.0;
+		double de = 7.697117470131487, te = de, ve = 3.949659822581572e-3;
+		double q = ve / Math.exp(-de);
+		ZIG_K[0] = (long) ((de / q) * m2);
+		ZIG_K[1] = 0;
+		ZIG_W[0] = q / m2;
+		ZIG_W[255] = de / m2;
+		ZIG_F[0] = 1.0;
+		ZIG_F[255] = Math.exp(-de);
+		for (int i = 254; i >= 1; i--) {
+			de = -Math.log(ve / de + Math.exp(-de));
+			ZIG_K[i + 1] = (long) ((de / te) * m2);
+			te = de;
+			ZIG_F[i] = Math.exp(-de);
+			ZIG_W[i] = de / m2;
+		}
+	}
+
+	/**
+	 * Get a random double according to an exponential distribution with rate 1,
+	 * using the ziggurat method.
+	 */
+	protected double nextStandardExponential()
+	{
+		long r = nextLong();
+		int iz = (int) (r >>> 56);
+		long jz = (r >>> 24) & 0xFFFFFFFFL;
+		// Fast case (~99% of the time): inside a layer
+		if (jz < ZIG_K[iz]) {
+			return jz * ZIG_W[iz];
+		}
+		while (true) {
+			// Base layer: sample from the tail
+			if (iz == 0) {
+				return ZIG_R - Math.log(nextDouble());
+			}
+			// Wedge: accept/reject
+			double x = jz * ZIG_W[iz];
+			if (ZIG_F[iz] + nextDouble() * (ZIG_F[iz - 1] - ZIG_F[iz]) < Math.exp(-x)) {
+				return x;
+			}
+			r = nextLong();
+			iz = (int) (r >>> 56);
+			jz = (r >>> 24) & 0xFFFFFFFFL;
+			if (jz < ZIG_K[iz]) {
+				return jz * ZIG_W[iz];
+			}
+		}
+	}
+
+	/**
+	 * Compute the next value of a SplitMix64 sequence (from its current state, i.e. the previous value)
+	 * and mix it (using the SplitMix64 finaliser). Used for seeding.
+	 */
+	protected static long splitMix64(long state)
+	{
+		long z = state;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Mersenne Twister generator, from the Colt library.
+	 * This was the only generator used by the simulator previously,
+	 * and produces exactly the same random numbers as before.
+	 */
+	public static class MersenneTwister extends RandomSource
+	{
+		private cern.jet.random.engine.MersenneTwister random;
+		private Uniform uniform;
+		private Exponential exponential;
+
+		/**
+		 * Create a Mersenne Twister, seeded with the current time.
+		 */
+		public MersenneTwister()
+		{
+			random = new cern.jet.random.engine.MersenneTwister(new Date());
+			init();
+		}
+
+		/**
+		 * Create a Mersenne Twister, seeded with {@code seed}.
+		 */
+		public MersenneTwister(int seed)
+		{
+			random = new cern.jet.random.engine.MersenneTwister(seed);
+			init();
+		}
+
+		private void init()
+		{
+			uniform = new Uniform(random);
+			// Create exponential generator (rate 1.0 but this is ignored from now on)
+			exponential = new Exponential(1.0, random);
+		}
+
+		@Override
+		public String getName()
+		{
+			return MERSENNE_TWISTER;
+		}
+
+		@Override
+		public long nextLong()
+		{
+			return random.nextLong();
+		}
+
+		@Override
+		public double nextDouble()
+		{
+			return random.nextDouble();
+		}
+
+		@Override
+		public int nextInt(int n)
+		{
+			return uniform.nextIntFromTo(0, n - 1);
+		}
+
+		@Override
+		public double nextExponential(double rate)
+		{
+			return exponential.nextDouble(rate);
+		}
+	}
+
+	/**
+	 * xoroshiro128++ generator (Blackman/Vigna, 2019): 128 bits of state, period 2^128-1.
+	 * Supports jumping ahead by 2^64 values, which gives non-overlapping streams.
+	 */
+	public static class Xoroshiro128PlusPlus extends RandomSource
+	{
+		private long s0;
+		private long s1;
+
+		/**
+		 * Create a xoroshiro128++ generator, seeded (via SplitMix64) with {@code seed}.
+		 */
+		public Xoroshiro128PlusPlus(long seed)
+		{
+			long z = seed + 0x9E3779B97F4A7C15L;
+			s0 = splitMix64(z);
+			s1 = splitMix64(z + 0x9E3779B97F4A7C15L);
+			// State must not be all zero
+			if (s0 == 0 && s1 == 0) {
+				s1 = 1;
+			}
+		}
+
+		@Override
+		public String getName()
+		{
+			return XOROSHIRO128PP;
+		}
+
+		@Override
+		public long nextLong()
+		{
+			long t0 = s0;
+			long t1 = s1;
+			long result = Long.rotateLeft(t0 + t1, 17) + t0;
+			t1 ^= t0;
+			s0 = Long.rotateLeft(t0, 49) ^ t1 ^ (t1 << 21);
+			s1 = Long.rotateLeft(t1, 28);
+			return result;
+		}
+
+		/**
+		 * Jump ahead by 2^64 values, i.e. to the start of the next of 2^64 non-overlapping subsequences.
+		 */
+		public void jump()
+		{
+			final long jump[] = { 0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L };
+			long j0 = 0;
+			long j1 = 0;
+			for (long j : jump) {
+				for (int b = 0; b < 64; b++) {
+					if ((j & (1L << b)) != 0) {
+						j0 ^= s0;
+						j1 ^= s1;
+					}
+					nextLong();
+				}
+			}
+			s0 = j0;
+			s1 = j1;
+		}
+	}
+
+	/**
+	 * SplitMix64 generator (Steele/Lea/Flood, 2014): 64 bits of state, period 2^64.
+	 */
+	public static class SplitMix64 extends RandomSource
+	{
+		private long state;
+
+		/**
+		 * Create a SplitMix64 generator, seeded with {@code seed}.
+		 */
+		public SplitMix64(long seed)
+		{
+			state = splitMix64(seed);
+		}
+
+		@Override
+		public String getName()
+		{
+			return SPLITMIX64;
+		}
+
+		@Override
+		public long nextLong()
+		{
+			state += 0x9E3779B97F4A7C15L;
+			return splitMix64(state);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import parser.State;
+import prism.PrismException;
+
+/**
+ * Generation of sample paths for statistical model checking in parallel,
+ * by several independent copies of a {@link SimulatorEngine} (one per thread),
+ * each with its own copy of the model generator, path, samplers
+ * and random number generator (seeded deterministically from a single seed).
+ * <br>
+ * Paths are generated in rounds, each worker producing a batch of paths per round
+ * (rounds get larger as sampling progresses).
+ * They are then handed out (by {@link #nextPath()}) in a fixed order, interleaving workers,
+ * so that the sampling loop in the main engine can merge them into its samplers one at a time,
+ * exactly as for sequential sampling, and stop as soon as the simulation methods say so.
+ * For a fixed seed and number of threads, results are thus reproducible.
+ */
+class SamplingWorkers implements ParallelSampler
+{
+	/** Initial number of paths generated by each worker per round */
+	private static final int INITIAL_BATCH_SIZE = 16;
+	/** Maximum number of paths generated by each worker per round */
+	private static final int MAX_BATCH_SIZE = 1024;
+	/** Maximum size of a round, as a fraction (1/n) of the paths generated so far */
+	private static final int ROUND_FRACTION = 8;
+
+	// Worker engines
+	private SimulatorEngine workers[];
+	// Thread pool
+	private ExecutorService executor;
+	// Sampling parameters
+	private State initialState;
+	private long maxPathLength;
+	// Number of paths generated by each worker in the next round
+	private int batchSize;
+	// Paths generated by each worker in the current round
+	private List<List<SampledPath>> results;
+	// Index of next path (in interleaved order) to return from the current round
+	private int next;
+	// Total number of paths generated so far
+	private long numPathsGenerated;
+
+	/**
+	 * Create workers for generating sample paths, using {@code numThreads} threads,
+	 * for the model and properties currently loaded into {@code engine}.
+	 * Throws an exception (a {@link prism.PrismNotSupportedException}) if this is not possible.
+	 * @param engine The main simulator engine
+	 * @param numThreads Number of threads
+	 * @param seed Seed from which the random number streams for each thread are derived
+	 * @param initialState Initial state (if null, is selected randomly)
+	 * @param maxPathLength The maximum path length for sampling
+	 */
+	SamplingWorkers(SimulatorEngine engine, int numThreads, int seed, State initialState, long maxPathLength) throws PrismException
+	{
+		workers = new SimulatorEngine[numThreads];
+		for (int w = 0; w < numThreads; w++) {
+			workers[w] = engine.createSamplingWorker(seed, w);
+		}
+		this.initialState = initialState;
+		this.maxPathLength = maxPathLength;
+		batchSize = INITIAL_BATCH_SIZE;
+		results = new ArrayList<List<SampledPath>>(numThreads);
+		next = 0;
+		numPathsGenerated = 0;
+		executor = Executors.newFixedThreadPool(numThreads);
+	}
+
+	/**
+	 * Get the next sample path (generating a new round of paths first, if needed).
+	 * If an error occurred while generating this path, it is thrown.
+	 */
+	@Override
+	public SampledPath nextPath() throws PrismException
+	{
+		int numWorkers = workers.length;
+		int w = next % numWorkers;
+		int b = next / numWorkers;
+		if (results.isEmpty() || b >= results.get(w).size()) {
+			runRound();
+			w = b = 0;
+		}
+		next++;
+		SampledPath sampledPath = results.get(w).get(b);
+		if (sampledPath.error != null) {
+			throw sampledPath.error;
+		}
+		return sampledPath;
+	}
+
+	/**
+	 * Generate a new round of paths, in parallel.
+	 */
+	private void runRound() throws PrismException
+	{
+		List<Future<List<SampledPath>>> futures = new ArrayList<Future<List<SampledPath>>>(workers.length);
+		for (final SimulatorEngine worker : workers) {
+			final int n = batchSize;
+			futures.add(executor.submit(new Callable<List<SampledPath>>()
+			{
+				@Override
+				public List<SampledPath> call()
+				{
+					return generatePaths(worker, n, initialState, maxPathLength);
+				}
+			}));
+		}
+		results.clear();
+		try {
+			for (Future<List<SampledPath>> future : futures) {
+				results.add(future.get());
+				numPathsGenerated += results.get(results.size() - 1).size();
+			}
+		} catch (InterruptedException e) {
+			throw new PrismException("Parallel sampling was interrupted");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new PrismException("Error during parallel sampling: " + cause);
+		}
+		next = 0;
+		// Grow rounds with the number of paths generated so far, but slowly enough that
+		// not too many paths are wasted once sampling stops (at most 1/ROUND_FRACTION)
+		long size = numPathsGenerated / (ROUND_FRACTION * workers.length);
+		batchSize = (int) Math.max(INITIAL_BATCH_SIZE, Math.min(size, MAX_BATCH_SIZE));
+	}
+
+	/**
+	 * Generate (up to) {@code n} paths with a worker engine,
+	 * from the specified initial state and up to the specified maximum length.
+	 * Generation stops early if a path fails (which will end sampling anyway).
+	 */
+	static List<SampledPath> generatePaths(SimulatorEngine worker, int n, State initialState, long maxPathLength)
+	{
+		List<SampledPath> list = new ArrayList<SampledPath>(n);
+		for (int b = 0; b < n; b++) {
+			SampledPath sampledPath = new SampledPath();
+			try {
+				sampledPath.length = worker.samplePath(initialState, maxPathLength);
+				if (sampledPath.length >= 0) {
+					sampledPath.values = worker.getSamplerValues();
+				}
+			} catch (PrismException e) {
+				sampledPath.error = e;
+			}
+			list.add(sampledPath);
+			if (sampledPath.length < 0 || sampledPath.error != null) {
+				break;
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public long getNumPathsGenerated()
+	{
+		return numPathsGenerated;
+	}
+
+	/**
+	 * Stop the worker threads.
+	 */
+	@Override
+	public void shutdown()
+	{
+		executor.shutdownNow();
+	}
+}
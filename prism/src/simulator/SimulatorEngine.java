@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import explicit.Distribution;
+import parser.CompiledExpression;
 import parser.State;
 import parser.Values;
 import parser.VarList;
@@ -57,15 +58,18 @@ import prism.PrismFileLog;
 import prism.PrismLangException;
 import prism.PrismLog;
 import prism.PrismNotSupportedException;
+import prism.PrismSettings;
 import prism.PrismUtils;
 import prism.ResultsCollection;
 import prism.RewardGenerator;
 import prism.UndefinedConstants;
 import simulator.method.SimulationMethod;
+import simulator.method.SplittingMethod;
 import simulator.sampler.Sampler;
 import strat.InvalidStrategyStateException;
 import strat.StochasticUpdateStrategy;
 import strat.StochasticUpdateStrategyProduct;
+import strat.Strategies;
 import strat.Strategy;
 import userinterface.graph.Graph;
 
@@ -138,6 +142,8 @@ public class SimulatorEngine extends PrismComponent
 	// as path.getCurrentState(); we maintain it separately for efficiency,
 	// i.e. to avoid creating new State objects at every step)
 	protected State currentState;
+	// Storage for the next state, when executing a transition (swapped with currentState afterwards)
+	protected State nextState;
 	
 	// State for which transition list applies
 	// (if null, just the default - i.e. the last state in the current path)
@@ -149,13 +155,29 @@ public class SimulatorEngine extends PrismComponent
 	// Temporary storage for manipulating states/rewards
 	protected double tmpStateRewards[];
 	protected double tmpTransitionRewards[];
+	// Temporary storage for a reference to a transition
+	private Ref tmpRef = new Ref();
 
 	// Random number generator
 	private RandomNumberGenerator rng;
 
 	// strategy information
 	private Strategy strategy;
+	// was the strategy explicitly requested for simulation (rather than generated by model checking)?
+	private boolean strategyRequested;
+	// strategy for the players other than player 1 of a game (optional)
+	private Strategy opponentStrategy;
+	// for engines used in parallel (see createSamplingWorker), their own copies of the strategies
+	// from Prism (see Strategies.copyStrategy), and the strategies that these were copied from
+	private boolean copyStrategies = false;
+	private Strategy strategySource, opponentStrategySource;
+	private Strategy strategyCopy, opponentStrategyCopy;
+	// current memory of the opponent strategy
+	// (memory for the player 1 strategy is stored in the path)
+	private Object opponentStrategyMemory;
+	// indices of states, as used by the strategies, and the model they come from
 	private Map<State, Integer> stateIds;
+	private explicit.Model stateIdsModel;
 	private List<State> states;
 
 	// TODO: remove this (not in trunk any more)
@@ -194,11 +216,13 @@ public class SimulatorEngine extends PrismComponent
 		path = null;
 		onTheFly = true;
 		currentState = null;
+		nextState = null;
 		transitionListState = null;
 		tmpStateRewards = null;
 		tmpTransitionRewards = null;
-		rng = new RandomNumberGenerator();
+		rng = new RandomNumberGenerator(getRandomNumberGeneratorName());
 		strategy = null;
+		opponentStrategy = null;
 	}
 
 	/**
@@ -246,11 +270,13 @@ public class SimulatorEngine extends PrismComponent
 	{
 		// Create state/transition/rewards storage
 		currentState = new State(numVars);
+		nextState = new State(numVars);
 		tmpStateRewards = new double[rewardGen.getNumRewardStructs()];
 		tmpTransitionRewards = new double[rewardGen.getNumRewardStructs()];
 
 		// Clear storage for strategy
 		strategy = null;
+		opponentStrategy = null;
 
 		// Create storage for labels/properties
 		labels = new ArrayList<Expression>();
@@ -320,24 +346,23 @@ public class SimulatorEngine extends PrismComponent
 				throw new PrismNotSupportedException("Random choice of multiple initial states not yet supported");
 			}
 		}
+		// Initialise strategies (if any)
+		loadStrategies();
+		Object stratMem = null;
+		if (strategy != null) {
+			stratMem = initStrategy(strategy, getStateIndex(currentState));
+		}
+		if (opponentStrategy != null) {
+			opponentStrategyMemory = initStrategy(opponentStrategy, getStateIndex(currentState));
+		}
 		// Start model exploration and get initial state reward
-		computeTransitionsForState(currentState, path.getStrategyMemoryForCurrentState());
+		computeTransitionsForState(currentState, stratMem);
 		calculateStateRewards(currentState, tmpStateRewards);
 		// Initialise stored path
 		path.initialise(currentState, tmpStateRewards);
-		strategy = prism.getStrategy();
 		path.storesStrategyMemory(strategy != null && strategy.getMemorySize() > 0);
 		if (strategy != null) {
-			// initialising the strategy
-			try {
-				if (stateIds == null || stateIds.isEmpty())
-					this.setStrategy(strategy);
-				strategy.init(stateIds.get(currentState));
-			} catch (InvalidStrategyStateException error) {
-				// TODO Auto-generated catch block
-				error.printStackTrace();
-			}
-			path.setStrategyMemoryForCurrentState(strategy.getCurrentMemoryElement());
+			path.setStrategyMemoryForCurrentState(stratMem);
 		}
 		// Reset and then update samplers for any loaded properties
 		resetSamplers();
@@ -395,7 +420,7 @@ public class SimulatorEngine extends PrismComponent
 		case DTMC:
 			// Pick a random number to determine choice/transition
 			d = rng.randomUnifDouble();
-			ref = new Ref();
+			ref = tmpRef;
 			getChoiceIndexByProbabilitySum(d, ref);
 			// Execute
 			executeTransition(ref.i, ref.offset, -1);
@@ -403,22 +428,11 @@ public class SimulatorEngine extends PrismComponent
 		case MDP:
 		case STPG:
 		case SMG:
-			if (strategy == null) {
-				// Resolve nondeterminism randomly
+			// Pick a choice as specified by the strategy for this state, if any
+			i = pickStrategyChoice();
+			if (i == -1) {
+				// Otherwise, resolve nondeterminism randomly
 				i = rng.randomUnifInt(modelGen.getNumChoices());
-			} else {
-				if ((modelType == ModelType.STPG || modelType == ModelType.SMG) && getPlayerNumber(0) == 1) {
-					// Pick a random choice as specified by the player 1 strategy
-					try {
-						Distribution next = strategy.getNextMove(getStateIndex(currentState));
-						i = next.sampleFromDistribution();
-					} catch (InvalidStrategyStateException e) {
-						throw new PrismException(e.getMessage());
-					}
-				} else {
-					// Pick a random choice
-					i = rng.randomUnifInt(modelGen.getNumChoices());
-				}
 			}
 			// Pick a random transition from this choice
 			d = rng.randomUnifDouble();
@@ -431,7 +445,7 @@ public class SimulatorEngine extends PrismComponent
 			r = modelGen.getProbabilitySum();
 			// Pick a random number to determine choice/transition
 			d = rng.randomUnifDouble(r);
-			ref = new Ref();
+			ref = tmpRef;
 			getChoiceIndexByProbabilitySum(d, ref);
 			// Execute
 			executeTimedTransition(ref.i, ref.offset, rng.randomExpDouble(r), -1);
@@ -635,17 +649,113 @@ public class SimulatorEngine extends PrismComponent
 		modelGen.exploreState(state);
 		transitionListState = state;
 		// If there is a strategy loaded, stored probabilities assigned to choices
-		if (strategy != null) {
+		// (not needed when generating paths on the fly)
+		strategyProbabilities = null;
+		if (strategy != null && !onTheFly) {
 			// For games, we just show player 1
 			if (!modelType.multiplePlayers() || getPlayerNumber(0) == 1) {
+				Integer s = stateIds.get(state);
+				Distribution move = null;
 				try {
-					strategy.setMemory(stratMem);
-					addStrategyProbabilities(strategy.getNextMove(getStateIndex(state)));
+					move = s == null ? null : getStrategyMove(strategy, stratMem, s);
 				} catch (InvalidStrategyStateException e) {
 					// Don't add info if there is a problem with the strategy
 				}
+				if (move != null) {
+					addStrategyProbabilities(move);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Pick a choice in the current state according to the strategy for its player
+	 * (the loaded strategy for MDPs or player 1 of a game; the opponent strategy for other players),
+	 * sampling with this engine's random number generator if the strategy is randomised.
+	 * Returns -1 if there is no strategy for this state, or it does not specify a choice.
+	 */
+	private int pickStrategyChoice() throws PrismException
+	{
+		Strategy strat;
+		Object stratMem;
+		if (!modelType.multiplePlayers() || getPlayerNumber(0) == 1) {
+			// A strategy from model checking only resolves choices of player 1 in games
+			strat = strategyRequested || modelType.multiplePlayers() ? strategy : null;
+			stratMem = path.getStrategyMemoryForCurrentState();
+		} else {
+			strat = opponentStrategy;
+			stratMem = opponentStrategyMemory;
+		}
+		if (strat == null) {
+			return -1;
+		}
+		Distribution move;
+		try {
+			move = getStrategyMove(strat, stratMem, getStateIndex(currentState));
+		} catch (InvalidStrategyStateException e) {
+			throw new PrismException(e.getMessage());
+		}
+		if (move == null) {
+			return -1;
+		}
+		// Sample a choice (rounding errors aside, this is the last one if we drop off the end)
+		double d = rng.randomUnifDouble();
+		int choice = -1;
+		for (Entry<Integer, Double> e : move) {
+			choice = e.getKey();
+			d -= e.getValue();
+			if (d < 0) {
+				break;
+			}
+		}
+		if (choice >= getNumChoices()) {
+			throw new PrismException("Strategy picks non-existent choice " + choice + " in state " + currentState);
+		}
+		return choice;
+	}
+
+	/**
+	 * Initialise a strategy in state {@code s} and return its memory.
+	 * Strategy objects hold their memory internally, so this, like {@link #getStrategyMove}
+	 * and {@link #updateStrategyMemory}, keeps the memory separately (e.g. in the path), setting it
+	 * in the strategy as needed. Engines used in parallel each have their own copies of strategies.
+	 */
+	private static Object initStrategy(Strategy strat, int s) throws PrismException
+	{
+		try {
+			strat.init(s);
+		} catch (InvalidStrategyStateException e) {
+			throw new PrismException("Strategy initialisation failed: " + e.getMessage());
+		}
+		return strat.getCurrentMemoryElement();
+	}
+
+	/**
+	 * Get the move of a strategy in state {@code s}, when its memory is {@code stratMem}.
+	 */
+	private static Distribution getStrategyMove(Strategy strat, Object stratMem, int s) throws InvalidStrategyStateException
+	{
+		if (stratMem != null) {
+			strat.setMemory(stratMem);
+		}
+		return strat.getNextMove(s);
+	}
+
+	/**
+	 * Update the memory {@code stratMem} of a strategy after choice {@code i} is taken,
+	 * leading to state {@code s}, and return the new memory.
+	 */
+	private static Object updateStrategyMemory(Strategy strat, Object stratMem, int i, int s) throws PrismException
+	{
+		try {
+			if (stratMem != null) {
+				strat.setMemory(stratMem);
 			}
+			strat.updateMemory(i, s);
+		} catch (InvalidStrategyStateException e) {
+			throw new PrismException("Strategy update failed: " + e.getMessage());
 		}
+		return strat.getCurrentMemoryElement();
 	}
 
 	/**
@@ -684,15 +794,16 @@ public class SimulatorEngine extends PrismComponent
 			// (just look at states for now)
 			int numChoices = modelGen.getNumChoices();
 			boolean found = false;
-			for (int j = 0; j < numChoices; j++) {
+			for (int j = 0; j < numChoices && !found; j++) {
 				int numTransitions = modelGen.getNumTransitions(j);
 				for (int offset = 0; offset < numTransitions; offset++) {
 					if (modelGen.computeTransitionTarget(j, offset).equals(nextState)) {
 						found = true;
+						int index = modelGen.getTotalIndexOfTransition(j, offset);
 						if (modelType.continuousTime() && newPath.hasTimeInfo())
-							manualTransition(j, newPath.getTime(i));
+							manualTransition(index, newPath.getTime(i));
 						else
-							manualTransition(j);
+							manualTransition(index);
 						break;
 					}
 				}
@@ -912,22 +1023,22 @@ public class SimulatorEngine extends PrismComponent
 		String actionString = modelGen.getChoiceActionString(i);
 		// Compute its transition rewards
 		calculateTransitionRewards(path.getCurrentState(), action, tmpTransitionRewards);
-		// Compute next state
-		currentState.copy(modelGen.computeTransitionTarget(i, offset));
+		// Compute next state (in place, to avoid creating a new State object)
+		computeNextState(i, offset);
 		// Compute state rewards for new state
 		calculateStateRewards(currentState, tmpStateRewards);
-		// Update strategy
+		// Update strategies
+		Object stratMem = null;
 		if (strategy != null) {
-			try {
-				strategy.updateMemory(i, stateIds.get(currentState));
-			} catch (InvalidStrategyStateException error) {
-				throw new PrismException("Strategy update failed");
-			}
+			stratMem = updateStrategyMemory(strategy, path.getStrategyMemoryForCurrentState(), i, getStateIndex(currentState));
+		}
+		if (opponentStrategy != null) {
+			opponentStrategyMemory = updateStrategyMemory(opponentStrategy, opponentStrategyMemory, i, getStateIndex(currentState));
 		}
 		// Update path
 		path.addStep(index, action, actionString, p, tmpTransitionRewards, currentState, tmpStateRewards, modelGen);
 		if (strategy != null) {
-			path.setStrategyMemoryForCurrentState(strategy.getCurrentMemoryElement());
+			path.setStrategyMemoryForCurrentState(stratMem);
 		}
 		// Explore new state in model generator
 		computeTransitionsForState(currentState, path.getStrategyMemoryForCurrentState());
@@ -959,22 +1070,22 @@ public class SimulatorEngine extends PrismComponent
 		String actionString = modelGen.getChoiceActionString(i);
 		// Compute its transition rewards
 		calculateTransitionRewards(path.getCurrentState(), action, tmpTransitionRewards);
-		// Compute next state
-		currentState.copy(modelGen.computeTransitionTarget(i, offset));
+		// Compute next state (in place, to avoid creating a new State object)
+		computeNextState(i, offset);
 		// Compute state rewards for new state
 		calculateStateRewards(currentState, tmpStateRewards);
-		// Update strategy
+		// Update strategies
+		Object stratMem = null;
 		if (strategy != null) {
-			try {
-				strategy.updateMemory(i, stateIds.get(currentState));
-			} catch (InvalidStrategyStateException error) {
-				throw new PrismException("Strategy update failed");
-			}
+			stratMem = updateStrategyMemory(strategy, path.getStrategyMemoryForCurrentState(), i, getStateIndex(currentState));
+		}
+		if (opponentStrategy != null) {
+			opponentStrategyMemory = updateStrategyMemory(opponentStrategy, opponentStrategyMemory, i, getStateIndex(currentState));
 		}
 		// Update path
 		path.addStep(time, index, action, actionString, p, tmpTransitionRewards, currentState, tmpStateRewards, modelGen);
 		if (strategy != null) {
-			path.setStrategyMemoryForCurrentState(strategy.getCurrentMemoryElement());
+			path.setStrategyMemoryForCurrentState(stratMem);
 		}
 		// Explore new state in model generator
 		computeTransitionsForState(currentState, path.getStrategyMemoryForCurrentState());
@@ -982,6 +1093,19 @@ public class SimulatorEngine extends PrismComponent
 		updateSamplers();
 	}
 
+	/**
+	 * Compute the target of a transition from the current transition list,
+	 * specified by index of its choice and offset within it, and make it the current state.
+	 * The target is computed into {@code nextState}, which is then swapped with {@code currentState}.
+	 */
+	private void computeNextState(int i, int offset) throws PrismException
+	{
+		modelGen.computeTransitionTarget(i, offset, nextState);
+		State tmp = currentState;
+		currentState = nextState;
+		nextState = tmp;
+	}
+
 	/**
 	 * Reset samplers for any loaded properties.
 	 */
@@ -1737,7 +1861,11 @@ public class SimulatorEngine extends PrismComponent
 
 		// As long as there are at least some valid props, do sampling
 		if (validPropsCount > 0) {
-			doSampling(initialState, maxPathLength);
+			if (simMethod instanceof SplittingMethod) {
+				doSplitting(results, indices, initialState, maxPathLength);
+			} else {
+				doSampling(initialState, maxPathLength);
+			}
 		}
 
 		// Process the results
@@ -1763,7 +1891,10 @@ public class SimulatorEngine extends PrismComponent
 		if (results.length > 0) {
 			ModelType currentModelType = modelGen.getModelType();
 			if (currentModelType.nondeterministic() && currentModelType.removeNondeterminism() != currentModelType) {
-				resultNote += " (with nondeterminism in " + currentModelType.name() + " being resolved uniformly)";
+				boolean strat = prism != null && prism.getSimulationStrategy() != null;
+				boolean oppStrat = prism != null && currentModelType.multiplePlayers() && prism.getSimulationOpponentStrategy() != null;
+				String how = !(strat || oppStrat) ? "uniformly" : (strat && (oppStrat || !currentModelType.multiplePlayers())) ? "by strategies" : "by a strategy for some players and uniformly for others";
+				resultNote += " (with nondeterminism in " + currentModelType.name() + " being resolved " + how + ")";
 			}
 		}
 
@@ -1869,7 +2000,11 @@ public class SimulatorEngine extends PrismComponent
 
 		// As long as there are at least some valid props, do sampling
 		if (validPropsCount > 0) {
-			doSampling(initialState, maxPathLength);
+			if (simMethod instanceof SplittingMethod) {
+				doSplitting(results, indices, initialState, maxPathLength);
+			} else {
+				doSampling(initialState, maxPathLength);
+			}
 		}
 
 		// Process the results
@@ -1913,6 +2048,8 @@ public class SimulatorEngine extends PrismComponent
 	 * Sample paths are from the specified initial state and maximum length.
 	 * Termination of the sampling process occurs when the SimulationMethod object
 	 * for all properties indicate that it is finished.
+	 * If requested (see {@link PrismSettings#SIMULATOR_THREADS}), and possible,
+	 * paths are generated in parallel by several threads (see {@link SamplingWorkers}).
 	 * @param initialState Initial state (if null, is selected randomly)
 	 * @param maxPathLength The maximum path length for sampling
 	 */
@@ -1924,8 +2061,6 @@ public class SimulatorEngine extends PrismComponent
 		boolean stoppedEarly = false;
 		boolean deadlocksFound = false;
 		boolean allDone = false;
-		boolean allKnown = false;
-		boolean someUnknownButBounded = false;
 		boolean shouldStopSampling = false;
 		// Path stats
 		double avgPathLength = 0;
@@ -1937,81 +2072,108 @@ public class SimulatorEngine extends PrismComponent
 		long start, stop;
 		double time_taken;
 
-		// Start
-		start = System.currentTimeMillis();
-		mainLog.print("\nSampling progress: [");
-		mainLog.flush();
-
-		// Main sampling loop
-		iters = 0;
-		while (!shouldStopSampling) {
+		// Seed random number generation, if required
+		int seed = getSettings().getInteger(PrismSettings.SIMULATOR_SEED);
+		seedRandomNumberGenerator(seed);
 
-			// See if all properties are done; if so, stop sampling
-			allDone = true;
-			for (Sampler sampler : propertySamplers) {
-				if (!sampler.getSimulationMethod().shouldStopNow(iters, sampler))
-					allDone = false;
-			}
-			if (allDone)
-				break;
-
-			// Display progress (of slowest property)
-			percentageDone = 100;
-			for (Sampler sampler : propertySamplers) {
-				percentageDone = Math.min(percentageDone, sampler.getSimulationMethod().getProgress(iters, sampler));
+		// Set up worker processes or threads for parallel sampling, if required
+		ParallelSampler workers = null;
+		int numThreads = getSettings().getInteger(PrismSettings.SIMULATOR_THREADS);
+		int numProcesses = getSettings().getInteger(PrismSettings.SIMULATOR_PROCESSES);
+		String workerHosts = getSettings().getString(PrismSettings.SIMULATOR_WORKER_HOSTS);
+		if (numProcesses > 0 || !"".equals(workerHosts.trim())) {
+			try {
+				DistributedSampling distributed = createDistributedSampling(numProcesses, workerHosts, seed != 0 ? seed : rng.randomUnifInt(Integer.MAX_VALUE), initialState, maxPathLength);
+				mainLog.println("\nSampling with " + distributed.getNumWorkers() + " worker processes...");
+				workers = distributed;
+			} catch (PrismNotSupportedException e) {
+				mainLog.printWarning("Sampling without worker processes (" + e.getMessage() + ").");
 			}
-			if (percentageDone > lastPercentageDone) {
-				lastPercentageDone = percentageDone;
-				mainLog.print(" " + lastPercentageDone + "%");
-				mainLog.flush();
+		}
+		if (workers == null && numThreads > 1) {
+			try {
+				workers = new SamplingWorkers(this, numThreads, seed != 0 ? seed : rng.randomUnifInt(Integer.MAX_VALUE), initialState, maxPathLength);
+				mainLog.println("\nSampling with " + numThreads + " threads...");
+			} catch (PrismNotSupportedException e) {
+				mainLog.printWarning("Sampling sequentially, not with " + numThreads + " threads (" + e.getMessage() + ").");
 			}
+		}
 
-			iters++;
+		// Reset stats for transition list cache (if any)
+		TransitionListCache transitionListCache = null;
+		if (modelGen instanceof ModulesFileModelGenerator) {
+			transitionListCache = ((ModulesFileModelGenerator) modelGen).getTransitionListCache();
+			if (transitionListCache != null)
+				transitionListCache.resetStats();
+		}
 
-			// Start the new path for this iteration (sample)
-			initialisePath(initialState);
+		// Start
+		start = System.currentTimeMillis();
+		mainLog.print("\nSampling progress: [");
+		mainLog.flush();
 
-			// Generate a path
-			allKnown = false;
-			someUnknownButBounded = false;
-			i = 0;
-			while ((!allKnown && i < maxPathLength) || someUnknownButBounded) {
-				// Check status of samplers
-				allKnown = true;
-				someUnknownButBounded = false;
+		try {
+			// Main sampling loop
+			iters = 0;
+			while (!shouldStopSampling) {
+
+				// See if all properties are done; if so, stop sampling
+				allDone = true;
 				for (Sampler sampler : propertySamplers) {
-					if (!sampler.isCurrentValueKnown()) {
-						allKnown = false;
-						if (sampler.needsBoundedNumSteps())
-							someUnknownButBounded = true;
-					}
+					if (!sampler.getSimulationMethod().shouldStopNow(iters, sampler))
+						allDone = false;
 				}
-				// Stop when all answers are known or we have reached max path length
-				// (but don't stop yet if there are "bounded" samplers with unkown values)
-				if ((allKnown || i >= maxPathLength) && !someUnknownButBounded)
+				if (allDone)
 					break;
-				// Make a random transition
-				automaticTransition();
-				i++;
-			}
 
-			// TODO: Detect deadlocks so we can report a warning
+				// Display progress (of slowest property)
+				percentageDone = 100;
+				for (Sampler sampler : propertySamplers) {
+					percentageDone = Math.min(percentageDone, sampler.getSimulationMethod().getProgress(iters, sampler));
+				}
+				if (percentageDone > lastPercentageDone) {
+					lastPercentageDone = percentageDone;
+					mainLog.print(" " + lastPercentageDone + "%");
+					mainLog.flush();
+				}
+
+				iters++;
 
-			// Update path length statistics
-			avgPathLength = (avgPathLength * (iters - 1) + (i)) / iters;
-			minPathFound = (iters == 1) ? i : Math.min(minPathFound, i);
-			maxPathFound = (iters == 1) ? i : Math.max(maxPathFound, i);
+				// Generate a path (or, if sampling in parallel, get the next one generated)
+				Object values[] = null;
+				if (workers == null) {
+					i = samplePath(initialState, maxPathLength);
+				} else {
+					ParallelSampler.SampledPath sampledPath = workers.nextPath();
+					i = sampledPath.length;
+					values = sampledPath.values;
+				}
 
-			// If not all samplers could produce values, this an error
-			if (!allKnown) {
-				stoppedEarly = true;
-				break;
-			}
+				// TODO: Detect deadlocks so we can report a warning
 
-			// Update state of samplers based on last path
-			for (Sampler sampler : propertySamplers) {
-				sampler.updateStats();
+				// If not all samplers could produce values, this an error
+				if (i < 0) {
+					stoppedEarly = true;
+					break;
+				}
+
+				// Update path length statistics
+				avgPathLength = (avgPathLength * (iters - 1) + (i)) / iters;
+				minPathFound = (iters == 1) ? i : Math.min(minPathFound, i);
+				maxPathFound = (iters == 1) ? i : Math.max(maxPathFound, i);
+
+				// Update state of samplers based on last path
+				int numSamplers = propertySamplers.size();
+				for (int j = 0; j < numSamplers; j++) {
+					if (values == null)
+						propertySamplers.get(j).updateStats();
+					else
+						propertySamplers.get(j).updateStats(values[j]);
+				}
 			}
+		} finally {
+			if (workers != null)
+				workers.shutdown();
 		}
 
 		// Print details
@@ -2025,6 +2187,12 @@ public class SimulatorEngine extends PrismComponent
 			mainLog.print(iters + " iterations in " + time_taken + " seconds (average " + PrismUtils.formatDouble(2, time_taken / iters) + ")\n");
 			mainLog.print("Path length statistics: average " + PrismUtils.formatDouble(2, avgPathLength) + ", min " + minPathFound + ", max " + maxPathFound
 					+ "\n");
+			if (workers != null)
+				mainLog.print("Paths generated in parallel: " + workers.getNumPathsGenerated() + " (" + (workers.getNumPathsGenerated() - iters) + " unused)\n");
+			if (workers instanceof DistributedSampling && ((DistributedSampling) workers).getNumWorkersLost() > 0)
+				mainLog.printWarning(((DistributedSampling) workers).getNumWorkersLost() + " worker process(es) were lost during sampling; their paths were regenerated by the others.");
+			if (transitionListCache != null && workers == null)
+				mainLog.print("Transition cache: " + transitionListCache + "\n");
 		} else {
 			mainLog.print(" ...\n\nSampling terminated early after " + iters + " iterations.\n");
 		}
@@ -2046,6 +2214,303 @@ public class SimulatorEngine extends PrismComponent
 		}
 	}
 
+	/**
+	 * Execute importance splitting (see {@link SplittingMethod}) for each of the currently loaded properties
+	 * whose index is given in {@code indices} (ignoring any -1 entries), in turn.
+	 * If importance splitting fails for a property, the exception is stored in {@code results}
+	 * and the corresponding entry of {@code indices} is set to -1.
+	 * @param results Array in which to store errors
+	 * @param indices Indices of properties
+	 * @param initialState Initial state (if null, is selected randomly)
+	 * @param maxPathLength The maximum path length for sampling
+	 */
+	private void doSplitting(Object results[], int indices[], State initialState, long maxPathLength) throws PrismException
+	{
+		// Seed random number generation, if required
+		int seed = getSettings().getInteger(PrismSettings.SIMULATOR_SEED);
+		seedRandomNumberGenerator(seed);
+		for (int i = 0; i < indices.length; i++) {
+			if (indices[i] == -1)
+				continue;
+			Sampler sampler = propertySamplers.get(indices[i]);
+			try {
+				doSplitting(sampler, (SplittingMethod) sampler.getSimulationMethod(), initialState, maxPathLength);
+			} catch (PrismException e) {
+				results[i] = e;
+				indices[i] = -1;
+			} finally {
+				sampler.setPathOffset(0);
+			}
+		}
+	}
+
+	/**
+	 * Execute fixed-effort importance splitting for a single property, i.e. its sampler.
+	 * For each level, {@code effort} paths are generated, starting (in turn) from the states where
+	 * paths for the previous level first reached it (i.e. the importance function reached its threshold),
+	 * until they reach the next level, or until the value of the sampler is known.
+	 * Paths that satisfy the property count as reaching all remaining levels.
+	 * After the last level, paths are generated until the value of the sampler is known.
+	 * @param sampler Sampler for the property
+	 * @param method SimulationMethod object, specifying details and storing results
+	 * @param initialState Initial state (if null, is selected randomly)
+	 * @param maxPathLength The maximum path length for sampling
+	 */
+	private void doSplitting(Sampler sampler, SplittingMethod method, State initialState, long maxPathLength) throws PrismException
+	{
+		// Check splitting is possible
+		if (!sampler.canSplit()) {
+			throw new PrismNotSupportedException("Importance splitting is not supported for this property");
+		}
+		if (prism != null && (prism.getSimulationStrategy() != null || prism.getSimulationOpponentStrategy() != null)) {
+			throw new PrismNotSupportedException("Importance splitting is not supported for strategies");
+		}
+		// Get importance function, with constants replaced
+		Expression impFun = method.getImportanceFunction().deepCopy();
+		impFun = (Expression) impFun.replaceConstants(mfConstants);
+		impFun = (Expression) impFun.simplify();
+		CompiledExpression impFunCompiled = CompiledExpression.compile(impFun);
+		int vars[] = new int[getNumVariables()];
+		double levels[] = method.getLevels();
+		int effort = method.getEffort();
+		method.reset();
+
+		// States (and number of steps taken to reach them) from which to start paths for the current level;
+		// a null state denotes one for which the property is already known to be satisfied
+		List<State> startStates = new ArrayList<State>();
+		List<Long> startSteps = new ArrayList<Long>();
+		startStates.add(initialState != null ? initialState : modelGen.getInitialState());
+		startSteps.add(0L);
+		// For default (integer) levels, start at the first integer above the initial state's importance
+		double base = Math.floor(evaluateImportance(impFun, impFunCompiled, startStates.get(0), vars));
+
+		long start = System.currentTimeMillis();
+		mainLog.println("\nImportance splitting for " + properties.get(propertySamplers.indexOf(sampler)) + "...");
+		long totalSteps = 0;
+		for (int level = 0;; level++) {
+			boolean lastLevel = levels != null && level >= levels.length;
+			double threshold = lastLevel ? Double.POSITIVE_INFINITY : levels == null ? base + level + 1 : levels[level];
+			List<State> nextStates = new ArrayList<State>();
+			List<Long> nextSteps = new ArrayList<Long>();
+			boolean someUnknown = false;
+			for (int n = 0; n < effort; n++) {
+				// Pick the start state (in turn, to spread the effort evenly)
+				int j = n % startStates.size();
+				State startState = startStates.get(j);
+				long steps = startSteps.get(j);
+				// Property already satisfied: counts as reaching the level
+				if (startState == null) {
+					nextStates.add(null);
+					nextSteps.add(steps);
+					continue;
+				}
+				// Generate a path until the level is reached or the value is known
+				sampler.setPathOffset(steps);
+				initialisePath(startState);
+				long i = 0;
+				while (true) {
+					if (sampler.isCurrentValueKnown()) {
+						if ((Boolean) sampler.getCurrentValue()) {
+							nextStates.add(null);
+							nextSteps.add(steps + i);
+						}
+						break;
+					}
+					if (evaluateImportance(impFun, impFunCompiled, path.getCurrentState(), vars) >= threshold) {
+						nextStates.add(new State(path.getCurrentState()));
+						nextSteps.add(steps + i);
+						someUnknown = true;
+						break;
+					}
+					if (i >= maxPathLength && !sampler.needsBoundedNumSteps()) {
+						throw new PrismException("The property could not be checked on a sample. Consider increasing the maximum path length");
+					}
+					automaticTransition();
+					i++;
+				}
+				totalSteps += i;
+			}
+			method.addLevel(effort, nextStates.size());
+			mainLog.print("Level " + (level + 1) + (lastLevel ? " (property)" : " (importance >= " + PrismUtils.formatDouble(threshold) + ")"));
+			mainLog.println(": " + nextStates.size() + "/" + effort + " paths succeeded");
+			// Stop if no paths reached the level, or all that did already satisfy the property
+			if (!someUnknown)
+				break;
+			startStates = nextStates;
+			startSteps = nextSteps;
+		}
+		long stop = System.currentTimeMillis();
+		mainLog.print("Importance splitting complete: " + method.getNumLevels() + " levels, " + totalSteps + " steps in " + ((stop - start) / 1000.0) + " seconds\n");
+	}
+
+	/**
+	 * Evaluate an importance function for importance splitting,
+	 * using its compiled version {@code exprCompiled} if non-null.
+	 */
+	private double evaluateImportance(Expression expr, CompiledExpression exprCompiled, State state, int vars[]) throws PrismLangException
+	{
+		if (exprCompiled != null && CompiledExpression.loadState(state, vars)) {
+			return exprCompiled.evaluateDouble(vars);
+		}
+		return expr.evaluateDouble(state);
+	}
+
+	/**
+	 * Generate a single sample path for the set of currently loaded properties,
+	 * from the specified initial state and up to the specified maximum length
+	 * (unless some samplers need more steps to determine their values).
+	 * Returns the length of the path or, if the values of some samplers
+	 * are still not known at the end of the path, -1.
+	 * @param initialState Initial state (if null, is selected randomly)
+	 * @param maxPathLength The maximum path length for sampling
+	 */
+	long samplePath(State initialState, long maxPathLength) throws PrismException
+	{
+		boolean allKnown = false;
+		boolean someUnknownButBounded = false;
+		long i;
+
+		// Start the new path for this iteration (sample)
+		initialisePath(initialState);
+
+		// Generate a path
+		i = 0;
+		while ((!allKnown && i < maxPathLength) || someUnknownButBounded) {
+			// Check status of samplers
+			allKnown = true;
+			someUnknownButBounded = false;
+			for (Sampler sampler : propertySamplers) {
+				if (!sampler.isCurrentValueKnown()) {
+					allKnown = false;
+					if (sampler.needsBoundedNumSteps())
+						someUnknownButBounded = true;
+				}
+			}
+			// Stop when all answers are known or we have reached max path length
+			// (but don't stop yet if there are "bounded" samplers with unkown values)
+			if ((allKnown || i >= maxPathLength) && !someUnknownButBounded)
+				break;
+			// Make a random transition
+			automaticTransition();
+			i++;
+		}
+
+		return allKnown ? i : -1;
+	}
+
+	/**
+	 * Create a copy of this engine, for generating sample paths (see {@link #samplePath(State, long)})
+	 * for the currently loaded properties in parallel with other copies (see {@link SamplingWorkers}).
+	 * The copy has its own model generator, path, samplers and a random number generator
+	 * for the {@code stream}th independent stream from the specified seed.
+	 * Throws a PrismNotSupportedException if this is not possible.
+	 */
+	SimulatorEngine createSamplingWorker(int seed, int stream) throws PrismException
+	{
+		// Get (independent) copies of the model/reward generators
+		ModelGenerator modelGenCopy = modelGen.createCopy();
+		if (modelGenCopy == null) {
+			throw new PrismNotSupportedException("model generator cannot be copied");
+		}
+		RewardGenerator rewardGenCopy;
+		if (rewardGen == modelGen) {
+			rewardGenCopy = (RewardGenerator) modelGenCopy;
+		} else if (rewardGen.getNumRewardStructs() == 0) {
+			rewardGenCopy = rewardGen;
+		} else {
+			throw new PrismNotSupportedException("reward generator cannot be copied");
+		}
+		// Create engine, with copies of properties/samplers
+		SimulatorEngine worker = new SimulatorEngine(this, prism);
+		worker.loadModel(modelGenCopy, rewardGenCopy);
+		worker.createNewOnTheFlyPath();
+		for (Expression prop : properties) {
+			Expression propCopy = prop.deepCopy();
+			worker.properties.add(propCopy);
+			worker.propertySamplers.add(Sampler.createSampler(propCopy, modelGenCopy, rewardGenCopy));
+		}
+		// Strategies (if any) are copied for the worker; the state indices for them are shared
+		worker.copyStrategies = true;
+		worker.stateIds = stateIds;
+		worker.stateIdsModel = stateIdsModel;
+		worker.rng = new RandomNumberGenerator(getRandomNumberGeneratorName(), seed, stream);
+		return worker;
+	}
+
+	/**
+	 * Set up worker processes for generating sample paths (see {@link DistributedSampling})
+	 * for the currently loaded model and properties.
+	 * Throws a PrismNotSupportedException if this is not possible.
+	 * @param numProcesses Number of worker processes to launch on this machine
+	 * @param hosts Remote hosts to launch a worker process on, each (comma-separated, possibly empty)
+	 * @param seed Seed from which random number generator seeds for the workers are derived
+	 * @param initialState Initial state (if null, is selected randomly)
+	 * @param maxPathLength The maximum path length for sampling
+	 */
+	private DistributedSampling createDistributedSampling(int numProcesses, String hosts, int seed, State initialState, long maxPathLength) throws PrismException
+	{
+		// Strategies are not available to worker processes
+		if (prism != null && (prism.getSimulationStrategy() != null || prism.getSimulationOpponentStrategy() != null)) {
+			throw new PrismNotSupportedException("not supported for strategies");
+		}
+		// Workers are sent the model as PRISM language source
+		if (!(modelGen instanceof ModulesFileModelGenerator)) {
+			throw new PrismNotSupportedException("only supported for PRISM language models");
+		}
+		if (rewardGen != modelGen && rewardGen.getNumRewardStructs() > 0) {
+			throw new PrismNotSupportedException("only supported for rewards from PRISM language models");
+		}
+		ModulesFileModelGenerator mfModelGen = (ModulesFileModelGenerator) modelGen;
+		return new DistributedSampling(mfModelGen.getModulesFile(), mfConstants, properties, getSettings(), mainLog, numProcesses, hosts, seed, initialState,
+				maxPathLength);
+	}
+
+	/**
+	 * Set the seed of the random number generator used for generating paths.
+	 */
+	void setRandomSeed(int seed)
+	{
+		rng = new RandomNumberGenerator(getRandomNumberGeneratorName(), seed, -1);
+	}
+
+	/**
+	 * Set up the random number generator used for generating paths before sampling:
+	 * seed it with {@code seed} if non-zero and, otherwise, make sure it is
+	 * of the type currently specified in the settings (see {@link PrismSettings#SIMULATOR_RNG}).
+	 */
+	private void seedRandomNumberGenerator(int seed)
+	{
+		String generator = getRandomNumberGeneratorName();
+		if (seed != 0) {
+			rng = new RandomNumberGenerator(generator, seed, -1);
+		} else if (!generator.equals(rng.getGeneratorName())) {
+			rng = new RandomNumberGenerator(generator);
+		}
+	}
+
+	/**
+	 * Get the name of the type of random number generator to use (see {@link PrismSettings#SIMULATOR_RNG}).
+	 */
+	private String getRandomNumberGeneratorName()
+	{
+		PrismSettings settings = getSettings();
+		return settings == null ? RandomSource.MERSENNE_TWISTER : settings.getString(PrismSettings.SIMULATOR_RNG);
+	}
+
+	/**
+	 * Get the current values of the samplers for all loaded properties
+	 * (as given by {@link Sampler#getCurrentValue()}).
+	 */
+	Object[] getSamplerValues()
+	{
+		int n = propertySamplers.size();
+		Object values[] = new Object[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = propertySamplers.get(i).getCurrentValue();
+		}
+		return values;
+	}
+
 	/**
 	 * Halt the sampling algorithm in its tracks (not implemented).
 	 */
@@ -2063,17 +2528,78 @@ public class SimulatorEngine extends PrismComponent
 	{
 		this.strategy = strategy;
 		if (strategy != null && prism.getBuiltModelExplicit() != null) {
-			stateIds = new HashMap<State, Integer>();
-			java.util.List<State> stateslist = prism.getBuiltModelExplicit().getStatesList();
-			int i = 0;
-			for (State s : stateslist)
-				stateIds.put(s, i++);
+			computeStateIds(prism.getBuiltModelExplicit());
 		}
 	}
-	
-	private int getStateIndex(State state)
+
+	/**
+	 * Load the strategies to be used for simulation from Prism (see {@link Prism#getSimulationStrategy()}
+	 * and {@link Prism#getSimulationOpponentStrategy()}) and, if there are any,
+	 * set up the indices of states that they use, taken from the explicit model built by Prism.
+	 * If none was requested, full (non-on-the-fly) paths use the strategy generated by model checking,
+	 * if any, to show its choices (and to resolve those of player 1 in games), but sampled paths do not.
+	 * If there is no explicit model to take state indices from, nondeterminism is resolved uniformly.
+	 */
+	private void loadStrategies() throws PrismException
+	{
+		strategy = opponentStrategy = null;
+		strategyRequested = false;
+		if (prism == null) {
+			return;
+		}
+		Strategy strat = prism.getSimulationStrategy();
+		Strategy oppStrat = modelType.multiplePlayers() ? prism.getSimulationOpponentStrategy() : null;
+		strategyRequested = strat != null;
+		if (strat == null && !onTheFly) {
+			strat = prism.getStrategy();
+		}
+		if (strat == null && oppStrat == null) {
+			return;
+		}
+		explicit.Model model = prism.getBuiltModelExplicit();
+		if (model == null) {
+			strategyRequested = false;
+			return;
+		}
+		if (model != stateIdsModel) {
+			computeStateIds(model);
+		}
+		// Engines used in parallel need their own copies, since strategies store their memory internally
+		if (copyStrategies) {
+			if (strat != strategySource) {
+				strategyCopy = strat == null ? null : Strategies.copyStrategy(strat);
+				strategySource = strat;
+			}
+			if (oppStrat != opponentStrategySource) {
+				opponentStrategyCopy = oppStrat == null ? null : Strategies.copyStrategy(oppStrat);
+				opponentStrategySource = oppStrat;
+			}
+			strat = strategyCopy;
+			oppStrat = opponentStrategyCopy;
+		}
+		strategy = strat;
+		opponentStrategy = oppStrat;
+	}
+
+	/**
+	 * Compute the indices of states used by strategies, from an explicit model.
+	 */
+	private void computeStateIds(explicit.Model model)
 	{
-		return stateIds.get(state);
+		stateIds = new HashMap<State, Integer>();
+		int i = 0;
+		for (State s : model.getStatesList())
+			stateIds.put(s, i++);
+		stateIdsModel = model;
+	}
+
+	private int getStateIndex(State state) throws PrismException
+	{
+		Integer s = stateIds.get(state);
+		if (s == null) {
+			throw new PrismException("State " + state + " does not appear in the model used by the strategy");
+		}
+		return s;
 	}
 
 	private <T> int indexOf(List<T> list, T o)
@@ -0,0 +1,240 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import parser.State;
+import parser.StatePacker;
+import parser.VarList;
+import prism.PrismLangException;
+
+/**
+ * Bounded cache of the transition lists ({@link TransitionList}) computed for states,
+ * so that they need not be recomputed when states are revisited, e.g., during simulation.
+ * When full, the least recently used entry is evicted.
+ * <br>
+ * States are stored bit-packed (see {@link StatePacker}) where possible.
+ * Cached transition lists must not be modified once they have been added.
+ */
+public class TransitionListCache
+{
+	// Maximum number of entries
+	private int maxSize;
+	// Packer for states (null if states cannot be packed)
+	private StatePacker packer;
+	// The cache (in access order)
+	private LinkedHashMap<Object, TransitionList> map;
+	// Reusable key for lookups of packed states
+	private PackedKey probe;
+	// Stats
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Create a cache holding at most {@code maxSize} transition lists,
+	 * for states of a model with variables {@code varList}.
+	 */
+	public TransitionListCache(int maxSize, VarList varList)
+	{
+		this.maxSize = maxSize;
+		try {
+			packer = StatePacker.canPack(varList) ? new StatePacker(varList) : null;
+		} catch (PrismLangException e) {
+			packer = null;
+		}
+		probe = packer == null ? null : new PackedKey(packer, new long[packer.getNumWords()]);
+		map = new LinkedHashMap<Object, TransitionList>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, TransitionList> eldest)
+			{
+				if (size() > TransitionListCache.this.maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Create the key used to look up a state in the cache, and store it if absent.
+	 * The key is only valid until the next call to this method; use {@link #put(Object, TransitionList)}
+	 * (which takes a copy if needed) to store it, and not, e.g., as a map key elsewhere.
+	 */
+	public Object createKey(State state)
+	{
+		if (packer != null && state.varValues.length == packer.getNumVars()) {
+			try {
+				packer.pack(state, probe.words, 0);
+				probe.rehash();
+				return probe;
+			} catch (IllegalArgumentException | ClassCastException e) {
+				// Value out of range (or of unexpected type): fall back to an unpacked copy
+			}
+		}
+		return new State(state);
+	}
+
+	/**
+	 * Get the transition list for a state (with key from {@link #createKey(State)}),
+	 * or null if it is not in the cache.
+	 */
+	public TransitionList get(Object key)
+	{
+		TransitionList transitionList = map.get(key);
+		if (transitionList == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return transitionList;
+	}
+
+	/**
+	 * Add the transition list for a state (with key from {@link #createKey(State)}),
+	 * evicting the least recently used entry if the cache is full.
+	 */
+	public void put(Object key, TransitionList transitionList)
+	{
+		if (key == probe) {
+			key = new PackedKey(packer, probe.words.clone());
+		}
+		map.put(key, transitionList);
+	}
+
+	/**
+	 * Remove all entries (stats are not reset).
+	 */
+	public void clear()
+	{
+		map.clear();
+	}
+
+	/**
+	 * Get the maximum number of entries.
+	 */
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+
+	/**
+	 * Get the current number of entries.
+	 */
+	public int size()
+	{
+		return map.size();
+	}
+
+	/**
+	 * Get the number of lookups that found an entry.
+	 */
+	public long getHits()
+	{
+		return hits;
+	}
+
+	/**
+	 * Get the number of lookups that did not find an entry.
+	 */
+	public long getMisses()
+	{
+		return misses;
+	}
+
+	/**
+	 * Get the number of entries evicted so far.
+	 */
+	public long getEvictions()
+	{
+		return evictions;
+	}
+
+	/**
+	 * Reset the hit/miss/eviction counters.
+	 */
+	public void resetStats()
+	{
+		hits = misses = evictions = 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		long lookups = hits + misses;
+		String s = hits + " hits, " + misses + " misses";
+		if (lookups > 0) {
+			s += " (hit rate " + (100 * hits / lookups) + "%)";
+		}
+		s += ", " + evictions + " evictions, " + map.size() + "/" + maxSize + " entries";
+		return s;
+	}
+
+	/**
+	 * Key for a bit-packed state.
+	 */
+	private static final class PackedKey
+	{
+		private final StatePacker packer;
+		private final long words[];
+		private int hash;
+
+		PackedKey(StatePacker packer, long words[])
+		{
+			this.packer = packer;
+			this.words = words;
+			rehash();
+		}
+
+		/**
+		 * Recompute the hash code (after modifying the words).
+		 * NB: packed values sit in the high bits of words, so they need mixing
+		 * (see {@link StatePacker#hashCode(long[], int)}) to avoid collisions.
+		 */
+		void rehash()
+		{
+			hash = packer.hashCode(words, 0);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			return o instanceof PackedKey && Arrays.equals(words, ((PackedKey) o).words);
+		}
+	}
+}
@@ -28,18 +28,30 @@ package simulator;
 
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Vector;
 
+import parser.CompiledExpression;
 import parser.State;
 import parser.VarList;
 import parser.ast.Command;
+import parser.ast.DeclarationBool;
+import parser.ast.DeclarationInt;
+import parser.ast.DeclarationType;
+import parser.ast.Expression;
+import parser.ast.ExpressionBinaryOp;
+import parser.ast.ExpressionLiteral;
+import parser.ast.ExpressionUnaryOp;
+import parser.ast.ExpressionVar;
 import parser.ast.Module;
 import parser.ast.ModulesFile;
 import parser.ast.RewardStruct;
 import parser.ast.Update;
 import parser.ast.Updates;
+import parser.type.TypeBool;
+import parser.type.TypeInt;
 import prism.ModelType;
 import prism.PrismComponent;
 import prism.PrismException;
@@ -53,6 +65,8 @@ public class Updater extends PrismComponent
 	protected boolean doProbChecks = true;
 	// The precision to which we check probabilities sum to 1
 	protected double sumRoundOff = 1e-5;
+	// Do we compile expressions (guards, probabilities, updates, rewards)?
+	protected boolean compileExprs = true;
 	
 	// Info on model being explored
 	protected ModulesFile modulesFile;
@@ -65,18 +79,51 @@ public class Updater extends PrismComponent
 	protected int synchModuleCounts[];
 	// Model info/stats
 	protected int numRewardStructs;
+	
+	// Compiled expressions (see CompiledExpression), if enabled
+	// (individual entries are null if an expression could not be compiled)
+	// Element i,j of compiledGuards is the guard of the jth command of module i
+	protected CompiledExpression compiledGuards[][];
+	// Element i,j of compiledUpdates is the compiled probabilities/updates of the jth command of module i
+	protected CompiledUpdates compiledUpdates[][];
+	// Compiled reward struct guards/rewards
+	protected CompiledRewards compiledRewards;
+	
+	// Guard index: for each module i, a (discriminating) variable guardIndexVars[i]
+	// (or -1 if none) whose value is fixed by equalities in many command guards,
+	// and, for each value x of this variable, an (ordered) list guardIndexCommands[i][x-low]
+	// of the indices of commands whose guards can be true when it takes value x
+	protected int guardIndexVars[];
+	protected int guardIndexLows[];
+	protected int guardIndexCommands[][][];
+	// Maximum range of a discriminating variable
+	protected static final int GUARD_INDEX_MAX_RANGE = 1 << 16;
 
 	// Temporary storage:
 
 	// Element i,j of updateLists is a list of the updates from module i labelled with action j
 	// (where j=0 denotes independent, otherwise 1-indexed action label)
 	protected List<List<List<Updates>>> updateLists;
+	// Compiled versions of the updates in updateLists (null if unavailable), stored in the same way
+	protected List<List<List<CompiledUpdates>>> compiledUpdateLists;
 	// Bit j of enabledSynchs is set iff action j is currently enabled
 	// (where j=0 denotes independent, otherwise 1-indexed action label)
 	protected BitSet enabledSynchs;
 	// Element j of enabledModules is a BitSet showing modules which enable action j
 	// (where j=0 denotes independent, otherwise 1-indexed action label)
 	protected BitSet enabledModules[];
+	// Values of variables in the state being explored, for evaluating compiled expressions
+	protected int vars[];
+	// Are the values in vars valid for the state being explored?
+	protected boolean varsLoaded;
+	// Choices for synchronous transitions currently being built
+	protected List<ChoiceListFlexi> chs;
+	// Should choice objects be reused (see setReuseChoices)?
+	protected boolean reuseChoices = false;
+	// Choice objects available for reuse; the first choicePoolUsed of them
+	// have been handed out since the start of the last call to calculateTransitions
+	protected List<ChoiceListFlexi> choicePool;
+	protected int choicePoolUsed;
 
 	public Updater(ModulesFile modulesFile, VarList varList)
 	{
@@ -88,6 +135,8 @@ public class Updater extends PrismComponent
 		// Store some settings
 		doProbChecks = parent.getSettings().getBoolean(PrismSettings.PRISM_DO_PROB_CHECKS);
 		sumRoundOff = parent.getSettings().getDouble(PrismSettings.PRISM_SUM_ROUND_OFF);
+		compileExprs = parent.getSettings().getBoolean(PrismSettings.PRISM_COMPILE_EXPRS);
+		boolean guardIndex = parent.getSettings().getBoolean(PrismSettings.PRISM_GUARD_INDEX);
 		
 		// Get info from model
 		this.modulesFile = modulesFile;
@@ -117,10 +166,13 @@ public class Updater extends PrismComponent
 
 		// Build lists/bitsets for later use
 		updateLists = new ArrayList<List<List<Updates>>>(numModules);
+		compiledUpdateLists = new ArrayList<List<List<CompiledUpdates>>>(numModules);
 		for (int i = 0; i < numModules; i++) {
 			updateLists.add(new ArrayList<List<Updates>>(numSynchs + 1));
+			compiledUpdateLists.add(new ArrayList<List<CompiledUpdates>>(numSynchs + 1));
 			for (int j = 0; j < numSynchs + 1; j++) {
 				updateLists.get(i).add(new ArrayList<Updates>());
+				compiledUpdateLists.get(i).add(new ArrayList<CompiledUpdates>());
 			}
 		}
 		enabledSynchs = new BitSet(numSynchs + 1);
@@ -128,6 +180,182 @@ public class Updater extends PrismComponent
 		for (int j = 0; j < numSynchs + 1; j++) {
 			enabledModules[j] = new BitSet(numModules);
 		}
+		
+		// Compile expressions, if required
+		if (compileExprs) {
+			compileExpressions();
+		}
+		vars = new int[varList.getNumVars()];
+		varsLoaded = false;
+		chs = new ArrayList<ChoiceListFlexi>();
+		choicePool = new ArrayList<ChoiceListFlexi>();
+		choicePoolUsed = 0;
+		
+		// Build index of commands by the value of a discriminating variable, if required
+		buildGuardIndex(guardIndex);
+	}
+
+	/**
+	 * Build, for each module, an index from the values of a discriminating variable
+	 * to the commands whose guards can be true for that value (see guardIndexVars).
+	 * The variable is chosen as the one (of those identified in guards by FindAllVars)
+	 * that is fixed by a top-level equality conjunct (e.g. {@code s=2 & ...}) in the most commands.
+	 * @param enabled Whether indexing is enabled (if not, no module gets a discriminating variable)
+	 */
+	private void buildGuardIndex(boolean enabled)
+	{
+		guardIndexVars = new int[numModules];
+		guardIndexLows = new int[numModules];
+		guardIndexCommands = new int[numModules][][];
+		for (int m = 0; m < numModules; m++) {
+			guardIndexVars[m] = -1;
+			if (!enabled) {
+				continue;
+			}
+			Module module = modulesFile.getModule(m);
+			int n = module.getNumCommands();
+			if (n < 2) {
+				continue;
+			}
+			// Find equality conjuncts in each guard, and count uses of each variable
+			List<HashMap<Integer, Integer>> eqs = new ArrayList<HashMap<Integer, Integer>>(n);
+			HashMap<Integer, Integer> counts = new HashMap<Integer, Integer>();
+			for (int i = 0; i < n; i++) {
+				HashMap<Integer, Integer> eq = new HashMap<Integer, Integer>();
+				findGuardEqualities(module.getCommand(i).getGuard(), eq);
+				eqs.add(eq);
+				for (int v : eq.keySet()) {
+					Integer count = counts.get(v);
+					counts.put(v, count == null ? 1 : count + 1);
+				}
+			}
+			// Pick the variable used most often (at least twice), if its range is reasonable
+			int best = -1, bestCount = 1;
+			for (int v = 0; v < varList.getNumVars(); v++) {
+				Integer count = counts.get(v);
+				if (count != null && count > bestCount && isIndexable(v)) {
+					best = v;
+					bestCount = count;
+				}
+			}
+			if (best == -1) {
+				continue;
+			}
+			// Build candidate command lists for each value
+			int low = varList.getLow(best);
+			int range = varList.getRange(best);
+			List<List<Integer>> lists = new ArrayList<List<Integer>>(range);
+			for (int x = 0; x < range; x++) {
+				lists.add(new ArrayList<Integer>());
+			}
+			for (int i = 0; i < n; i++) {
+				Integer val = eqs.get(i).get(best);
+				if (val == null) {
+					for (List<Integer> list : lists) {
+						list.add(i);
+					}
+				} else if (val >= low && val - low < range) {
+					lists.get(val - low).add(i);
+				}
+			}
+			guardIndexVars[m] = best;
+			guardIndexLows[m] = low;
+			guardIndexCommands[m] = new int[range][];
+			for (int x = 0; x < range; x++) {
+				List<Integer> list = lists.get(x);
+				guardIndexCommands[m][x] = new int[list.size()];
+				for (int k = 0; k < list.size(); k++) {
+					guardIndexCommands[m][x][k] = list.get(k);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Can variable {@code v} be used as a discriminating variable in the guard index?
+	 */
+	private boolean isIndexable(int v)
+	{
+		DeclarationType declType = varList.getDeclaration(v).getDeclType();
+		if (!(declType instanceof DeclarationInt || declType instanceof DeclarationBool)) {
+			return false;
+		}
+		int range = varList.getRange(v);
+		return range > 0 && range <= GUARD_INDEX_MAX_RANGE;
+	}
+
+	/**
+	 * Find conjuncts of a guard that fix the value of a variable,
+	 * i.e. {@code v=c}, {@code c=v}, {@code b} or {@code !b},
+	 * and store them as a mapping from variable indices to (integer-encoded) values.
+	 */
+	private static void findGuardEqualities(Expression expr, HashMap<Integer, Integer> eqs)
+	{
+		if (expr instanceof ExpressionUnaryOp) {
+			ExpressionUnaryOp exprUnary = (ExpressionUnaryOp) expr;
+			if (exprUnary.getOperator() == ExpressionUnaryOp.PARENTH) {
+				findGuardEqualities(exprUnary.getOperand(), eqs);
+			} else if (exprUnary.getOperator() == ExpressionUnaryOp.NOT && exprUnary.getOperand() instanceof ExpressionVar) {
+				addGuardEquality((ExpressionVar) exprUnary.getOperand(), false, eqs);
+			}
+		} else if (expr instanceof ExpressionBinaryOp) {
+			ExpressionBinaryOp exprBinary = (ExpressionBinaryOp) expr;
+			Expression op1 = exprBinary.getOperand1();
+			Expression op2 = exprBinary.getOperand2();
+			if (exprBinary.getOperator() == ExpressionBinaryOp.AND) {
+				findGuardEqualities(op1, eqs);
+				findGuardEqualities(op2, eqs);
+			} else if (exprBinary.getOperator() == ExpressionBinaryOp.EQ) {
+				if (op1 instanceof ExpressionVar && op2 instanceof ExpressionLiteral) {
+					addGuardEquality((ExpressionVar) op1, ((ExpressionLiteral) op2).getValue(), eqs);
+				} else if (op2 instanceof ExpressionVar && op1 instanceof ExpressionLiteral) {
+					addGuardEquality((ExpressionVar) op2, ((ExpressionLiteral) op1).getValue(), eqs);
+				}
+			}
+		} else if (expr instanceof ExpressionVar) {
+			addGuardEquality((ExpressionVar) expr, true, eqs);
+		}
+	}
+
+	/**
+	 * Store an equality {@code var=value} found in a guard (see {@link #findGuardEqualities}),
+	 * if the value is an integer or Boolean (stored as 0/1).
+	 * If the variable already has a value, the guard is unsatisfiable
+	 * for the other one anyway, so the first is kept.
+	 */
+	private static void addGuardEquality(ExpressionVar var, Object value, HashMap<Integer, Integer> eqs)
+	{
+		int v = var.getIndex();
+		if (v < 0 || eqs.containsKey(v)) {
+			return;
+		}
+		if (value instanceof Integer && var.getType() instanceof TypeInt) {
+			eqs.put(v, (Integer) value);
+		} else if (value instanceof Boolean && var.getType() instanceof TypeBool) {
+			eqs.put(v, ((Boolean) value) ? 1 : 0);
+		}
+	}
+
+	/**
+	 * Compile the guards, probabilities, updates and rewards of the model,
+	 * where possible (see {@link CompiledExpression}).
+	 */
+	private void compileExpressions()
+	{
+		compiledGuards = new CompiledExpression[numModules][];
+		compiledUpdates = new CompiledUpdates[numModules][];
+		for (int i = 0; i < numModules; i++) {
+			Module module = modulesFile.getModule(i);
+			int n = module.getNumCommands();
+			compiledGuards[i] = new CompiledExpression[n];
+			compiledUpdates[i] = new CompiledUpdates[n];
+			for (int j = 0; j < n; j++) {
+				Command command = module.getCommand(j);
+				compiledGuards[i][j] = CompiledExpression.compile(command.getGuard());
+				compiledUpdates[i][j] = new CompiledUpdates(command.getUpdates());
+			}
+		}
+		compiledRewards = new CompiledRewards(modulesFile, true);
 	}
 
 	/**
@@ -146,6 +374,17 @@ public class Updater extends PrismComponent
 		return sumRoundOff;
 	}
 
+	/**
+	 * Specify whether the Choice objects created by {@link #calculateTransitions(State, TransitionList)}
+	 * can be reused (i.e., modified) by subsequent calls to it, rather than creating new ones each time.
+	 * This avoids repeated object allocation, but is only safe if the choices from one call
+	 * (e.g., in a TransitionList) are no longer needed once the next call is made.
+	 */
+	public void setReuseChoices(boolean reuseChoices)
+	{
+		this.reuseChoices = reuseChoices;
+	}
+
 	/**
 	 * Determine the set of outgoing transitions from state 'state' and store in 'transitionList'.
 	 * @param state State from which to explore
@@ -153,20 +392,22 @@ public class Updater extends PrismComponent
 	 */
 	public void calculateTransitions(State state, TransitionList transitionList) throws PrismException
 	{
-		List<ChoiceListFlexi> chs;
 		int i, j, k, l, n, count;
 
 		// Clear lists/bitsets
 		transitionList.clear();
+		choicePoolUsed = 0;
 		for (i = 0; i < numModules; i++) {
 			for (j = 0; j < numSynchs + 1; j++) {
 				updateLists.get(i).get(j).clear();
+				compiledUpdateLists.get(i).get(j).clear();
 			}
 		}
 		enabledSynchs.clear();
 		for (i = 0; i < numSynchs + 1; i++) {
 			enabledModules[i].clear();
 		}
+		varsLoaded = compileExprs && CompiledExpression.loadState(state, vars);
 
 		// Calculate the available updates for each module/action
 		// (update information in updateLists, enabledSynchs and enabledModules)
@@ -176,14 +417,16 @@ public class Updater extends PrismComponent
 
 		// Add independent transitions for each (enabled) module to list
 		for (i = enabledModules[0].nextSetBit(0); i >= 0; i = enabledModules[0].nextSetBit(i + 1)) {
-			for (Updates ups : updateLists.get(i).get(0)) {
-				ChoiceListFlexi ch = processUpdatesAndCreateNewChoice(-(i + 1), ups, state);
+			n = updateLists.get(i).get(0).size();
+			for (k = 0; k < n; k++) {
+				Updates ups = updateLists.get(i).get(0).get(k);
+				CompiledUpdates cups = compiledUpdateLists.get(i).get(0).get(k);
+				ChoiceListFlexi ch = processUpdatesAndCreateNewChoice(-(i + 1), ups, cups, state);
 				if (ch.size() > 0)
 					transitionList.add(ch);
 			}
 		}
 		// Add synchronous transitions to list
-		chs = new ArrayList<ChoiceListFlexi>();
 		for (i = enabledSynchs.nextSetBit(1); i >= 0; i = enabledSynchs.nextSetBit(i + 1)) {
 			chs.clear();
 			// Check counts to see if this action is blocked by some module
@@ -195,9 +438,10 @@ public class Updater extends PrismComponent
 				// Case where there is only 1 Updates for this module
 				if (count == 1) {
 					Updates ups = updateLists.get(j).get(i).get(0);
+					CompiledUpdates cups = compiledUpdateLists.get(j).get(i).get(0);
 					// Case where this is the first Choice created
 					if (chs.size() == 0) {
-						ChoiceListFlexi ch = processUpdatesAndCreateNewChoice(i, ups, state);
+						ChoiceListFlexi ch = processUpdatesAndCreateNewChoice(i, ups, cups, state);
 						if (ch.size() > 0)
 							chs.add(ch);
 					}
@@ -205,7 +449,7 @@ public class Updater extends PrismComponent
 					else {
 						// Product with all existing choices
 						for (ChoiceListFlexi ch : chs) {
-							processUpdatesAndAddToProduct(ups, state, ch);
+							processUpdatesAndAddToProduct(ups, cups, state, ch);
 						}
 					}
 				}
@@ -213,8 +457,10 @@ public class Updater extends PrismComponent
 				else {
 					// Case where there are no existing choices
 					if (chs.size() == 0) {
-						for (Updates ups : updateLists.get(j).get(i)) {
-							ChoiceListFlexi ch = processUpdatesAndCreateNewChoice(i, ups, state);
+						for (k = 0; k < count; k++) {
+							Updates ups = updateLists.get(j).get(i).get(k);
+							CompiledUpdates cups = compiledUpdateLists.get(j).get(i).get(k);
+							ChoiceListFlexi ch = processUpdatesAndCreateNewChoice(i, ups, cups, state);
 							if (ch.size() > 0)
 								chs.add(ch);
 						}
@@ -224,13 +470,17 @@ public class Updater extends PrismComponent
 						// Duplicate (count-1 copies of) current Choice list
 						n = chs.size();
 						for (k = 0; k < count - 1; k++)
-							for (l = 0; l < n; l++)
-								chs.add(new ChoiceListFlexi(chs.get(l)));
+							for (l = 0; l < n; l++) {
+								ChoiceListFlexi ch = newChoice();
+								ch.copyFrom(chs.get(l));
+								chs.add(ch);
+							}
 						// Products with existing choices
 						for (k = 0; k < count; k++) {
 							Updates ups = updateLists.get(j).get(i).get(k);
+							CompiledUpdates cups = compiledUpdateLists.get(j).get(i).get(k);
 							for (l = 0; l < n; l++) {
-								processUpdatesAndAddToProduct(ups, state, chs.get(k * n + l));
+								processUpdatesAndAddToProduct(ups, cups, state, chs.get(k * n + l));
 							}
 						}
 					}
@@ -270,14 +520,15 @@ public class Updater extends PrismComponent
 		int i, j, n;
 		double d;
 		RewardStruct rw;
+		boolean loaded = compileExprs && CompiledExpression.loadState(state, vars);
 		for (i = 0; i < numRewardStructs; i++) {
 			rw = modulesFile.getRewardStruct(i);
 			n = rw.getNumItems();
 			d = 0.0;
 			for (j = 0; j < n; j++) {
 				if (!rw.getRewardStructItem(j).isTransitionReward())
-					if (rw.getStates(j).evaluateBoolean(state))
-						d += rw.getReward(j).evaluateDouble(state);
+					if (compiledRewards.evaluateGuard(i, j, state, loaded ? vars : null))
+						d += compiledRewards.evaluateReward(i, j, state, loaded ? vars : null);
 			}
 			store[i] = d;
 		}
@@ -294,6 +545,7 @@ public class Updater extends PrismComponent
 		int i, j, n;
 		double d;
 		RewardStruct rw;
+		boolean loaded = compileExprs && CompiledExpression.loadState(state, vars);
 		for (i = 0; i < numRewardStructs; i++) {
 			rw = modulesFile.getRewardStruct(i);
 			n = rw.getNumItems();
@@ -301,8 +553,8 @@ public class Updater extends PrismComponent
 			for (j = 0; j < n; j++) {
 				if (rw.getRewardStructItem(j).isTransitionReward())
 					if (rw.getRewardStructItem(j).getSynchIndex() == Math.max(0, ch.getModuleOrActionIndex()))
-						if (rw.getStates(j).evaluateBoolean(state))
-							d += rw.getReward(j).evaluateDouble(state);
+						if (compiledRewards.evaluateGuard(i, j, state, loaded ? vars : null))
+							d += compiledRewards.evaluateReward(i, j, state, loaded ? vars : null);
 			}
 			store[i] = d;
 		}
@@ -320,44 +572,74 @@ public class Updater extends PrismComponent
 	{
 		Module module;
 		Command command;
-		int i, j, n;
+		int i, j, k, n;
+		int cmds[] = null;
 
 		module = modulesFile.getModule(m);
 		n = module.getNumCommands();
-		for (i = 0; i < n; i++) {
+		// If possible, just consider commands whose guards can be true,
+		// given the value of the module's discriminating variable
+		int v = guardIndexVars[m];
+		if (v >= 0) {
+			long x = (long) (varsLoaded ? vars[v] : getIntValue(state.varValues[v])) - guardIndexLows[m];
+			if (x >= 0 && x < guardIndexCommands[m].length) {
+				cmds = guardIndexCommands[m][(int) x];
+				n = cmds.length;
+			}
+		}
+		for (k = 0; k < n; k++) {
+			i = cmds == null ? k : cmds[k];
 			command = module.getCommand(i);
-			if (command.getGuard().evaluateBoolean(state)) {
+			CompiledExpression guard = varsLoaded ? compiledGuards[m][i] : null;
+			if (guard != null ? guard.evaluateBoolean(vars) : command.getGuard().evaluateBoolean(state)) {
 				j = command.getSynchIndex();
 				updateLists.get(m).get(j).add(command.getUpdates());
+				compiledUpdateLists.get(m).get(j).add(compiledUpdates == null ? null : compiledUpdates[m][i]);
 				enabledSynchs.set(j);
 				enabledModules[j].set(m);
 			}
 		}
 	}
 
+	/**
+	 * Get the integer encoding of a variable value (Booleans are 0/1).
+	 * Returns Integer.MIN_VALUE for any other kind of value (which is never in range of a discriminating variable).
+	 */
+	private static int getIntValue(Object value)
+	{
+		if (value instanceof Integer) {
+			return (Integer) value;
+		} else if (value instanceof Boolean) {
+			return ((Boolean) value) ? 1 : 0;
+		}
+		return Integer.MIN_VALUE;
+	}
+
 	/**
 	 * Create a new Choice object (currently ChoiceListFlexi) based on an Updates object
 	 * and a (global) state. Check for negative probabilities/rates and, if appropriate,
 	 * check probabilities sum to 1 too.
 	 * @param moduleOrActionIndex Module/action for the choice, encoded as an integer (see Choice)
 	 * @param ups The Updates object 
+	 * @param cups Compiled version of {@code ups} (or null if unavailable) 
 	 * @param state Global state
 	 */
-	private ChoiceListFlexi processUpdatesAndCreateNewChoice(int moduleOrActionIndex, Updates ups, State state) throws PrismLangException
+	private ChoiceListFlexi processUpdatesAndCreateNewChoice(int moduleOrActionIndex, Updates ups, CompiledUpdates cups, State state) throws PrismLangException
 	{
 		ChoiceListFlexi ch;
-		List<Update> list;
 		int i, n;
 		double p, sum;
+		if (!varsLoaded)
+			cups = null;
 
 		// Create choice and add all info
-		ch = new ChoiceListFlexi();
+		ch = newChoice();
 		ch.setModuleOrActionIndex(moduleOrActionIndex);
 		n = ups.getNumUpdates();
 		sum = 0;
 		for (i = 0; i < n; i++) {
 			// Compute probability/rate
-			p = ups.getProbabilityInState(i, state);
+			p = cups != null && cups.probs[i] != null ? cups.probs[i].evaluateDouble(vars) : ups.getProbabilityInState(i, state);
 			// Check for negative/NaN probabilities/rates
 			if (Double.isNaN(p) || p < 0) {
 				String s = modelType.choicesSumToOne() ? "Probability" : "Rate";
@@ -370,9 +652,7 @@ public class Updater extends PrismComponent
 			if (p == 0)
 				continue;
 			sum += p;
-			list = new ArrayList<Update>();
-			list.add(ups.getUpdate(i));
-			ch.add(p, list);
+			ch.add(p, ups.getUpdate(i), cups != null ? cups.updates[i] : null);
 		}
 		// For now, PRISM treats empty (all zero probs/rates) distributions as an error.
 		// Later, when errors in symbolic model construction are improved, this might be relaxed.
@@ -394,14 +674,121 @@ public class Updater extends PrismComponent
 	 * of an existing ChoiceListFlexi and an Updates object, for some (global) state.
 	 * If appropriate, check probabilities sum to 1 too.
 	 * @param ups The Updates object 
+	 * @param cups Compiled version of {@code ups} (or null if unavailable) 
 	 * @param state Global state
 	 * @param ch The existing Choices object
 	 */
-	private void processUpdatesAndAddToProduct(Updates ups, State state, ChoiceListFlexi ch) throws PrismLangException
+	private void processUpdatesAndAddToProduct(Updates ups, CompiledUpdates cups, State state, ChoiceListFlexi ch) throws PrismLangException
 	{
 		// Create new choice (action index is 0 - not needed)
-		ChoiceListFlexi chNew = processUpdatesAndCreateNewChoice(0, ups, state);
+		ChoiceListFlexi chNew = processUpdatesAndCreateNewChoice(0, ups, cups, state);
 		// Build product with existing
 		ch.productWith(chNew);
 	}
+
+	/**
+	 * Get an empty Choice object, reused from an earlier call to calculateTransitions if allowed.
+	 */
+	private ChoiceListFlexi newChoice()
+	{
+		if (!reuseChoices) {
+			return new ChoiceListFlexi();
+		}
+		if (choicePoolUsed == choicePool.size()) {
+			choicePool.add(new ChoiceListFlexi());
+		}
+		ChoiceListFlexi ch = choicePool.get(choicePoolUsed++);
+		ch.clear();
+		return ch;
+	}
+
+	/**
+	 * Compiled versions of the probabilities and updates of an Updates object
+	 * (individual entries are null if they could not be compiled;
+	 * a probability is also null if it is absent, i.e., implicitly 1).
+	 */
+	protected static class CompiledUpdates
+	{
+		protected CompiledExpression probs[];
+		protected CompiledUpdate updates[];
+		
+		protected CompiledUpdates(Updates ups)
+		{
+			int n = ups.getNumUpdates();
+			probs = new CompiledExpression[n];
+			updates = new CompiledUpdate[n];
+			for (int i = 0; i < n; i++) {
+				probs[i] = ups.getProbability(i) == null ? null : CompiledExpression.compile(ups.getProbability(i));
+				updates[i] = CompiledUpdate.compile(ups.getUpdate(i));
+			}
+		}
+	}
+
+	/**
+	 * Compiled versions of the guards and rewards of the reward structs of a model
+	 * (element i,j of guards/rewards is for item j of reward struct i;
+	 * individual entries are null if they could not be compiled).
+	 * Evaluation falls back on the original expressions where no compiled version is available.
+	 * This is shared by {@link Updater} and {@link ModulesFileModelGenerator}.
+	 */
+	protected static class CompiledRewards
+	{
+		protected ModulesFile modulesFile;
+		protected CompiledExpression guards[][];
+		protected CompiledExpression rewards[][];
+
+		/**
+		 * Create compiled rewards for a model (with constants already replaced).
+		 * @param modulesFile The model
+		 * @param compile Compile expressions? (if not, the original expressions are always used)
+		 */
+		protected CompiledRewards(ModulesFile modulesFile, boolean compile)
+		{
+			this.modulesFile = modulesFile;
+			if (!compile) {
+				return;
+			}
+			int numRewardStructs = modulesFile.getNumRewardStructs();
+			guards = new CompiledExpression[numRewardStructs][];
+			rewards = new CompiledExpression[numRewardStructs][];
+			for (int r = 0; r < numRewardStructs; r++) {
+				RewardStruct rewStr = modulesFile.getRewardStruct(r);
+				int n = rewStr.getNumItems();
+				guards[r] = new CompiledExpression[n];
+				rewards[r] = new CompiledExpression[n];
+				for (int i = 0; i < n; i++) {
+					guards[r][i] = CompiledExpression.compile(rewStr.getStates(i));
+					rewards[r][i] = CompiledExpression.compile(rewStr.getReward(i));
+				}
+			}
+		}
+
+		/**
+		 * Are compiled expressions available (i.e., is it worth loading variable values)?
+		 */
+		protected boolean isCompiled()
+		{
+			return guards != null;
+		}
+
+		/**
+		 * Evaluate the guard of item i of reward struct r in a state, using the compiled version
+		 * if available and {@code vars} is non-null (i.e., the values of the state have been loaded into it).
+		 */
+		protected boolean evaluateGuard(int r, int i, State state, int vars[]) throws PrismLangException
+		{
+			CompiledExpression expr = vars != null && guards != null ? guards[r][i] : null;
+			return expr != null ? expr.evaluateBoolean(vars) : modulesFile.getRewardStruct(r).getStates(i).evaluateBoolean(modulesFile.getConstantValues(), state);
+		}
+
+		/**
+		 * Evaluate the reward of item i of reward struct r in a state, using the compiled version
+		 * if available and {@code vars} is non-null (i.e., the values of the state have been loaded into it).
+		 */
+		protected double evaluateReward(int r, int i, State state, int vars[]) throws PrismLangException
+		{
+			CompiledExpression expr = vars != null && rewards != null ? rewards[r][i] : null;
+			return expr != null ? expr.evaluateDouble(vars) : modulesFile.getRewardStruct(r).getReward(i).evaluateDouble(modulesFile.getConstantValues(), state);
+		}
+	}
 }
@@ -0,0 +1,298 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//	Authors:
+//	* agent <agent@local>
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator.method;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import parser.ast.Expression;
+import parser.ast.ExpressionProb;
+import parser.ast.RelOp;
+import prism.PrismException;
+import prism.PrismUtils;
+import simulator.sampler.Sampler;
+
+/**
+ * SimulationMethod class for rare-event simulation using (fixed-effort) importance splitting.
+ * <br>
+ * The property's path formula is estimated as a product of conditional probabilities:
+ * of reaching each of a series of increasing levels of an importance function
+ * (an expression over state variables), given that the previous level was reached.
+ * For each level, a fixed number of paths ("effort") is simulated, starting from
+ * the states in which paths for the previous level first reached it.
+ * The sampling itself is done by the simulator (see {@code SimulatorEngine}),
+ * which passes the outcome for each level to {@link #addLevel(int, int)}.
+ */
+public final class SplittingMethod extends SimulationMethod
+{
+	// Splitting parameters
+	// Importance function (expression over state variables)
+	private Expression importanceFunction;
+	// Levels (thresholds for the importance function), in increasing order;
+	// null means each successive integer value above that of the initial state
+	private double levels[];
+	// Number of paths simulated for each level
+	private int effort;
+
+	// Property info
+	// Operator in P: 0=quantitative, -1=lower bound, 1=upper bound
+	private int prOp;
+	// Probability bound (if any)
+	private double theta;
+
+	// Outcome of simulation: number of paths/successes for each level
+	private List<Integer> levelPaths;
+	private List<Integer> levelSuccesses;
+	// Has simulation been done?
+	private boolean simulationDone;
+
+	/**
+	 * Construct SimulationMethod for importance splitting.
+	 * @param importanceFunction Importance function (expression over state variables)
+	 * @param levels Thresholds for the importance function (if null, each successive integer value is used)
+	 * @param effort Number of paths simulated for each level
+	 */
+	public SplittingMethod(Expression importanceFunction, double levels[], int effort)
+	{
+		this.importanceFunction = importanceFunction;
+		this.levels = levels;
+		this.effort = effort;
+		levelPaths = new ArrayList<Integer>();
+		levelSuccesses = new ArrayList<Integer>();
+		simulationDone = false;
+	}
+
+	/**
+	 * Get the importance function (an expression over state variables).
+	 */
+	public Expression getImportanceFunction()
+	{
+		return importanceFunction;
+	}
+
+	/**
+	 * Get the thresholds of the importance function defining levels, in increasing order
+	 * (null means each successive integer value above that of the initial state).
+	 */
+	public double[] getLevels()
+	{
+		return levels;
+	}
+
+	/**
+	 * Get the number of paths to be simulated for each level.
+	 */
+	public int getEffort()
+	{
+		return effort;
+	}
+
+	/**
+	 * Store the outcome of simulation for the next level: the number of paths simulated,
+	 * and how many of them reached the level (or satisfied the path formula).
+	 */
+	public void addLevel(int numPaths, int numSuccesses)
+	{
+		levelPaths.add(numPaths);
+		levelSuccesses.add(numSuccesses);
+		simulationDone = true;
+	}
+
+	/**
+	 * Get the number of levels for which simulation has been done so far.
+	 */
+	public int getNumLevels()
+	{
+		return levelPaths.size();
+	}
+
+	/**
+	 * Get the estimated (conditional) probability of reaching the {@code k}th level.
+	 */
+	public double getLevelProbability(int k)
+	{
+		return levelSuccesses.get(k) / (double) levelPaths.get(k);
+	}
+
+	/**
+	 * Get the estimate of the probability, i.e. the product of the level probabilities.
+	 */
+	public double getEstimate()
+	{
+		double estimate = 1.0;
+		int n = getNumLevels();
+		for (int k = 0; k < n; k++) {
+			estimate *= getLevelProbability(k);
+		}
+		return estimate;
+	}
+
+	/**
+	 * Get the (approximate) relative error of the estimate, i.e. its standard deviation divided by its mean.
+	 * This uses the usual approximation for fixed-effort splitting, treating levels as independent,
+	 * i.e. the square root of the sum over levels of (1-p)/(n*p), for level probability p and n paths.
+	 * Returns NaN if the estimate is zero.
+	 */
+	public double getRelativeError()
+	{
+		double relVar = 0.0;
+		int n = getNumLevels();
+		for (int k = 0; k < n; k++) {
+			double p = getLevelProbability(k);
+			if (p == 0.0)
+				return Double.NaN;
+			relVar += (1.0 - p) / (levelPaths.get(k) * p);
+		}
+		return Math.sqrt(relVar);
+	}
+
+	@Override
+	public String getName()
+	{
+		return "Splitting";
+	}
+
+	@Override
+	public String getFullName()
+	{
+		return "Importance Splitting (fixed effort)";
+	}
+
+	@Override
+	public void reset()
+	{
+		levelPaths.clear();
+		levelSuccesses.clear();
+		simulationDone = false;
+	}
+
+	@Override
+	public void computeMissingParameterBeforeSim() throws PrismException
+	{
+		// Nothing to do (no missing parameter)
+	}
+
+	@Override
+	public void setExpression(Expression expr) throws PrismException
+	{
+		// Only P properties can be approximated with splitting
+		if (!(expr instanceof ExpressionProb)) {
+			throw new PrismException("Cannot approximate " + expr + " using importance splitting");
+		}
+		Expression bound = ((ExpressionProb) expr).getProb();
+		RelOp relOp = ((ExpressionProb) expr).getRelOp();
+		if (bound == null) {
+			prOp = 0;
+			theta = -1.0; // junk
+		} else {
+			prOp = relOp.isLowerBound() ? -1 : 1;
+			theta = bound.evaluateDouble();
+		}
+	}
+
+	@Override
+	public void computeMissingParameterAfterSim()
+	{
+		// Nothing to do (no missing parameter)
+	}
+
+	@Override
+	public Object getMissingParameter() throws PrismException
+	{
+		throw new PrismException("Importance splitting has no missing parameter");
+	}
+
+	@Override
+	public String getParametersString()
+	{
+		String s = "importance function=" + importanceFunction + ", levels=";
+		if (levels == null) {
+			s += "integer";
+		} else {
+			for (int k = 0; k < levels.length; k++) {
+				s += (k > 0 ? ":" : "") + PrismUtils.formatDouble(levels[k]);
+			}
+		}
+		s += ", effort=" + effort;
+		return s;
+	}
+
+	@Override
+	public boolean shouldStopNow(int iters, Sampler sampler)
+	{
+		// Sampling is driven level by level by the simulator, not by this method
+		return simulationDone;
+	}
+
+	@Override
+	public int getProgress(int iters, Sampler sampler)
+	{
+		return simulationDone ? 100 : 0;
+	}
+
+	@Override
+	public Object getResult(Sampler sampler) throws PrismException
+	{
+		if (!simulationDone)
+			throw new PrismException("Importance splitting has not been done");
+		double estimate = getEstimate();
+		switch (prOp) {
+		case 0: // 0=quantitative
+			return new Double(estimate);
+		case -1: // -1=lower bound
+			return new Boolean(estimate >= theta);
+		case 1: // 1=upper bound
+			return new Boolean(estimate <= theta);
+		default:
+			throw new PrismException("Unknown property type");
+		}
+	}
+
+	@Override
+	public String getResultExplanation(Sampler sampler) throws PrismException
+	{
+		String s = "estimate is " + getEstimate() + " with relative error " + getRelativeError();
+		s += ", based on " + getNumLevels() + " levels with probabilities ";
+		int n = getNumLevels();
+		for (int k = 0; k < n; k++) {
+			s += (k > 0 ? ", " : "") + PrismUtils.formatDouble(getLevelProbability(k));
+		}
+		return s;
+	}
+
+	@Override
+	public SimulationMethod clone()
+	{
+		SplittingMethod m = new SplittingMethod(importanceFunction, levels, effort);
+		m.prOp = prOp;
+		m.theta = theta;
+		m.levelPaths.addAll(levelPaths);
+		m.levelSuccesses.addAll(levelSuccesses);
+		m.simulationDone = simulationDone;
+		return m;
+	}
+}
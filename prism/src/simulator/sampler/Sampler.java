@@ -27,6 +27,8 @@
 
 package simulator.sampler;
 
+import parser.CompiledExpression;
+import parser.State;
 import parser.ast.Expression;
 import parser.ast.ExpressionProb;
 import parser.ast.ExpressionReward;
@@ -35,6 +37,7 @@ import parser.ast.ExpressionUnaryOp;
 import prism.ModelGenerator;
 import prism.ModelInfo;
 import prism.PrismException;
+import prism.PrismLangException;
 import prism.RewardGenerator;
 import simulator.Path;
 import simulator.method.SimulationMethod;
@@ -49,6 +52,8 @@ public abstract class Sampler
 {
 	protected boolean valueKnown;
 	protected SimulationMethod simulationMethod;
+	// Temporary storage for the variable values of a state (see evaluateBoolean)
+	private int vars[];
 
 	/**
 	 * Is the current value of the sampler known, based on the path seen so far?
@@ -69,6 +74,27 @@ public abstract class Sampler
 		return false;
 	}
 
+	/**
+	 * Can this sampler be used for importance splitting, i.e., can sampling of a path
+	 * be resumed from a state part-way along an earlier path (see {@link #setPathOffset(long)}),
+	 * with the sampler's value being true exactly when the path satisfies the property?
+	 * By default, "no"; override if required.
+	 */
+	public boolean canSplit()
+	{
+		return false;
+	}
+
+	/**
+	 * For importance splitting (see {@link #canSplit()}): set the number of steps
+	 * of an earlier path that preceded the initial state of subsequent paths.
+	 * This remains in effect (including after calls to {@link #reset()}) until it is changed.
+	 * By default, this is ignored; override if the sampler depends on the path length.
+	 */
+	public void setPathOffset(long steps)
+	{
+	}
+
 	/**
 	 * Reset the current value of the sampler and whether it is known or not.
 	 */
@@ -93,6 +119,12 @@ public abstract class Sampler
 	 */
 	public abstract void updateStats();
 
+	/**
+	 * Update the statistics for the sampler with the value for a path generated elsewhere,
+	 * e.g. by a copy of this sampler in another thread, as returned by {@link #getCurrentValue()}.
+	 */
+	public abstract void updateStats(Object value);
+
 	/**
 	 * Get the current value of the sampler.
 	 */
@@ -143,6 +175,24 @@ public abstract class Sampler
 	
 	// Static methods for sampler creation
 
+	/**
+	 * Evaluate a Boolean-valued state expression {@code expr} in a state,
+	 * using its compiled version {@code exprCompiled} (see {@link CompiledExpression}) if non-null.
+	 * This avoids the overhead of evaluating the expression's syntax tree at every step of a path.
+	 */
+	protected boolean evaluateBoolean(Expression expr, CompiledExpression exprCompiled, State state) throws PrismLangException
+	{
+		if (exprCompiled != null) {
+			if (vars == null || vars.length != state.varValues.length) {
+				vars = new int[state.varValues.length];
+			}
+			if (CompiledExpression.loadState(state, vars)) {
+				return exprCompiled.evaluateBoolean(vars);
+			}
+		}
+		return expr.evaluateBoolean(state);
+	}
+
 	/**
 	 * Create a sampler for an expression (P=? or R=?).
 	 * Expression should contain no constants/formula/etc.
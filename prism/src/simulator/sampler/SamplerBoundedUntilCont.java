@@ -28,6 +28,7 @@ package simulator.sampler;
 
 import simulator.*;
 import prism.*;
+import parser.CompiledExpression;
 import parser.ast.*;
 
 /**
@@ -38,7 +39,9 @@ import parser.ast.*;
 public class SamplerBoundedUntilCont extends SamplerBoolean
 {
 	private Expression left;
+	private CompiledExpression leftCompiled;
 	private Expression right;
+	private CompiledExpression rightCompiled;
 	private double lb;
 	private double ub;
 
@@ -54,7 +57,9 @@ public class SamplerBoundedUntilCont extends SamplerBoolean
 		if (expr.getOperator() != ExpressionTemporal.P_U)
 			throw new PrismException("Error creating Sampler");
 		left = expr.getOperand1();
+		leftCompiled = CompiledExpression.compile(left);
 		right = expr.getOperand2();
+		rightCompiled = CompiledExpression.compile(right);
 
 		lb = expr.getLowerBound() == null ? 0.0 : expr.getLowerBound().evaluateDouble();
 		if (lb < 0) {
@@ -94,14 +99,14 @@ public class SamplerBoundedUntilCont extends SamplerBoolean
 			// Initially, zero time has elapsed so to satisfy the until,
 			// we need a lower time bound of 0 and the RHS to be satisfied 
 			if (lb == 0.0) {
-				if (right.evaluateBoolean(path.getCurrentState())) {
+				if (evaluateBoolean(right, rightCompiled, path.getCurrentState())) {
 					valueKnown = true;
 					value = true;
 				}
 			}
 			// If LHS of the until violated, will never be true
 			else {
-				if (!left.evaluateBoolean(path.getCurrentState())) {
+				if (!evaluateBoolean(left, leftCompiled, path.getCurrentState())) {
 					valueKnown = true;
 					value = false;
 				}
@@ -114,7 +119,7 @@ public class SamplerBoundedUntilCont extends SamplerBoolean
 			if (timeSoFar > ub) {
 				// Upper time bound was exceeded (for first time) in *previous* state
 				// Had we reached the target (i.e. RHS of until)?
-				if (right.evaluateBoolean(path.getPreviousState())) {
+				if (evaluateBoolean(right, rightCompiled, path.getPreviousState())) {
 					valueKnown = true;
 					value = true;
 				}
@@ -127,7 +132,7 @@ public class SamplerBoundedUntilCont extends SamplerBoolean
 			// Lower bound not yet exceeded but LHS of until violated
 			// (no need to check RHS because too early)
 			else if (timeSoFar <= lb) {
-				if (!left.evaluateBoolean(path.getCurrentState())) {
+				if (!evaluateBoolean(left, leftCompiled, path.getCurrentState())) {
 					valueKnown = true;
 					value = false;
 				}
@@ -135,19 +140,19 @@ public class SamplerBoundedUntilCont extends SamplerBoolean
 			// Current time is between lower/upper bounds...
 			else {
 				// Have we reached the target (i.e. RHS of until)?
-				if (right.evaluateBoolean(path.getCurrentState())) {
+				if (evaluateBoolean(right, rightCompiled, path.getCurrentState())) {
 					valueKnown = true;
 					value = true;
 				}
 				// Or, if not, have we violated the LHS of the until?
-				else if (!left.evaluateBoolean(path.getCurrentState())) {
+				else if (!evaluateBoolean(left, leftCompiled, path.getCurrentState())) {
 					valueKnown = true;
 					value = false;
 				}
 				// If the lower bound was exceeded for the first time in the
 				// previous state, and that one satisfies the RHS of the until...
 				else if (timeSoFar - path.getTimeInPreviousState() <= lb) {
-					if (right.evaluateBoolean(path.getPreviousState())) {
+					if (evaluateBoolean(right, rightCompiled, path.getPreviousState())) {
 						valueKnown = true;
 						value = true;
 					}
@@ -35,10 +35,14 @@ import parser.ast.*;
 public class SamplerBoundedUntilDisc extends SamplerBoolean
 {
 	private Expression left;
+	private CompiledExpression leftCompiled;
 	private Expression right;
+	private CompiledExpression rightCompiled;
 	private int lb;
 	private int ub;
 	private boolean haveUpperBound;
+	// Number of steps preceding the path (for importance splitting)
+	private long pathOffset = 0;
 
 	/**
 	 * Construct a sampler for a (discrete-time) bounded until property.
@@ -52,7 +56,9 @@ public class SamplerBoundedUntilDisc extends SamplerBoolean
 		if (expr.getOperator() != ExpressionTemporal.P_U)
 			throw new PrismException("Error creating Sampler");
 		left = expr.getOperand1();
+		leftCompiled = CompiledExpression.compile(left);
 		right = expr.getOperand2();
+		rightCompiled = CompiledExpression.compile(right);
 		// Lower bound
 		if (expr.getLowerBound() != null) {
 			lb = expr.getLowerBound().evaluateInt();
@@ -96,7 +102,7 @@ public class SamplerBoundedUntilDisc extends SamplerBoolean
 		if (valueKnown)
 			return true;
 		
-		long pathSize = path.size();
+		long pathSize = path.size() + pathOffset;
 		// Upper bound exceeded
 		if (haveUpperBound && pathSize > ub) {
 			valueKnown = true;
@@ -105,7 +111,7 @@ public class SamplerBoundedUntilDisc extends SamplerBoolean
 		// Lower bound not yet exceeded but LHS of until violated
 		// (no need to check RHS because too early)
 		else if (pathSize < lb) {
-			if (!left.evaluateBoolean(path.getCurrentState())) {
+			if (!evaluateBoolean(left, leftCompiled, path.getCurrentState())) {
 				valueKnown = true;
 				value = false;
 			}
@@ -114,12 +120,12 @@ public class SamplerBoundedUntilDisc extends SamplerBoolean
 		else {
 			State currentState = path.getCurrentState();
 			// Have we reached the target (i.e. RHS of until)?
-			if (right.evaluateBoolean(currentState)) {
+			if (evaluateBoolean(right, rightCompiled, currentState)) {
 				valueKnown = true;
 				value = true;
 			}
 			// Or, if not, have we violated the LHS of the until?
-			else if (!left.evaluateBoolean(currentState)) {
+			else if (!evaluateBoolean(left, leftCompiled, currentState)) {
 				valueKnown = true;
 				value = false;
 			}
@@ -140,4 +146,16 @@ public class SamplerBoundedUntilDisc extends SamplerBoolean
 		// Bounded if there is an upper bound
 		return haveUpperBound;
 	}
+
+	@Override
+	public boolean canSplit()
+	{
+		return !negated;
+	}
+
+	@Override
+	public void setPathOffset(long steps)
+	{
+		pathOffset = steps;
+	}
 }
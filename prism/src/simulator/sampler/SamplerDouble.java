@@ -90,6 +90,13 @@ public abstract class SamplerDouble extends Sampler
 		numSamples++;
 	}
 
+	@Override
+	public void updateStats(Object value)
+	{
+		this.value = (Double) value;
+		updateStats();
+	}
+
 	@Override
 	public Object getCurrentValue()
 	{
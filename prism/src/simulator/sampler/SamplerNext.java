@@ -28,11 +28,13 @@ package simulator.sampler;
 
 import simulator.*;
 import prism.*;
+import parser.CompiledExpression;
 import parser.ast.*;
 
 public class SamplerNext extends SamplerBoolean
 {
 	private Expression target;
+	private CompiledExpression targetCompiled;
 
 	/**
 	 * Construct a sampler for a "next" property.
@@ -46,6 +48,7 @@ public class SamplerNext extends SamplerBoolean
 		if (expr.getOperator() != ExpressionTemporal.P_X)
 			throw new PrismException("Error creating Sampler");
 		target = expr.getOperand2();
+		targetCompiled = CompiledExpression.compile(target);
 		// Initialise sampler info
 		reset();
 		resetStats();
@@ -61,7 +64,7 @@ public class SamplerNext extends SamplerBoolean
 		// X "target" is true iff state 1 satisfies "target"
 		if (path.size() == 1) {
 			valueKnown = true;
-			value = target.evaluateBoolean(path.getCurrentState());
+			value = evaluateBoolean(target, targetCompiled, path.getCurrentState());
 		}
 		// Nothing else to do: if path size is 0, can't decide;
 		// if path size > 1 (should never happen), nothing changes
@@ -28,11 +28,13 @@ package simulator.sampler;
 
 import simulator.*;
 import prism.*;
+import parser.CompiledExpression;
 import parser.ast.*;
 
 public class SamplerRewardReach extends SamplerDouble
 {
 	private Expression target;
+	private CompiledExpression targetCompiled;
 	private int rewardStructIndex;
 
 	/**
@@ -48,6 +50,7 @@ public class SamplerRewardReach extends SamplerDouble
 		if (expr.getOperator() != ExpressionTemporal.P_F)
 			throw new PrismException("Error creating Sampler");
 		target = expr.getOperand2();
+		targetCompiled = CompiledExpression.compile(target);
 		this.rewardStructIndex = rewardStructIndex;
 		// Initialise sampler info
 		reset();
@@ -61,7 +64,7 @@ public class SamplerRewardReach extends SamplerDouble
 		if (valueKnown)
 			return true;
 		
-		if (target.evaluateBoolean(path.getCurrentState())) {
+		if (evaluateBoolean(target, targetCompiled, path.getCurrentState())) {
 			valueKnown = true;
 			value = path.getTotalCumulativeReward(rewardStructIndex);
 		}
@@ -27,6 +27,7 @@
 package simulator.sampler;
 
 import parser.State;
+import parser.CompiledExpression;
 import parser.ast.Expression;
 import parser.ast.ExpressionTemporal;
 import prism.ModelGenerator;
@@ -36,7 +37,9 @@ import simulator.Path;
 public class SamplerUntil extends SamplerBoolean
 {
 	private Expression left;
+	private CompiledExpression leftCompiled;
 	private Expression right;
+	private CompiledExpression rightCompiled;
 
 	/**
 	 * Construct a sampler for a (unbounded) until property.
@@ -50,7 +53,9 @@ public class SamplerUntil extends SamplerBoolean
 		if (expr.getOperator() != ExpressionTemporal.P_U)
 			throw new PrismException("Error creating Sampler");
 		left = expr.getOperand1();
+		leftCompiled = CompiledExpression.compile(left);
 		right = expr.getOperand2();
+		rightCompiled = CompiledExpression.compile(right);
 		// Initialise sampler info
 		reset();
 		resetStats();
@@ -65,12 +70,12 @@ public class SamplerUntil extends SamplerBoolean
 
 		State currentState = path.getCurrentState();
 		// Have we reached the target (i.e. RHS of until)?
-		if (right.evaluateBoolean(currentState)) {
+		if (evaluateBoolean(right, rightCompiled, currentState)) {
 			valueKnown = true;
 			value = true;
 		}
 		// Or, if not, have we violated the LHS of the until?
-		else if (!left.evaluateBoolean(currentState)) {
+		else if (!evaluateBoolean(left, leftCompiled, currentState)) {
 			valueKnown = true;
 			value = false;
 		}
@@ -84,4 +89,11 @@ public class SamplerUntil extends SamplerBoolean
 
 		return valueKnown;
 	}
+
+	@Override
+	public boolean canSplit()
+	{
+		// Value does not depend on the path before its current state
+		return !negated;
+	}
 }
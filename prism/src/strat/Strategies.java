@@ -2,6 +2,7 @@ package strat;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.Scanner;
 
 import prism.PrismException;
@@ -38,25 +39,7 @@ public class Strategies
 		try {
 			Scanner scan = new Scanner(new File(filename));
 			try {
-				String type = scan.nextLine();
-				if (type.equals(FORMAT_STRING_MD_STRAT)) {
-					return new MemorylessDeterministicStrategy(scan);
-				} else if (type.equals(FORMAT_STRING_STEP_BOUNDED_STRAT)) {
-					return new StepBoundedDeterministicStrategy(scan);
-				} else if (type.equals(FORMAT_STRING_BOUNDED_REW_STRAT)) {
-					return new BoundedRewardDeterministicStrategy(scan);
-				} else if (type.equals(FORMAT_STRING_EXACT_VALUE_MD_STRAT)) {
-					return new ExactValueStrategy(scan);
-				} else if (type.equals(FORMAT_STRING_SU_STRAT_MONO)) {
-				        return new StochasticUpdateStrategy(scan);
-				} else if (type.equals(FORMAT_STRING_SU_STRAT_COMP)) {
-				        try {
-					        return new StochasticUpdateStrategyProduct(scan);
-				        } catch (PrismException e) {
-					        throw new IllegalArgumentException(e.getMessage());
-					}
-				}
-				throw new IllegalArgumentException("Format not supported");
+				return loadStrategy(scan);
 			} finally {
 				scan.close();
 			}
@@ -65,6 +48,68 @@ public class Strategies
 		}
 	}
 
+	/**
+	 * Loads a strategy, in any of the supported file formats, from a scanner
+	 * @param scan scanner positioned at the start of the strategy
+	 * @return the generated strategy
+	 * @throws IllegalArgumentException if the format is not recognised
+	 */
+	private static Strategy loadStrategy(Scanner scan) throws IllegalArgumentException
+	{
+		String type = scan.nextLine();
+		if (type.equals(FORMAT_STRING_MD_STRAT)) {
+			return new MemorylessDeterministicStrategy(scan);
+		} else if (type.equals(FORMAT_STRING_STEP_BOUNDED_STRAT)) {
+			return new StepBoundedDeterministicStrategy(scan);
+		} else if (type.equals(FORMAT_STRING_BOUNDED_REW_STRAT)) {
+			return new BoundedRewardDeterministicStrategy(scan);
+		} else if (type.equals(FORMAT_STRING_EXACT_VALUE_MD_STRAT)) {
+			return new ExactValueStrategy(scan);
+		} else if (type.equals(FORMAT_STRING_SU_STRAT_MONO)) {
+		        return new StochasticUpdateStrategy(scan);
+		} else if (type.equals(FORMAT_STRING_SU_STRAT_COMP)) {
+		        try {
+			        return new StochasticUpdateStrategyProduct(scan);
+		        } catch (PrismException e) {
+			        throw new IllegalArgumentException(e.getMessage());
+			}
+		}
+		throw new IllegalArgumentException("Format not supported");
+	}
+
+	/**
+	 * Creates a copy of a strategy that can be used independently of the original,
+	 * e.g. by another thread, since strategies store their current memory internally.
+	 * Memoryless strategies, whose moves are not affected by their use, are returned as is;
+	 * others are copied by exporting them to (and reloading them from) a temporary file.
+	 * @param strat the strategy
+	 * @return a strategy with the same behaviour
+	 * @throws PrismException if the strategy cannot be copied
+	 */
+	public static Strategy copyStrategy(Strategy strat) throws PrismException
+	{
+		if (strat instanceof MemorylessDeterministicStrategy || strat instanceof MDStrategy) {
+			return strat;
+		}
+		File file = null;
+		try {
+			file = File.createTempFile("prism-strat", ".adv");
+			strat.exportToFile(file.getPath());
+			Scanner scan = new Scanner(file);
+			try {
+				return loadStrategy(scan);
+			} finally {
+				scan.close();
+			}
+		} catch (IOException | RuntimeException e) {
+			throw new PrismException("Could not copy strategy: " + e.getMessage());
+		} finally {
+			if (file != null) {
+				file.delete();
+			}
+		}
+	}
+
 	public static void main(String[] args)
 	{
 		String fn = "md.adv";
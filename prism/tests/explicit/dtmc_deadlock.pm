@@ -0,0 +1,12 @@
+// Model with a deadlock state, used to check that a failure to build the model
+// is reported for all properties, including when they are checked concurrently
+
+dtmc
+
+module m
+
+	x : [0..2] init 0;
+
+	[] x<2 -> 0.5 : (x'=x+1) + 0.5 : (x'=x);
+
+endmodule
@@ -0,0 +1,23 @@
+// Two independent random walks with absorbing barriers (10201 states),
+// large enough for the multi-threaded options to split the state space,
+// used to check that they give the default results
+
+dtmc
+
+const int N = 100;
+const double p = 0.6;
+
+module walk1
+
+	x : [0..N] init 50;
+
+	[] x>0 & x<N -> p : (x'=x+1) + (1-p) : (x'=x-1);
+	[] x=0 | x=N -> true;
+
+endmodule
+
+module walk2 = walk1 [ x=y ] endmodule
+
+rewards "steps"
+	x>0 & x<N : 1;
+endrewards
@@ -0,0 +1,22 @@
+// Random walk with absorbing barriers, used to check that the options
+// for explicit-state model construction and solution give the default results
+
+dtmc
+
+const int N = 6;
+const double p;
+
+module walk
+
+	x : [0..N] init 3;
+
+	[] x>0 & x<N -> p : (x'=x+1) + (1-p) : (x'=x-1);
+	[] x=0 | x=N -> true;
+
+endmodule
+
+label "done" = x=0 | x=N;
+
+rewards "steps"
+	x>0 & x<N : 1;
+endrewards
@@ -0,0 +1,23 @@
+// Random walk with absorbing barriers, used to check that the options for
+// statistical model checking give the same results as the default simulator
+// (the absorbing states have self-loops, so that bounded properties can be sampled)
+
+dtmc
+
+const int N = 6;
+const double p = 0.4;
+
+module walk
+
+	x : [0..N] init 3;
+
+	[] x>0 & x<N -> p : (x'=x+1) + 1-p : (x'=x-1);
+	[] x=0 | x=N -> true;
+
+endmodule
+
+label "done" = x=0 | x=N;
+
+rewards "steps"
+	x>0 & x<N : 1;
+endrewards